@@ -19,8 +19,10 @@ import java.util.function.IntFunction;
 
 import net.automatalib.automata.abstraction.SimpleDeterministicAbstractions;
 import net.automatalib.automata.concepts.FiniteRepresentation;
+import net.automatalib.commons.smartcollections.IntSeq;
 import net.automatalib.ts.simple.SimpleDTS;
 import net.automatalib.words.Alphabet;
+import net.automatalib.words.IntWord;
 
 /**
  * A simple deterministic automaton.
@@ -150,6 +152,43 @@ public interface SimpleDeterministicAutomaton<S, I> extends SimpleAutomaton<S, I
          */
         int getSuccessor(int state, int input);
 
+        /**
+         * Retrieves the (abstracted) state reached by a sequence of (abstracted) inputs (e.g., an {@link IntWord}),
+         * when starting in the given (abstracted) state.
+         *
+         * @param state
+         *         the integer representing the source state
+         * @param input
+         *         the sequence of integers representing the input symbols
+         *
+         * @return the integer representing the reached state, or {@link IntAbstraction#INVALID_STATE} if there is no
+         * such state.
+         */
+        default int getSuccessor(int state, IntSeq input) {
+            int curr = state;
+            for (int i = 0; i < input.size(); i++) {
+                if (curr < 0) {
+                    return INVALID_STATE;
+                }
+                curr = getSuccessor(curr, input.get(i));
+            }
+            return curr < 0 ? INVALID_STATE : curr;
+        }
+
+        /**
+         * Retrieves the (abstracted) state reached by a sequence of (abstracted) inputs (e.g., an {@link IntWord}),
+         * when starting in the initial state.
+         *
+         * @param input
+         *         the sequence of integers representing the input symbols
+         *
+         * @return the integer representing the reached state, or {@link IntAbstraction#INVALID_STATE} if there is no
+         * such state.
+         */
+        default int getIntState(IntSeq input) {
+            return getSuccessor(getIntInitialState(), input);
+        }
+
         /**
          * Retrieves the number of input symbols. This determines the valid range of input symbols, which is {@code [0,
          * numInputs() - 1]}.
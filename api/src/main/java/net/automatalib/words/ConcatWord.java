@@ -0,0 +1,333 @@
+/* Copyright (C) 2013-2022 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.words;
+
+import java.util.NoSuchElementException;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * A persistent word implementation that represents the concatenation of two (sub-)words. Concatenations are organized
+ * as a height-balanced binary tree (a "rope") whose leaves are regular (array-based) words. This allows to concatenate
+ * words in logarithmic time while sharing the structure of the concatenated words, as it is often the case when
+ * constructing, e.g., test words from prefixes, infixes and suffixes.
+ * <p>
+ * Operations that require random access (e.g., {@link #getSymbol(int)}) are delegated to a flattened copy of this word
+ * which is lazily computed on first access. Sequential operations such as iteration, {@link #writeToArray(int,
+ * Object[], int, int) copying}, {@link #hashCode() hashing} or the extraction of {@link #subWord(int, int) subwords}
+ * operate on the tree structure directly.
+ *
+ * @param <I>
+ *         input symbol type
+ *
+ * @author agent
+ */
+final class ConcatWord<I> extends Word<I> {
+
+    /**
+     * The maximum length of concatenations that are represented by a flat word. Concatenating two regular words whose
+     * combined length does not exceed this threshold copies their contents instead of creating a new tree node, because
+     * for short words a copy is cheaper than the indirection of the tree structure.
+     */
+    static final int LEAF_LENGTH = 64;
+
+    private static final int HASH_BASE = 89;
+
+    private final Word<I> left;
+    private final Word<I> right;
+    private final int length;
+    private final int height;
+
+    /**
+     * The (lazily computed) hash code of this word, see {@link SharedWord}.
+     */
+    private int hash;
+
+    /**
+     * The (lazily computed) flattened representation of this word. As {@link SharedWord}s are immutable, this field
+     * may be written without synchronization.
+     */
+    private @Nullable Word<I> flat;
+
+    private ConcatWord(Word<I> left, Word<I> right) {
+        this.left = left;
+        this.right = right;
+        this.length = left.length() + right.length();
+        this.height = Math.max(height(left), height(right)) + 1;
+    }
+
+    /**
+     * Concatenates the two given words.
+     *
+     * @param left
+     *         the first word
+     * @param right
+     *         the second word
+     * @param <I>
+     *         input symbol type
+     *
+     * @return the concatenation of the two given words, sharing their structure if possible
+     */
+    static <I> Word<I> concat(Word<? extends I> left, Word<? extends I> right) {
+        final Word<I> l = Word.upcast(left);
+        final Word<I> r = Word.upcast(right);
+
+        if (l.isEmpty()) {
+            return r;
+        } else if (r.isEmpty()) {
+            return l;
+        }
+
+        final int leftLen = l.length();
+        final int rightLen = r.length();
+
+        // only merge leaves, so that the height of the resulting tree is not affected
+        if (leftLen + rightLen <= LEAF_LENGTH && !(l instanceof ConcatWord) && !(r instanceof ConcatWord)) {
+            final @Nullable Object[] array = new Object[leftLen + rightLen];
+            l.writeToArray(0, array, 0, leftLen);
+            r.writeToArray(0, array, leftLen, rightLen);
+            return new SharedWord<>(array);
+        }
+
+        final int leftHeight = height(l);
+        final int rightHeight = height(r);
+
+        if (leftHeight > rightHeight + 1) {
+            final ConcatWord<I> cl = (ConcatWord<I>) l;
+            return balance(cl.left, concat(cl.right, r));
+        } else if (rightHeight > leftHeight + 1) {
+            final ConcatWord<I> cr = (ConcatWord<I>) r;
+            return balance(concat(l, cr.left), cr.right);
+        }
+
+        return new ConcatWord<>(l, r);
+    }
+
+    /**
+     * Creates a new tree node for the given subtrees whose heights differ by at most two, and performs the required
+     * (AVL-)rotations to re-establish the height balance.
+     */
+    private static <I> ConcatWord<I> balance(Word<I> left, Word<I> right) {
+        final int leftHeight = height(left);
+        final int rightHeight = height(right);
+
+        if (leftHeight > rightHeight + 1) {
+            final ConcatWord<I> cl = (ConcatWord<I>) left;
+            if (height(cl.left) >= height(cl.right)) {
+                return new ConcatWord<>(cl.left, new ConcatWord<>(cl.right, right));
+            }
+            final ConcatWord<I> clr = (ConcatWord<I>) cl.right;
+            return new ConcatWord<>(new ConcatWord<>(cl.left, clr.left), new ConcatWord<>(clr.right, right));
+        } else if (rightHeight > leftHeight + 1) {
+            final ConcatWord<I> cr = (ConcatWord<I>) right;
+            if (height(cr.right) >= height(cr.left)) {
+                return new ConcatWord<>(new ConcatWord<>(left, cr.left), cr.right);
+            }
+            final ConcatWord<I> crl = (ConcatWord<I>) cr.left;
+            return new ConcatWord<>(new ConcatWord<>(left, crl.left), new ConcatWord<>(crl.right, cr.right));
+        }
+
+        return new ConcatWord<>(left, right);
+    }
+
+    private static int height(Word<?> word) {
+        return word instanceof ConcatWord ? ((ConcatWord<?>) word).height : 0;
+    }
+
+    @Override
+    public int length() {
+        return length;
+    }
+
+    @Override
+    public int hashCode() {
+        int h = hash;
+        if (h == 0) {
+            // Word#hashCode is a polynomial in HASH_BASE, so we can combine the (cached) hash codes of the subtrees
+            final int shift = pow(HASH_BASE, right.length());
+            h = (left.hashCode() - 5) * shift + right.hashCode();
+            hash = h;
+        }
+        return h;
+    }
+
+    @Override
+    public boolean equals(@Nullable Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (other instanceof ConcatWord) {
+            final ConcatWord<?> otherWord = (ConcatWord<?>) other;
+            // hash codes of concatenations are cheap to compute
+            if (length != otherWord.length || hashCode() != otherWord.hashCode()) {
+                return false;
+            }
+        }
+        return super.equals(other);
+    }
+
+    @Override
+    public java.util.Iterator<I> iterator() {
+        final Word<I> f = flat;
+        return f == null ? new Iterator<>(this) : f.iterator();
+    }
+
+    @Override
+    public I getSymbol(int index) {
+        if (index < 0 || index >= length) {
+            throw new IndexOutOfBoundsException(Integer.toString(index));
+        }
+        return flatten().getSymbol(index);
+    }
+
+    @Override
+    public I firstSymbol() {
+        return left.firstSymbol();
+    }
+
+    @Override
+    public I lastSymbol() {
+        return right.lastSymbol();
+    }
+
+    @Override
+    public void writeToArray(int offset, @Nullable Object[] array, int tgtOffset, int num) {
+        final Word<I> f = flat;
+        if (f != null) {
+            f.writeToArray(offset, array, tgtOffset, num);
+            return;
+        }
+
+        final int leftLen = left.length();
+        int ofs = offset, tgtOfs = tgtOffset, remaining = num;
+
+        if (ofs < leftLen) {
+            final int leftNum = Math.min(remaining, leftLen - ofs);
+            left.writeToArray(ofs, array, tgtOfs, leftNum);
+            ofs = 0;
+            tgtOfs += leftNum;
+            remaining -= leftNum;
+        } else {
+            ofs -= leftLen;
+        }
+
+        if (remaining > 0) {
+            right.writeToArray(ofs, array, tgtOfs, remaining);
+        }
+    }
+
+    @Override
+    protected Word<I> subWordInternal(int fromIndex, int toIndex) {
+        final Word<I> f = flat;
+        if (f != null) {
+            return f.subWord(fromIndex, toIndex);
+        }
+
+        final int leftLen = left.length();
+
+        if (toIndex <= leftLen) {
+            return left.subWord(fromIndex, toIndex);
+        } else if (fromIndex >= leftLen) {
+            return right.subWord(fromIndex - leftLen, toIndex - leftLen);
+        }
+
+        return concat(left.subWord(fromIndex), right.subWord(0, toIndex - leftLen));
+    }
+
+    @Override
+    public Word<I> flatten() {
+        Word<I> f = flat;
+        if (f == null) {
+            final @Nullable Object[] array = new Object[length];
+            writeToArray(0, array, 0, length);
+            f = new SharedWord<>(array);
+            flat = f;
+        }
+        return f;
+    }
+
+    @Override
+    public Word<I> trimmed() {
+        return flatten();
+    }
+
+    private static int pow(int base, int exp) {
+        int result = 1, b = base, e = exp;
+        while (e > 0) {
+            if ((e & 1) != 0) {
+                result *= b;
+            }
+            b *= b;
+            e >>>= 1;
+        }
+        return result;
+    }
+
+    /**
+     * Iterator for the in-order traversal of the leaves of a {@link ConcatWord}. Leaves are never {@link ConcatWord}s
+     * themselves and therefore support efficient random access.
+     *
+     * @param <I>
+     *         input symbol type
+     */
+    private static final class Iterator<I> implements java.util.Iterator<I> {
+
+        private final @Nullable Word<I>[] pending;
+        private int pendingSize;
+
+        private Word<I> leaf;
+        private int leafLength;
+        private int leafIdx;
+
+        @SuppressWarnings("unchecked")
+        Iterator(ConcatWord<I> word) {
+            this.pending = (Word<I>[]) new Word<?>[word.height];
+            this.leaf = descend(word);
+            this.leafLength = leaf.length();
+        }
+
+        private Word<I> descend(Word<I> word) {
+            Word<I> w = word;
+            while (w instanceof ConcatWord) {
+                final ConcatWord<I> cw = (ConcatWord<I>) w;
+                pending[pendingSize++] = cw.right;
+                w = cw.left;
+            }
+            return w;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return leafIdx < leafLength || pendingSize > 0;
+        }
+
+        @Override
+        public I next() {
+            if (leafIdx >= leafLength) {
+                if (pendingSize == 0) {
+                    throw new NoSuchElementException();
+                }
+                @SuppressWarnings("nullness") // all entries below pendingSize are set
+                final Word<I> next = pending[--pendingSize];
+                pending[pendingSize] = null;
+                leaf = descend(next);
+                leafLength = leaf.length();
+                leafIdx = 0;
+            }
+            return leaf.getSymbol(leafIdx++);
+        }
+    }
+}
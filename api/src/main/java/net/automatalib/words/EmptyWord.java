@@ -42,6 +42,12 @@ final class EmptyWord extends Word<Object> {
         return 0;
     }
 
+    @Override
+    public int hashCode() {
+        // identical to Word#hashCode for words of length 0
+        return 5;
+    }
+
     @Override
     public Spliterator<Object> spliterator() {
         return Spliterators.emptySpliterator();
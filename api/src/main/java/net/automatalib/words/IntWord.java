@@ -0,0 +1,491 @@
+/* Copyright (C) 2013-2022 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.words;
+
+import java.util.function.IntFunction;
+
+import net.automatalib.commons.smartcollections.IntSeq;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * An immutable word of (abstracted) integer symbols, i.e., symbol indices w.r.t. an {@link Alphabet}. In contrast to
+ * a {@link Word} of {@link Integer}s, an {@link IntWord} stores its symbols in a primitive array whose component type
+ * depends on the size of the alphabet: {@code byte}s for alphabets with at most 256 symbols, {@code short}s for
+ * alphabets with at most 65536 symbols, and {@code int}s otherwise. Similar to {@link Word}s, sub-words share the
+ * storage of their original word.
+ * <p>
+ * {@link IntWord}s implement the {@link IntSeq} interface, so that they can directly be passed to, e.g., the traversal
+ * methods of {@link net.automatalib.automata.simple.SimpleDeterministicAutomaton.FullIntAbstraction integer
+ * abstractions} without any conversion.
+ *
+ * @author agent
+ */
+public abstract class IntWord implements IntSeq {
+
+    private static final int BYTE_CAPACITY = 1 << Byte.SIZE;
+    private static final int SHORT_CAPACITY = 1 << Short.SIZE;
+
+    private static final IntWord EMPTY = new ByteWord(new byte[0], 0, 0);
+
+    final int offset;
+    final int length;
+
+    IntWord(int offset, int length) {
+        this.offset = offset;
+        this.length = length;
+    }
+
+    /**
+     * Returns the empty word.
+     *
+     * @return the empty word
+     */
+    public static IntWord epsilon() {
+        return EMPTY;
+    }
+
+    /**
+     * Creates a word from the given symbol indices.
+     *
+     * @param alphabetSize
+     *         the size of the alphabet, which determines the internal representation of the word
+     * @param symbols
+     *         the symbol indices (will be copied)
+     *
+     * @return the word of the given symbols
+     *
+     * @throws IllegalArgumentException
+     *         if a symbol is not in the range {@code [0, alphabetSize - 1]}
+     */
+    public static IntWord fromSymbols(int alphabetSize, int... symbols) {
+        return fromIntSeq(alphabetSize, IntSeq.of(symbols));
+    }
+
+    /**
+     * Creates a word from the given sequence of symbol indices.
+     *
+     * @param alphabetSize
+     *         the size of the alphabet, which determines the internal representation of the word
+     * @param symbols
+     *         the sequence of symbol indices (will be copied)
+     *
+     * @return the word of the given symbols
+     *
+     * @throws IllegalArgumentException
+     *         if a symbol is not in the range {@code [0, alphabetSize - 1]}
+     */
+    public static IntWord fromIntSeq(int alphabetSize, IntSeq symbols) {
+        final int len = symbols.size();
+        if (len == 0) {
+            return EMPTY;
+        }
+
+        final Encoder encoder = new Encoder(alphabetSize, len);
+        for (int i = 0; i < len; i++) {
+            encoder.set(i, symbols.get(i));
+        }
+        return encoder.toWord();
+    }
+
+    /**
+     * Creates a word from the indices of the symbols of the given word.
+     *
+     * @param word
+     *         the word
+     * @param alphabet
+     *         the alphabet used for determining symbol indices
+     * @param <I>
+     *         input symbol type
+     *
+     * @return the word of the symbol indices
+     *
+     * @see Word#toIntWord(Alphabet)
+     */
+    public static <I> IntWord fromWord(Word<? extends I> word, Alphabet<I> alphabet) {
+        final int len = word.length();
+        if (len == 0) {
+            return EMPTY;
+        }
+
+        final Encoder encoder = new Encoder(alphabet.size(), len);
+        int i = 0;
+        for (I sym : word) {
+            encoder.set(i++, alphabet.getSymbolIndex(sym));
+        }
+        return encoder.toWord();
+    }
+
+    /**
+     * Returns the length of this word.
+     *
+     * @return the length of this word
+     */
+    public final int length() {
+        return length;
+    }
+
+    @Override
+    public final int size() {
+        return length;
+    }
+
+    /**
+     * Checks whether this word is empty.
+     *
+     * @return {@code true} if this word is empty, {@code false} otherwise
+     */
+    public final boolean isEmpty() {
+        return length == 0;
+    }
+
+    /**
+     * Returns the symbol index at the given position.
+     *
+     * @param index
+     *         the position
+     *
+     * @return the symbol index at the given position
+     */
+    public abstract int getSymbol(int index);
+
+    @Override
+    public final int get(int index) {
+        return getSymbol(index);
+    }
+
+    /**
+     * Returns the sub-word of this word ranging from the given start index (inclusive) to the given end index
+     * (exclusive). The returned word shares the storage of this word.
+     *
+     * @param fromIndex
+     *         the start index (inclusive)
+     * @param toIndex
+     *         the end index (exclusive)
+     *
+     * @return the sub-word
+     */
+    public final IntWord subWord(int fromIndex, int toIndex) {
+        if (fromIndex < 0 || toIndex > length || fromIndex > toIndex) {
+            throw new IndexOutOfBoundsException("Invalid range [" + fromIndex + ", " + toIndex + ") for word of length " +
+                                                length);
+        }
+        if (fromIndex == toIndex) {
+            return EMPTY;
+        }
+        if (fromIndex == 0 && toIndex == length) {
+            return this;
+        }
+        return share(offset + fromIndex, toIndex - fromIndex);
+    }
+
+    /**
+     * Returns the prefix of the given length.
+     *
+     * @param prefixLen
+     *         the length of the prefix
+     *
+     * @return the prefix of the given length
+     */
+    public final IntWord prefix(int prefixLen) {
+        return subWord(0, prefixLen);
+    }
+
+    /**
+     * Returns the suffix of the given length.
+     *
+     * @param suffixLen
+     *         the length of the suffix
+     *
+     * @return the suffix of the given length
+     */
+    public final IntWord suffix(int suffixLen) {
+        return subWord(length - suffixLen, length);
+    }
+
+    /**
+     * Returns the word obtained by appending the given symbol index to this word.
+     *
+     * @param symbol
+     *         the symbol index to append
+     * @param alphabetSize
+     *         the size of the alphabet, which determines the internal representation of the resulting word
+     *
+     * @return the extended word
+     */
+    public IntWord append(int symbol, int alphabetSize) {
+        final Encoder encoder = new Encoder(Math.max(alphabetSize, capacity()), length + 1);
+        for (int i = 0; i < length; i++) {
+            encoder.set(i, getSymbol(i));
+        }
+        encoder.set(length, symbol);
+        return encoder.toWord();
+    }
+
+    /**
+     * Returns the concatenation of this word and the given word.
+     *
+     * @param other
+     *         the word to append
+     *
+     * @return the concatenated word
+     */
+    public IntWord concat(IntWord other) {
+        if (other.isEmpty()) {
+            return this;
+        } else if (isEmpty()) {
+            return other;
+        }
+
+        final Encoder encoder = new Encoder(Math.max(capacity(), other.capacity()), length + other.length);
+        for (int i = 0; i < length; i++) {
+            encoder.set(i, getSymbol(i));
+        }
+        for (int i = 0; i < other.length; i++) {
+            encoder.set(length + i, other.getSymbol(i));
+        }
+        return encoder.toWord();
+    }
+
+    /**
+     * Checks whether this word is a prefix of the given word.
+     *
+     * @param other
+     *         the other word
+     *
+     * @return {@code true} if this word is a prefix of the other word, {@code false} otherwise
+     */
+    public boolean isPrefixOf(IntWord other) {
+        if (length > other.length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (getSymbol(i) != other.getSymbol(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the symbol indices of this word as an array.
+     *
+     * @return a (fresh) array containing the symbol indices of this word
+     */
+    public int[] toIntArray() {
+        final int[] result = new int[length];
+        for (int i = 0; i < length; i++) {
+            result[i] = getSymbol(i);
+        }
+        return result;
+    }
+
+    /**
+     * Transforms this word into a regular {@link Word}, using the given mapping (e.g., {@link Alphabet#getSymbol(int)})
+     * for translating symbol indices to symbols.
+     *
+     * @param symbolMapping
+     *         the mapping from symbol indices to symbols
+     * @param <I>
+     *         input symbol type
+     *
+     * @return the transformed word
+     */
+    public <I> Word<I> toWord(IntFunction<? extends I> symbolMapping) {
+        if (length == 0) {
+            return Word.epsilon();
+        }
+
+        final @Nullable Object[] symbols = new Object[length];
+        for (int i = 0; i < length; i++) {
+            symbols[i] = symbolMapping.apply(getSymbol(i));
+        }
+        return new SharedWord<>(symbols);
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = 1;
+        for (int i = 0; i < length; i++) {
+            hash = 31 * hash + getSymbol(i);
+        }
+        return hash;
+    }
+
+    @Override
+    public boolean equals(@Nullable Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof IntWord)) {
+            return false;
+        }
+
+        final IntWord other = (IntWord) obj;
+        return length == other.length && isPrefixOf(other);
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder(2 + 3 * length);
+        sb.append('[');
+        for (int i = 0; i < length; i++) {
+            if (i > 0) {
+                sb.append(", ");
+            }
+            sb.append(getSymbol(i));
+        }
+        return sb.append(']').toString();
+    }
+
+    /**
+     * Returns the number of distinct symbol indices that can be represented by the storage of this word.
+     *
+     * @return the capacity of the storage
+     */
+    abstract int capacity();
+
+    /**
+     * Creates a word that shares the storage of this word.
+     *
+     * @param newOffset
+     *         the offset of the new word in the storage
+     * @param newLength
+     *         the length of the new word
+     *
+     * @return the new word
+     */
+    abstract IntWord share(int newOffset, int newLength);
+
+    /**
+     * Utility class for writing symbol indices into the most compact storage for a given alphabet size.
+     */
+    private static final class Encoder {
+
+        private final int alphabetSize;
+        private final byte @Nullable [] bytes;
+        private final short @Nullable [] shorts;
+        private final int @Nullable [] ints;
+
+        Encoder(int alphabetSize, int length) {
+            this.alphabetSize = alphabetSize;
+            this.bytes = alphabetSize <= BYTE_CAPACITY ? new byte[length] : null;
+            this.shorts = bytes == null && alphabetSize <= SHORT_CAPACITY ? new short[length] : null;
+            this.ints = bytes == null && shorts == null ? new int[length] : null;
+        }
+
+        void set(int index, int symbol) {
+            if (symbol < 0 || symbol >= alphabetSize) {
+                throw new IllegalArgumentException("Symbol index " + symbol + " is not in the range [0, " +
+                                                   (alphabetSize - 1) + ']');
+            }
+
+            if (bytes != null) {
+                bytes[index] = (byte) symbol;
+            } else if (shorts != null) {
+                shorts[index] = (short) symbol;
+            } else {
+                assert ints != null;
+                ints[index] = symbol;
+            }
+        }
+
+        IntWord toWord() {
+            if (bytes != null) {
+                return new ByteWord(bytes, 0, bytes.length);
+            } else if (shorts != null) {
+                return new ShortWord(shorts, 0, shorts.length);
+            } else {
+                assert ints != null;
+                return new IntArrayWord(ints, 0, ints.length);
+            }
+        }
+    }
+
+    private static final class ByteWord extends IntWord {
+
+        private final byte[] storage;
+
+        ByteWord(byte[] storage, int offset, int length) {
+            super(offset, length);
+            this.storage = storage;
+        }
+
+        @Override
+        public int getSymbol(int index) {
+            return Byte.toUnsignedInt(storage[offset + index]);
+        }
+
+        @Override
+        int capacity() {
+            return BYTE_CAPACITY;
+        }
+
+        @Override
+        IntWord share(int newOffset, int newLength) {
+            return new ByteWord(storage, newOffset, newLength);
+        }
+    }
+
+    private static final class ShortWord extends IntWord {
+
+        private final short[] storage;
+
+        ShortWord(short[] storage, int offset, int length) {
+            super(offset, length);
+            this.storage = storage;
+        }
+
+        @Override
+        public int getSymbol(int index) {
+            return Short.toUnsignedInt(storage[offset + index]);
+        }
+
+        @Override
+        int capacity() {
+            return SHORT_CAPACITY;
+        }
+
+        @Override
+        IntWord share(int newOffset, int newLength) {
+            return new ShortWord(storage, newOffset, newLength);
+        }
+    }
+
+    private static final class IntArrayWord extends IntWord {
+
+        private final int[] storage;
+
+        IntArrayWord(int[] storage, int offset, int length) {
+            super(offset, length);
+            this.storage = storage;
+        }
+
+        @Override
+        public int getSymbol(int index) {
+            return storage[offset + index];
+        }
+
+        @Override
+        int capacity() {
+            return Integer.MAX_VALUE;
+        }
+
+        @Override
+        IntWord share(int newOffset, int newLength) {
+            return new IntArrayWord(storage, newOffset, newLength);
+        }
+    }
+}
@@ -52,6 +52,12 @@ final class LetterWord<I> extends Word<I> {
         return 1;
     }
 
+    @Override
+    public int hashCode() {
+        // identical to Word#hashCode for words of length 1
+        return 5 * 89 + Objects.hashCode(letter);
+    }
+
     @Override
     public java.util.Iterator<I> iterator() {
         return new Iterator<>(letter);
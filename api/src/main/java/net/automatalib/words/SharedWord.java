@@ -19,6 +19,7 @@ import java.util.Arrays;
 import java.util.List;
 import java.util.ListIterator;
 import java.util.NoSuchElementException;
+import java.util.Objects;
 import java.util.Spliterator;
 
 import org.checkerframework.checker.nullness.qual.Nullable;
@@ -38,6 +39,12 @@ final class SharedWord<I> extends Word<I> {
     private final int offset;
     private final int length;
 
+    /**
+     * The (lazily computed) hash code of this word. Similar to {@link String#hashCode()}, the value {@code 0} denotes
+     * that the hash code has not been computed yet.
+     */
+    private int hash;
+
     /**
      * Constructor.
      */
@@ -70,6 +77,57 @@ final class SharedWord<I> extends Word<I> {
         return this.length;
     }
 
+    @Override
+    public int hashCode() {
+        int h = hash;
+        if (h == 0) {
+            // identical to Word#hashCode, but without the iterator indirection
+            h = 5;
+            for (int i = offset; i < offset + length; i++) {
+                final I sym = storage[i];
+                h *= 89;
+                h += (sym != null) ? sym.hashCode() : 0;
+            }
+            hash = h;
+        }
+        return h;
+    }
+
+    @Override
+    public boolean equals(@Nullable Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (!(other instanceof SharedWord)) {
+            return super.equals(other);
+        }
+
+        final SharedWord<?> otherWord = (SharedWord<?>) other;
+        if (length != otherWord.length) {
+            return false;
+        }
+
+        // only compare cached hash codes, computing them would be as expensive as comparing the symbols
+        final int h = hash, otherH = otherWord.hash;
+        if (h != 0 && otherH != 0 && h != otherH) {
+            return false;
+        }
+
+        final Object[] otherStorage = otherWord.storage;
+        final int otherOffset = otherWord.offset;
+        if (storage == otherStorage && offset == otherOffset) {
+            return true;
+        }
+
+        for (int i = 0; i < length; i++) {
+            if (!Objects.equals(storage[offset + i], otherStorage[otherOffset + i])) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
     @Override
     public Iterator<I> iterator() {
         return new Iterator<>(this);
@@ -235,6 +235,13 @@ public abstract class Word<I> extends AbstractPrintable implements ArrayWritable
         return (Word<I>) word;
     }
 
+    /**
+     * Computes the hash code of this word from the hash codes of its symbols. Subclasses may override this method (e.g.,
+     * for caching the hash code) but need to compute the same value, so that equal words of different implementations
+     * have equal hash codes.
+     *
+     * @return the hash code of this word
+     */
     @Override
     public int hashCode() {
         int hash = 5;
@@ -521,6 +528,9 @@ public abstract class Word<I> extends AbstractPrintable implements ArrayWritable
      */
     public Word<I> append(I symbol) {
         int len = length();
+        if (len >= ConcatWord.LEAF_LENGTH) {
+            return ConcatWord.concat(this, new LetterWord<>(symbol));
+        }
         @Nullable Object[] array = new Object[len + 1];
         writeToArray(0, array, 0, len);
         array[len] = symbol;
@@ -537,6 +547,9 @@ public abstract class Word<I> extends AbstractPrintable implements ArrayWritable
      */
     public Word<I> prepend(I symbol) {
         int len = length();
+        if (len >= ConcatWord.LEAF_LENGTH) {
+            return ConcatWord.concat(new LetterWord<>(symbol), this);
+        }
         @Nullable Object[] array = new Object[len + 1];
         array[0] = symbol;
         writeToArray(0, array, 1, len);
@@ -564,6 +577,11 @@ public abstract class Word<I> extends AbstractPrintable implements ArrayWritable
 
     /**
      * Realizes the concatenation of this word with several other words.
+     * <p>
+     * The default implementation copies short concatenations into a new array-based word. Longer concatenations are
+     * represented by a balanced tree structure that shares the contents of the concatenated words and is only {@link
+     * #flatten() flattened} once random access to its symbols is required. The same applies to {@link #append(Object)}
+     * and {@link #prepend(Object)}.
      *
      * @param words
      *         the words to concatenate
@@ -583,6 +601,14 @@ public abstract class Word<I> extends AbstractPrintable implements ArrayWritable
             totalSize += word.length();
         }
 
+        if (totalSize > ConcatWord.LEAF_LENGTH) {
+            Word<I> result = this;
+            for (Word<? extends I> w : words) {
+                result = ConcatWord.concat(result, w);
+            }
+            return result;
+        }
+
         Object[] array = new Object[totalSize];
         writeToArray(0, array, 0, len);
         int currOfs = len;
@@ -770,6 +796,18 @@ public abstract class Word<I> extends AbstractPrintable implements ArrayWritable
         return result;
     }
 
+    /**
+     * Transforms this word into an {@link IntWord} of the symbol indices of the given alphabet.
+     *
+     * @param alphabet
+     *         the alphabet used for determining symbol indices
+     *
+     * @return an {@link IntWord} representation of this word
+     */
+    public IntWord toIntWord(Alphabet<I> alphabet) {
+        return IntWord.fromWord(this, alphabet);
+    }
+
     /**
      * Transforms a word symbol-by-symbol, using the specified transformation function.
      *
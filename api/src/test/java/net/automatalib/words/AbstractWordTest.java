@@ -18,6 +18,7 @@ package net.automatalib.words;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Objects;
 
 import net.automatalib.commons.smartcollections.IntSeq;
 import org.testng.Assert;
@@ -204,6 +205,37 @@ public abstract class AbstractWordTest {
         }
     }
 
+    @Test
+    public void testHashCode() {
+        int expected = 5;
+        for (Object sym : testWord.asList()) {
+            expected = expected * 89 + Objects.hashCode(sym);
+        }
+
+        Assert.assertEquals(testWord.hashCode(), expected);
+        // repeated (possibly cached) invocations need to be consistent
+        Assert.assertEquals(testWord.hashCode(), expected);
+
+        for (Word<Object> eq : equalWords) {
+            Assert.assertEquals(eq.hashCode(), expected);
+        }
+    }
+
+    @Test
+    public void testEqualsAfterHashing() {
+        for (Word<Object> eq : equalWords) {
+            eq.hashCode();
+            Assert.assertTrue(testWord.equals(eq));
+            Assert.assertTrue(eq.equals(testWord));
+        }
+
+        for (Word<Object> neq : unequalWords) {
+            neq.hashCode();
+            Assert.assertFalse(testWord.equals(neq));
+            Assert.assertFalse(neq.equals(testWord));
+        }
+    }
+
     @Test
     public void testIterator() {
         Iterator<Object> it = testWord.iterator();
@@ -0,0 +1,159 @@
+/* Copyright (C) 2013-2022 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.words;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+@Test
+public class ConcatWordTest extends AbstractNonemptyWordTest {
+
+    private static final int LENGTH = 100;
+
+    @Test
+    public void testStructure() {
+        Assert.assertTrue(testWord instanceof ConcatWord);
+        Assert.assertEquals(LENGTH, testWord.length());
+        Assert.assertEquals(range(0, LENGTH).asList(), testWord.asList());
+    }
+
+    @Test
+    public void testShortConcatenationsAreFlat() {
+        final Word<Object> word = range(0, 4).concat(range(4, 8));
+        Assert.assertTrue(word instanceof SharedWord);
+        Assert.assertEquals(range(0, 8), word);
+    }
+
+    @Test
+    public void testFlatten() {
+        final Word<Object> word = testWord();
+        final List<Object> expected = range(0, LENGTH).asList();
+
+        // sequential access before and after flattening
+        Assert.assertEquals(expected, new ArrayList<>(word.asList()));
+        Assert.assertEquals(expected.hashCode(), word.asList().hashCode());
+        Assert.assertEquals(word.getSymbol(LENGTH / 2), LENGTH / 2);
+        Assert.assertEquals(expected, new ArrayList<>(word.asList()));
+
+        final Word<Object> flat = word.flatten();
+        Assert.assertTrue(flat instanceof SharedWord);
+        Assert.assertSame(flat, word.flatten());
+        Assert.assertEquals(flat, word);
+        Assert.assertEquals(flat.hashCode(), word.hashCode());
+    }
+
+    @Test
+    public void testRandomOperations() {
+        final Random random = new Random(42);
+
+        Word<Object> word = Word.epsilon();
+        List<Object> reference = new ArrayList<>();
+
+        for (int i = 0; i < 2000; i++) {
+            final int op = random.nextInt(4);
+            final Integer sym = random.nextInt(10);
+            switch (op) {
+                case 0:
+                    word = word.append(sym);
+                    reference.add(sym);
+                    break;
+                case 1:
+                    word = word.prepend(sym);
+                    reference.add(0, sym);
+                    break;
+                case 2:
+                    final int from = random.nextInt(word.length() + 1);
+                    final int to = from + random.nextInt(word.length() - from + 1);
+                    final Word<Object> sub = word.subWord(from, to);
+                    Assert.assertEquals(sub.asList(), reference.subList(from, to));
+                    word = word.concat(sub);
+                    reference.addAll(new ArrayList<>(reference.subList(from, to)));
+                    break;
+                default:
+                    final Word<Object> other = range(0, random.nextInt(100));
+                    word = other.concat(word);
+                    reference.addAll(0, other.asList());
+                    break;
+            }
+
+            // keep the words at a reasonable size
+            if (word.length() > 5000) {
+                final int mid = word.length() / 2;
+                word = word.subWord(mid);
+                reference = new ArrayList<>(reference.subList(mid, reference.size()));
+            }
+
+            Assert.assertEquals(word.length(), reference.size());
+            Assert.assertEquals(word.hashCode(), Word.fromList(reference).hashCode());
+        }
+
+        final List<Object> symbols = new ArrayList<>(word.length());
+        word.forEach(symbols::add);
+        Assert.assertEquals(symbols, reference);
+        Assert.assertEquals(word, Word.fromList(reference));
+        Assert.assertEquals(Word.fromList(reference), word);
+        Assert.assertEquals(word.flatten().asList(), reference);
+    }
+
+    @Override
+    protected Word<Object> testWord() {
+        return ConcatWord.concat(ConcatWord.concat(range(0, 40), range(40, 80)), range(80, LENGTH));
+    }
+
+    @Override
+    protected List<Word<Object>> equalWords() {
+        return Arrays.asList(Word.fromList(new ArrayList<>(range(0, LENGTH).asList())),
+                             ConcatWord.concat(range(0, 10), ConcatWord.concat(range(10, 70), range(70, LENGTH))),
+                             range(0, LENGTH - 1).append(LENGTH - 1),
+                             range(1, LENGTH).prepend(0));
+    }
+
+    @Override
+    protected List<Word<Object>> unequalWords() {
+        return Arrays.asList(new EmptyWord(),
+                             range(0, LENGTH - 1),
+                             range(1, LENGTH),
+                             ConcatWord.concat(range(0, 40), range(41, LENGTH + 1)),
+                             ConcatWord.concat(range(0, LENGTH / 2), range(0, LENGTH / 2)));
+    }
+
+    @Override
+    protected List<Word<Object>> realPrefixes() {
+        return Arrays.asList(new EmptyWord(), new LetterWord<>(0), range(0, 40), range(0, 70), range(0, LENGTH - 1));
+    }
+
+    @Override
+    protected List<Word<Object>> realSuffixes() {
+        return Arrays.asList(new EmptyWord(),
+                             new LetterWord<>(LENGTH - 1),
+                             range(80, LENGTH),
+                             range(30, LENGTH),
+                             range(1, LENGTH));
+    }
+
+    private static Word<Object> range(int from, int to) {
+        final List<Object> list = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) {
+            list.add(i);
+        }
+        return Word.fromList(list);
+    }
+}
@@ -0,0 +1,140 @@
+/* Copyright (C) 2013-2022 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.words;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+
+import net.automatalib.automata.simple.SimpleDeterministicAutomaton.FullIntAbstraction;
+import net.automatalib.automata.simple.SimpleDeterministicAutomaton.IntAbstraction;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+@Test
+public class IntWordTest {
+
+    @Test
+    public void testRepresentations() {
+        for (int alphabetSize : Arrays.asList(2, 256, 257, 65536, 65537)) {
+            final int[] symbols = {0, alphabetSize - 1, alphabetSize / 2, 1};
+            final IntWord word = IntWord.fromSymbols(alphabetSize, symbols);
+
+            Assert.assertEquals(word.length(), symbols.length);
+            Assert.assertEquals(word.toIntArray(), symbols);
+            Assert.assertEquals(word.suffix(2), IntWord.fromSymbols(alphabetSize, alphabetSize / 2, 1));
+            Assert.assertEquals(word.prefix(0), IntWord.epsilon());
+        }
+
+        Assert.assertThrows(IllegalArgumentException.class, () -> IntWord.fromSymbols(256, 256));
+        Assert.assertThrows(IllegalArgumentException.class, () -> IntWord.fromSymbols(2, -1));
+    }
+
+    @Test
+    public void testEqualsAcrossRepresentations() {
+        final IntWord small = IntWord.fromSymbols(2, 0, 1, 1);
+        final IntWord large = IntWord.fromSymbols(100000, 0, 1, 1);
+
+        Assert.assertEquals(small, large);
+        Assert.assertEquals(small.hashCode(), large.hashCode());
+        Assert.assertNotEquals(small, IntWord.fromSymbols(2, 0, 1));
+        Assert.assertNotEquals(small, IntWord.fromSymbols(2, 0, 1, 0));
+    }
+
+    @Test
+    public void testModifications() {
+        final IntWord word = IntWord.fromSymbols(3, 0, 1, 2);
+
+        Assert.assertEquals(word.append(1000, 1001), IntWord.fromSymbols(1001, 0, 1, 2, 1000));
+        Assert.assertEquals(word.concat(word.subWord(1, 2)), IntWord.fromSymbols(3, 0, 1, 2, 1));
+        Assert.assertEquals(word.concat(IntWord.epsilon()), word);
+        Assert.assertTrue(word.prefix(2).isPrefixOf(word));
+        Assert.assertFalse(word.suffix(2).isPrefixOf(word));
+        Assert.assertThrows(IndexOutOfBoundsException.class, () -> word.subWord(2, 4));
+    }
+
+    @Test
+    public void testWordConversion() {
+        final Alphabet<Character> alphabet = new StringAlphabet("abc");
+        final Word<Character> word = Word.fromString("abcab");
+        final IntWord intWord = word.toIntWord(alphabet);
+
+        Assert.assertEquals(intWord, IntWord.fromSymbols(3, 0, 1, 2, 0, 1));
+        Assert.assertEquals(intWord.toWord(alphabet::getSymbol), word);
+        Assert.assertEquals(intWord.toIntArray(), word.toIntArray(alphabet));
+        Assert.assertEquals(IntWord.epsilon().toWord(alphabet::getSymbol), Word.epsilon());
+    }
+
+    @Test
+    public void testFullIntAbstraction() {
+        // counts the number of 1s modulo 3, input 2 is undefined
+        final FullIntAbstraction abstraction = new FullIntAbstraction() {
+
+            @Override
+            public int getSuccessor(int state, int input) {
+                return input == 2 ? INVALID_STATE : (state + input) % 3;
+            }
+
+            @Override
+            public int numInputs() {
+                return 3;
+            }
+
+            @Override
+            public int getIntInitialState() {
+                return 0;
+            }
+
+            @Override
+            public int size() {
+                return 3;
+            }
+        };
+
+        Assert.assertEquals(abstraction.getIntState(IntWord.fromSymbols(3, 1, 0, 1, 1, 1)), 1);
+        Assert.assertEquals(abstraction.getSuccessor(2, IntWord.fromSymbols(3, 1)), 0);
+        Assert.assertEquals(abstraction.getIntState(IntWord.epsilon()), 0);
+        Assert.assertEquals(abstraction.getIntState(IntWord.fromSymbols(3, 1, 2, 1)), IntAbstraction.INVALID_STATE);
+    }
+
+    private static final class StringAlphabet extends AbstractList<Character> implements Alphabet<Character> {
+
+        private final String symbols;
+
+        StringAlphabet(String symbols) {
+            this.symbols = symbols;
+        }
+
+        @Override
+        public Character getSymbol(int index) {
+            return symbols.charAt(index);
+        }
+
+        @Override
+        public int getSymbolIndex(Character symbol) {
+            return symbols.indexOf(symbol);
+        }
+
+        @Override
+        public Character get(int index) {
+            return getSymbol(index);
+        }
+
+        @Override
+        public int size() {
+            return symbols.length();
+        }
+    }
+}
@@ -48,7 +48,9 @@ public class SharedWordTest extends AbstractNonemptyWordTest {
         return Arrays.asList(new SharedWord<>(DATA),
                              new SharedWord<>(Arrays.asList(DATA)),
                              new EmptyWord(),
-                             new SharedWord<>(Arrays.asList(2, 4)));
+                             new SharedWord<>(Arrays.asList(2, 4)),
+                             new SharedWord<>(DATA, OFFSET + 1, LENGTH),
+                             new SharedWord<>(Arrays.asList(1, 3, 3, 8)));
     }
 
     @Override
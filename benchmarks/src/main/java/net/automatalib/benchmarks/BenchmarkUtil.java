@@ -0,0 +1,83 @@
+/* Copyright (C) 2013-2022 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import net.automatalib.words.Alphabet;
+import net.automatalib.words.Word;
+import net.automatalib.words.WordBuilder;
+import net.automatalib.words.impl.Alphabets;
+
+/**
+ * Utility methods for setting up the (deterministic) inputs of the individual benchmarks.
+ *
+ * @author agent
+ */
+public final class BenchmarkUtil {
+
+    /**
+     * The seed used by all benchmarks, so that all runs operate on identical models.
+     */
+    public static final long SEED = 42L;
+
+    private BenchmarkUtil() {
+        // prevent instantiation
+    }
+
+    /**
+     * Returns an alphabet of the given size.
+     *
+     * @param size
+     *         the number of symbols
+     *
+     * @return an alphabet with the symbols {@code 0} to {@code size - 1}
+     */
+    public static Alphabet<Integer> alphabet(int size) {
+        return Alphabets.integers(0, size - 1);
+    }
+
+    /**
+     * Generates a list of uniformly distributed random words.
+     *
+     * @param random
+     *         the random number generator
+     * @param alphabet
+     *         the alphabet to draw the symbols from
+     * @param numWords
+     *         the number of words
+     * @param length
+     *         the length of each word
+     *
+     * @return the list of random words
+     */
+    public static <I> List<Word<I>> randomWords(Random random, Alphabet<I> alphabet, int numWords, int length) {
+        final List<Word<I>> result = new ArrayList<>(numWords);
+        final WordBuilder<I> wb = new WordBuilder<>(length);
+
+        for (int i = 0; i < numWords; i++) {
+            for (int j = 0; j < length; j++) {
+                wb.append(alphabet.getSymbol(random.nextInt(alphabet.size())));
+            }
+            result.add(wb.toWord());
+            wb.clear();
+        }
+
+        return result;
+    }
+}
@@ -0,0 +1,174 @@
+/* Copyright (C) 2013-2022 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.benchmarks.conformance;
+
+import java.util.Iterator;
+import java.util.Random;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.StreamSupport;
+
+import net.automatalib.automata.fsa.impl.compact.CompactDFA;
+import net.automatalib.benchmarks.BenchmarkUtil;
+import net.automatalib.util.automata.conformance.IncrementalWMethodTestsIterator;
+import net.automatalib.util.automata.conformance.TestSuiteCompactor;
+import net.automatalib.util.automata.conformance.WMethodTestsIterator;
+import net.automatalib.util.automata.conformance.WMethodTestsSpliterator;
+import net.automatalib.util.automata.conformance.WpMethodTestsIterator;
+import net.automatalib.util.automata.conformance.WpMethodTestsSpliterator;
+import net.automatalib.util.automata.random.RandomAutomata;
+import net.automatalib.words.Alphabet;
+import net.automatalib.words.Word;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmarks for the generation of conformance tests via the {@link WMethodTestsIterator W method}, the {@link
+ * WpMethodTestsIterator Wp method} and the {@link IncrementalWMethodTestsIterator incremental W method}. Each benchmark
+ * generates a fixed number of test words and executes them on the hypothesis, as it is done by the respective
+ * equivalence oracles. The {@code *Spliterator} variants traverse the corresponding {@link java.util.Spliterator}s
+ * instead of the iterators. The {@code *Compacted} variants only execute the maximal tests of the generated tests as
+ * determined by a {@link TestSuiteCompactor}.
+ * <p>
+ * As the parallel traversal of a spliterator does not generate the tests in their encounter order, the {@code *Suite}
+ * and {@code *SuiteParallel} variants execute the complete test suite (without middle parts) sequentially and via
+ * parallel streams, respectively, so that both variants generate the same tests.
+ *
+ * @author agent
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class TestGenerationBenchmark {
+
+    private static final int NUM_TESTS = 100000;
+    private static final int MAX_DEPTH = 2;
+
+    @Param({"100", "1000"})
+    public int size;
+
+    @Param({"2", "10"})
+    public int alphabetSize;
+
+    private Alphabet<Integer> alphabet;
+    private CompactDFA<Integer> dfa;
+
+    @Setup
+    public void setUp() {
+        final Random random = new Random(BenchmarkUtil.SEED);
+
+        this.alphabet = BenchmarkUtil.alphabet(alphabetSize);
+        this.dfa = RandomAutomata.randomDFA(random, size, alphabet, false);
+    }
+
+    @Benchmark
+    public void wMethod(Blackhole blackhole) {
+        execute(new WMethodTestsIterator<>(dfa, alphabet, MAX_DEPTH), blackhole);
+    }
+
+    @Benchmark
+    public void wpMethod(Blackhole blackhole) {
+        execute(new WpMethodTestsIterator<>(dfa, alphabet, MAX_DEPTH), blackhole);
+    }
+
+    @Benchmark
+    public void incrementalWMethod(Blackhole blackhole) {
+        final IncrementalWMethodTestsIterator<Integer> iter = new IncrementalWMethodTestsIterator<>(alphabet);
+        iter.setMaxDepth(MAX_DEPTH);
+        iter.update(dfa);
+        execute(iter, blackhole);
+    }
+
+    @Benchmark
+    public void wMethodSpliterator(Blackhole blackhole) {
+        execute(Spliterators.iterator(new WMethodTestsSpliterator<>(dfa, alphabet, MAX_DEPTH)), blackhole);
+    }
+
+    @Benchmark
+    public void wpMethodSpliterator(Blackhole blackhole) {
+        execute(Spliterators.iterator(new WpMethodTestsSpliterator<>(dfa, alphabet, MAX_DEPTH)), blackhole);
+    }
+
+    @Benchmark
+    public void incrementalWMethodSpliterator(Blackhole blackhole) {
+        final IncrementalWMethodTestsIterator<Integer> iter = new IncrementalWMethodTestsIterator<>(alphabet);
+        iter.setMaxDepth(MAX_DEPTH);
+        iter.update(dfa);
+        execute(Spliterators.iterator(iter.spliterator()), blackhole);
+    }
+
+    @Benchmark
+    public long wMethodSuite() {
+        return execute(new WMethodTestsSpliterator<>(dfa, alphabet, 0), false);
+    }
+
+    @Benchmark
+    public long wMethodSuiteParallel() {
+        return execute(new WMethodTestsSpliterator<>(dfa, alphabet, 0), true);
+    }
+
+    @Benchmark
+    public long wpMethodSuite() {
+        return execute(new WpMethodTestsSpliterator<>(dfa, alphabet, 0), false);
+    }
+
+    @Benchmark
+    public long wpMethodSuiteParallel() {
+        return execute(new WpMethodTestsSpliterator<>(dfa, alphabet, 0), true);
+    }
+
+    @Benchmark
+    public void wMethodCompacted(Blackhole blackhole) {
+        execute(compact(new WMethodTestsIterator<>(dfa, alphabet, MAX_DEPTH)), blackhole);
+    }
+
+    @Benchmark
+    public void wpMethodCompacted(Blackhole blackhole) {
+        execute(compact(new WpMethodTestsIterator<>(dfa, alphabet, MAX_DEPTH)), blackhole);
+    }
+
+    private Iterator<Word<Integer>> compact(Iterator<Word<Integer>> tests) {
+        final TestSuiteCompactor<Integer> compactor = new TestSuiteCompactor<>(alphabet);
+        for (int i = 0; i < NUM_TESTS && tests.hasNext(); i++) {
+            compactor.add(tests.next());
+        }
+        return compactor.iterator();
+    }
+
+    private long execute(Spliterator<Word<Integer>> tests, boolean parallel) {
+        return StreamSupport.stream(tests, parallel).filter(dfa::accepts).count();
+    }
+
+    private void execute(Iterator<Word<Integer>> tests, Blackhole blackhole) {
+        for (int i = 0; i < NUM_TESTS && tests.hasNext(); i++) {
+            blackhole.consume(dfa.accepts(tests.next()));
+        }
+    }
+}
@@ -0,0 +1,138 @@
+/* Copyright (C) 2013-2022 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.benchmarks.equivalence;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import net.automatalib.automata.fsa.impl.compact.CompactDFA;
+import net.automatalib.automata.transducers.impl.compact.CompactMealy;
+import net.automatalib.benchmarks.BenchmarkUtil;
+import net.automatalib.util.automata.equivalence.BatchEquivalenceTest;
+import net.automatalib.util.automata.equivalence.DeterministicEquivalenceTest;
+import net.automatalib.util.automata.equivalence.NearLinearEquivalenceTest;
+import net.automatalib.util.automata.random.RandomAutomata;
+import net.automatalib.words.Alphabet;
+import net.automatalib.words.Word;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks for the equivalence checks of {@link NearLinearEquivalenceTest} and {@link DeterministicEquivalenceTest}.
+ * Each automaton is compared to an (equivalent) copy of itself, which constitutes the worst case as the complete
+ * product needs to be explored. Additionally, {@link BatchEquivalenceTest} is compared to individual checks of a DFA
+ * against a set of mutants.
+ *
+ * @author agent
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class EquivalenceBenchmark {
+
+    private static final int NUM_MUTANTS = 10;
+
+    @Param({"1000", "10000", "100000"})
+    public int size;
+
+    @Param({"2", "10"})
+    public int alphabetSize;
+
+    private Alphabet<Integer> alphabet;
+    private CompactDFA<Integer> dfa1, dfa2;
+    private CompactMealy<Integer, Integer> mealy1, mealy2;
+    private List<CompactDFA<Integer>> mutants;
+
+    @Setup
+    public void setUp() {
+        final Random random = new Random(BenchmarkUtil.SEED);
+
+        this.alphabet = BenchmarkUtil.alphabet(alphabetSize);
+        this.dfa1 = RandomAutomata.randomDFA(random, size, alphabet, false);
+        this.dfa2 = new CompactDFA<>(dfa1);
+        this.mealy1 = RandomAutomata.randomMealy(random, size, alphabet, BenchmarkUtil.alphabet(alphabetSize), false);
+        this.mealy2 = new CompactMealy<>(mealy1);
+
+        // mutants that differ from dfa1 in the acceptance of a single state (or not at all)
+        this.mutants = new ArrayList<>(NUM_MUTANTS);
+        for (int i = 0; i < NUM_MUTANTS; i++) {
+            final CompactDFA<Integer> mutant = new CompactDFA<>(dfa1);
+            if (i > 0) {
+                final int state = random.nextInt(size);
+                mutant.setAccepting(state, !mutant.isAccepting(state));
+            }
+            this.mutants.add(mutant);
+        }
+    }
+
+    @Benchmark
+    public Word<Integer> nearLinearDFA() {
+        return NearLinearEquivalenceTest.findSeparatingWord(dfa1, dfa2, alphabet);
+    }
+
+    @Benchmark
+    public Word<Integer> nearLinearMealy() {
+        return NearLinearEquivalenceTest.findSeparatingWord(mealy1, mealy2, alphabet);
+    }
+
+    @Benchmark
+    public List<Word<Integer>> nearLinearMutantsDFA() {
+        final List<Word<Integer>> result = new ArrayList<>(NUM_MUTANTS);
+        for (CompactDFA<Integer> mutant : mutants) {
+            result.add(NearLinearEquivalenceTest.findSeparatingWord(dfa1, mutant, alphabet));
+        }
+        return result;
+    }
+
+    @Benchmark
+    public List<Word<Integer>> batchMutantsDFA() {
+        return BatchEquivalenceTest.findSeparatingWords(dfa1, mutants, alphabet);
+    }
+
+    @Benchmark
+    public Word<Integer> productBFSDFA() {
+        return DeterministicEquivalenceTest.findSeparatingWord(dfa1, dfa2, alphabet);
+    }
+
+    @Benchmark
+    public Word<Integer> productBFSMealy() {
+        return DeterministicEquivalenceTest.findSeparatingWord(mealy1, mealy2, alphabet);
+    }
+
+    @Benchmark
+    public Word<Integer> productBFSParallelDFA() {
+        return DeterministicEquivalenceTest.findSeparatingWordParallel(dfa1, dfa2, alphabet);
+    }
+
+    @Benchmark
+    public Word<Integer> productBFSParallelMealy() {
+        return DeterministicEquivalenceTest.findSeparatingWordParallel(mealy1, mealy2, alphabet);
+    }
+}
@@ -0,0 +1,95 @@
+/* Copyright (C) 2013-2022 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.benchmarks.equivalence;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import net.automatalib.automata.fsa.impl.compact.CompactDFA;
+import net.automatalib.benchmarks.BenchmarkUtil;
+import net.automatalib.util.automata.equivalence.DeterministicEquivalenceTest;
+import net.automatalib.util.automata.random.RandomAutomata;
+import net.automatalib.words.Alphabet;
+import net.automatalib.words.Word;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks the scalability of {@link DeterministicEquivalenceTest#findSeparatingWordParallel(
+ * net.automatalib.automata.UniversalDeterministicAutomaton, net.automatalib.automata.UniversalDeterministicAutomaton,
+ * Alphabet, ForkJoinPool)} w.r.t. the number of threads. As in {@link EquivalenceBenchmark}, a DFA is compared to an
+ * (equivalent) copy of itself, so that the complete product needs to be explored. The sequential exploration serves as
+ * the baseline. Note that the results are only meaningful on machines with (at least) as many cores as threads.
+ *
+ * @author agent
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class ParallelEquivalenceBenchmark {
+
+    @Param({"100000", "1000000"})
+    public int size;
+
+    @Param({"10"})
+    public int alphabetSize;
+
+    @Param({"2", "4", "8"})
+    public int threads;
+
+    private Alphabet<Integer> alphabet;
+    private CompactDFA<Integer> dfa1, dfa2;
+    private ForkJoinPool pool;
+
+    @Setup
+    public void setUp() {
+        final Random random = new Random(BenchmarkUtil.SEED);
+
+        this.alphabet = BenchmarkUtil.alphabet(alphabetSize);
+        this.dfa1 = RandomAutomata.randomDFA(random, size, alphabet, false);
+        this.dfa2 = new CompactDFA<>(dfa1);
+        this.pool = new ForkJoinPool(threads);
+    }
+
+    @TearDown
+    public void tearDown() {
+        this.pool.shutdown();
+    }
+
+    @Benchmark
+    public Word<Integer> sequential() {
+        return DeterministicEquivalenceTest.findSeparatingWordPrimitive(dfa1, dfa2, alphabet);
+    }
+
+    @Benchmark
+    public Word<Integer> parallel() {
+        return DeterministicEquivalenceTest.findSeparatingWordParallel(dfa1, dfa2, alphabet, pool);
+    }
+}
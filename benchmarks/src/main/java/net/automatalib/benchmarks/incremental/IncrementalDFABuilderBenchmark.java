@@ -0,0 +1,180 @@
+/* Copyright (C) 2013-2022 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.benchmarks.incremental;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import net.automatalib.automata.fsa.impl.compact.CompactDFA;
+import net.automatalib.benchmarks.BenchmarkUtil;
+import net.automatalib.incremental.dfa.IncrementalDFABuilder;
+import net.automatalib.incremental.dfa.dag.IncrementalDFADAGBuilder;
+import net.automatalib.incremental.dfa.tree.IncrementalDFATreeBuilder;
+import net.automatalib.util.automata.random.RandomAutomata;
+import net.automatalib.words.Alphabet;
+import net.automatalib.words.Word;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmarks for the insertion and lookup performance of {@link IncrementalDFABuilder}s. The stored words are random
+ * words, whose acceptance is determined by a random DFA. The {@code *Prefixes} benchmarks insert the prefix-closure of
+ * (a subset of) these words, i.e., batches whose words share most of their symbols.
+ *
+ * @author agent
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class IncrementalDFABuilderBenchmark {
+
+    private static final int NUM_WORDS = 1000;
+    private static final int NUM_PREFIX_CLOSED_WORDS = 100;
+    private static final int DFA_SIZE = 100;
+
+    @Param({"TREE", "DAG"})
+    public BuilderType type;
+
+    @Param({"20", "100"})
+    public int wordLength;
+
+    @Param({"2", "10"})
+    public int alphabetSize;
+
+    private Alphabet<Integer> alphabet;
+    private List<Word<Integer>> inputs;
+    private boolean[] acceptance;
+    private List<Word<Integer>> acceptedInputs;
+    private List<Word<Integer>> rejectedInputs;
+    private List<Word<Integer>> prefixes;
+    private boolean[] prefixAcceptance;
+    private List<Word<Integer>> acceptedPrefixes;
+    private List<Word<Integer>> rejectedPrefixes;
+    private IncrementalDFABuilder<Integer> filledBuilder;
+
+    @Setup
+    public void setUp() {
+        final Random random = new Random(BenchmarkUtil.SEED);
+
+        this.alphabet = BenchmarkUtil.alphabet(alphabetSize);
+        final CompactDFA<Integer> dfa = RandomAutomata.randomDFA(random, DFA_SIZE, alphabet);
+
+        this.inputs = BenchmarkUtil.randomWords(random, alphabet, NUM_WORDS, wordLength);
+        this.acceptance = new boolean[NUM_WORDS];
+        this.acceptedInputs = new ArrayList<>();
+        this.rejectedInputs = new ArrayList<>();
+
+        for (int i = 0; i < NUM_WORDS; i++) {
+            acceptance[i] = dfa.accepts(inputs.get(i));
+            (acceptance[i] ? acceptedInputs : rejectedInputs).add(inputs.get(i));
+        }
+
+        final Set<Word<Integer>> prefixClosure = new LinkedHashSet<>();
+        for (int i = 0; i < NUM_PREFIX_CLOSED_WORDS; i++) {
+            prefixClosure.addAll(inputs.get(i).prefixes(false));
+        }
+
+        this.prefixes = new ArrayList<>(prefixClosure);
+        this.prefixAcceptance = new boolean[prefixes.size()];
+        this.acceptedPrefixes = new ArrayList<>();
+        this.rejectedPrefixes = new ArrayList<>();
+
+        for (int i = 0; i < prefixes.size(); i++) {
+            prefixAcceptance[i] = dfa.accepts(prefixes.get(i));
+            (prefixAcceptance[i] ? acceptedPrefixes : rejectedPrefixes).add(prefixes.get(i));
+        }
+
+        this.filledBuilder = insert();
+    }
+
+    @Benchmark
+    public IncrementalDFABuilder<Integer> insert() {
+        final IncrementalDFABuilder<Integer> builder = type.factory.apply(alphabet);
+
+        for (int i = 0; i < NUM_WORDS; i++) {
+            builder.insert(inputs.get(i), acceptance[i]);
+        }
+
+        return builder;
+    }
+
+    @Benchmark
+    public IncrementalDFABuilder<Integer> insertAll() {
+        final IncrementalDFABuilder<Integer> builder = type.factory.apply(alphabet);
+
+        builder.insertAll(acceptedInputs, true);
+        builder.insertAll(rejectedInputs, false);
+
+        return builder;
+    }
+
+    @Benchmark
+    public IncrementalDFABuilder<Integer> insertPrefixes() {
+        final IncrementalDFABuilder<Integer> builder = type.factory.apply(alphabet);
+
+        for (int i = 0; i < prefixes.size(); i++) {
+            builder.insert(prefixes.get(i), prefixAcceptance[i]);
+        }
+
+        return builder;
+    }
+
+    @Benchmark
+    public IncrementalDFABuilder<Integer> insertAllPrefixes() {
+        final IncrementalDFABuilder<Integer> builder = type.factory.apply(alphabet);
+
+        builder.insertAll(acceptedPrefixes, true);
+        builder.insertAll(rejectedPrefixes, false);
+
+        return builder;
+    }
+
+    @Benchmark
+    public void lookup(Blackhole blackhole) {
+        for (Word<Integer> input : inputs) {
+            blackhole.consume(filledBuilder.lookup(input));
+        }
+    }
+
+    public enum BuilderType {
+        TREE(IncrementalDFATreeBuilder::new),
+        DAG(IncrementalDFADAGBuilder::new);
+
+        final Function<Alphabet<Integer>, IncrementalDFABuilder<Integer>> factory;
+
+        BuilderType(Function<Alphabet<Integer>, IncrementalDFABuilder<Integer>> factory) {
+            this.factory = factory;
+        }
+    }
+}
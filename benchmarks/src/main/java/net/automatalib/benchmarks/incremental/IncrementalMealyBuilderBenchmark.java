@@ -0,0 +1,172 @@
+/* Copyright (C) 2013-2022 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.benchmarks.incremental;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import net.automatalib.automata.transducers.impl.compact.CompactMealy;
+import net.automatalib.benchmarks.BenchmarkUtil;
+import net.automatalib.incremental.mealy.IncrementalMealyBuilder;
+import net.automatalib.incremental.mealy.dag.IncrementalMealyDAGBuilder;
+import net.automatalib.incremental.mealy.tree.CompactIncrementalMealyTreeBuilder;
+import net.automatalib.incremental.mealy.tree.IncrementalMealyTreeBuilder;
+import net.automatalib.util.automata.random.RandomAutomata;
+import net.automatalib.words.Alphabet;
+import net.automatalib.words.Word;
+import net.automatalib.words.WordBuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmarks for the insertion and lookup performance of {@link IncrementalMealyBuilder}s. The stored words are random
+ * words, whose outputs are determined by a random Mealy machine. The {@code *Prefixes} benchmarks insert the
+ * prefix-closure of (a subset of) these words, i.e., batches whose words share most of their symbols.
+ *
+ * @author agent
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class IncrementalMealyBuilderBenchmark {
+
+    private static final int NUM_WORDS = 1000;
+    private static final int NUM_PREFIX_CLOSED_WORDS = 100;
+    private static final int MEALY_SIZE = 100;
+
+    @Param({"TREE", "COMPACT_TREE", "DAG"})
+    public BuilderType type;
+
+    @Param({"20", "100"})
+    public int wordLength;
+
+    @Param({"2", "10"})
+    public int alphabetSize;
+
+    private Alphabet<Integer> alphabet;
+    private List<Word<Integer>> inputs;
+    private List<Word<Integer>> outputs;
+    private Map<Word<Integer>, Word<Integer>> inputOutputs;
+    private Map<Word<Integer>, Word<Integer>> prefixOutputs;
+    private IncrementalMealyBuilder<Integer, Integer> filledBuilder;
+
+    @Setup
+    public void setUp() {
+        final Random random = new Random(BenchmarkUtil.SEED);
+
+        this.alphabet = BenchmarkUtil.alphabet(alphabetSize);
+        final CompactMealy<Integer, Integer> mealy =
+                RandomAutomata.randomMealy(random, MEALY_SIZE, alphabet, BenchmarkUtil.alphabet(alphabetSize));
+
+        this.inputs = BenchmarkUtil.randomWords(random, alphabet, NUM_WORDS, wordLength);
+        this.outputs = new ArrayList<>(NUM_WORDS);
+        this.inputOutputs = new HashMap<>();
+
+        for (Word<Integer> input : inputs) {
+            final Word<Integer> output = mealy.computeOutput(input);
+            outputs.add(output);
+            inputOutputs.put(input, output);
+        }
+
+        this.prefixOutputs = new LinkedHashMap<>();
+        for (int i = 0; i < NUM_PREFIX_CLOSED_WORDS; i++) {
+            final Word<Integer> input = inputs.get(i);
+            final Word<Integer> output = outputs.get(i);
+            for (int j = 0; j <= input.length(); j++) {
+                prefixOutputs.put(input.prefix(j), output.prefix(j));
+            }
+        }
+
+        this.filledBuilder = insert();
+    }
+
+    @Benchmark
+    public IncrementalMealyBuilder<Integer, Integer> insert() {
+        final IncrementalMealyBuilder<Integer, Integer> builder = type.factory.apply(alphabet);
+
+        for (int i = 0; i < NUM_WORDS; i++) {
+            builder.insert(inputs.get(i), outputs.get(i));
+        }
+
+        return builder;
+    }
+
+    @Benchmark
+    public IncrementalMealyBuilder<Integer, Integer> insertAll() {
+        final IncrementalMealyBuilder<Integer, Integer> builder = type.factory.apply(alphabet);
+        builder.insertAll(inputOutputs);
+        return builder;
+    }
+
+    @Benchmark
+    public IncrementalMealyBuilder<Integer, Integer> insertPrefixes() {
+        final IncrementalMealyBuilder<Integer, Integer> builder = type.factory.apply(alphabet);
+
+        for (Map.Entry<Word<Integer>, Word<Integer>> e : prefixOutputs.entrySet()) {
+            builder.insert(e.getKey(), e.getValue());
+        }
+
+        return builder;
+    }
+
+    @Benchmark
+    public IncrementalMealyBuilder<Integer, Integer> insertAllPrefixes() {
+        final IncrementalMealyBuilder<Integer, Integer> builder = type.factory.apply(alphabet);
+        builder.insertAll(prefixOutputs);
+        return builder;
+    }
+
+    @Benchmark
+    public void lookup(Blackhole blackhole) {
+        final WordBuilder<Integer> wb = new WordBuilder<>(wordLength);
+
+        for (Word<Integer> input : inputs) {
+            blackhole.consume(filledBuilder.lookup(input, wb));
+            wb.clear();
+        }
+    }
+
+    public enum BuilderType {
+        TREE(IncrementalMealyTreeBuilder::new),
+        COMPACT_TREE(CompactIncrementalMealyTreeBuilder::new),
+        DAG(IncrementalMealyDAGBuilder::new);
+
+        final Function<Alphabet<Integer>, IncrementalMealyBuilder<Integer, Integer>> factory;
+
+        BuilderType(Function<Alphabet<Integer>, IncrementalMealyBuilder<Integer, Integer>> factory) {
+            this.factory = factory;
+        }
+    }
+}
@@ -0,0 +1,116 @@
+/* Copyright (C) 2013-2022 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.benchmarks.minimization;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import net.automatalib.automata.fsa.impl.compact.CompactDFA;
+import net.automatalib.benchmarks.BenchmarkUtil;
+import net.automatalib.util.automata.minimizer.hopcroft.HopcroftMinimization;
+import net.automatalib.util.automata.minimizer.hopcroft.IncrementalDFAMinimizer;
+import net.automatalib.words.Alphabet;
+import net.automatalib.words.Word;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks for {@link IncrementalDFAMinimizer} compared to a full {@link HopcroftMinimization} after a single
+ * modification (flipping the acceptance of a random state) of a (completed) prefix tree acceptor of random words.
+ *
+ * @author agent
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class IncrementalMinimizationBenchmark {
+
+    private static final int WORD_LENGTH = 20;
+
+    @Param({"1000", "10000"})
+    public int numWords;
+
+    @Param({"2", "10"})
+    public int alphabetSize;
+
+    private Alphabet<Integer> alphabet;
+    private Random random;
+    private CompactDFA<Integer> dfa;
+    private IncrementalDFAMinimizer<Integer> minimizer;
+
+    @Setup
+    public void setUp() {
+        final Random wordRandom = new Random(BenchmarkUtil.SEED);
+
+        this.alphabet = BenchmarkUtil.alphabet(alphabetSize);
+        this.random = new Random(BenchmarkUtil.SEED);
+        this.dfa = new CompactDFA<>(alphabet);
+
+        final int init = dfa.addIntInitialState(false);
+        for (Word<Integer> w : BenchmarkUtil.randomWords(wordRandom, alphabet, numWords, WORD_LENGTH)) {
+            int curr = init;
+            for (Integer sym : w) {
+                final int idx = alphabet.getSymbolIndex(sym);
+                Integer succ = dfa.getTransition(curr, idx);
+                if (succ == null) {
+                    succ = dfa.addIntState(false);
+                    dfa.setTransition(curr, idx, succ.intValue());
+                }
+                curr = succ;
+            }
+            dfa.setAccepting(curr, true);
+        }
+
+        final int sink = dfa.addIntState(false);
+        for (int s = 0; s <= sink; s++) {
+            for (int i = 0; i < alphabetSize; i++) {
+                if (dfa.getTransition(s, i) == null) {
+                    dfa.setTransition(s, i, sink);
+                }
+            }
+        }
+
+        this.minimizer = new IncrementalDFAMinimizer<>(dfa);
+        this.minimizer.minimize();
+    }
+
+    @Benchmark
+    public CompactDFA<Integer> minimizeFull() {
+        final int state = random.nextInt(dfa.size() - 1);
+        dfa.setAccepting(state, !dfa.isAccepting(state));
+        return HopcroftMinimization.minimizeDFA(dfa, alphabet);
+    }
+
+    @Benchmark
+    public CompactDFA<Integer> minimizeIncremental() {
+        final CompactDFA<Integer> automaton = minimizer.getAutomaton();
+        final int state = random.nextInt(automaton.size() - 1);
+        minimizer.setAccepting(state, !automaton.isAccepting(state));
+        return minimizer.minimize();
+    }
+}
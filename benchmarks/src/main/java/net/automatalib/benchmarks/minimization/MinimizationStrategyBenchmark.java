@@ -0,0 +1,159 @@
+/* Copyright (C) 2013-2022 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.benchmarks.minimization;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import net.automatalib.automata.fsa.impl.compact.CompactDFA;
+import net.automatalib.benchmarks.BenchmarkUtil;
+import net.automatalib.util.automata.fsa.DFAs;
+import net.automatalib.util.automata.fsa.DFAs.MinimizationStrategy;
+import net.automatalib.util.automata.fsa.NFAs;
+import net.automatalib.util.automata.random.RandomAutomata;
+import net.automatalib.words.Alphabet;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks for the different {@link MinimizationStrategy minimization strategies} of {@link DFAs}. Since the
+ * performance of {@link MinimizationStrategy#BRZOZOWSKI} heavily depends on the structure of the automaton, the
+ * strategies are benchmarked on two kinds of DFAs:
+ * <ul>
+ *     <li>the (non-minimal) determinized reversals of random DFAs, for which all strategies are benchmarked, and</li>
+ *     <li>large (non-minimal) random DFAs, for which only the partition refinement based strategies are benchmarked
+ *     (as determinizing their reversals is infeasible), and</li>
+ *     <li>large chains of states, whose states are only distinguished by long words and which therefore constitute
+ *     the worst case for the round-based {@link MinimizationStrategy#PARALLEL_REFINEMENT}.</li>
+ * </ul>
+ *
+ * @author agent
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class MinimizationStrategyBenchmark {
+
+    @Benchmark
+    public CompactDFA<Integer> minimizeReversed(ReversedDFAs state) {
+        return DFAs.minimize(state.dfa, state.alphabet, state.strategy);
+    }
+
+    @Benchmark
+    public CompactDFA<Integer> minimizeRandom(RandomDFAs state) {
+        return DFAs.minimize(state.dfa, state.alphabet, state.strategy);
+    }
+
+    @Benchmark
+    public CompactDFA<Integer> minimizeChain(ChainDFAs state) {
+        return DFAs.minimize(state.dfa, state.alphabet, state.strategy);
+    }
+
+    @State(Scope.Benchmark)
+    public static class ReversedDFAs {
+
+        @Param({"10", "15"})
+        public int size;
+
+        @Param({"2", "10"})
+        public int alphabetSize;
+
+        @Param
+        public MinimizationStrategy strategy;
+
+        private Alphabet<Integer> alphabet;
+        private CompactDFA<Integer> dfa;
+
+        @Setup
+        public void setUp() {
+            final Random random = new Random(BenchmarkUtil.SEED);
+
+            this.alphabet = BenchmarkUtil.alphabet(alphabetSize);
+
+            final CompactDFA<Integer> base = RandomAutomata.randomDFA(random, size, alphabet, false);
+            this.dfa = NFAs.determinize(NFAs.reverse(base, alphabet), alphabet, false, false);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class RandomDFAs {
+
+        @Param({"10000", "100000"})
+        public int size;
+
+        @Param({"2", "10"})
+        public int alphabetSize;
+
+        @Param({"HOPCROFT", "PARALLEL_REFINEMENT"})
+        public MinimizationStrategy strategy;
+
+        private Alphabet<Integer> alphabet;
+        private CompactDFA<Integer> dfa;
+
+        @Setup
+        public void setUp() {
+            final Random random = new Random(BenchmarkUtil.SEED);
+
+            this.alphabet = BenchmarkUtil.alphabet(alphabetSize);
+            this.dfa = RandomAutomata.randomDFA(random, size, alphabet, false);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class ChainDFAs {
+
+        @Param({"10000", "100000"})
+        public int size;
+
+        @Param({"2", "10"})
+        public int alphabetSize;
+
+        @Param({"HOPCROFT", "PARALLEL_REFINEMENT"})
+        public MinimizationStrategy strategy;
+
+        private Alphabet<Integer> alphabet;
+        private CompactDFA<Integer> dfa;
+
+        @Setup
+        public void setUp() {
+            this.alphabet = BenchmarkUtil.alphabet(alphabetSize);
+            this.dfa = new CompactDFA<>(alphabet, size);
+
+            for (int s = 0; s < size; s++) {
+                dfa.addState(s % 7 == 0);
+            }
+            dfa.setInitialState(0);
+
+            for (int s = 0; s < size; s++) {
+                final int succ = Math.min(s + 1, size - 1);
+                for (int i = 0; i < alphabetSize; i++) {
+                    dfa.setTransition(s, i, succ);
+                }
+            }
+        }
+    }
+}
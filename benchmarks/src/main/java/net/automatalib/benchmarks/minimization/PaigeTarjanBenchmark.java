@@ -0,0 +1,98 @@
+/* Copyright (C) 2013-2022 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.benchmarks.minimization;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import net.automatalib.automata.UniversalDeterministicAutomaton.FullIntAbstraction;
+import net.automatalib.automata.base.compact.CompactTransition;
+import net.automatalib.automata.transducers.impl.compact.CompactMealy;
+import net.automatalib.benchmarks.BenchmarkUtil;
+import net.automatalib.util.automata.random.RandomAutomata;
+import net.automatalib.util.partitionrefinement.AutomatonInitialPartitioning;
+import net.automatalib.util.partitionrefinement.PaigeTarjan;
+import net.automatalib.util.partitionrefinement.PaigeTarjanInitializers;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks for the raw partition refinement of {@link PaigeTarjan}, i.e. excluding the initialization of its data
+ * structures and the extraction of the result. Both the sequential and the parallel refinement are benchmarked.
+ *
+ * @author agent
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class PaigeTarjanBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    public int size;
+
+    @Param({"2", "10"})
+    public int alphabetSize;
+
+    private FullIntAbstraction<CompactTransition<Integer>, Void, Integer> abstraction;
+    private PaigeTarjan pt;
+
+    @Setup
+    public void setUp() {
+        final Random random = new Random(BenchmarkUtil.SEED);
+        final CompactMealy<Integer, Integer> mealy = RandomAutomata.randomMealy(random,
+                                                                                size,
+                                                                                BenchmarkUtil.alphabet(alphabetSize),
+                                                                                BenchmarkUtil.alphabet(alphabetSize),
+                                                                                false);
+        this.abstraction = mealy.fullIntAbstraction(mealy.getInputAlphabet());
+    }
+
+    @Setup(Level.Invocation)
+    public void setUpInvocation() {
+        this.pt = new PaigeTarjan();
+        PaigeTarjanInitializers.initCompleteDeterministic(pt,
+                                                          abstraction,
+                                                          AutomatonInitialPartitioning.BY_TRANSITION_PROPERTIES,
+                                                          false);
+        pt.initWorklist(false);
+    }
+
+    @Benchmark
+    public PaigeTarjan computeCoarsestStablePartition() {
+        pt.computeCoarsestStablePartition();
+        return pt;
+    }
+
+    @Benchmark
+    public PaigeTarjan computeCoarsestStablePartitionParallel() {
+        pt.computeCoarsestStablePartition(ForkJoinPool.commonPool());
+        return pt;
+    }
+}
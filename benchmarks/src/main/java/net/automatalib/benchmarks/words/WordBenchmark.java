@@ -0,0 +1,120 @@
+/* Copyright (C) 2013-2022 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.benchmarks.words;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import net.automatalib.benchmarks.BenchmarkUtil;
+import net.automatalib.words.Alphabet;
+import net.automatalib.words.Word;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmarks for the {@link Word#hashCode() hashing} and {@link Word#equals(Object) equality checks} of words, as they
+ * are performed by {@link Map}-based caches and counterexample stores. All lookups use words that are equal to, but
+ * not identical with the stored keys.
+ *
+ * @author agent
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class WordBenchmark {
+
+    private static final int NUM_WORDS = 10000;
+    private static final int ALPHABET_SIZE = 10;
+
+    @Param({"20", "100", "500"})
+    public int wordLength;
+
+    private List<Word<Integer>> words;
+    private List<Word<Integer>> queries;
+    private List<Word<Integer>> prefixes;
+    private List<Word<Integer>> suffixes;
+    private Map<Word<Integer>, Integer> filledMap;
+
+    @Setup
+    public void setUp() {
+        final Random random = new Random(BenchmarkUtil.SEED);
+        final Alphabet<Integer> alphabet = BenchmarkUtil.alphabet(ALPHABET_SIZE);
+
+        this.words = BenchmarkUtil.randomWords(random, alphabet, NUM_WORDS, wordLength);
+        this.queries = new ArrayList<>(NUM_WORDS);
+        this.prefixes = new ArrayList<>(NUM_WORDS);
+        this.suffixes = new ArrayList<>(NUM_WORDS);
+
+        for (Word<Integer> w : words) {
+            queries.add(Word.fromList(new ArrayList<>(w.asList())));
+            prefixes.add(w.prefix(wordLength / 2));
+            suffixes.add(w.suffix(wordLength - wordLength / 2));
+        }
+
+        this.filledMap = put();
+    }
+
+    /**
+     * Fills a map with (already hashed) words.
+     */
+    @Benchmark
+    public Map<Word<Integer>, Integer> put() {
+        final Map<Word<Integer>, Integer> map = new HashMap<>();
+
+        for (int i = 0; i < NUM_WORDS; i++) {
+            map.put(words.get(i), i);
+        }
+
+        return map;
+    }
+
+    /**
+     * Repeatedly looks up the same word instances, as it is done when, e.g., checking multiple caches for a query.
+     */
+    @Benchmark
+    public void get(Blackhole blackhole) {
+        for (Word<Integer> q : queries) {
+            blackhole.consume(filledMap.get(q));
+        }
+    }
+
+    /**
+     * Looks up freshly constructed words, as it is done when, e.g., extending prefixes with suffixes.
+     */
+    @Benchmark
+    public void getConcat(Blackhole blackhole) {
+        for (int i = 0; i < NUM_WORDS; i++) {
+            blackhole.consume(filledMap.get(prefixes.get(i).concat(suffixes.get(i))));
+        }
+    }
+}
@@ -251,6 +251,42 @@ public abstract class AbstractCompact<I, T, SP, TP> implements MutableAutomaton<
         return payload.type.updateStorage(oldStorage, payload, int[]::new, (arr, idx) -> arr[idx] = defaultValue);
     }
 
+    /**
+     * Return a copy of the provided array with updated memory layout.
+     *
+     * @param oldStorage
+     *         the current array
+     * @param defaultValue
+     *         default value for newly allocated array positions
+     * @param payload
+     *         the payload object
+     *
+     * @return a copy of the provided array with updated memory layout.
+     *
+     * @see #updateTransitionStorage(int[], int, Payload)
+     */
+    protected final byte[] updateTransitionStorage(byte[] oldStorage, byte defaultValue, Payload payload) {
+        return payload.type.updateStorage(oldStorage, payload, byte[]::new, (arr, idx) -> arr[idx] = defaultValue);
+    }
+
+    /**
+     * Return a copy of the provided array with updated memory layout.
+     *
+     * @param oldStorage
+     *         the current array
+     * @param defaultValue
+     *         default value for newly allocated array positions
+     * @param payload
+     *         the payload object
+     *
+     * @return a copy of the provided array with updated memory layout.
+     *
+     * @see #updateTransitionStorage(int[], int, Payload)
+     */
+    protected final short[] updateTransitionStorage(short[] oldStorage, short defaultValue, Payload payload) {
+        return payload.type.updateStorage(oldStorage, payload, short[]::new, (arr, idx) -> arr[idx] = defaultValue);
+    }
+
     /**
      * Return a copy of the provided array with updated memory layout.
      *
@@ -73,6 +73,18 @@ public abstract class AbstractCompactSimpleDeterministic<I, SP>
         return toState(transitions[toMemoryIndex(state, input)]);
     }
 
+    @Override
+    // Overridden for performance reasons (to prevent autoboxing of default implementation)
+    public int getSuccessor(int state, int input) {
+        return transitions[toMemoryIndex(state, input)];
+    }
+
+    @Override
+    // Overridden for performance reasons (to prevent autoboxing of default implementation)
+    public @Nullable Void getTransitionProperty(int state, int input) {
+        return null;
+    }
+
     @Override
     protected void updateTransitionStorage(Payload payload) {
         this.transitions = updateTransitionStorage(this.transitions, AbstractCompact.INVALID_STATE, payload);
@@ -215,6 +215,31 @@ public abstract class AbstractCompactSimpleNondet<I, SP> extends AbstractCompact
         return transition == null ? Collections.emptySet() : new PositiveIntSet(transition);
     }
 
+    /**
+     * Returns the smallest successor of the given state and input whose id is greater than or equal to the given id.
+     * Analogous to {@link BitSet#nextSetBit(int)}, this allows to iterate over the successors of a state without
+     * allocating intermediate objects:
+     * <pre>
+     * for (int succ = getNextSuccessor(state, inputIdx, 0); succ &gt;= 0;
+     *      succ = getNextSuccessor(state, inputIdx, succ + 1)) {
+     *     // ...
+     * }
+     * </pre>
+     *
+     * @param state
+     *         the source state
+     * @param inputIdx
+     *         the index of the input symbol
+     * @param fromSuccId
+     *         the (inclusive) id to start the search from
+     *
+     * @return the next successor, or {@code -1} if there is no such successor
+     */
+    public int getNextSuccessor(int state, int inputIdx, int fromSuccId) {
+        final BitSet transition = transitions[toMemoryIndex(state, inputIdx)];
+        return transition == null ? -1 : transition.nextSetBit(fromSuccId);
+    }
+
     @Override
     public Set<Integer> getInitialStates() {
         return new PositiveIntSet(initial);
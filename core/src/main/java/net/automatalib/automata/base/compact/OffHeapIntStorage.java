@@ -0,0 +1,333 @@
+/* Copyright (C) 2013-2022 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.automata.base.compact;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * A growable storage of {@code int}s that is kept outside the Java heap. The storage is organized in fixed-size
+ * segments (of {@code 2^segmentBits} entries each), which are either allocated as direct {@link ByteBuffer}s (see
+ * {@link #allocateDirect(int)}) or mapped from a file (see {@link #map(Path, int)}). Growing the storage only allocates
+ * additional segments and never copies existing data.
+ * <p>
+ * Newly allocated entries are initialized with {@code 0}. Hence, users of this class (such as {@link
+ * net.automatalib.automata.fsa.impl.compact.OffHeapCompactDFA}) typically store their data with an offset, such that
+ * {@code 0} can be used to encode undefined values.
+ *
+ * @author agent
+ */
+public final class OffHeapIntStorage implements Closeable {
+
+    /**
+     * The default number of bits used for addressing entries within a segment, i.e. segments contain {@code 2^20}
+     * entries (4 MiB) by default.
+     */
+    public static final int DEFAULT_SEGMENT_BITS = 20;
+
+    /**
+     * The maximum number of entries of a storage. Entries are addressed by (non-negative) {@code int} indices.
+     */
+    public static final long MAX_CAPACITY = Integer.MAX_VALUE;
+
+    private static final int BYTES_PER_INT = Integer.BYTES;
+
+    private final int segmentBits;
+    private final int segmentMask;
+    private final @Nullable FileChannel channel;
+
+    private IntBuffer[] segments;
+    private @Nullable MappedByteBuffer[] mappedSegments;
+    private int numSegments;
+
+    private OffHeapIntStorage(int segmentBits, @Nullable FileChannel channel) {
+        if (segmentBits < 0 || segmentBits > 28) {
+            throw new IllegalArgumentException("Segment bits must be within [0, 28], but was " + segmentBits);
+        }
+        this.segmentBits = segmentBits;
+        this.segmentMask = (1 << segmentBits) - 1;
+        this.channel = channel;
+        this.segments = new IntBuffer[0];
+        this.mappedSegments = new MappedByteBuffer[0];
+    }
+
+    /**
+     * Creates a new storage whose segments are allocated via {@link ByteBuffer#allocateDirect(int)} using the {@link
+     * #DEFAULT_SEGMENT_BITS default segment size}.
+     *
+     * @return the new storage
+     */
+    public static OffHeapIntStorage allocateDirect() {
+        return allocateDirect(DEFAULT_SEGMENT_BITS);
+    }
+
+    /**
+     * Creates a new storage whose segments are allocated via {@link ByteBuffer#allocateDirect(int)}.
+     *
+     * @param segmentBits
+     *         the number of bits used for addressing entries within a segment
+     *
+     * @return the new storage
+     */
+    public static OffHeapIntStorage allocateDirect(int segmentBits) {
+        return new OffHeapIntStorage(segmentBits, null);
+    }
+
+    /**
+     * Creates a new storage whose segments are memory-mapped from the given file using the {@link
+     * #DEFAULT_SEGMENT_BITS default segment size}.
+     *
+     * @param file
+     *         the file to map the segments from. If the file exists, its contents are discarded.
+     *
+     * @return the new storage
+     *
+     * @throws IOException
+     *         if the file cannot be opened
+     */
+    public static OffHeapIntStorage map(Path file) throws IOException {
+        return map(file, DEFAULT_SEGMENT_BITS);
+    }
+
+    /**
+     * Creates a new storage whose segments are memory-mapped from the given file.
+     *
+     * @param file
+     *         the file to map the segments from. If the file exists, its contents are discarded.
+     * @param segmentBits
+     *         the number of bits used for addressing entries within a segment
+     *
+     * @return the new storage
+     *
+     * @throws IOException
+     *         if the file cannot be opened
+     */
+    public static OffHeapIntStorage map(Path file, int segmentBits) throws IOException {
+        final FileChannel channel = FileChannel.open(file,
+                                                     StandardOpenOption.CREATE,
+                                                     StandardOpenOption.READ,
+                                                     StandardOpenOption.WRITE,
+                                                     StandardOpenOption.TRUNCATE_EXISTING);
+        return new OffHeapIntStorage(segmentBits, channel);
+    }
+
+    /**
+     * Re-opens a storage from a file that has previously been populated via {@link #map(Path, int)} (or this method).
+     * Contrary to {@link #map(Path, int)}, the contents of the file are preserved and all of its segments are mapped
+     * immediately. The file has to be re-opened with the same number of segment bits it has been created with and on
+     * a platform with the same {@link ByteOrder#nativeOrder() native byte order}.
+     *
+     * @param file
+     *         the file to map the segments from. If the file does not exist, it is created.
+     * @param segmentBits
+     *         the number of bits used for addressing entries within a segment
+     *
+     * @return the re-opened storage
+     *
+     * @throws IOException
+     *         if the file cannot be opened
+     */
+    public static OffHeapIntStorage open(Path file, int segmentBits) throws IOException {
+        final FileChannel channel =
+                FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        final OffHeapIntStorage result = new OffHeapIntStorage(segmentBits, channel);
+        final long segmentBytes = (long) BYTES_PER_INT << segmentBits;
+        final long numSegments = (channel.size() + segmentBytes - 1) / segmentBytes;
+
+        result.ensureCapacity(numSegments << segmentBits);
+        return result;
+    }
+
+    /**
+     * Returns the number of entries that can currently be addressed without allocating further segments.
+     *
+     * @return the capacity of this storage
+     */
+    public long capacity() {
+        return (long) numSegments << segmentBits;
+    }
+
+    /**
+     * Ensures that the given number of entries can be addressed, allocating further segments if necessary.
+     *
+     * @param minCapacity
+     *         the minimal number of entries
+     *
+     * @throws IllegalArgumentException
+     *         if {@code minCapacity} exceeds {@link #MAX_CAPACITY}
+     */
+    public void ensureCapacity(long minCapacity) {
+        if (minCapacity <= capacity()) {
+            return;
+        }
+
+        if (minCapacity > MAX_CAPACITY) {
+            throw new IllegalArgumentException("Capacity of " + minCapacity + " entries exceeds the maximum capacity");
+        }
+
+        final int requiredSegments = (int) (((minCapacity - 1) >>> segmentBits) + 1);
+
+        if (requiredSegments > segments.length) {
+            segments = Arrays.copyOf(segments, Math.max(requiredSegments, segments.length * 2));
+            mappedSegments = Arrays.copyOf(mappedSegments, segments.length);
+        }
+
+        while (numSegments < requiredSegments) {
+            segments[numSegments] = allocateSegment(numSegments);
+            numSegments++;
+        }
+    }
+
+    /**
+     * Returns the entry at the given index.
+     *
+     * @param idx
+     *         the index of the entry
+     *
+     * @return the entry at the given index
+     */
+    public int get(int idx) {
+        return segments[idx >>> segmentBits].get(idx & segmentMask);
+    }
+
+    /**
+     * Sets the entry at the given index.
+     *
+     * @param idx
+     *         the index of the entry
+     * @param value
+     *         the new value of the entry
+     */
+    public void set(int idx, int value) {
+        segments[idx >>> segmentBits].put(idx & segmentMask, value);
+    }
+
+    /**
+     * Sets all entries in the given range to the given value.
+     *
+     * @param fromIdx
+     *         the index of the first entry (inclusive)
+     * @param toIdx
+     *         the index of the last entry (exclusive)
+     * @param value
+     *         the new value of the entries
+     */
+    public void fill(int fromIdx, int toIdx, int value) {
+        for (int i = fromIdx; i < toIdx; i++) {
+            set(i, value);
+        }
+    }
+
+    /**
+     * Re-arranges the given number of consecutive blocks of (old) size {@code oldStride} such that each block occupies
+     * {@code newStride} entries afterwards. The additional entries of each block are initialized with {@code 0}. This
+     * operation is performed in-place, i.e. only the segments required for the additional entries are allocated.
+     *
+     * @param numBlocks
+     *         the number of blocks
+     * @param oldStride
+     *         the old size of each block
+     * @param newStride
+     *         the new size of each block, must not be smaller than {@code oldStride}
+     *
+     * @throws IllegalArgumentException
+     *         if {@code newStride < oldStride} or the re-arranged blocks would exceed {@link #MAX_CAPACITY}
+     */
+    public void expandStride(int numBlocks, int oldStride, int newStride) {
+        if (newStride < oldStride) {
+            throw new IllegalArgumentException("The new stride must not be smaller than the old stride");
+        }
+
+        // after this check, all block offsets fit into an int
+        ensureCapacity((long) numBlocks * newStride);
+
+        // blocks are moved towards higher indices, so process them (and their entries) from back to front
+        for (int b = numBlocks - 1; b >= 0; b--) {
+            final int oldBase = b * oldStride;
+            final int newBase = b * newStride;
+            for (int j = newStride - 1; j >= oldStride; j--) {
+                set(newBase + j, 0);
+            }
+            for (int j = oldStride - 1; j >= 0; j--) {
+                set(newBase + j, get(oldBase + j));
+            }
+        }
+    }
+
+    /**
+     * Forces all modifications of this storage to be written to its backing file. Does nothing if the storage is not
+     * backed by a file.
+     */
+    public void force() {
+        for (int i = 0; i < numSegments; i++) {
+            final MappedByteBuffer buffer = mappedSegments[i];
+            if (buffer != null) {
+                buffer.force();
+            }
+        }
+    }
+
+    /**
+     * Releases the segments of this storage. If the storage is backed by a file, the file is closed as well. The
+     * storage must not be used afterwards.
+     *
+     * @throws IOException
+     *         if the backing file cannot be closed
+     */
+    @Override
+    public void close() throws IOException {
+        this.segments = new IntBuffer[0];
+        this.mappedSegments = new MappedByteBuffer[0];
+        this.numSegments = 0;
+
+        if (channel != null) {
+            channel.close();
+        }
+    }
+
+    private IntBuffer allocateSegment(int index) {
+        final int segmentBytes = BYTES_PER_INT << segmentBits;
+        final ByteBuffer buffer;
+
+        if (channel == null) {
+            buffer = ByteBuffer.allocateDirect(segmentBytes);
+        } else {
+            try {
+                // mapping beyond the end of the file grows the file. The grown regions read as zeros
+                final MappedByteBuffer mapped =
+                        channel.map(MapMode.READ_WRITE, (long) index * segmentBytes, segmentBytes);
+                mappedSegments[index] = mapped;
+                buffer = mapped;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        return buffer.order(ByteOrder.nativeOrder()).asIntBuffer();
+    }
+}
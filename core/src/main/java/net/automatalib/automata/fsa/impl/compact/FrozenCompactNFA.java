@@ -0,0 +1,274 @@
+/* Copyright (C) 2013-2022 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.automata.fsa.impl.compact;
+
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import net.automatalib.automata.concepts.InputAlphabetHolder;
+import net.automatalib.automata.concepts.StateIDs;
+import net.automatalib.automata.fsa.NFA;
+import net.automatalib.commons.util.collections.CollectionsUtil;
+import net.automatalib.words.Alphabet;
+import net.automatalib.words.GrowingAlphabet;
+import net.automatalib.words.impl.MapAlphabet;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * An immutable, compact representation of an {@link NFA} that stores its transitions in the <i>compressed sparse
+ * row</i> (CSR) format: the successors of all (state, input) pairs are stored consecutively in a single {@code int[]}
+ * array, and a second {@code int[]} array stores for every (state, input) pair (ordered by state and input symbol
+ * index) the offset of its first successor. Compared to the {@link java.util.BitSet}-based storage of {@link
+ * CompactNFA}, this requires constant memory per (state, input) pair plus one {@code int} per transition, and the
+ * successors of a (state, input) pair can be iterated by a contiguous array scan (see {@link #getSuccessorsBegin(int,
+ * int)}, {@link #getSuccessorsEnd(int, int)} and {@link #getTarget(int)}).
+ * <p>
+ * The successors of each (state, input) pair are sorted in ascending order.
+ *
+ * @param <I>
+ *         input symbol type
+ *
+ * @author agent
+ */
+public class FrozenCompactNFA<I> implements NFA<Integer, I>, StateIDs<Integer>, InputAlphabetHolder<I> {
+
+    private final Alphabet<I> alphabet;
+    private final int numInputs;
+    private final int numStates;
+
+    private final int[] offsets;
+    private final int[] targets;
+    private final int[] initialStates;
+    private final BitSet accepting;
+
+    /**
+     * Constructor. Creates a frozen copy of the given {@link CompactNFA}. If the input alphabet of the given automaton
+     * is a {@link GrowingAlphabet}, the frozen automaton uses a copy of its current state, so that symbols added later
+     * on are not considered as inputs of the frozen automaton. Otherwise, the alphabet is shared.
+     *
+     * @param nfa
+     *         the automaton to copy
+     */
+    public FrozenCompactNFA(CompactNFA<I> nfa) {
+        final Alphabet<I> nfaAlphabet = nfa.getInputAlphabet();
+        this.alphabet = nfaAlphabet instanceof GrowingAlphabet ? new MapAlphabet<>(nfaAlphabet) : nfaAlphabet;
+        this.numInputs = alphabet.size();
+        this.numStates = nfa.size();
+
+        this.offsets = new int[numStates * numInputs + 1];
+        int[] tgts = new int[Math.max(numStates, 1)];
+        int numTargets = 0;
+
+        for (int s = 0; s < numStates; s++) {
+            for (int i = 0; i < numInputs; i++) {
+                for (Integer t : nfa.getTransitions(s, i)) {
+                    if (numTargets == tgts.length) {
+                        tgts = Arrays.copyOf(tgts, tgts.length * 2);
+                    }
+                    tgts[numTargets++] = t;
+                }
+                this.offsets[s * numInputs + i + 1] = numTargets;
+            }
+        }
+
+        this.targets = Arrays.copyOf(tgts, numTargets);
+
+        final Set<Integer> inits = nfa.getInitialStates();
+        this.initialStates = new int[inits.size()];
+        int idx = 0;
+        for (Integer init : inits) {
+            this.initialStates[idx++] = init;
+        }
+
+        this.accepting = new BitSet(numStates);
+        for (int s = 0; s < numStates; s++) {
+            if (nfa.isAccepting(s)) {
+                this.accepting.set(s);
+            }
+        }
+    }
+
+    @Override
+    public Alphabet<I> getInputAlphabet() {
+        return alphabet;
+    }
+
+    @Override
+    public Collection<Integer> getStates() {
+        return CollectionsUtil.intRange(0, numStates);
+    }
+
+    @Override
+    public int size() {
+        return numStates;
+    }
+
+    @Override
+    public StateIDs<Integer> stateIDs() {
+        return this;
+    }
+
+    @Override
+    public int getStateId(Integer state) {
+        return state;
+    }
+
+    @Override
+    public Integer getState(int id) {
+        return id;
+    }
+
+    @Override
+    public Set<Integer> getInitialStates() {
+        return new ArraySliceSet(initialStates, 0, initialStates.length);
+    }
+
+    @Override
+    public boolean isAccepting(Integer state) {
+        return isAccepting(state.intValue());
+    }
+
+    public boolean isAccepting(int state) {
+        return accepting.get(state);
+    }
+
+    @Override
+    public Collection<Integer> getTransitions(Integer state, I input) {
+        return getTransitions(state.intValue(), alphabet.getSymbolIndex(input));
+    }
+
+    public Set<Integer> getTransitions(int state, int inputIdx) {
+        final int idx = toOffsetIndex(state, inputIdx);
+        return new ArraySliceSet(targets, offsets[idx], offsets[idx + 1]);
+    }
+
+    /**
+     * Returns the position of the first successor of the given state and input in the successor array (see {@link
+     * #getTarget(int)}).
+     *
+     * @param state
+     *         the source state
+     * @param inputIdx
+     *         the index of the input symbol
+     *
+     * @return the position of the first successor (inclusive)
+     *
+     * @throws IndexOutOfBoundsException
+     *         if {@code inputIdx} is not a valid index of the input alphabet of this automaton
+     */
+    public int getSuccessorsBegin(int state, int inputIdx) {
+        return offsets[toOffsetIndex(state, inputIdx)];
+    }
+
+    /**
+     * Returns the position after the last successor of the given state and input in the successor array (see {@link
+     * #getTarget(int)}).
+     *
+     * @param state
+     *         the source state
+     * @param inputIdx
+     *         the index of the input symbol
+     *
+     * @return the position after the last successor (exclusive)
+     *
+     * @throws IndexOutOfBoundsException
+     *         if {@code inputIdx} is not a valid index of the input alphabet of this automaton
+     */
+    public int getSuccessorsEnd(int state, int inputIdx) {
+        return offsets[toOffsetIndex(state, inputIdx) + 1];
+    }
+
+    /**
+     * Returns the successor stored at the given position of the successor array.
+     *
+     * @param pos
+     *         the position in the successor array
+     *
+     * @return the successor stored at the given position
+     */
+    public int getTarget(int pos) {
+        return targets[pos];
+    }
+
+    private int toOffsetIndex(int state, int inputIdx) {
+        // an out-of-range input index would otherwise silently address the offsets of a neighboring state
+        if (inputIdx < 0 || inputIdx >= numInputs) {
+            throw new IndexOutOfBoundsException("Input index " + inputIdx + " is out of range [0, " + numInputs + ')');
+        }
+        return state * numInputs + inputIdx;
+    }
+
+    /**
+     * Returns the total number of transitions of this automaton.
+     *
+     * @return the number of transitions
+     */
+    public int numTransitions() {
+        return targets.length;
+    }
+
+    /**
+     * An immutable {@link Set} view on a sorted range of an {@code int[]} array.
+     */
+    private static final class ArraySliceSet extends AbstractSet<Integer> {
+
+        private final int[] array;
+        private final int low;
+        private final int high;
+
+        ArraySliceSet(int[] array, int low, int high) {
+            this.array = array;
+            this.low = low;
+            this.high = high;
+        }
+
+        @Override
+        public Iterator<Integer> iterator() {
+            return new Iterator<Integer>() {
+
+                private int pos = low;
+
+                @Override
+                public boolean hasNext() {
+                    return pos < high;
+                }
+
+                @Override
+                public Integer next() {
+                    if (pos >= high) {
+                        throw new NoSuchElementException();
+                    }
+                    return array[pos++];
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return high - low;
+        }
+
+        @Override
+        public boolean contains(@Nullable Object o) {
+            return o instanceof Integer && Arrays.binarySearch(array, low, high, (Integer) o) >= 0;
+        }
+    }
+}
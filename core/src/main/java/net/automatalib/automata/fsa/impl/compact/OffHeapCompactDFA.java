@@ -0,0 +1,212 @@
+/* Copyright (C) 2013-2022 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.automata.fsa.impl.compact;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.BitSet;
+
+import net.automatalib.automata.AutomatonCreator;
+import net.automatalib.automata.base.compact.AbstractCompactDeterministic;
+import net.automatalib.automata.base.compact.OffHeapIntStorage;
+import net.automatalib.automata.fsa.MutableDFA;
+import net.automatalib.commons.util.WrapperUtil;
+import net.automatalib.words.Alphabet;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * A variant of {@link CompactDFA} that keeps its transition table outside the Java heap in an {@link
+ * OffHeapIntStorage}. Adding states only allocates additional (fixed-size) segments of the storage and never copies
+ * the existing transitions. Adding alphabet symbols re-arranges the transition table in-place. The number of states
+ * times the number of input symbols is limited by {@link OffHeapIntStorage#MAX_CAPACITY}.
+ * <p>
+ * This class offers the same methods as {@link CompactDFA} (including the {@code int}-based accessors), but it is not a
+ * subclass of it. Hence, it can only replace a {@link CompactDFA} where the latter is used via its interfaces (e.g.,
+ * {@link MutableDFA}) or via {@link AbstractCompactDeterministic}.
+ * <p>
+ * The storage can either be backed by direct buffers (default) or by a memory-mapped file (see {@link
+ * OffHeapIntStorage#map(java.nio.file.Path)}). Once the automaton is no longer needed, it should be {@link #close()
+ * closed} in order to release the storage.
+ *
+ * @param <I>
+ *         input symbol type
+ *
+ * @author agent
+ */
+public class OffHeapCompactDFA<I> extends AbstractCompactDeterministic<I, Integer, Boolean, Void>
+        implements MutableDFA<Integer, I>, Closeable {
+
+    // successors are stored with an offset of 1, such that the zero-initialized storage encodes undefined transitions
+    private final OffHeapIntStorage transitions;
+    private final BitSet acceptance;
+    private int storedInputs;
+
+    public OffHeapCompactDFA(Alphabet<I> alphabet) {
+        this(alphabet, DEFAULT_INIT_CAPACITY);
+    }
+
+    public OffHeapCompactDFA(Alphabet<I> alphabet, int stateCapacity) {
+        this(alphabet, stateCapacity, OffHeapIntStorage.allocateDirect());
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param alphabet
+     *         the input alphabet
+     * @param stateCapacity
+     *         the initial number of states for which transitions are allocated
+     * @param transitions
+     *         the (empty) storage for the transitions
+     */
+    public OffHeapCompactDFA(Alphabet<I> alphabet, int stateCapacity, OffHeapIntStorage transitions) {
+        super(alphabet, stateCapacity, DEFAULT_RESIZE_FACTOR);
+        this.transitions = transitions;
+        this.acceptance = new BitSet();
+        this.storedInputs = alphabet.size();
+        this.transitions.ensureCapacity((long) stateCapacity * storedInputs);
+    }
+
+    @Override
+    public int addIntState(@Nullable Boolean property) {
+        final int state = super.addIntState(property);
+        transitions.ensureCapacity((long) (state + 1) * numInputs());
+        return state;
+    }
+
+    @Override
+    protected void updateTransitionStorage(Payload payload) {
+        // state growth is handled by addIntState, we only need to react to new alphabet symbols
+        final int newInputs = getInputAlphabet().size();
+        if (newInputs > storedInputs) {
+            transitions.expandStride(size(), storedInputs, newInputs);
+            this.storedInputs = newInputs;
+        }
+    }
+
+    @Override
+    public void flipAcceptance() {
+        acceptance.flip(0, size());
+    }
+
+    @Override
+    public void setAccepting(Integer state, boolean accepting) {
+        setAccepting(state.intValue(), accepting);
+    }
+
+    public void setAccepting(int state, boolean accepting) {
+        acceptance.set(state, accepting);
+    }
+
+    @Override
+    public Integer addState(boolean accepting) {
+        return addState(Boolean.valueOf(accepting));
+    }
+
+    @Override
+    public boolean isAccepting(Integer state) {
+        return isAccepting(state.intValue());
+    }
+
+    public boolean isAccepting(int stateId) {
+        return acceptance.get(stateId);
+    }
+
+    @Override
+    public void setStateProperty(int stateId, @Nullable Boolean property) {
+        setAccepting(stateId, WrapperUtil.booleanValue(property));
+    }
+
+    @Override
+    public Boolean getStateProperty(int stateId) {
+        return isAccepting(stateId);
+    }
+
+    @Override
+    public Integer createTransition(int successor, Void property) {
+        return successor;
+    }
+
+    @Override
+    public @Nullable Integer getTransition(int state, int input) {
+        return toState(transitions.get(toMemoryIndex(state, input)) - 1);
+    }
+
+    @Override
+    public int getIntSuccessor(Integer transition) {
+        return toId(transition);
+    }
+
+    @Override
+    public void setTransition(int state, int input, @Nullable Integer transition) {
+        setTransition(state, input, toId(transition));
+    }
+
+    @Override
+    public void setTransition(int state, int input, int successor, Void property) {
+        setTransition(state, input, successor);
+    }
+
+    public void setTransition(int state, int inputIdx, int succ) {
+        transitions.set(toMemoryIndex(state, inputIdx), succ + 1);
+    }
+
+    @Override
+    public Void getTransitionProperty(Integer transition) {
+        return null;
+    }
+
+    @Override
+    public void setTransitionProperty(Integer transition, Void property) {}
+
+    @Override
+    public void removeAllTransitions(Integer state) {
+        final int lower = toMemoryIndex(state, 0);
+        transitions.fill(lower, lower + numInputs(), 0);
+    }
+
+    @Override
+    public void clear() {
+        transitions.fill(0, size() * numInputs(), 0);
+        acceptance.clear();
+        super.clear();
+    }
+
+    /**
+     * Releases the storage of the transition table. The automaton must not be used afterwards.
+     *
+     * @throws IOException
+     *         if the storage cannot be released
+     */
+    @Override
+    public void close() throws IOException {
+        transitions.close();
+    }
+
+    public static final class Creator<I> implements AutomatonCreator<OffHeapCompactDFA<I>, I> {
+
+        @Override
+        public OffHeapCompactDFA<I> createAutomaton(Alphabet<I> alphabet, int numStates) {
+            return new OffHeapCompactDFA<>(alphabet, numStates);
+        }
+
+        @Override
+        public OffHeapCompactDFA<I> createAutomaton(Alphabet<I> alphabet) {
+            return new OffHeapCompactDFA<>(alphabet);
+        }
+    }
+
+}
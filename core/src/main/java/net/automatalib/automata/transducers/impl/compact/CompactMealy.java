@@ -144,6 +144,19 @@ public class CompactMealy<I, O> extends AbstractCompactDeterministic<I, CompactT
         super.clear();
     }
 
+    @Override
+    // Overridden for performance reasons (to prevent the transition allocation of the default implementation)
+    public int getSuccessor(int state, int input) {
+        return transitions[toMemoryIndex(state, input)];
+    }
+
+    @Override
+    // Overridden for performance reasons (to prevent the transition allocation of the default implementation)
+    @SuppressWarnings("unchecked")
+    public @Nullable O getTransitionProperty(int state, int input) {
+        return (O) outputs[toMemoryIndex(state, input)];
+    }
+
     @Override
     public @Nullable CompactTransition<O> getTransition(int state, int input) {
         final int idx = toMemoryIndex(state, input);
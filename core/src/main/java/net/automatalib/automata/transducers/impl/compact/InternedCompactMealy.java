@@ -0,0 +1,329 @@
+/* Copyright (C) 2013-2022 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.automata.transducers.impl.compact;
+
+import java.util.Arrays;
+import java.util.List;
+
+import net.automatalib.automata.AutomatonCreator;
+import net.automatalib.automata.base.compact.AbstractCompact;
+import net.automatalib.automata.base.compact.AbstractCompactDeterministic;
+import net.automatalib.automata.base.compact.CompactTransition;
+import net.automatalib.automata.transducers.MutableMealyMachine;
+import net.automatalib.automata.transducers.StateLocalInputMealyMachine;
+import net.automatalib.words.Alphabet;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * A variant of {@link CompactMealy} that interns its outputs into a dense output alphabet and only stores the indices
+ * of the outputs per transition. The width of the stored indices adapts to the number of distinct outputs: up to 255
+ * distinct outputs are stored as {@code byte}s, up to 65535 distinct outputs as {@code short}s, and {@code int}s are
+ * used otherwise.
+ * <p>
+ * Compared to {@link CompactMealy}, which stores a 4-byte successor and an output reference (4 bytes with compressed
+ * oops, 8 bytes otherwise) per transition, this reduces the memory of a transition from 8 to 5 bytes (37.5%) for up to
+ * 255 distinct outputs and from 8 to 6 bytes (25%) for up to 65535 distinct outputs, assuming compressed oops. The
+ * output objects themselves are shared in both representations. Furthermore, outputs can be compared by their indices
+ * (see {@link #getIntOutput(int, int)}) instead of invoking {@link Object#equals(Object)}, which the equivalence tests
+ * of AutomataLib do if both compared machines are {@link InternedCompactMealy}s.
+ *
+ * @param <I>
+ *         input symbol type
+ * @param <O>
+ *         output symbol type
+ *
+ * @author agent
+ */
+public class InternedCompactMealy<I, O> extends AbstractCompactDeterministic<I, CompactTransition<O>, Void, O>
+        implements MutableMealyMachine<Integer, I, CompactTransition<O>, O>,
+                   StateLocalInputMealyMachine<Integer, I, CompactTransition<O>, O> {
+
+    private static final int MAX_BYTE_CODE = 0xFF;
+    private static final int MAX_SHORT_CODE = 0xFFFF;
+
+    private final OutputTable<O> outputTable;
+    private int[] transitions;
+
+    // only one of the following arrays is in use at a time (the others are empty), depending on the number of
+    // distinct outputs (see outputBytes). Outputs are encoded according to OutputTable#encode
+    private int outputBytes;
+    private byte[] byteOutputs;
+    private short[] shortOutputs;
+    private int[] intOutputs;
+
+    public InternedCompactMealy(Alphabet<I> alphabet, int stateCapacity, float resizeFactor) {
+        super(alphabet, stateCapacity, resizeFactor);
+
+        final int size = stateCapacity * numInputs();
+
+        this.outputTable = new OutputTable<>();
+        this.transitions = new int[size];
+        this.outputBytes = Byte.BYTES;
+        this.byteOutputs = new byte[size];
+        this.shortOutputs = new short[0];
+        this.intOutputs = new int[0];
+
+        Arrays.fill(transitions, AbstractCompact.INVALID_STATE);
+    }
+
+    public InternedCompactMealy(Alphabet<I> alphabet, int stateCapacity) {
+        this(alphabet, stateCapacity, DEFAULT_RESIZE_FACTOR);
+    }
+
+    public InternedCompactMealy(Alphabet<I> alphabet) {
+        this(alphabet, DEFAULT_INIT_CAPACITY, DEFAULT_RESIZE_FACTOR);
+    }
+
+    public InternedCompactMealy(InternedCompactMealy<I, O> other) {
+        this(other.getInputAlphabet(), other);
+    }
+
+    protected InternedCompactMealy(Alphabet<I> alphabet, InternedCompactMealy<?, O> other) {
+        super(alphabet, other);
+        this.outputTable = new OutputTable<>(other.outputTable);
+        this.transitions = other.transitions.clone();
+        this.outputBytes = other.outputBytes;
+        this.byteOutputs = other.byteOutputs.clone();
+        this.shortOutputs = other.shortOutputs.clone();
+        this.intOutputs = other.intOutputs.clone();
+    }
+
+    @Override
+    protected void updateTransitionStorage(Payload payload) {
+        this.transitions = updateTransitionStorage(this.transitions, AbstractCompact.INVALID_STATE, payload);
+
+        switch (outputBytes) {
+            case Byte.BYTES:
+                this.byteOutputs = updateTransitionStorage(this.byteOutputs, (byte) 0, payload);
+                break;
+            case Short.BYTES:
+                this.shortOutputs = updateTransitionStorage(this.shortOutputs, (short) 0, payload);
+                break;
+            default:
+                this.intOutputs = updateTransitionStorage(this.intOutputs, 0, payload);
+        }
+    }
+
+    /**
+     * Returns the index of the output of the given transition in the {@link #getOutputSymbols() output alphabet}.
+     *
+     * @param state
+     *         the source state of the transition
+     * @param input
+     *         the index of the input symbol of the transition
+     *
+     * @return the index of the output of the given transition, or {@code -1} if the transition is undefined or has
+     * a {@code null} output
+     */
+    public int getIntOutput(int state, int input) {
+        return getOutputCode(toMemoryIndex(state, input)) - 1;
+    }
+
+    /**
+     * Returns the output symbol for the given index.
+     *
+     * @param index
+     *         the index of the output symbol
+     *
+     * @return the output symbol for the given index
+     *
+     * @see #getIntOutput(int, int)
+     */
+    public O getOutputSymbol(int index) {
+        return outputTable.get(index);
+    }
+
+    /**
+     * Returns the (dense) output alphabet, i.e. the list of all distinct outputs that have been stored in this
+     * automaton so far, ordered by their indices.
+     *
+     * @return an unmodifiable view on the output alphabet
+     */
+    public List<O> getOutputSymbols() {
+        return outputTable.asList();
+    }
+
+    @Override
+    public O getTransitionOutput(CompactTransition<O> transition) {
+        return transition.getProperty();
+    }
+
+    @Override
+    public O getTransitionProperty(CompactTransition<O> transition) {
+        return transition.getProperty();
+    }
+
+    @Override
+    public void setTransitionProperty(CompactTransition<O> transition, O property) {
+        transition.setProperty(property);
+
+        if (transition.isAutomatonTransition()) {
+            setOutputCode(transition.getMemoryIdx(), outputTable.encode(property));
+        }
+    }
+
+    @Override
+    public void setTransitionOutput(CompactTransition<O> transition, O output) {
+        setTransitionProperty(transition, output);
+    }
+
+    @Override
+    public void removeAllTransitions(Integer state) {
+        final int lower = state * numInputs();
+        final int upper = lower + numInputs();
+        Arrays.fill(transitions, lower, upper, AbstractCompact.INVALID_STATE);
+        fillOutputCodes(lower, upper);
+    }
+
+    @Override
+    public int getIntSuccessor(CompactTransition<O> transition) {
+        return transition.getSuccId();
+    }
+
+    @Override
+    public CompactTransition<O> createTransition(int succId, O property) {
+        return new CompactTransition<>(succId, property);
+    }
+
+    @Override
+    public void setStateProperty(int state, Void property) {}
+
+    @Override
+    public Void getStateProperty(int stateId) {
+        return null;
+    }
+
+    @Override
+    public void setTransition(int state, int input, @Nullable CompactTransition<O> transition) {
+        if (transition == null) {
+            setTransition(state, input, AbstractCompact.INVALID_STATE, null);
+        } else {
+            setTransition(state, input, transition.getSuccId(), transition.getProperty());
+            transition.setMemoryIdx(toMemoryIndex(state, input));
+        }
+    }
+
+    @Override
+    public void setTransition(int state, int input, int successor, @Nullable O property) {
+        final int idx = toMemoryIndex(state, input);
+        transitions[idx] = successor;
+        setOutputCode(idx, outputTable.encode(property));
+    }
+
+    @Override
+    public void clear() {
+        int endIdx = size() * numInputs();
+        Arrays.fill(transitions, 0, endIdx, AbstractCompact.INVALID_STATE);
+        fillOutputCodes(0, endIdx);
+        outputTable.clear();
+
+        super.clear();
+    }
+
+    @Override
+    public @Nullable CompactTransition<O> getTransition(int state, int input) {
+        final int idx = toMemoryIndex(state, input);
+        final int succ = transitions[idx];
+
+        if (succ == AbstractCompact.INVALID_STATE) {
+            return null;
+        }
+
+        @SuppressWarnings("nullness") // null outputs are decoded as null
+        final O output = outputTable.decode(getOutputCode(idx));
+
+        return new CompactTransition<>(idx, succ, output);
+    }
+
+    private int getOutputCode(int idx) {
+        switch (outputBytes) {
+            case Byte.BYTES:
+                return byteOutputs[idx] & MAX_BYTE_CODE;
+            case Short.BYTES:
+                return shortOutputs[idx] & MAX_SHORT_CODE;
+            default:
+                return intOutputs[idx];
+        }
+    }
+
+    private void setOutputCode(int idx, int code) {
+        if ((outputBytes == Byte.BYTES && code > MAX_BYTE_CODE) ||
+            (outputBytes == Short.BYTES && code > MAX_SHORT_CODE)) {
+            widenOutputCodes(code);
+        }
+
+        switch (outputBytes) {
+            case Byte.BYTES:
+                byteOutputs[idx] = (byte) code;
+                break;
+            case Short.BYTES:
+                shortOutputs[idx] = (short) code;
+                break;
+            default:
+                intOutputs[idx] = code;
+        }
+    }
+
+    private void widenOutputCodes(int code) {
+        final int length = Math.max(byteOutputs.length, shortOutputs.length);
+
+        if (code <= MAX_SHORT_CODE) {
+            final short[] newOutputs = new short[length];
+            for (int i = 0; i < length; i++) {
+                newOutputs[i] = (short) getOutputCode(i);
+            }
+            this.shortOutputs = newOutputs;
+            this.outputBytes = Short.BYTES;
+        } else {
+            final int[] newOutputs = new int[length];
+            for (int i = 0; i < length; i++) {
+                newOutputs[i] = getOutputCode(i);
+            }
+            this.intOutputs = newOutputs;
+            this.shortOutputs = new short[0];
+            this.outputBytes = Integer.BYTES;
+        }
+
+        this.byteOutputs = new byte[0];
+    }
+
+    private void fillOutputCodes(int fromIdx, int toIdx) {
+        switch (outputBytes) {
+            case Byte.BYTES:
+                Arrays.fill(byteOutputs, fromIdx, toIdx, (byte) 0);
+                break;
+            case Short.BYTES:
+                Arrays.fill(shortOutputs, fromIdx, toIdx, (short) 0);
+                break;
+            default:
+                Arrays.fill(intOutputs, fromIdx, toIdx, 0);
+        }
+    }
+
+    public static final class Creator<I, O> implements AutomatonCreator<InternedCompactMealy<I, O>, I> {
+
+        @Override
+        public InternedCompactMealy<I, O> createAutomaton(Alphabet<I> alphabet, int sizeHint) {
+            return new InternedCompactMealy<>(alphabet, sizeHint);
+        }
+
+        @Override
+        public InternedCompactMealy<I, O> createAutomaton(Alphabet<I> alphabet) {
+            return new InternedCompactMealy<>(alphabet);
+        }
+    }
+
+}
@@ -0,0 +1,241 @@
+/* Copyright (C) 2013-2022 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.automata.transducers.impl.compact;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+import net.automatalib.automata.AutomatonCreator;
+import net.automatalib.automata.base.compact.AbstractCompact;
+import net.automatalib.automata.base.compact.AbstractCompactDeterministic;
+import net.automatalib.automata.base.compact.CompactTransition;
+import net.automatalib.automata.base.compact.OffHeapIntStorage;
+import net.automatalib.automata.transducers.MutableMealyMachine;
+import net.automatalib.automata.transducers.StateLocalInputMealyMachine;
+import net.automatalib.words.Alphabet;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * A variant of {@link CompactMealy} that keeps its transition table outside the Java heap in {@link
+ * OffHeapIntStorage}s. Since output symbols are arbitrary objects, they are interned in an (on-heap) table and the
+ * transition table only stores their indices. Adding states only allocates additional (fixed-size) segments of the
+ * storages and never copies the existing transitions. Adding alphabet symbols re-arranges the transition table
+ * in-place. The number of states times the number of input symbols is limited by {@link
+ * OffHeapIntStorage#MAX_CAPACITY}.
+ * <p>
+ * This class offers the same methods as {@link CompactMealy} (including the {@code int}-based accessors), but it is not
+ * a subclass of it. Hence, it can only replace a {@link CompactMealy} where the latter is used via its interfaces
+ * (e.g., {@link MutableMealyMachine}) or via {@link AbstractCompactDeterministic}.
+ * <p>
+ * The storages can either be backed by direct buffers (default) or by memory-mapped files (see {@link
+ * OffHeapIntStorage#map(java.nio.file.Path)}). Once the automaton is no longer needed, it should be {@link #close()
+ * closed} in order to release the storages.
+ *
+ * @param <I>
+ *         input symbol type
+ * @param <O>
+ *         output symbol type
+ *
+ * @author agent
+ */
+public class OffHeapCompactMealy<I, O> extends AbstractCompactDeterministic<I, CompactTransition<O>, Void, O>
+        implements MutableMealyMachine<Integer, I, CompactTransition<O>, O>,
+                   StateLocalInputMealyMachine<Integer, I, CompactTransition<O>, O>,
+                   Closeable {
+
+    // successors and output indices are stored with an offset of 1, such that the zero-initialized storages encode
+    // undefined transitions and null outputs, respectively
+    private final OffHeapIntStorage transitions;
+    private final OffHeapIntStorage outputs;
+    private final OutputTable<O> outputTable;
+    private int storedInputs;
+
+    public OffHeapCompactMealy(Alphabet<I> alphabet) {
+        this(alphabet, DEFAULT_INIT_CAPACITY);
+    }
+
+    public OffHeapCompactMealy(Alphabet<I> alphabet, int stateCapacity) {
+        this(alphabet, stateCapacity, OffHeapIntStorage.allocateDirect(), OffHeapIntStorage.allocateDirect());
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param alphabet
+     *         the input alphabet
+     * @param stateCapacity
+     *         the initial number of states for which transitions are allocated
+     * @param transitions
+     *         the (empty) storage for the successors of the transitions
+     * @param outputs
+     *         the (empty) storage for the (interned) outputs of the transitions
+     */
+    public OffHeapCompactMealy(Alphabet<I> alphabet,
+                               int stateCapacity,
+                               OffHeapIntStorage transitions,
+                               OffHeapIntStorage outputs) {
+        super(alphabet, stateCapacity, DEFAULT_RESIZE_FACTOR);
+        this.transitions = transitions;
+        this.outputs = outputs;
+        this.outputTable = new OutputTable<>();
+        this.storedInputs = alphabet.size();
+
+        final long size = (long) stateCapacity * storedInputs;
+        this.transitions.ensureCapacity(size);
+        this.outputs.ensureCapacity(size);
+    }
+
+    @Override
+    public int addIntState(@Nullable Void property) {
+        final int state = super.addIntState(property);
+        final long size = (long) (state + 1) * numInputs();
+        transitions.ensureCapacity(size);
+        outputs.ensureCapacity(size);
+        return state;
+    }
+
+    @Override
+    protected void updateTransitionStorage(Payload payload) {
+        // state growth is handled by addIntState, we only need to react to new alphabet symbols
+        final int newInputs = getInputAlphabet().size();
+        if (newInputs > storedInputs) {
+            transitions.expandStride(size(), storedInputs, newInputs);
+            outputs.expandStride(size(), storedInputs, newInputs);
+            this.storedInputs = newInputs;
+        }
+    }
+
+    @Override
+    public O getTransitionOutput(CompactTransition<O> transition) {
+        return transition.getProperty();
+    }
+
+    @Override
+    public O getTransitionProperty(CompactTransition<O> transition) {
+        return transition.getProperty();
+    }
+
+    @Override
+    public void setTransitionProperty(CompactTransition<O> transition, O property) {
+        transition.setProperty(property);
+
+        if (transition.isAutomatonTransition()) {
+            outputs.set(transition.getMemoryIdx(), outputTable.encode(property));
+        }
+    }
+
+    @Override
+    public void setTransitionOutput(CompactTransition<O> transition, O output) {
+        setTransitionProperty(transition, output);
+    }
+
+    @Override
+    public void removeAllTransitions(Integer state) {
+        final int lower = toMemoryIndex(state, 0);
+        final int upper = lower + numInputs();
+        transitions.fill(lower, upper, 0);
+        outputs.fill(lower, upper, 0);
+    }
+
+    @Override
+    public int getIntSuccessor(CompactTransition<O> transition) {
+        return transition.getSuccId();
+    }
+
+    @Override
+    public CompactTransition<O> createTransition(int succId, O property) {
+        return new CompactTransition<>(succId, property);
+    }
+
+    @Override
+    public void setStateProperty(int state, Void property) {}
+
+    @Override
+    public Void getStateProperty(int stateId) {
+        return null;
+    }
+
+    @Override
+    public void setTransition(int state, int input, @Nullable CompactTransition<O> transition) {
+        if (transition == null) {
+            setTransition(state, input, AbstractCompact.INVALID_STATE, null);
+        } else {
+            setTransition(state, input, transition.getSuccId(), transition.getProperty());
+            transition.setMemoryIdx(toMemoryIndex(state, input));
+        }
+    }
+
+    @Override
+    public void setTransition(int state, int input, int successor, @Nullable O property) {
+        final int idx = toMemoryIndex(state, input);
+        transitions.set(idx, successor + 1);
+        outputs.set(idx, outputTable.encode(property));
+    }
+
+    @Override
+    public void clear() {
+        final int endIdx = size() * numInputs();
+        transitions.fill(0, endIdx, 0);
+        outputs.fill(0, endIdx, 0);
+        outputTable.clear();
+
+        super.clear();
+    }
+
+    @Override
+    public @Nullable CompactTransition<O> getTransition(int state, int input) {
+        final int idx = toMemoryIndex(state, input);
+        final int succ = transitions.get(idx) - 1;
+
+        if (succ == AbstractCompact.INVALID_STATE) {
+            return null;
+        }
+
+        @SuppressWarnings("nullness") // null outputs are decoded as null
+        final O output = outputTable.decode(outputs.get(idx));
+
+        return new CompactTransition<>(idx, succ, output);
+    }
+
+    /**
+     * Releases the storages of the transition table. The automaton must not be used afterwards.
+     *
+     * @throws IOException
+     *         if the storages cannot be released
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            transitions.close();
+        } finally {
+            outputs.close();
+        }
+    }
+
+    public static final class Creator<I, O> implements AutomatonCreator<OffHeapCompactMealy<I, O>, I> {
+
+        @Override
+        public OffHeapCompactMealy<I, O> createAutomaton(Alphabet<I> alphabet, int sizeHint) {
+            return new OffHeapCompactMealy<>(alphabet, sizeHint);
+        }
+
+        @Override
+        public OffHeapCompactMealy<I, O> createAutomaton(Alphabet<I> alphabet) {
+            return new OffHeapCompactMealy<>(alphabet);
+        }
+    }
+
+}
@@ -0,0 +1,135 @@
+/* Copyright (C) 2013-2022 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.automata.transducers.impl.compact;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * A utility class for interning the outputs of compact transducers that store their outputs in primitive arrays. Each
+ * distinct output is assigned a dense index (starting at 0), which allows for storing outputs as primitive values.
+ * <p>
+ * Interned outputs are encoded as their index plus one, such that {@code 0} encodes a {@code null} output. This allows
+ * for using (zero-initialized) primitive arrays without any additional initialization.
+ *
+ * @param <O>
+ *         output symbol type
+ *
+ * @author agent
+ */
+final class OutputTable<O> {
+
+    private final List<O> outputs;
+    private final Map<O, Integer> indices;
+
+    OutputTable() {
+        this.outputs = new ArrayList<>();
+        this.indices = new HashMap<>();
+    }
+
+    OutputTable(OutputTable<O> other) {
+        this.outputs = new ArrayList<>(other.outputs);
+        this.indices = new HashMap<>(other.indices);
+    }
+
+    /**
+     * Returns the encoding of the given output, interning it if necessary.
+     *
+     * @param output
+     *         the output
+     *
+     * @return {@code 0} if {@code output} is {@code null}, the index of the (interned) output plus one otherwise
+     */
+    public int encode(@Nullable O output) {
+        if (output == null) {
+            return 0;
+        }
+
+        Integer idx = indices.get(output);
+        if (idx == null) {
+            idx = outputs.size();
+            outputs.add(output);
+            indices.put(output, idx);
+        }
+
+        return idx + 1;
+    }
+
+    /**
+     * Returns whether the given output can be encoded without interning it, i.e. whether it is {@code null} or has
+     * already been interned.
+     *
+     * @param output
+     *         the output
+     *
+     * @return {@code true} if the output can be encoded without interning it, {@code false} otherwise
+     */
+    public boolean contains(@Nullable O output) {
+        return output == null || indices.containsKey(output);
+    }
+
+    /**
+     * Returns the output for the given encoding.
+     *
+     * @param code
+     *         the encoding of the output (see {@link #encode(Object)})
+     *
+     * @return the output for the given encoding
+     */
+    public @Nullable O decode(int code) {
+        return code == 0 ? null : outputs.get(code - 1);
+    }
+
+    /**
+     * Returns the output for the given index (i.e. its encoding minus one).
+     *
+     * @param idx
+     *         the index of the output
+     *
+     * @return the output for the given index
+     */
+    public O get(int idx) {
+        return outputs.get(idx);
+    }
+
+    /**
+     * Returns the number of distinct outputs that have been interned so far.
+     *
+     * @return the number of interned outputs
+     */
+    public int size() {
+        return outputs.size();
+    }
+
+    /**
+     * Returns an unmodifiable view on the interned outputs, ordered by their index.
+     *
+     * @return the interned outputs
+     */
+    public List<O> asList() {
+        return Collections.unmodifiableList(outputs);
+    }
+
+    public void clear() {
+        outputs.clear();
+        indices.clear();
+    }
+}
@@ -0,0 +1,123 @@
+/* Copyright (C) 2013-2022 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.automata;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import net.automatalib.automata.fsa.impl.compact.CompactNFA;
+import net.automatalib.automata.fsa.impl.compact.FrozenCompactNFA;
+import net.automatalib.commons.util.random.RandomUtil;
+import net.automatalib.words.Alphabet;
+import net.automatalib.words.Word;
+import net.automatalib.words.impl.Alphabets;
+import net.automatalib.words.impl.GrowingMapAlphabet;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * @author agent
+ */
+public class FrozenCompactNFATest {
+
+    private static final int SIZE = 100;
+
+    @Test
+    public void testFreeze() {
+        final Random random = new Random(42);
+        final Alphabet<Integer> alphabet = Alphabets.integers(0, 3);
+        final CompactNFA<Integer> nfa = new CompactNFA<>(alphabet);
+
+        for (int i = 0; i < SIZE; i++) {
+            nfa.addState(random.nextBoolean());
+        }
+        nfa.setInitial(0, true);
+        nfa.setInitial(SIZE / 2, true);
+
+        for (int s = 0; s < SIZE; s++) {
+            for (int i = 0; i < alphabet.size(); i++) {
+                // leave some (state, input) pairs empty
+                final int numSuccs = random.nextInt(4);
+                for (int j = 0; j < numSuccs; j++) {
+                    nfa.addTransition(s, i, random.nextInt(SIZE));
+                }
+            }
+        }
+
+        final FrozenCompactNFA<Integer> frozen = new FrozenCompactNFA<>(nfa);
+
+        Assert.assertEquals(frozen.size(), nfa.size());
+        Assert.assertEquals(frozen.getInputAlphabet(), alphabet);
+        Assert.assertEquals(frozen.getInitialStates(), nfa.getInitialStates());
+
+        int numTransitions = 0;
+        for (int s = 0; s < SIZE; s++) {
+            Assert.assertEquals(frozen.isAccepting(s), nfa.isAccepting(s));
+            Assert.assertEquals(frozen.stateIDs().getStateId(frozen.stateIDs().getState(s)), s);
+
+            for (int i = 0; i < alphabet.size(); i++) {
+                Assert.assertEquals(frozen.getTransitions(s, i), nfa.getTransitions(s, i));
+                Assert.assertEquals(frozen.getTransitions(Integer.valueOf(s), alphabet.getSymbol(i)), nfa.getTransitions(s, i));
+
+                final List<Integer> scanned = new ArrayList<>();
+                for (int j = frozen.getSuccessorsBegin(s, i); j < frozen.getSuccessorsEnd(s, i); j++) {
+                    scanned.add(frozen.getTarget(j));
+                }
+                Assert.assertEquals(scanned, new ArrayList<>(nfa.getTransitions(s, i)));
+                numTransitions += scanned.size();
+            }
+        }
+        Assert.assertEquals(frozen.numTransitions(), numTransitions);
+
+        final List<Integer> symbols = new ArrayList<>(alphabet);
+        for (int i = 0; i < 100; i++) {
+            final Word<Integer> word = Word.fromList(RandomUtil.sample(symbols, random.nextInt(10), random));
+            Assert.assertEquals(frozen.accepts(word), nfa.accepts(word));
+        }
+    }
+
+    @Test
+    public void testEmpty() {
+        final Alphabet<Integer> alphabet = Alphabets.integers(0, 1);
+        final FrozenCompactNFA<Integer> frozen = new FrozenCompactNFA<>(new CompactNFA<>(alphabet));
+
+        Assert.assertEquals(frozen.size(), 0);
+        Assert.assertTrue(frozen.getInitialStates().isEmpty());
+        Assert.assertEquals(frozen.numTransitions(), 0);
+        Assert.assertFalse(frozen.accepts(Word.epsilon()));
+    }
+
+    @Test
+    public void testAlphabetGrowth() {
+        final GrowingMapAlphabet<Integer> alphabet = new GrowingMapAlphabet<>(Alphabets.integers(0, 1));
+        final CompactNFA<Integer> nfa = new CompactNFA<>(alphabet);
+        nfa.addInitialState(true);
+        nfa.addState(false);
+        nfa.addTransition(0, 1, 1);
+
+        final FrozenCompactNFA<Integer> frozen = new FrozenCompactNFA<>(nfa);
+        nfa.addAlphabetSymbol(2);
+
+        // the new symbol must neither be visible nor address the successors of the next state
+        Assert.assertEquals(frozen.getInputAlphabet().size(), 2);
+        Assert.assertThrows(IndexOutOfBoundsException.class, () -> frozen.getTransitions(0, 2));
+        Assert.assertThrows(IndexOutOfBoundsException.class, () -> frozen.getSuccessorsBegin(0, 2));
+        Assert.assertThrows(IllegalArgumentException.class,
+                            () -> frozen.getTransitions(Integer.valueOf(0), Integer.valueOf(2)));
+        Assert.assertEquals(frozen.getTransitions(0, 1), nfa.getTransitions(0, 1));
+    }
+}
@@ -26,12 +26,15 @@ import net.automatalib.automata.fsa.impl.FastDFA;
 import net.automatalib.automata.fsa.impl.FastNFA;
 import net.automatalib.automata.fsa.impl.compact.CompactDFA;
 import net.automatalib.automata.fsa.impl.compact.CompactNFA;
+import net.automatalib.automata.fsa.impl.compact.OffHeapCompactDFA;
 import net.automatalib.automata.transducers.impl.FastMealy;
 import net.automatalib.automata.transducers.impl.FastMoore;
 import net.automatalib.automata.transducers.impl.FastProbMealy;
 import net.automatalib.automata.transducers.impl.compact.CompactMealy;
 import net.automatalib.automata.transducers.impl.compact.CompactMoore;
 import net.automatalib.automata.transducers.impl.compact.CompactSST;
+import net.automatalib.automata.transducers.impl.compact.InternedCompactMealy;
+import net.automatalib.automata.transducers.impl.compact.OffHeapCompactMealy;
 import net.automatalib.exception.GrowingAlphabetNotSupportedException;
 import net.automatalib.words.Alphabet;
 import net.automatalib.words.Word;
@@ -200,6 +203,11 @@ public class GrowingAlphabetAutomatonTest {
         this.testGrowableOutputAutomaton(CompactNFA::new);
     }
 
+    @Test
+    public void testOffHeapCompactDFA() {
+        this.testGrowableOutputAutomaton(OffHeapCompactDFA::new);
+    }
+
     @Test
     public void testFastDFA() {
         this.testGrowableOutputAutomaton(FastDFA::new);
@@ -215,6 +223,16 @@ public class GrowingAlphabetAutomatonTest {
         this.testGrowableOutputAutomaton(CompactMealy::new);
     }
 
+    @Test
+    public void testInternedCompactMealy() {
+        this.testGrowableOutputAutomaton(InternedCompactMealy::new);
+    }
+
+    @Test
+    public void testOffHeapCompactMealy() {
+        this.testGrowableOutputAutomaton(OffHeapCompactMealy::new);
+    }
+
     @Test
     public void testFastMealy() {
         this.testGrowableOutputAutomaton(FastMealy::new);
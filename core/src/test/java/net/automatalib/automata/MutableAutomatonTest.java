@@ -28,12 +28,15 @@ import net.automatalib.automata.fsa.impl.FastDFA;
 import net.automatalib.automata.fsa.impl.FastNFA;
 import net.automatalib.automata.fsa.impl.compact.CompactDFA;
 import net.automatalib.automata.fsa.impl.compact.CompactNFA;
+import net.automatalib.automata.fsa.impl.compact.OffHeapCompactDFA;
 import net.automatalib.automata.transducers.impl.FastMealy;
 import net.automatalib.automata.transducers.impl.FastMoore;
 import net.automatalib.automata.transducers.impl.FastProbMealy;
 import net.automatalib.automata.transducers.impl.compact.CompactMealy;
 import net.automatalib.automata.transducers.impl.compact.CompactMoore;
 import net.automatalib.automata.transducers.impl.compact.CompactSST;
+import net.automatalib.automata.transducers.impl.compact.InternedCompactMealy;
+import net.automatalib.automata.transducers.impl.compact.OffHeapCompactMealy;
 import net.automatalib.automata.transducers.probabilistic.ProbabilisticOutput;
 import net.automatalib.commons.util.random.RandomUtil;
 import net.automatalib.ts.modal.CompactMTS;
@@ -79,6 +82,11 @@ public class MutableAutomatonTest {
         this.checkAutomaton(new CompactNFA.Creator<>(), ALPHABET, STATE_PROPS, EMPTY_PROPS);
     }
 
+    @Test
+    public void testOffHeapCompactDFA() {
+        this.checkAutomaton(new OffHeapCompactDFA.Creator<>(), ALPHABET, STATE_PROPS, EMPTY_PROPS);
+    }
+
     @Test
     public void testFastDFA() {
         this.checkAutomaton(FastDFA::new, ALPHABET, STATE_PROPS, EMPTY_PROPS);
@@ -94,6 +102,16 @@ public class MutableAutomatonTest {
         this.checkAutomaton(new CompactMealy.Creator<>(), ALPHABET, EMPTY_PROPS, TRANS_PROPS);
     }
 
+    @Test
+    public void testInternedCompactMealy() {
+        this.checkAutomaton(new InternedCompactMealy.Creator<>(), ALPHABET, EMPTY_PROPS, TRANS_PROPS);
+    }
+
+    @Test
+    public void testOffHeapCompactMealy() {
+        this.checkAutomaton(new OffHeapCompactMealy.Creator<>(), ALPHABET, EMPTY_PROPS, TRANS_PROPS);
+    }
+
     @Test
     public void testFastMealy() {
         this.checkAutomaton(FastMealy::new, ALPHABET, EMPTY_PROPS, TRANS_PROPS);
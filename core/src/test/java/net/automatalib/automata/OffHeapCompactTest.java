@@ -0,0 +1,203 @@
+/* Copyright (C) 2013-2022 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.automata;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Random;
+
+import net.automatalib.automata.base.compact.OffHeapIntStorage;
+import net.automatalib.automata.fsa.impl.compact.CompactDFA;
+import net.automatalib.automata.fsa.impl.compact.OffHeapCompactDFA;
+import net.automatalib.automata.transducers.impl.compact.CompactMealy;
+import net.automatalib.automata.transducers.impl.compact.OffHeapCompactMealy;
+import net.automatalib.words.Alphabet;
+import net.automatalib.words.impl.Alphabets;
+import net.automatalib.words.impl.GrowingMapAlphabet;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * @author agent
+ */
+public class OffHeapCompactTest {
+
+    private static final int SEGMENT_BITS = 4;
+    private static final int SIZE = 500;
+
+    @Test
+    public void testStorage() throws IOException {
+        final Random random = new Random(42);
+        final int numBlocks = 100;
+        final int oldStride = 3;
+        final int newStride = 5;
+        final int[] reference = new int[numBlocks * oldStride];
+
+        try (OffHeapIntStorage storage = OffHeapIntStorage.allocateDirect(SEGMENT_BITS)) {
+            storage.ensureCapacity(reference.length);
+            Assert.assertTrue(storage.capacity() >= reference.length);
+
+            for (int i = 0; i < reference.length; i++) {
+                Assert.assertEquals(storage.get(i), 0);
+                reference[i] = random.nextInt();
+                storage.set(i, reference[i]);
+            }
+
+            storage.expandStride(numBlocks, oldStride, newStride);
+
+            for (int b = 0; b < numBlocks; b++) {
+                for (int j = 0; j < newStride; j++) {
+                    final int expected = j < oldStride ? reference[b * oldStride + j] : 0;
+                    Assert.assertEquals(storage.get(b * newStride + j), expected);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testCapacityLimit() throws IOException {
+        try (OffHeapIntStorage storage = OffHeapIntStorage.allocateDirect(SEGMENT_BITS)) {
+            Assert.assertThrows(IllegalArgumentException.class,
+                                () -> storage.ensureCapacity(OffHeapIntStorage.MAX_CAPACITY + 1));
+            // numBlocks * newStride overflows an int
+            Assert.assertThrows(IllegalArgumentException.class, () -> storage.expandStride(1 << 16, 1, 1 << 16));
+            Assert.assertEquals(storage.capacity(), 0);
+        }
+    }
+
+    @Test
+    public void testReopenStorage() throws IOException {
+        final Random random = new Random(42);
+        final int size = 3 * (1 << SEGMENT_BITS) + 7;
+        final int[] reference = new int[size];
+        final File file = File.createTempFile("offheap", ".bin");
+        file.deleteOnExit();
+
+        try (OffHeapIntStorage storage = OffHeapIntStorage.map(file.toPath(), SEGMENT_BITS)) {
+            storage.ensureCapacity(size);
+            for (int i = 0; i < size; i++) {
+                reference[i] = random.nextInt();
+                storage.set(i, reference[i]);
+            }
+            storage.force();
+        }
+
+        try (OffHeapIntStorage storage = OffHeapIntStorage.open(file.toPath(), SEGMENT_BITS)) {
+            Assert.assertTrue(storage.capacity() >= size);
+            for (int i = 0; i < size; i++) {
+                Assert.assertEquals(storage.get(i), reference[i]);
+            }
+        }
+    }
+
+    @Test
+    public void testMappedDFA() throws IOException {
+        final Random random = new Random(42);
+        final Alphabet<Integer> alphabet = new GrowingMapAlphabet<>(Alphabets.integers(0, 2));
+        final File file = File.createTempFile("offheap", ".dfa");
+        file.deleteOnExit();
+
+        final CompactDFA<Integer> reference = new CompactDFA<>(alphabet);
+        try (OffHeapCompactDFA<Integer> dfa = new OffHeapCompactDFA<>(alphabet,
+                                                                      0,
+                                                                      OffHeapIntStorage.map(file.toPath(),
+                                                                                            SEGMENT_BITS))) {
+
+            for (int i = 0; i < SIZE; i++) {
+                final boolean accepting = random.nextBoolean();
+                reference.addState(accepting);
+                dfa.addState(accepting);
+            }
+
+            fillRandomly(random, reference, dfa, alphabet.size());
+            reference.addAlphabetSymbol(alphabet.size());
+            dfa.addAlphabetSymbol(alphabet.size() - 1);
+            fillRandomly(random, reference, dfa, alphabet.size());
+
+            Assert.assertEquals(dfa.size(), reference.size());
+            for (int s = 0; s < SIZE; s++) {
+                Assert.assertEquals(dfa.isAccepting(s), reference.isAccepting(s));
+                for (int i = 0; i < alphabet.size(); i++) {
+                    Assert.assertEquals(dfa.getTransition(s, i), reference.getTransition(s, i));
+                }
+            }
+
+            dfa.clear();
+            Assert.assertEquals(dfa.size(), 0);
+            dfa.addState(false);
+            for (int i = 0; i < alphabet.size(); i++) {
+                Assert.assertNull(dfa.getTransition(0, i));
+            }
+        }
+    }
+
+    @Test
+    public void testMappedMealy() throws IOException {
+        final Random random = new Random(42);
+        final Alphabet<Integer> alphabet = Alphabets.integers(0, 3);
+        final File successorFile = File.createTempFile("offheap", ".succ");
+        final File outputFile = File.createTempFile("offheap", ".out");
+        successorFile.deleteOnExit();
+        outputFile.deleteOnExit();
+
+        final CompactMealy<Integer, String> reference = new CompactMealy<>(alphabet);
+        try (OffHeapCompactMealy<Integer, String> mealy = new OffHeapCompactMealy<>(alphabet,
+                                                                                    0,
+                                                                                    OffHeapIntStorage.map(
+                                                                                            successorFile.toPath(),
+                                                                                            SEGMENT_BITS),
+                                                                                    OffHeapIntStorage.map(outputFile.toPath(),
+                                                                                                          SEGMENT_BITS))) {
+
+            for (int i = 0; i < SIZE; i++) {
+                reference.addState();
+                mealy.addState();
+            }
+
+            for (int s = 0; s < SIZE; s++) {
+                for (int i = 0; i < alphabet.size(); i++) {
+                    if (random.nextInt(10) > 0) {
+                        final int succ = random.nextInt(SIZE);
+                        final String out = random.nextBoolean() ? null : Integer.toString(random.nextInt(5));
+                        reference.setTransition(s, i, succ, out);
+                        mealy.setTransition(s, i, succ, out);
+                    }
+                }
+            }
+
+            for (int s = 0; s < SIZE; s++) {
+                for (int i = 0; i < alphabet.size(); i++) {
+                    Assert.assertEquals(mealy.getTransition(s, i), reference.getTransition(s, i));
+                }
+            }
+        }
+    }
+
+    private static void fillRandomly(Random random,
+                                     CompactDFA<Integer> reference,
+                                     OffHeapCompactDFA<Integer> dfa,
+                                     int numInputs) {
+        for (int s = 0; s < SIZE; s++) {
+            for (int i = 0; i < numInputs; i++) {
+                if (random.nextInt(10) > 0) {
+                    final int succ = random.nextInt(SIZE);
+                    reference.setTransition(s, i, succ);
+                    dfa.setTransition(s, i, succ);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,83 @@
+/* Copyright (C) 2013-2022 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.automata.transducers;
+
+import java.util.Random;
+
+import net.automatalib.automata.transducers.impl.compact.CompactMealy;
+import net.automatalib.automata.transducers.impl.compact.InternedCompactMealy;
+import net.automatalib.automata.util.TestUtil;
+import net.automatalib.words.Alphabet;
+import net.automatalib.words.impl.Alphabets;
+import net.automatalib.words.impl.Symbol;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * @author agent
+ */
+public class InternedCompactMealyTest extends AbstractMutableMealyTest {
+
+    @Override
+    protected MutableMealyMachine<?, Symbol<Character>, ?, String> getMealy() {
+        return TestUtil.constructMealy(InternedCompactMealy::new);
+    }
+
+    @Test
+    public void testOutputWidening() {
+        final Random random = new Random(42);
+        final Alphabet<Integer> alphabet = Alphabets.integers(0, 3);
+        final int size = 30_000;
+
+        final CompactMealy<Integer, Integer> reference = new CompactMealy<>(alphabet);
+        final InternedCompactMealy<Integer, Integer> mealy = new InternedCompactMealy<>(alphabet);
+
+        for (int i = 0; i < size; i++) {
+            reference.addState();
+            mealy.addState();
+        }
+
+        // the number of distinct outputs exceeds the byte and short ranges
+        for (int bound : new int[] {100, 1_000, 200_000}) {
+            for (int s = 0; s < size; s++) {
+                for (int i = 0; i < alphabet.size(); i++) {
+                    if (random.nextInt(4) > 0) {
+                        final int succ = random.nextInt(size);
+                        final Integer out = random.nextInt(10) > 0 ? random.nextInt(bound) : null;
+                        reference.setTransition(s, i, succ, out);
+                        mealy.setTransition(s, i, succ, out);
+                    }
+                }
+            }
+
+            for (int s = 0; s < size; s++) {
+                for (int i = 0; i < alphabet.size(); i++) {
+                    Assert.assertEquals(mealy.getTransition(s, i), reference.getTransition(s, i));
+
+                    final int outIdx = mealy.getIntOutput(s, i);
+                    final Integer out = reference.getOutput(s, alphabet.getSymbol(i));
+                    if (out == null) {
+                        Assert.assertEquals(outIdx, -1);
+                    } else {
+                        Assert.assertEquals(mealy.getOutputSymbol(outIdx), out);
+                    }
+                }
+            }
+        }
+
+        Assert.assertTrue(mealy.getOutputSymbols().size() > 0xFFFF);
+    }
+}
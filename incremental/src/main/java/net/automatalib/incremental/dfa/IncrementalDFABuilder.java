@@ -15,6 +15,8 @@
  */
 package net.automatalib.incremental.dfa;
 
+import java.util.Collection;
+
 import net.automatalib.SupportsGrowingAlphabet;
 import net.automatalib.automata.fsa.DFA;
 import net.automatalib.graphs.Graph;
@@ -69,6 +71,26 @@ public interface IncrementalDFABuilder<I> extends IncrementalConstruction<DFA<?,
      */
     void insert(Word<? extends I> word);
 
+    /**
+     * Inserts multiple words into the automaton, all with the given acceptance value. By default, this method
+     * successively {@link #insert(Word, boolean) inserts} each word. Implementations may override this method in order
+     * to process the words more efficiently, e.g. by sharing common prefixes.
+     *
+     * @param words
+     *         the words to insert
+     * @param accepting
+     *         whether or not the words should be marked as accepting
+     *
+     * @throws ConflictException
+     *         if the newly provided information conflicts with existing information. Unless stated otherwise by the
+     *         implementation, it is unspecified which of the words have been inserted in this case
+     */
+    default void insertAll(Collection<? extends Word<? extends I>> words, boolean accepting) {
+        for (Word<? extends I> w : words) {
+            insert(w, accepting);
+        }
+    }
+
     @Override
     GraphView<I, ?, ?> asGraph();
 
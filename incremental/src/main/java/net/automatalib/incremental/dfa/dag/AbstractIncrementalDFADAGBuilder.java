@@ -40,15 +40,15 @@ import org.checkerframework.checker.nullness.qual.Nullable;
 
 public abstract class AbstractIncrementalDFADAGBuilder<I> extends AbstractIncrementalDFABuilder<I> {
 
-    protected final Map<StateSignature, State> register = new HashMap<>();
+    final StateRegister<State, StateSignature> register = new StateRegister<>(State::getSignature);
     protected final State init;
     protected State sink;
 
     public AbstractIncrementalDFADAGBuilder(Alphabet<I> inputAlphabet) {
         super(inputAlphabet);
         StateSignature sig = new StateSignature(alphabetSize, Acceptance.DONT_KNOW);
-        this.init = new State(sig);
-        register.put(sig, init);
+        this.init = new State(sig, register.nextId());
+        register.setInitialState(init);
     }
 
     @Override
@@ -326,7 +326,7 @@ public abstract class AbstractIncrementalDFADAGBuilder<I> extends AbstractIncrem
             return other;
         }
 
-        register.put(sig, state);
+        register.put(state);
         return state;
     }
 
@@ -344,8 +344,8 @@ public abstract class AbstractIncrementalDFADAGBuilder<I> extends AbstractIncrem
             return state;
         }
 
-        state = new State(sig);
-        register.put(sig, state);
+        state = new State(sig, register.nextId());
+        register.put(state);
         for (int i = 0; i < sig.successors.array.length; i++) {
             State succ = sig.successors.array[i];
             if (succ != null) {
@@ -365,7 +365,7 @@ public abstract class AbstractIncrementalDFADAGBuilder<I> extends AbstractIncrem
                 succ.increaseIncoming();
             }
         }
-        return new State(sig);
+        return new State(sig, register.nextId());
     }
 
     protected void hide(State state) {
@@ -16,8 +16,12 @@
 package net.automatalib.incremental.dfa.dag;
 
 import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.Deque;
 import java.util.Iterator;
+import java.util.List;
 
 import net.automatalib.incremental.ConflictException;
 import net.automatalib.incremental.dfa.Acceptance;
@@ -223,6 +227,228 @@ public class IncrementalDFADAGBuilder<I> extends AbstractIncrementalDFADAGBuilde
         updateInitSignature(finalIdx, last);
     }
 
+    /**
+     * Inserts multiple words into either the set of accepted or rejected words. Contrary to successive {@link
+     * #insert(Word, boolean) insertions}, the words are sorted lexicographically (w.r.t. their symbol indices) and
+     * inserted in a single pass, in the style of the construction of minimal acyclic automata from sorted data by
+     * Daciuk et al.: common prefixes are only traversed once and each modified state is only cloned and registered
+     * once per batch instead of once per word.
+     * <p>
+     * The single pass only pays off if the words share long prefixes (e.g., for prefix-closed batches as produced by
+     * query caches). If less than half of the symbols of the batch are shared with the preceding word (w.r.t. the
+     * sorted order), the words are inserted successively (in the order of the given collection) instead, because the
+     * single pass then creates the same states but keeps all of them reachable until the end of the batch.
+     * <p>
+     * All words are checked for conflicts before the automaton is modified. Hence, if a {@link ConflictException} is
+     * thrown, none of the words have been inserted.
+     *
+     * @param words
+     *         the words to insert
+     * @param accepting
+     *         whether to insert the words into the set of accepted or rejected words.
+     */
+    @Override
+    public void insertAll(Collection<? extends Word<? extends I>> words, boolean accepting) {
+        final Acceptance acc = Acceptance.fromBoolean(accepting);
+        final List<BatchEntry<I>> batch = new ArrayList<>(words.size());
+        int maxLength = 0;
+
+        for (Word<? extends I> word : words) {
+            final int[] symIdx = new int[word.length()];
+            int i = 0;
+            for (I sym : word) {
+                symIdx[i++] = inputAlphabet.getSymbolIndex(sym);
+            }
+            batch.add(new BatchEntry<>(word, symIdx));
+            maxLength = Math.max(maxLength, symIdx.length);
+        }
+
+        Collections.sort(batch);
+
+        validateBatch(batch, maxLength, acc);
+
+        if (hasSharedPrefixes(batch)) {
+            insertBatch(batch, maxLength, acc);
+        } else {
+            for (Word<? extends I> word : words) {
+                insert(word, accepting);
+            }
+        }
+    }
+
+    private static <I> boolean hasSharedPrefixes(List<BatchEntry<I>> batch) {
+        long numSymbols = 0;
+        long numShared = 0;
+        BatchEntry<I> prev = null;
+
+        for (BatchEntry<I> entry : batch) {
+            numSymbols += entry.symIdx.length;
+            if (prev != null) {
+                numShared += prev.commonPrefixLength(entry);
+            }
+            prev = entry;
+        }
+
+        return 2 * numShared >= numSymbols;
+    }
+
+    private void validateBatch(List<BatchEntry<I>> batch, int maxLength, Acceptance acc) {
+        final State[] dagPath = new State[maxLength + 1];
+        dagPath[0] = init;
+        int dagDepth = 0;
+        BatchEntry<I> prev = null;
+
+        for (BatchEntry<I> entry : batch) {
+            // the common prefix has already been traversed for the previous word
+            int depth = prev == null ? 0 : Math.min(prev.commonPrefixLength(entry), dagDepth);
+            State curr = dagPath[depth];
+            while (depth < entry.symIdx.length) {
+                final State succ = curr.getSuccessor(entry.symIdx[depth]);
+                if (succ == null) {
+                    break;
+                }
+                curr = succ;
+                dagPath[++depth] = succ;
+            }
+
+            if (depth == entry.symIdx.length) {
+                final Acceptance currAcc = curr.getAcceptance();
+                if (currAcc != Acceptance.DONT_KNOW && currAcc != acc) {
+                    throw new ConflictException(
+                            "Conflicting acceptance values for word " + entry.word + ": " + currAcc + " vs " + acc);
+                }
+            }
+
+            dagDepth = depth;
+            prev = entry;
+        }
+    }
+
+    private void insertBatch(List<BatchEntry<I>> batch, int maxLength, Acceptance acc) {
+        // for each depth of the current path, the (original) state of the DAG and its pending, modified signature
+        final State[] pathStates = new State[maxLength + 1];
+        final StateSignature[] pathSigs = new StateSignature[maxLength + 1];
+
+        pathStates[0] = init;
+        int depth = 0;
+        BatchEntry<I> prev = null;
+
+        for (BatchEntry<I> entry : batch) {
+            if (prev != null) {
+                // the subtrees below the common prefix will not be touched by any subsequent word
+                final int lcp = prev.commonPrefixLength(entry);
+                while (depth > lcp) {
+                    finalizeBatchState(pathStates, pathSigs, depth--, prev);
+                }
+            }
+
+            while (depth < entry.symIdx.length) {
+                final State parent = pathStates[depth];
+                pathStates[depth + 1] = parent == null ? null : parent.getSuccessor(entry.symIdx[depth]);
+                depth++;
+            }
+
+            if (depth == 0) {
+                updateInitSignature(acc);
+            } else {
+                final State original = pathStates[depth];
+                if (pathSigs[depth] != null) {
+                    // the same word may occur multiple times
+                    pathSigs[depth].acceptance = acc;
+                } else if (original == null) {
+                    pathSigs[depth] = new StateSignature(alphabetSize, acc);
+                } else if (original.getAcceptance() != acc) {
+                    final StateSignature sig = original.getSignature().duplicate();
+                    sig.acceptance = acc;
+                    pathSigs[depth] = sig;
+                }
+            }
+
+            prev = entry;
+        }
+
+        while (depth > 0) {
+            finalizeBatchState(pathStates, pathSigs, depth--, prev);
+        }
+    }
+
+    private void finalizeBatchState(State[] pathStates, StateSignature[] pathSigs, int depth, BatchEntry<I> owner) {
+        final StateSignature sig = pathSigs[depth];
+        final State original = pathStates[depth];
+        final State state;
+
+        if (sig != null) {
+            sig.updateHashCode();
+            state = replaceOrRegister(sig);
+        } else if (original != null) {
+            state = original;
+        } else {
+            state = replaceOrRegister(new StateSignature(alphabetSize, Acceptance.DONT_KNOW));
+        }
+
+        pathSigs[depth] = null;
+        pathStates[depth] = null;
+
+        final int idx = owner.symIdx[depth - 1];
+
+        if (depth == 1) {
+            final State oldSucc = init.getSuccessor(idx);
+            updateInitSignature(idx, state);
+            if (oldSucc != null && oldSucc.getNumIncoming() == 0) {
+                release(oldSucc);
+            }
+            return;
+        }
+
+        final State parent = pathStates[depth - 1];
+        StateSignature parentSig = pathSigs[depth - 1];
+        final State currSucc;
+        if (parentSig != null) {
+            currSucc = parentSig.successors.array[idx];
+        } else if (parent != null) {
+            currSucc = parent.getSuccessor(idx);
+        } else {
+            currSucc = null;
+        }
+
+        if (currSucc != state) {
+            if (parentSig == null) {
+                parentSig = parent == null ?
+                        new StateSignature(alphabetSize, Acceptance.DONT_KNOW) :
+                        parent.getSignature().duplicate();
+                pathSigs[depth - 1] = parentSig;
+            }
+            parentSig.successors.array[idx] = state;
+        }
+    }
+
+    /**
+     * Removes a state that is no longer referenced (and all states that are only referenced by it) from the register.
+     *
+     * @param state
+     *         the unreferenced state
+     */
+    private void release(State state) {
+        final Deque<State> stack = new ArrayDeque<>();
+        stack.push(state);
+
+        while (!stack.isEmpty()) {
+            final State curr = stack.pop();
+            final StateSignature sig = curr.getSignature();
+            if (register.get(sig) == curr) {
+                register.remove(sig);
+            }
+            for (State succ : sig.successors.array) {
+                if (succ != null) {
+                    succ.decreaseIncoming();
+                    if (succ.getNumIncoming() == 0) {
+                        stack.push(succ);
+                    }
+                }
+            }
+        }
+    }
+
     /**
      * Creates a suffix state sequence, i.e., a linear sequence of states connected by transitions labeled by the
      * letters of the given suffix word.
@@ -274,4 +500,33 @@ public class IncrementalDFADAGBuilder<I> extends AbstractIncrementalDFADAGBuilde
         return s;
     }
 
+    private static final class BatchEntry<I> implements Comparable<BatchEntry<I>> {
+
+        private final Word<? extends I> word;
+        private final int[] symIdx;
+
+        BatchEntry(Word<? extends I> word, int[] symIdx) {
+            this.word = word;
+            this.symIdx = symIdx;
+        }
+
+        int commonPrefixLength(BatchEntry<I> other) {
+            final int len = Math.min(symIdx.length, other.symIdx.length);
+            int i = 0;
+            while (i < len && symIdx[i] == other.symIdx[i]) {
+                i++;
+            }
+            return i;
+        }
+
+        @Override
+        public int compareTo(BatchEntry<I> other) {
+            final int lcp = commonPrefixLength(other);
+            if (lcp < symIdx.length && lcp < other.symIdx.length) {
+                return Integer.compare(symIdx[lcp], other.symIdx[lcp]);
+            }
+            return Integer.compare(symIdx.length, other.symIdx.length);
+        }
+    }
+
 }
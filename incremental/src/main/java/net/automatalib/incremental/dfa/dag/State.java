@@ -26,9 +26,10 @@ import net.automatalib.incremental.dfa.Acceptance;
  */
 final class State {
 
-    public static final State SINK = new State(new StateSignature(0, Acceptance.FALSE));
+    public static final State SINK = new State(new StateSignature(0, Acceptance.FALSE), -1);
 
     private final StateSignature signature;
+    private final int id;
     private int numIncoming;
 
     /**
@@ -36,12 +37,25 @@ final class State {
      *
      * @param signature
      *         the signature
+     * @param id
+     *         the identifier of the state (see {@link StateRegister#nextId()})
      */
-    State(StateSignature signature) {
+    State(StateSignature signature, int id) {
         this.signature = signature;
+        this.id = id;
         this.numIncoming = 0;
     }
 
+    /**
+     * Retrieves the identifier of this state, which is used for computing the hash codes of signatures referencing this
+     * state.
+     *
+     * @return the identifier of this state
+     */
+    public int getId() {
+        return id;
+    }
+
     /**
      * Increases the number of incoming transitions.
      */
@@ -56,6 +70,15 @@ final class State {
         numIncoming--;
     }
 
+    /**
+     * Retrieves the number of incoming transitions.
+     *
+     * @return the number of incoming transitions
+     */
+    public int getNumIncoming() {
+        return numIncoming;
+    }
+
     /**
      * Checks whether this node is a confluence node (i.e. has more than one incoming transitions).
      *
@@ -0,0 +1,278 @@
+/* Copyright (C) 2013-2022 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.incremental.dfa.dag;
+
+import java.util.AbstractCollection;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.Function;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * The register of the DAG-based incremental DFA builders, which maps signatures to their canonical states. The register
+ * is an open-addressing (linear probing) hash table that stores the states and the cached hash codes of their
+ * signatures in plain arrays. Thus, neither lookups nor insertions allocate entry objects and signatures are only
+ * compared (see {@link Object#equals(Object)}) if their hash codes match.
+ * <p>
+ * The initial state is managed separately, because its signature is modified in place. It is never returned by
+ * lookups, but it is included in {@link #size()} and {@link #values()} until it is removed via its (identical)
+ * signature.
+ *
+ * @param <S>
+ *         state type
+ * @param <K>
+ *         signature type
+ *
+ * @author agent
+ */
+final class StateRegister<S, K> {
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    private final Function<? super S, ? extends K> signatureFunction;
+
+    private @Nullable S init;
+    private @Nullable Object[] states;
+    private int[] hashes;
+    private int size;
+    private int nextId;
+
+    /**
+     * Constructor.
+     *
+     * @param signatureFunction
+     *         the function for obtaining the (current) signature of a state
+     */
+    StateRegister(Function<? super S, ? extends K> signatureFunction) {
+        this.signatureFunction = signatureFunction;
+        this.states = new Object[INITIAL_CAPACITY];
+        this.hashes = new int[INITIAL_CAPACITY];
+    }
+
+    /**
+     * Returns a new identifier for a state of the associated builder. Identifiers can be used for computing the hash
+     * codes of signatures.
+     *
+     * @return a new state identifier
+     */
+    public int nextId() {
+        return nextId++;
+    }
+
+    public void setInitialState(S init) {
+        this.init = init;
+    }
+
+    /**
+     * Returns the state that is registered for the given signature.
+     *
+     * @param sig
+     *         the signature
+     *
+     * @return the state registered for the given signature, or {@code null} if no such state exists
+     */
+    public @Nullable S get(K sig) {
+        final int slot = find(sig);
+        return slot < 0 ? null : stateAt(slot);
+    }
+
+    /**
+     * Registers the given state for its (current) signature. There must not be a state with an equal signature in the
+     * register.
+     *
+     * @param state
+     *         the state to register
+     */
+    public void put(S state) {
+        if (2 * (size + 1) > states.length) {
+            resize(2 * states.length);
+        }
+
+        final int hash = signatureFunction.apply(state).hashCode();
+        final int mask = states.length - 1;
+        int slot = spread(hash) & mask;
+        while (states[slot] != null) {
+            slot = (slot + 1) & mask;
+        }
+        states[slot] = state;
+        hashes[slot] = hash;
+        size++;
+    }
+
+    /**
+     * Removes the state that is registered for the given signature.
+     *
+     * @param sig
+     *         the signature
+     *
+     * @return the removed state, or {@code null} if no state was registered for the given signature
+     */
+    public @Nullable S remove(K sig) {
+        if (init != null && signatureFunction.apply(init) == sig) {
+            final S removed = init;
+            init = null;
+            return removed;
+        }
+
+        final int slot = find(sig);
+        if (slot < 0) {
+            return null;
+        }
+
+        final S removed = stateAt(slot);
+        final int mask = states.length - 1;
+
+        // backward-shift deletion, so that no tombstones are required
+        int gap = slot;
+        int curr = slot;
+        while (true) {
+            curr = (curr + 1) & mask;
+            final Object state = states[curr];
+            if (state == null) {
+                break;
+            }
+            final int home = spread(hashes[curr]) & mask;
+            // move the entry into the gap, if its home slot does not lie cyclically in (gap, curr]
+            if (((curr - home) & mask) >= ((curr - gap) & mask)) {
+                states[gap] = state;
+                hashes[gap] = hashes[curr];
+                gap = curr;
+            }
+        }
+        states[gap] = null;
+        size--;
+
+        return removed;
+    }
+
+    /**
+     * Returns the number of registered states, including the initial state.
+     *
+     * @return the number of registered states
+     */
+    public int size() {
+        return init == null ? size : size + 1;
+    }
+
+    /**
+     * Returns a (read-only) view on all registered states, including the initial state.
+     *
+     * @return a view on all registered states
+     */
+    public Collection<S> values() {
+        return new AbstractCollection<S>() {
+
+            @Override
+            public Iterator<S> iterator() {
+                return new ValueIterator();
+            }
+
+            @Override
+            public int size() {
+                return StateRegister.this.size();
+            }
+        };
+    }
+
+    private int find(K sig) {
+        final int hash = sig.hashCode();
+        final int mask = states.length - 1;
+        int slot = spread(hash) & mask;
+        while (states[slot] != null) {
+            if (hashes[slot] == hash) {
+                final K other = signatureFunction.apply(stateAt(slot));
+                if (other == sig || other.equals(sig)) {
+                    return slot;
+                }
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    @SuppressWarnings("unchecked")
+    private S stateAt(int slot) {
+        return (S) states[slot];
+    }
+
+    private void resize(int newCapacity) {
+        final Object[] oldStates = states;
+        final int[] oldHashes = hashes;
+        final int mask = newCapacity - 1;
+
+        this.states = new Object[newCapacity];
+        this.hashes = new int[newCapacity];
+
+        for (int i = 0; i < oldStates.length; i++) {
+            final Object state = oldStates[i];
+            if (state != null) {
+                int slot = spread(oldHashes[i]) & mask;
+                while (states[slot] != null) {
+                    slot = (slot + 1) & mask;
+                }
+                states[slot] = state;
+                hashes[slot] = oldHashes[i];
+            }
+        }
+    }
+
+    private static int spread(int hash) {
+        final int h = hash * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    private final class ValueIterator implements Iterator<S> {
+
+        private final @Nullable Object[] table = states;
+        private @Nullable S next = init;
+        private int slot;
+
+        ValueIterator() {
+            if (next == null) {
+                advance();
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        @Override
+        public S next() {
+            final S result = next;
+            if (result == null) {
+                throw new NoSuchElementException();
+            }
+            advance();
+            return result;
+        }
+
+        @SuppressWarnings("unchecked")
+        private void advance() {
+            while (slot < table.length) {
+                final Object state = table[slot++];
+                if (state != null) {
+                    next = (S) state;
+                    return;
+                }
+            }
+            next = null;
+        }
+    }
+}
@@ -15,8 +15,6 @@
  */
 package net.automatalib.incremental.dfa.dag;
 
-import java.util.Arrays;
-
 import net.automatalib.commons.smartcollections.ResizingArrayStorage;
 import net.automatalib.incremental.dfa.Acceptance;
 import org.checkerframework.checker.nullness.qual.Nullable;
@@ -45,11 +43,25 @@ final class StateSignature {
         updateHashCode();
     }
 
+    /**
+     * Re-computes the (cached) hash code of this signature. The hash code is computed from the identifiers of the
+     * successor states (see {@link State#getId()}) and ignores trailing undefined successors, so that signatures of
+     * differently sized storages are consistent with {@link #equals(Object)}. Undefined successors are encoded as
+     * {@code 0}, all other successors (including the sink, whose identifier is {@code -1}) as their identifier plus
+     * {@code 2}.
+     */
     public void updateHashCode() {
-        final int prime = 31;
-        int result = 1;
-        result = prime * result + acceptance.hashCode();
-        result = prime * result + Arrays.hashCode(successors.array);
+        final State[] succs = successors.array;
+        int last = succs.length - 1;
+        while (last >= 0 && succs[last] == null) {
+            last--;
+        }
+
+        int result = acceptance.ordinal();
+        for (int i = 0; i <= last; i++) {
+            final State succ = succs[i];
+            result = 31 * result + (succ == null ? 0 : succ.getId() + 2);
+        }
         hashCode = result;
     }
 
@@ -73,8 +85,30 @@ final class StateSignature {
 
         final StateSignature other = (StateSignature) obj;
 
-        return hashCode == other.hashCode && acceptance == other.acceptance &&
-               Arrays.equals(successors.array, other.successors.array);
+        if (hashCode != other.hashCode || acceptance != other.acceptance) {
+            return false;
+        }
+
+        // states are unique, hence successors can be compared by identity
+        final State[] succs = successors.array;
+        final State[] otherSuccs = other.successors.array;
+        final int common = Math.min(succs.length, otherSuccs.length);
+        for (int i = 0; i < common; i++) {
+            if (succs[i] != otherSuccs[i]) {
+                return false;
+            }
+        }
+
+        return isUndefinedFrom(succs, common) && isUndefinedFrom(otherSuccs, common);
+    }
+
+    private static boolean isUndefinedFrom(State[] succs, int idx) {
+        for (int i = idx; i < succs.length; i++) {
+            if (succs[i] != null) {
+                return false;
+            }
+        }
+        return true;
     }
 
 }
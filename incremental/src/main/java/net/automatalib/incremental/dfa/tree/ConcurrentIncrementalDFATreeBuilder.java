@@ -0,0 +1,373 @@
+/* Copyright (C) 2013-2022 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.incremental.dfa.tree;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import com.google.common.collect.Iterators;
+import net.automatalib.automata.fsa.DFA;
+import net.automatalib.incremental.ConflictException;
+import net.automatalib.incremental.dfa.AbstractIncrementalDFABuilder;
+import net.automatalib.incremental.dfa.Acceptance;
+import net.automatalib.util.graphs.traversal.GraphTraversal;
+import net.automatalib.words.Alphabet;
+import net.automatalib.words.Word;
+import net.automatalib.words.WordBuilder;
+import net.automatalib.words.impl.Alphabets;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * A thread-safe variant of the {@link IncrementalDFATreeBuilder}.
+ * <p>
+ * Tree nodes are never removed and both new nodes and acceptance values are published via atomic compare-and-set
+ * operations. Hence, {@link #lookup(Word) lookups} are lock-free and {@link #insert(Word, boolean) insertions} may be
+ * executed concurrently with each other as well as with lookups. If two threads concurrently insert the same word with
+ * different acceptance values, exactly one of the values is stored and the other thread throws a {@link
+ * ConflictException}.
+ * <p>
+ * Insertions, {@link #findSeparatingWord(DFA, Collection, boolean)} and the traversals of {@link #asGraph()} share a
+ * read lock and operate on the tree directly. Their results reflect (at least) all insertions that have finished
+ * before they were started, but may or may not reflect concurrent insertions. {@link #addAlphabetSymbol(Object)}
+ * acquires the corresponding write lock, because it replaces the children storage of the tree nodes. A consistent copy
+ * of the tree can be obtained via {@link #snapshot()}.
+ * <p>
+ * Note that lookups do not synchronize with {@link #addAlphabetSymbol(Object)}. Hence, they may only be executed
+ * concurrently to an alphabet extension if the underlying alphabet supports concurrent reads during its growth.
+ *
+ * @param <I>
+ *         input symbol class
+ *
+ * @author agent
+ */
+public class ConcurrentIncrementalDFATreeBuilder<I> extends AbstractIncrementalDFABuilder<I> {
+
+    private final ConcurrentNode<I> root;
+
+    private final Lock readLock;
+    private final Lock writeLock;
+
+    public ConcurrentIncrementalDFATreeBuilder(Alphabet<I> inputAlphabet) {
+        super(inputAlphabet);
+        this.root = new ConcurrentNode<>();
+
+        final ReadWriteLock lock = new ReentrantReadWriteLock();
+        this.readLock = lock.readLock();
+        this.writeLock = lock.writeLock();
+    }
+
+    @Override
+    public void addAlphabetSymbol(I symbol) {
+        writeLock.lock();
+        try {
+            if (!this.inputAlphabet.containsSymbol(symbol)) {
+                Alphabets.toGrowingAlphabetOrThrowException(this.inputAlphabet).addSymbol(symbol);
+            }
+
+            final int newAlphabetSize = this.inputAlphabet.size();
+            // even if the symbol was already in the alphabet, we need to make sure to be able to store the new symbol
+            if (alphabetSize < newAlphabetSize) {
+                ensureInputCapacity(root, alphabetSize, newAlphabetSize);
+                alphabetSize = newAlphabetSize;
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private void ensureInputCapacity(ConcurrentNode<I> start, int oldAlphabetSize, int newAlphabetSize) {
+        final Deque<ConcurrentNode<I>> stack = new ArrayDeque<>();
+        stack.push(start);
+
+        while (!stack.isEmpty()) {
+            final ConcurrentNode<I> node = stack.pop();
+            node.ensureInputCapacity(newAlphabetSize);
+            for (int i = 0; i < oldAlphabetSize; i++) {
+                final ConcurrentNode<I> child = node.getChild(i);
+                if (child != null) {
+                    stack.push(child);
+                }
+            }
+        }
+    }
+
+    @Override
+    public Acceptance lookup(Word<? extends I> inputWord) {
+        ConcurrentNode<I> curr = root;
+
+        for (I sym : inputWord) {
+            int symIdx = inputAlphabet.getSymbolIndex(sym);
+            ConcurrentNode<I> succ = curr.getChild(symIdx);
+            if (succ == null) {
+                return Acceptance.DONT_KNOW;
+            }
+            curr = succ;
+        }
+        return curr.getAcceptance();
+    }
+
+    @Override
+    public void insert(Word<? extends I> word, boolean acceptance) {
+        final Acceptance newWordAcc = Acceptance.fromBoolean(acceptance);
+        final Acceptance acc;
+
+        readLock.lock();
+        try {
+            ConcurrentNode<I> curr = root;
+
+            for (I sym : word) {
+                int inputIdx = inputAlphabet.getSymbolIndex(sym);
+                curr = curr.getOrCreateChild(inputIdx, alphabetSize);
+            }
+
+            acc = curr.setAcceptanceIfUnknown(newWordAcc);
+        } finally {
+            readLock.unlock();
+        }
+
+        if (acc != newWordAcc) {
+            throw new ConflictException(
+                    "Conflicting acceptance values for word " + word + ": " + acc + " vs " + newWordAcc);
+        }
+    }
+
+    @Override
+    public @Nullable Word<I> findSeparatingWord(DFA<?, I> target,
+                                                Collection<? extends I> inputs,
+                                                boolean omitUndefined) {
+        readLock.lock();
+        try {
+            return doFindSeparatingWord(target, inputs, omitUndefined);
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    private <S> @Nullable Word<I> doFindSeparatingWord(DFA<S, I> target,
+                                                       Collection<? extends I> inputs,
+                                                       boolean omitUndefined) {
+        S automatonInit = target.getInitialState();
+        if (root.getAcceptance().conflicts(automatonInit != null && target.isAccepting(automatonInit))) {
+            return Word.epsilon();
+        }
+
+        // incomingInput can be null here, because we will always skip the bottom stack element below
+        @SuppressWarnings("nullness")
+        Record<@Nullable S, I> init = new Record<>(automatonInit, root, null, inputs.iterator());
+
+        Deque<Record<@Nullable S, I>> dfsStack = new ArrayDeque<>();
+        dfsStack.push(init);
+
+        while (!dfsStack.isEmpty()) {
+            @SuppressWarnings("nullness") // false positive https://github.com/typetools/checker-framework/issues/399
+            @NonNull Record<@Nullable S, I> rec = dfsStack.peek();
+            if (!rec.inputIt.hasNext()) {
+                dfsStack.pop();
+                continue;
+            }
+            I input = rec.inputIt.next();
+            ConcurrentNode<I> succ = rec.treeNode.getChild(inputAlphabet.getSymbolIndex(input));
+            if (succ == null) {
+                continue;
+            }
+
+            @Nullable S state = rec.automatonState;
+            @Nullable S automatonSucc = state == null ? null : target.getTransition(state, input);
+            if (automatonSucc == null && omitUndefined) {
+                continue;
+            }
+
+            boolean succAcc = automatonSucc != null && target.isAccepting(automatonSucc);
+
+            if (succ.getAcceptance().conflicts(succAcc)) {
+                WordBuilder<I> wb = new WordBuilder<>(dfsStack.size());
+                wb.append(input);
+
+                dfsStack.pop();
+                while (!dfsStack.isEmpty()) {
+                    wb.append(rec.incomingInput);
+                    rec = dfsStack.pop();
+                }
+                return wb.reverse().toWord();
+            }
+
+            dfsStack.push(new Record<>(automatonSucc, succ, input, inputs.iterator()));
+        }
+
+        return null;
+    }
+
+    @Override
+    public GraphView<I, ?, ?> asGraph() {
+        return new ConcurrentGraphView();
+    }
+
+    @Override
+    public TransitionSystemView<?, I, ?> asTransitionSystem() {
+        return new ConcurrentTransitionSystemView();
+    }
+
+    /**
+     * Returns a copy of the current tree in form of a (non thread-safe) {@link IncrementalDFATreeBuilder}. The
+     * snapshot is consistent in the sense that it contains exactly the words whose insertion has finished before the
+     * snapshot was taken.
+     *
+     * @return a snapshot of the current tree
+     */
+    public IncrementalDFATreeBuilder<I> snapshot() {
+        writeLock.lock();
+        try {
+            final IncrementalDFATreeBuilder<I> result = new IncrementalDFATreeBuilder<>(inputAlphabet);
+            final Deque<ConcurrentNode<I>> srcStack = new ArrayDeque<>();
+            final Deque<Node<I>> tgtStack = new ArrayDeque<>();
+
+            srcStack.push(root);
+            tgtStack.push(result.root);
+
+            while (!srcStack.isEmpty()) {
+                final ConcurrentNode<I> src = srcStack.pop();
+                final Node<I> tgt = tgtStack.pop();
+
+                tgt.setAcceptance(src.getAcceptance());
+
+                for (int i = 0; i < alphabetSize; i++) {
+                    final ConcurrentNode<I> srcChild = src.getChild(i);
+                    if (srcChild != null) {
+                        final Node<I> tgtChild = new Node<>();
+                        tgt.setChild(i, alphabetSize, tgtChild);
+                        srcStack.push(srcChild);
+                        tgtStack.push(tgtChild);
+                    }
+                }
+            }
+
+            return result;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private static final class Record<S, I> {
+
+        private final S automatonState;
+        private final ConcurrentNode<I> treeNode;
+        private final I incomingInput;
+        private final Iterator<? extends I> inputIt;
+
+        Record(S automatonState, ConcurrentNode<I> treeNode, I incomingInput, Iterator<? extends I> inputIt) {
+            this.automatonState = automatonState;
+            this.treeNode = treeNode;
+            this.incomingInput = incomingInput;
+            this.inputIt = inputIt;
+        }
+    }
+
+    private static final class ConcurrentEdge<I> {
+
+        private final ConcurrentNode<I> node;
+        private final I input;
+
+        ConcurrentEdge(ConcurrentNode<I> node, I input) {
+            this.node = node;
+            this.input = input;
+        }
+    }
+
+    private class ConcurrentGraphView extends AbstractGraphView<I, ConcurrentNode<I>, ConcurrentEdge<I>> {
+
+        @Override
+        public Collection<ConcurrentNode<I>> getNodes() {
+            readLock.lock();
+            try {
+                List<ConcurrentNode<I>> result = new ArrayList<>();
+                Iterators.addAll(result, GraphTraversal.dfIterator(this, Collections.singleton(root)));
+                return result;
+            } finally {
+                readLock.unlock();
+            }
+        }
+
+        @Override
+        public Collection<ConcurrentEdge<I>> getOutgoingEdges(ConcurrentNode<I> node) {
+            readLock.lock();
+            try {
+                List<ConcurrentEdge<I>> result = new ArrayList<>(alphabetSize);
+                for (int i = 0; i < alphabetSize; i++) {
+                    ConcurrentNode<I> succ = node.getChild(i);
+                    if (succ != null) {
+                        result.add(new ConcurrentEdge<>(succ, inputAlphabet.getSymbol(i)));
+                    }
+                }
+                return result;
+            } finally {
+                readLock.unlock();
+            }
+        }
+
+        @Override
+        public ConcurrentNode<I> getTarget(ConcurrentEdge<I> edge) {
+            return edge.node;
+        }
+
+        @Override
+        public I getInputSymbol(ConcurrentEdge<I> edge) {
+            return edge.input;
+        }
+
+        @Override
+        public Acceptance getAcceptance(ConcurrentNode<I> node) {
+            return node.getAcceptance();
+        }
+
+        @Override
+        public ConcurrentNode<I> getInitialNode() {
+            return root;
+        }
+    }
+
+    private class ConcurrentTransitionSystemView
+            extends AbstractTransitionSystemView<ConcurrentNode<I>, I, ConcurrentNode<I>> {
+
+        @Override
+        public ConcurrentNode<I> getSuccessor(ConcurrentNode<I> transition) {
+            return transition;
+        }
+
+        @Override
+        public @Nullable ConcurrentNode<I> getTransition(ConcurrentNode<I> state, I input) {
+            return state.getChild(inputAlphabet.getSymbolIndex(input));
+        }
+
+        @Override
+        public ConcurrentNode<I> getInitialState() {
+            return root;
+        }
+
+        @Override
+        public Acceptance getAcceptance(ConcurrentNode<I> state) {
+            return state.getAcceptance();
+        }
+    }
+}
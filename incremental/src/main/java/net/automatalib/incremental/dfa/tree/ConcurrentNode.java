@@ -0,0 +1,135 @@
+/* Copyright (C) 2013-2022 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.incremental.dfa.tree;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+
+import net.automatalib.incremental.dfa.Acceptance;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * A node in the tree internally used by {@link ConcurrentIncrementalDFATreeBuilder}. All modifications are performed
+ * via atomic compare-and-set operations.
+ *
+ * @param <I>
+ *         input symbol type
+ *
+ * @author agent
+ */
+final class ConcurrentNode<I> {
+
+    @SuppressWarnings("rawtypes")
+    private static final AtomicReferenceFieldUpdater<ConcurrentNode, Acceptance> ACCEPTANCE =
+            AtomicReferenceFieldUpdater.newUpdater(ConcurrentNode.class, Acceptance.class, "acceptance");
+
+    @SuppressWarnings("rawtypes")
+    private static final AtomicReferenceFieldUpdater<ConcurrentNode, AtomicReferenceArray> CHILDREN =
+            AtomicReferenceFieldUpdater.newUpdater(ConcurrentNode.class, AtomicReferenceArray.class, "children");
+
+    private volatile Acceptance acceptance = Acceptance.DONT_KNOW;
+    private volatile @Nullable AtomicReferenceArray<ConcurrentNode<I>> children;
+
+    Acceptance getAcceptance() {
+        return acceptance;
+    }
+
+    /**
+     * Atomically sets the acceptance value of this node if it has not been determined yet.
+     *
+     * @return the acceptance value of this node after the operation, i.e. the given value if the update has been
+     * successful or the previously determined acceptance value otherwise
+     */
+    Acceptance setAcceptanceIfUnknown(Acceptance newAcceptance) {
+        if (ACCEPTANCE.compareAndSet(this, Acceptance.DONT_KNOW, newAcceptance)) {
+            return newAcceptance;
+        }
+        return acceptance;
+    }
+
+    /**
+     * Returns the child for the given index. Indices beyond the current capacity of this node (e.g., of symbols that
+     * are concurrently added to the alphabet) yield {@code null}.
+     *
+     * @param idx
+     *         the alphabet symbol index
+     *
+     * @return the child for the given index, or {@code null} if there is no such child
+     */
+    @Nullable ConcurrentNode<I> getChild(int idx) {
+        final AtomicReferenceArray<ConcurrentNode<I>> array = children;
+        if (array == null || idx >= array.length()) {
+            return null;
+        }
+        return array.get(idx);
+    }
+
+    /**
+     * Atomically returns the child for the given index, creating (and publishing) a new one if necessary.
+     *
+     * @param idx
+     *         the alphabet symbol index
+     * @param alphabetSize
+     *         the overall alphabet size; this is needed if a new children array needs to be created
+     *
+     * @return the (possibly newly created) child for the given index
+     */
+    @SuppressWarnings("unchecked")
+    ConcurrentNode<I> getOrCreateChild(int idx, int alphabetSize) {
+        AtomicReferenceArray<ConcurrentNode<I>> array = children;
+        if (array == null) {
+            final AtomicReferenceArray<ConcurrentNode<I>> newArray = new AtomicReferenceArray<>(alphabetSize);
+            if (CHILDREN.compareAndSet(this, null, newArray)) {
+                array = newArray;
+            } else {
+                array = children;
+            }
+        }
+
+        final ConcurrentNode<I> existing = array.get(idx);
+        if (existing != null) {
+            return existing;
+        }
+
+        final ConcurrentNode<I> child = new ConcurrentNode<>();
+        if (array.compareAndSet(idx, null, child)) {
+            return child;
+        }
+        return array.get(idx);
+    }
+
+    /**
+     * Enlarges the children storage to the given capacity. May be called concurrently with {@link #getChild(int)} but
+     * must not be called concurrently with {@link #getOrCreateChild(int, int)}, since children that are published to
+     * the old storage in the meantime would be lost.
+     *
+     * @return {@code true} if the storage has been enlarged, {@code false} otherwise
+     */
+    boolean ensureInputCapacity(int capacity) {
+        final AtomicReferenceArray<ConcurrentNode<I>> oldChildren = this.children;
+
+        if (oldChildren == null || oldChildren.length() >= capacity) {
+            return false;
+        }
+
+        final AtomicReferenceArray<ConcurrentNode<I>> newChildren = new AtomicReferenceArray<>(capacity);
+        for (int i = 0; i < oldChildren.length(); i++) {
+            newChildren.set(i, oldChildren.get(i));
+        }
+        this.children = newChildren;
+        return true;
+    }
+}
@@ -0,0 +1,467 @@
+/* Copyright (C) 2013-2022 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.incremental.dfa.tree;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import com.google.common.collect.Iterators;
+import net.automatalib.automata.base.compact.OffHeapIntStorage;
+import net.automatalib.automata.fsa.DFA;
+import net.automatalib.incremental.ConflictException;
+import net.automatalib.incremental.dfa.AbstractIncrementalDFABuilder;
+import net.automatalib.incremental.dfa.Acceptance;
+import net.automatalib.util.graphs.traversal.GraphTraversal;
+import net.automatalib.visualization.VisualizationHelper;
+import net.automatalib.visualization.helper.DelegateVisualizationHelper;
+import net.automatalib.words.Alphabet;
+import net.automatalib.words.Word;
+import net.automatalib.words.WordBuilder;
+import net.automatalib.words.impl.Alphabets;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * A variation of the {@link IncrementalDFATreeBuilder}, which stores its tree in memory-mapped files of a given
+ * directory (see {@link OffHeapIntStorage}). This allows to persist (potentially large) caches across multiple runs of
+ * the JVM: {@link #open(Path, Alphabet) Re-opening} an existing directory only maps the stored files, but does not
+ * need to re-insert any words.
+ * <p>
+ * Nodes are addressed by their (integer) ID, with the root having ID {@code 0}. Analogous to the {@link
+ * net.automatalib.incremental.mealy.tree.CompactIncrementalMealyTreeBuilder}, the tree is stored in a sparse
+ * (first-child/next-sibling) layout, whose size does not depend on the size of the input alphabet. Input symbols are
+ * persisted by their index in the input alphabet, i.e. a directory has to be re-opened with an alphabet whose symbol
+ * indices match the ones of the alphabet it has been created with. The alphabet may contain additional symbols (at the
+ * end), though.
+ * <p>
+ * Modifications are written to the mapped files by the operating system. New nodes are only linked to the tree after
+ * they have been fully written, so that the files remain consistent if the JVM terminates unexpectedly. To make sure
+ * that all modifications have been persisted (e.g. to guard against a system crash), call {@link #flush()}. The
+ * builder needs to be {@link #close() closed} after use.
+ *
+ * @param <I>
+ *         input symbol class
+ *
+ * @author agent
+ */
+public class PersistentIncrementalDFATreeBuilder<I> extends AbstractIncrementalDFABuilder<I> implements Closeable {
+
+    private static final String META_FILE = "meta.bin";
+    private static final String INPUTS_FILE = "inputs.bin";
+    private static final String ACCEPTANCE_FILE = "acceptance.bin";
+    private static final String CHILDREN_FILE = "children.bin";
+    private static final String SIBLINGS_FILE = "siblings.bin";
+
+    private static final int MAGIC = 0x44464143; // "DFAC"
+    private static final int META_SEGMENT_BITS = 2;
+    private static final int MAGIC_IDX = 0;
+    private static final int ALPHABET_SIZE_IDX = 1;
+    private static final int NUM_NODES_IDX = 2;
+
+    private static final int ROOT = 0;
+    private static final int NO_NODE = 0;
+
+    private static final int DONT_KNOW = 0;
+    private static final int FALSE = 1;
+    private static final int TRUE = 2;
+
+    private final OffHeapIntStorage meta;
+    private final OffHeapIntStorage inputs;
+    private final OffHeapIntStorage acceptance;
+    private final OffHeapIntStorage firstChild;
+    private final OffHeapIntStorage nextSibling;
+    private int numNodes;
+
+    private PersistentIncrementalDFATreeBuilder(Alphabet<I> inputAlphabet,
+                                                OffHeapIntStorage meta,
+                                                OffHeapIntStorage[] tables) {
+        super(inputAlphabet);
+        this.meta = meta;
+        this.inputs = tables[0];
+        this.acceptance = tables[1];
+        this.firstChild = tables[2];
+        this.nextSibling = tables[3];
+        this.numNodes = meta.get(NUM_NODES_IDX);
+
+        for (OffHeapIntStorage table : tables) {
+            table.ensureCapacity(numNodes);
+        }
+
+        // the alphabet may have grown since the last time
+        meta.set(ALPHABET_SIZE_IDX, inputAlphabet.size());
+    }
+
+    /**
+     * Opens the cache stored in the given directory. If the directory does not exist or contains no cache, a new
+     * (empty) cache is created.
+     *
+     * @param directory
+     *         the directory containing the files of the cache
+     * @param inputAlphabet
+     *         the input alphabet. Its symbol indices must match the ones of the alphabet the cache has been created
+     *         with
+     * @param <I>
+     *         input symbol type
+     *
+     * @return the opened cache
+     *
+     * @throws IOException
+     *         if the files of the cache cannot be opened or do not contain a valid cache
+     */
+    public static <I> PersistentIncrementalDFATreeBuilder<I> open(Path directory, Alphabet<I> inputAlphabet)
+            throws IOException {
+        Files.createDirectories(directory);
+
+        final List<Closeable> resources = new ArrayList<>();
+
+        try {
+            final OffHeapIntStorage meta = OffHeapIntStorage.open(directory.resolve(META_FILE), META_SEGMENT_BITS);
+            resources.add(meta);
+            meta.ensureCapacity(NUM_NODES_IDX + 1);
+
+            final int magic = meta.get(MAGIC_IDX);
+            if (magic == 0) {
+                meta.set(ALPHABET_SIZE_IDX, inputAlphabet.size());
+                meta.set(NUM_NODES_IDX, 1);
+                meta.set(MAGIC_IDX, MAGIC);
+            } else if (magic != MAGIC) {
+                throw new IOException("Directory '" + directory + "' does not contain a valid DFA cache");
+            }
+            if (meta.get(ALPHABET_SIZE_IDX) > inputAlphabet.size()) {
+                throw new IllegalArgumentException("The cache has been created with a larger input alphabet");
+            }
+
+            final String[] files = {INPUTS_FILE, ACCEPTANCE_FILE, CHILDREN_FILE, SIBLINGS_FILE};
+            final OffHeapIntStorage[] tables = new OffHeapIntStorage[files.length];
+            for (int i = 0; i < files.length; i++) {
+                final Path file = directory.resolve(files[i]);
+                tables[i] = OffHeapIntStorage.open(file, OffHeapIntStorage.DEFAULT_SEGMENT_BITS);
+                resources.add(tables[i]);
+            }
+
+            return new PersistentIncrementalDFATreeBuilder<>(inputAlphabet, meta, tables);
+        } catch (IOException | RuntimeException e) {
+            closeAll(resources, e);
+            throw e;
+        }
+    }
+
+    private static void closeAll(List<Closeable> resources, Exception cause) {
+        for (Closeable c : resources) {
+            try {
+                c.close();
+            } catch (IOException e) {
+                cause.addSuppressed(e);
+            }
+        }
+    }
+
+    @Override
+    public void addAlphabetSymbol(I symbol) {
+        if (!this.inputAlphabet.containsSymbol(symbol)) {
+            Alphabets.toGrowingAlphabetOrThrowException(this.inputAlphabet).addSymbol(symbol);
+        }
+
+        // the tables do not depend on the size of the alphabet
+        alphabetSize = this.inputAlphabet.size();
+        meta.set(ALPHABET_SIZE_IDX, alphabetSize);
+    }
+
+    @Override
+    public Acceptance lookup(Word<? extends I> inputWord) {
+        int curr = ROOT;
+
+        for (I sym : inputWord) {
+            final int succ = getChild(curr, inputAlphabet.getSymbolIndex(sym));
+            if (succ == NO_NODE) {
+                return Acceptance.DONT_KNOW;
+            }
+            curr = succ;
+        }
+        return getAcceptance(curr);
+    }
+
+    @Override
+    public void insert(Word<? extends I> word, boolean accepting) {
+        int curr = ROOT;
+
+        for (I sym : word) {
+            final int symIdx = inputAlphabet.getSymbolIndex(sym);
+            int succ = getChild(curr, symIdx);
+            if (succ == NO_NODE) {
+                succ = createNode();
+                inputs.set(succ, symIdx);
+                nextSibling.set(succ, firstChild.get(curr));
+                // only link the new node once it is fully initialized
+                firstChild.set(curr, succ);
+            }
+            curr = succ;
+        }
+
+        final Acceptance acc = getAcceptance(curr);
+        final Acceptance newWordAcc = Acceptance.fromBoolean(accepting);
+        if (acc == Acceptance.DONT_KNOW) {
+            acceptance.set(curr, accepting ? TRUE : FALSE);
+        } else if (acc != newWordAcc) {
+            throw new ConflictException(
+                    "Conflicting acceptance values for word " + word + ": " + acc + " vs " + newWordAcc);
+        }
+    }
+
+    /**
+     * Returns the number of nodes (including the root) currently stored in this tree.
+     *
+     * @return the number of nodes
+     */
+    public int getNumNodes() {
+        return numNodes;
+    }
+
+    /**
+     * Forces all modifications of this cache to be written to its backing files.
+     */
+    public void flush() {
+        inputs.force();
+        acceptance.force();
+        firstChild.force();
+        nextSibling.force();
+        meta.force();
+    }
+
+    @Override
+    public void close() throws IOException {
+        flush();
+        inputs.close();
+        acceptance.close();
+        firstChild.close();
+        nextSibling.close();
+        meta.close();
+    }
+
+    private int createNode() {
+        if (numNodes == Integer.MAX_VALUE) {
+            throw new IllegalStateException("The tree cannot store more than " + Integer.MAX_VALUE + " nodes");
+        }
+
+        final long capacity = numNodes + 1L;
+        inputs.ensureCapacity(capacity);
+        acceptance.ensureCapacity(capacity);
+        firstChild.ensureCapacity(capacity);
+        nextSibling.ensureCapacity(capacity);
+
+        final int node = numNodes++;
+        // reserve the node before it is written, so that its ID is never re-used
+        meta.set(NUM_NODES_IDX, numNodes);
+        return node;
+    }
+
+    private Acceptance getAcceptance(int node) {
+        switch (acceptance.get(node)) {
+            case TRUE:
+                return Acceptance.TRUE;
+            case FALSE:
+                return Acceptance.FALSE;
+            default:
+                return Acceptance.DONT_KNOW;
+        }
+    }
+
+    private int getChild(int node, int symIdx) {
+        int child = firstChild.get(node);
+        while (child != NO_NODE && inputs.get(child) != symIdx) {
+            child = nextSibling.get(child);
+        }
+        return child;
+    }
+
+    @Override
+    public @Nullable Word<I> findSeparatingWord(DFA<?, I> target,
+                                                Collection<? extends I> inputs,
+                                                boolean omitUndefined) {
+        return doFindSeparatingWord(target, inputs, omitUndefined);
+    }
+
+    private <S> @Nullable Word<I> doFindSeparatingWord(final DFA<S, I> target,
+                                                       Collection<? extends I> inputs,
+                                                       boolean omitUndefined) {
+        S automatonInit = target.getInitialState();
+        if (getAcceptance(ROOT).conflicts(automatonInit != null && target.isAccepting(automatonInit))) {
+            return Word.epsilon();
+        }
+
+        // incomingInput can be null here, because we will always skip the bottom stack element below
+        @SuppressWarnings("nullness")
+        Record<@Nullable S, I> init = new Record<>(automatonInit, ROOT, null, inputs.iterator());
+
+        Deque<Record<@Nullable S, I>> dfsStack = new ArrayDeque<>();
+        dfsStack.push(init);
+
+        while (!dfsStack.isEmpty()) {
+            @SuppressWarnings("nullness") // false positive https://github.com/typetools/checker-framework/issues/399
+            @NonNull Record<@Nullable S, I> rec = dfsStack.peek();
+            if (!rec.inputIt.hasNext()) {
+                dfsStack.pop();
+                continue;
+            }
+            I input = rec.inputIt.next();
+            int succ = getChild(rec.treeNode, inputAlphabet.getSymbolIndex(input));
+            if (succ == NO_NODE) {
+                continue;
+            }
+
+            @Nullable S state = rec.automatonState;
+            @Nullable S automatonSucc = state == null ? null : target.getTransition(state, input);
+            if (automatonSucc == null && omitUndefined) {
+                continue;
+            }
+
+            boolean succAcc = automatonSucc != null && target.isAccepting(automatonSucc);
+
+            if (getAcceptance(succ).conflicts(succAcc)) {
+                WordBuilder<I> wb = new WordBuilder<>(dfsStack.size());
+                wb.append(input);
+
+                dfsStack.pop();
+                while (!dfsStack.isEmpty()) {
+                    wb.append(rec.incomingInput);
+                    rec = dfsStack.pop();
+                }
+                return wb.reverse().toWord();
+            }
+
+            dfsStack.push(new Record<>(automatonSucc, succ, input, inputs.iterator()));
+        }
+
+        return null;
+    }
+
+    @Override
+    public GraphView asGraph() {
+        return new GraphView();
+    }
+
+    @Override
+    public TransitionSystemView asTransitionSystem() {
+        return new TransitionSystemView();
+    }
+
+    private static final class Record<S, I> {
+
+        private final S automatonState;
+        private final int treeNode;
+        private final I incomingInput;
+        private final Iterator<? extends I> inputIt;
+
+        Record(S automatonState, int treeNode, I incomingInput, Iterator<? extends I> inputIt) {
+            this.automatonState = automatonState;
+            this.treeNode = treeNode;
+            this.incomingInput = incomingInput;
+            this.inputIt = inputIt;
+        }
+    }
+
+    /**
+     * A graph view of the tree. Since every node except the root has exactly one incoming edge, edges are identified
+     * by (the ID of) their target node.
+     */
+    public class GraphView extends AbstractGraphView<I, Integer, Integer> {
+
+        @Override
+        public Collection<Integer> getNodes() {
+            List<Integer> result = new ArrayList<>(numNodes);
+            Iterators.addAll(result, GraphTraversal.dfIterator(this, Collections.singleton(ROOT)));
+            return result;
+        }
+
+        @Override
+        public Collection<Integer> getOutgoingEdges(Integer node) {
+            List<Integer> result = new ArrayList<>();
+            for (int child = firstChild.get(node); child != NO_NODE; child = nextSibling.get(child)) {
+                result.add(child);
+            }
+            return result;
+        }
+
+        @Override
+        public Integer getTarget(Integer edge) {
+            return edge;
+        }
+
+        @Override
+        public I getInputSymbol(Integer edge) {
+            return inputAlphabet.getSymbol(inputs.get(edge));
+        }
+
+        @Override
+        public Acceptance getAcceptance(Integer node) {
+            return PersistentIncrementalDFATreeBuilder.this.getAcceptance(node);
+        }
+
+        @Override
+        public Integer getInitialNode() {
+            return ROOT;
+        }
+
+        @Override
+        public VisualizationHelper<Integer, Integer> getVisualizationHelper() {
+            return new DelegateVisualizationHelper<Integer, Integer>(super.getVisualizationHelper()) {
+
+                @Override
+                public boolean getNodeProperties(Integer node, Map<String, String> properties) {
+                    if (!super.getNodeProperties(node, properties)) {
+                        return false;
+                    }
+                    properties.put(NodeAttrs.LABEL, "n" + node);
+                    return true;
+                }
+            };
+        }
+    }
+
+    public class TransitionSystemView extends AbstractTransitionSystemView<Integer, I, Integer> {
+
+        @Override
+        public Integer getSuccessor(Integer transition) {
+            return transition;
+        }
+
+        @Override
+        public @Nullable Integer getTransition(Integer state, I input) {
+            final int succ = getChild(state, inputAlphabet.getSymbolIndex(input));
+            return succ == NO_NODE ? null : succ;
+        }
+
+        @Override
+        public Integer getInitialState() {
+            return ROOT;
+        }
+
+        @Override
+        public Acceptance getAcceptance(Integer state) {
+            return PersistentIncrementalDFATreeBuilder.this.getAcceptance(state);
+        }
+    }
+}
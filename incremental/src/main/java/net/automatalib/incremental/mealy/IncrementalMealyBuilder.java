@@ -16,6 +16,7 @@
 package net.automatalib.incremental.mealy;
 
 import java.util.List;
+import java.util.Map;
 
 import net.automatalib.SupportsGrowingAlphabet;
 import net.automatalib.automata.transducers.MealyMachine;
@@ -57,6 +58,22 @@ public interface IncrementalMealyBuilder<I, O>
      */
     void insert(Word<? extends I> inputWord, Word<? extends O> outputWord);
 
+    /**
+     * Incorporates multiple pairs of input/output words into the stored information. By default, this method
+     * successively {@link #insert(Word, Word) inserts} each pair. Implementations may override this method in order to
+     * process the pairs more efficiently, e.g. by sharing common prefixes of the input words.
+     *
+     * @param words
+     *         a mapping from input words to their corresponding output words
+     *
+     * @throws ConflictException
+     *         if this information conflicts with information already stored (or with each other). Unless stated
+     *         otherwise by the implementation, it is unspecified which of the pairs have been incorporated in this case
+     */
+    default void insertAll(Map<? extends Word<? extends I>, ? extends Word<? extends O>> words) {
+        words.forEach(this::insert);
+    }
+
     @Override
     GraphView<I, O, ?, ?> asGraph();
 
@@ -56,7 +56,7 @@ import org.checkerframework.checker.nullness.qual.Nullable;
 public class IncrementalMealyDAGBuilder<I, O> extends AbstractIncrementalMealyBuilder<I, O>
         implements InputAlphabetHolder<I> {
 
-    private final Map<@Nullable StateSignature<O>, State<O>> register = new HashMap<>();
+    private final StateRegister<State<O>, StateSignature<O>> register = new StateRegister<>(State::getSignature);
     private final Alphabet<I> inputAlphabet;
     private int alphabetSize;
     private final State<O> init;
@@ -71,8 +71,8 @@ public class IncrementalMealyDAGBuilder<I, O> extends AbstractIncrementalMealyBu
         this.inputAlphabet = inputAlphabet;
         this.alphabetSize = inputAlphabet.size();
         StateSignature<O> initSig = new StateSignature<>(alphabetSize);
-        this.init = new State<>(initSig);
-        register.put(null, init);
+        this.init = new State<>(initSig, register.nextId());
+        register.setInitialState(init);
     }
 
     @Override
@@ -271,6 +271,227 @@ public class IncrementalMealyDAGBuilder<I, O> extends AbstractIncrementalMealyBu
         updateInitSignature(finalIdx, last);
     }
 
+    /**
+     * Incorporates multiple pairs of input/output words into the stored information. Contrary to successive {@link
+     * #insert(Word, Word) insertions}, the input words are sorted lexicographically (w.r.t. their symbol indices) and
+     * incorporated in a single pass, in the style of the construction of minimal acyclic automata from sorted data by
+     * Daciuk et al.: common prefixes are only traversed once and each modified state is only cloned and registered
+     * once per batch instead of once per word.
+     * <p>
+     * The single pass only pays off if the input words share long prefixes (e.g., for prefix-closed batches as produced
+     * by query caches). If less than half of the input symbols of the batch are shared with the preceding input word
+     * (w.r.t. the sorted order), the pairs are incorporated successively (in the iteration order of the given map)
+     * instead, because the single pass then creates the same states but keeps all of them reachable until the end of
+     * the batch.
+     * <p>
+     * All pairs are checked for conflicts before the stored information is modified. Hence, if a {@link
+     * ConflictException} is thrown, none of the pairs have been incorporated.
+     *
+     * @param words
+     *         a mapping from input words to their corresponding output words
+     */
+    @Override
+    public void insertAll(Map<? extends Word<? extends I>, ? extends Word<? extends O>> words) {
+        final List<BatchEntry<I, O>> batch = new ArrayList<>(words.size());
+        int maxLength = 0;
+
+        for (Map.Entry<? extends Word<? extends I>, ? extends Word<? extends O>> e : words.entrySet()) {
+            final Word<? extends I> input = e.getKey();
+            final int[] symIdx = new int[input.length()];
+            int i = 0;
+            for (I sym : input) {
+                symIdx[i++] = inputAlphabet.getSymbolIndex(sym);
+            }
+            batch.add(new BatchEntry<>(input, symIdx, e.getValue()));
+            maxLength = Math.max(maxLength, symIdx.length);
+        }
+
+        Collections.sort(batch);
+
+        validateBatch(batch, maxLength);
+
+        if (hasSharedPrefixes(batch)) {
+            insertBatch(batch, maxLength);
+        } else {
+            for (Map.Entry<? extends Word<? extends I>, ? extends Word<? extends O>> e : words.entrySet()) {
+                insert(e.getKey(), e.getValue());
+            }
+        }
+    }
+
+    private static <I, O> boolean hasSharedPrefixes(List<BatchEntry<I, O>> batch) {
+        long numSymbols = 0;
+        long numShared = 0;
+        BatchEntry<I, O> prev = null;
+
+        for (BatchEntry<I, O> entry : batch) {
+            numSymbols += entry.symIdx.length;
+            if (prev != null) {
+                numShared += prev.commonPrefixLength(entry);
+            }
+            prev = entry;
+        }
+
+        return 2 * numShared >= numSymbols;
+    }
+
+    private void validateBatch(List<BatchEntry<I, O>> batch, int maxLength) {
+        @SuppressWarnings("unchecked")
+        final State<O>[] dagPath = new State[maxLength + 1];
+        dagPath[0] = init;
+        int dagDepth = 0;
+        BatchEntry<I, O> prev = null;
+
+        for (BatchEntry<I, O> entry : batch) {
+            final int lcp = prev == null ? 0 : prev.commonPrefixLength(entry);
+
+            // sorted words with a common prefix are adjacent, so comparing neighbors suffices
+            for (int i = 0; i < lcp; i++) {
+                checkOutput(entry, i, prev.output.getSymbol(i));
+            }
+
+            // the stored information for the common prefix has already been checked for the previous word
+            int depth = Math.min(lcp, dagDepth);
+            State<O> curr = dagPath[depth];
+            while (depth < entry.symIdx.length) {
+                final int idx = entry.symIdx[depth];
+                final State<O> succ = curr.getSuccessor(idx);
+                if (succ == null) {
+                    break;
+                }
+                checkOutput(entry, depth, curr.getOutput(idx));
+                curr = succ;
+                dagPath[++depth] = succ;
+            }
+
+            dagDepth = depth;
+            prev = entry;
+        }
+    }
+
+    private void checkOutput(BatchEntry<I, O> entry, int idx, O expected) {
+        final O actual = entry.output.getSymbol(idx);
+        if (!Objects.equals(actual, expected)) {
+            throw new ConflictException(
+                    "Error inserting " + entry.input.prefix(idx + 1) + " / " + entry.output.prefix(idx + 1) +
+                    ": Incompatible output symbols: " + actual + " vs " + expected);
+        }
+    }
+
+    private void insertBatch(List<BatchEntry<I, O>> batch, int maxLength) {
+        // for each depth of the current path, the (original) state of the DAG and its pending, modified signature
+        @SuppressWarnings("unchecked")
+        final State<O>[] pathStates = new State[maxLength + 1];
+        @SuppressWarnings("unchecked")
+        final StateSignature<O>[] pathSigs = new StateSignature[maxLength + 1];
+
+        pathStates[0] = init;
+        int depth = 0;
+        BatchEntry<I, O> prev = null;
+
+        for (BatchEntry<I, O> entry : batch) {
+            if (prev != null) {
+                // the subtrees below the common prefix will not be touched by any subsequent word
+                final int lcp = prev.commonPrefixLength(entry);
+                while (depth > lcp) {
+                    finalizeBatchState(pathStates, pathSigs, depth--, prev);
+                }
+            }
+
+            while (depth < entry.symIdx.length) {
+                final State<O> parent = pathStates[depth];
+                pathStates[depth + 1] = parent == null ? null : parent.getSuccessor(entry.symIdx[depth]);
+                depth++;
+            }
+
+            prev = entry;
+        }
+
+        while (depth > 0) {
+            finalizeBatchState(pathStates, pathSigs, depth--, prev);
+        }
+    }
+
+    private void finalizeBatchState(State<O>[] pathStates,
+                                    StateSignature<O>[] pathSigs,
+                                    int depth,
+                                    BatchEntry<I, O> owner) {
+        final StateSignature<O> sig = pathSigs[depth];
+        final State<O> original = pathStates[depth];
+        final State<O> state;
+
+        if (sig != null) {
+            sig.updateHashCode();
+            state = replaceOrRegister(sig);
+        } else if (original != null) {
+            state = original;
+        } else {
+            state = replaceOrRegister(new StateSignature<>(alphabetSize));
+        }
+
+        pathSigs[depth] = null;
+        pathStates[depth] = null;
+
+        final int idx = owner.symIdx[depth - 1];
+        final O out = owner.output.getSymbol(depth - 1);
+
+        if (depth == 1) {
+            final State<O> oldSucc = init.getSuccessor(idx);
+            updateInitSignature(idx, state, out);
+            if (oldSucc != null && oldSucc.getNumIncoming() == 0) {
+                release(oldSucc);
+            }
+            return;
+        }
+
+        final State<O> parent = pathStates[depth - 1];
+        StateSignature<O> parentSig = pathSigs[depth - 1];
+        final State<O> currSucc;
+        if (parentSig != null) {
+            currSucc = parentSig.successors.array[idx];
+        } else if (parent != null) {
+            currSucc = parent.getSuccessor(idx);
+        } else {
+            currSucc = null;
+        }
+
+        if (currSucc != state) {
+            if (parentSig == null) {
+                parentSig = parent == null ? new StateSignature<>(alphabetSize) : parent.getSignature().duplicate();
+                pathSigs[depth - 1] = parentSig;
+            }
+            parentSig.successors.array[idx] = state;
+            parentSig.outputs.array[idx] = out;
+        }
+    }
+
+    /**
+     * Removes a state that is no longer referenced (and all states that are only referenced by it) from the register.
+     *
+     * @param state
+     *         the unreferenced state
+     */
+    private void release(State<O> state) {
+        final Deque<State<O>> stack = new ArrayDeque<>();
+        stack.push(state);
+
+        while (!stack.isEmpty()) {
+            final State<O> curr = stack.pop();
+            final StateSignature<O> sig = curr.getSignature();
+            if (register.get(sig) == curr) {
+                register.remove(sig);
+            }
+            for (State<O> succ : sig.successors.array) {
+                if (succ != null) {
+                    succ.decreaseIncoming();
+                    if (succ.getNumIncoming() == 0) {
+                        stack.push(succ);
+                    }
+                }
+            }
+        }
+    }
+
     private State<O> hiddenClone(State<O> other) {
         StateSignature<O> sig = other.getSignature().duplicate();
 
@@ -280,7 +501,7 @@ public class IncrementalMealyDAGBuilder<I, O> extends AbstractIncrementalMealyBu
                 succ.increaseIncoming();
             }
         }
-        return new State<>(sig);
+        return new State<>(sig, register.nextId());
     }
 
     /**
@@ -426,7 +647,7 @@ public class IncrementalMealyDAGBuilder<I, O> extends AbstractIncrementalMealyBu
             return other;
         }
 
-        register.put(sig, state);
+        register.put(state);
         return state;
     }
 
@@ -436,8 +657,8 @@ public class IncrementalMealyDAGBuilder<I, O> extends AbstractIncrementalMealyBu
             return state;
         }
 
-        state = new State<>(sig);
-        register.put(sig, state);
+        state = new State<>(sig, register.nextId());
+        register.put(state);
         for (int i = 0; i < sig.successors.array.length; i++) {
             State<O> succ = sig.successors.array[i];
             if (succ != null) {
@@ -573,6 +794,37 @@ public class IncrementalMealyDAGBuilder<I, O> extends AbstractIncrementalMealyBu
         return inputAlphabet;
     }
 
+    private static final class BatchEntry<I, O> implements Comparable<BatchEntry<I, O>> {
+
+        private final Word<? extends I> input;
+        private final int[] symIdx;
+        private final Word<? extends O> output;
+
+        BatchEntry(Word<? extends I> input, int[] symIdx, Word<? extends O> output) {
+            this.input = input;
+            this.symIdx = symIdx;
+            this.output = output;
+        }
+
+        int commonPrefixLength(BatchEntry<I, O> other) {
+            final int len = Math.min(symIdx.length, other.symIdx.length);
+            int i = 0;
+            while (i < len && symIdx[i] == other.symIdx[i]) {
+                i++;
+            }
+            return i;
+        }
+
+        @Override
+        public int compareTo(BatchEntry<I, O> other) {
+            final int lcp = commonPrefixLength(other);
+            if (lcp < symIdx.length && lcp < other.symIdx.length) {
+                return Integer.compare(symIdx[lcp], other.symIdx[lcp]);
+            }
+            return Integer.compare(symIdx.length, other.symIdx.length);
+        }
+    }
+
     // /////////////////////////////////////////////////////////////////////
     // Equivalence test //
     // /////////////////////////////////////////////////////////////////////
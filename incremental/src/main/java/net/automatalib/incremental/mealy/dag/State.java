@@ -20,10 +20,16 @@ import net.automatalib.commons.smartcollections.ResizingArrayStorage;
 public final class State<O> {
 
     private final StateSignature<O> signature;
+    private final int id;
     private int numIncoming;
 
-    public State(StateSignature<O> signature) {
+    public State(StateSignature<O> signature, int id) {
         this.signature = signature;
+        this.id = id;
+    }
+
+    public int getId() {
+        return id;
     }
 
     public void increaseIncoming() {
@@ -15,7 +15,7 @@
  */
 package net.automatalib.incremental.mealy.dag;
 
-import java.util.Arrays;
+import java.util.Objects;
 
 import net.automatalib.commons.smartcollections.ResizingArrayStorage;
 import org.checkerframework.checker.nullness.qual.Nullable;
@@ -42,11 +42,26 @@ final class StateSignature<O> {
         return new StateSignature<>(this);
     }
 
+    /**
+     * Re-computes the (cached) hash code of this signature. The hash code is computed from the identifiers of the
+     * successor states (see {@link State#getId()}) and the outputs of the defined transitions, and ignores trailing
+     * undefined transitions, so that signatures of differently sized storages are consistent with
+     * {@link #equals(Object)}.
+     */
     public void updateHashCode() {
-        final int prime = 31;
+        final State<O>[] succs = successors.array;
+        final O[] outs = outputs.array;
+        int last = succs.length - 1;
+        while (last >= 0 && succs[last] == null && outs[last] == null) {
+            last--;
+        }
+
         int result = 1;
-        result = prime * result + Arrays.hashCode(outputs.array);
-        result = prime * result + Arrays.hashCode(successors.array);
+        for (int i = 0; i <= last; i++) {
+            final State<O> succ = succs[i];
+            result = 31 * result + (succ == null ? 0 : succ.getId() + 1);
+            result = 31 * result + Objects.hashCode(outs[i]);
+        }
         hashCode = result;
     }
 
@@ -66,8 +81,32 @@ final class StateSignature<O> {
 
         final StateSignature<?> other = (StateSignature<?>) obj;
 
-        return hashCode == other.hashCode && Arrays.equals(outputs.array, other.outputs.array) &&
-               Arrays.equals(successors.array, other.successors.array);
+        if (hashCode != other.hashCode) {
+            return false;
+        }
+
+        // states are unique, hence successors can be compared by identity
+        final State<?>[] succs = successors.array;
+        final Object[] outs = outputs.array;
+        final State<?>[] otherSuccs = other.successors.array;
+        final Object[] otherOuts = other.outputs.array;
+        final int common = Math.min(succs.length, otherSuccs.length);
+        for (int i = 0; i < common; i++) {
+            if (succs[i] != otherSuccs[i] || !Objects.equals(outs[i], otherOuts[i])) {
+                return false;
+            }
+        }
+
+        return isUndefinedFrom(succs, outs, common) && isUndefinedFrom(otherSuccs, otherOuts, common);
+    }
+
+    private static boolean isUndefinedFrom(State<?>[] succs, Object[] outs, int idx) {
+        for (int i = idx; i < succs.length; i++) {
+            if (succs[i] != null || outs[i] != null) {
+                return false;
+            }
+        }
+        return true;
     }
 
 }
@@ -0,0 +1,51 @@
+/* Copyright (C) 2013-2022 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.incremental.mealy.tree;
+
+import java.util.Arrays;
+
+/**
+ * An {@link IntTable} that stores its entries in a (growing) {@code int} array on the Java heap.
+ *
+ * @author agent
+ */
+final class ArrayIntTable implements IntTable {
+
+    private int[] array;
+
+    ArrayIntTable(int initialCapacity) {
+        this.array = new int[initialCapacity];
+    }
+
+    @Override
+    public int get(int idx) {
+        return array[idx];
+    }
+
+    @Override
+    public void set(int idx, int value) {
+        array[idx] = value;
+    }
+
+    @Override
+    public void ensureCapacity(int capacity) {
+        if (capacity > array.length) {
+            // compute in long arithmetic to not overflow for large tables
+            final long newCapacity = Math.max(capacity, array.length * 3L / 2 + 1);
+            array = Arrays.copyOf(array, (int) Math.min(newCapacity, CompactIncrementalMealyTreeBuilder.MAX_NODES));
+        }
+    }
+}
@@ -0,0 +1,330 @@
+/* Copyright (C) 2013-2022 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.incremental.mealy.tree;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+
+import net.automatalib.automata.concepts.InputAlphabetHolder;
+import net.automatalib.incremental.ConflictException;
+import net.automatalib.words.Alphabet;
+import net.automatalib.words.Word;
+import net.automatalib.words.impl.Alphabets;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * A variation of the normal {@link IncrementalMealyTreeBuilder}, which limits the number of stored tree nodes.
+ * <p>
+ * Whenever an insertion exceeds the configured node budget, complete subtrees are evicted (according to the configured
+ * {@link EvictionPolicy}) until the tree has shrunk to three quarters of its budget, so that subsequent insertions do
+ * not immediately trigger another eviction. The nodes of the inserted word are only evicted if the budget cannot be met
+ * otherwise. Since every access to a node also accesses all of its ancestors, a subtree is never accessed more recently
+ * or more frequently than its root. Hence, evicting subtrees does not discard information that is more valuable (w.r.t.
+ * the eviction policy) than the one of the evicted nodes.
+ * <p>
+ * The eviction order is maintained incrementally in (frequency-)ordered linked lists, so that accessing a node and
+ * determining the next eviction candidate take constant time and evicting a subtree takes time linear in its size.
+ * <p>
+ * Note that the budget limits the number of nodes, not the number of bytes. The footprint of a node grows linearly with
+ * the size of the input alphabet (each node stores an array of outgoing edges) and does not include the (potentially
+ * shared) output objects. Hence, the budget should be chosen with respect to the alphabet size and the outputs used.
+ * <p>
+ * Evicted information is simply forgotten: lookups of evicted words report that no (definitive) information is
+ * available and re-inserting evicted words with different outputs does not throw a {@link ConflictException}. For
+ * monitoring the effectiveness of the cache, this builder counts the number of successful and unsuccessful lookups as
+ * well as the number of evicted subtrees.
+ *
+ * @param <I>
+ *         input symbol type
+ * @param <O>
+ *         output symbol type
+ *
+ * @author agent
+ */
+public class BoundedIncrementalMealyTreeBuilder<I, O> extends AbstractIncrementalMealyTreeBuilder<BoundedNode<O>, I, O>
+        implements InputAlphabetHolder<I> {
+
+    private final Alphabet<I> inputAlphabet;
+    private int alphabetSize;
+
+    private final int maxNodes;
+    private final EvictionQueue<O> evictionQueue;
+
+    private int numNodes;
+    private long clock;
+
+    private long hitCount;
+    private long missCount;
+    private long evictionCount;
+
+    /**
+     * Constructor. Uses the {@link EvictionPolicy#LRU LRU} eviction policy.
+     *
+     * @param inputAlphabet
+     *         the input alphabet
+     * @param maxNodes
+     *         the maximum number of nodes (including the root) of the tree
+     */
+    public BoundedIncrementalMealyTreeBuilder(Alphabet<I> inputAlphabet, int maxNodes) {
+        this(inputAlphabet, maxNodes, EvictionPolicy.LRU);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param inputAlphabet
+     *         the input alphabet
+     * @param maxNodes
+     *         the maximum number of nodes (including the root) of the tree
+     * @param policy
+     *         the policy that determines which subtrees are evicted if the tree exceeds its budget
+     */
+    public BoundedIncrementalMealyTreeBuilder(Alphabet<I> inputAlphabet, int maxNodes, EvictionPolicy policy) {
+        super(new BoundedNode<>(inputAlphabet.size(), null, -1));
+
+        if (maxNodes < 1) {
+            throw new IllegalArgumentException("The node budget needs to contain at least the root node");
+        }
+
+        this.inputAlphabet = inputAlphabet;
+        this.alphabetSize = inputAlphabet.size();
+        this.maxNodes = maxNodes;
+        this.numNodes = 1;
+
+        switch (policy) {
+            case LRU:
+                this.evictionQueue = new EvictionQueue<>(false);
+                break;
+            case LFU:
+                this.evictionQueue = new EvictionQueue<>(true);
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown eviction policy: " + policy);
+        }
+    }
+
+    @Override
+    public boolean lookup(Word<? extends I> word, List<? super O> output) {
+        final long time = ++clock;
+        BoundedNode<O> curr = root;
+
+        for (I sym : word) {
+            final Edge<BoundedNode<O>, O> edge = getEdge(curr, sym);
+            if (edge == null) {
+                missCount++;
+                return false;
+            }
+            output.add(edge.getOutput());
+            curr = edge.getTarget();
+            evictionQueue.access(curr, time);
+        }
+
+        hitCount++;
+        return true;
+    }
+
+    @Override
+    public void insert(Word<? extends I> input, Word<? extends O> outputWord) {
+        final long time = ++clock;
+        BoundedNode<O> curr = root;
+
+        final Iterator<? extends O> outputIt = outputWord.iterator();
+        for (I sym : input) {
+            final O out = outputIt.next();
+            final Edge<BoundedNode<O>, O> edge = getEdge(curr, sym);
+            if (edge == null) {
+                curr = insertNode(curr, sym, out);
+            } else {
+                if (!Objects.equals(out, edge.getOutput())) {
+                    throw new ConflictException();
+                }
+                curr = edge.getTarget();
+            }
+            evictionQueue.access(curr, time);
+        }
+
+        if (numNodes > maxNodes) {
+            evict();
+        }
+    }
+
+    private void evict() {
+        final int targetNodes = maxNodes - maxNodes / 4;
+
+        while (numNodes > targetNodes) {
+            final BoundedNode<O> node = evictionQueue.peek(clock);
+            assert node != null;
+
+            // nodes of the most recently inserted word are only evicted as a last resort
+            if (numNodes <= maxNodes && node.getLastAccess() == clock) {
+                break;
+            }
+            evictSubtree(node);
+        }
+    }
+
+    private void evictSubtree(BoundedNode<O> node) {
+        final BoundedNode<O> parent = node.getParent();
+        assert parent != null;
+        parent.setEdge(node.getParentIdx(), null);
+
+        final Deque<BoundedNode<O>> stack = new ArrayDeque<>();
+        stack.push(node);
+
+        while (!stack.isEmpty()) {
+            final BoundedNode<O> curr = stack.pop();
+            evictionQueue.remove(curr);
+            numNodes--;
+            for (int i = 0; i < alphabetSize; i++) {
+                final Edge<BoundedNode<O>, O> edge = curr.getEdge(i);
+                if (edge != null) {
+                    stack.push(edge.getTarget());
+                }
+            }
+        }
+
+        evictionCount++;
+    }
+
+    @Override
+    public void addAlphabetSymbol(I symbol) {
+        if (!inputAlphabet.containsSymbol(symbol)) {
+            Alphabets.toGrowingAlphabetOrThrowException(inputAlphabet).addSymbol(symbol);
+        }
+
+        final int newAlphabetSize = inputAlphabet.size();
+        // even if the symbol was already in the alphabet, we need to make sure to be able to store the new symbol
+        if (alphabetSize < newAlphabetSize) {
+            final Deque<BoundedNode<O>> stack = new ArrayDeque<>();
+            stack.push(root);
+
+            while (!stack.isEmpty()) {
+                final BoundedNode<O> node = stack.pop();
+                node.ensureInputCapacity(newAlphabetSize);
+                for (int i = 0; i < alphabetSize; i++) {
+                    final Edge<BoundedNode<O>, O> edge = node.getEdge(i);
+                    if (edge != null) {
+                        stack.push(edge.getTarget());
+                    }
+                }
+            }
+
+            alphabetSize = newAlphabetSize;
+        }
+    }
+
+    @Override
+    protected @Nullable Edge<BoundedNode<O>, O> getEdge(BoundedNode<O> node, I symbol) {
+        return node.getEdge(inputAlphabet.getSymbolIndex(symbol));
+    }
+
+    @Override
+    protected BoundedNode<O> createNode() {
+        return new BoundedNode<>(alphabetSize, null, -1);
+    }
+
+    @Override
+    protected BoundedNode<O> insertNode(BoundedNode<O> parent, I symIdx, O output) {
+        final int idx = inputAlphabet.getSymbolIndex(symIdx);
+        final BoundedNode<O> succ = new BoundedNode<>(alphabetSize, parent, idx);
+        parent.setEdge(idx, new Edge<>(output, succ));
+        numNodes++;
+        return succ;
+    }
+
+    @Override
+    protected Collection<AnnotatedEdge<BoundedNode<O>, I, O>> getOutgoingEdges(BoundedNode<O> node) {
+        final List<AnnotatedEdge<BoundedNode<O>, I, O>> result = new ArrayList<>(alphabetSize);
+        for (int i = 0; i < alphabetSize; i++) {
+            final Edge<BoundedNode<O>, O> edge = node.getEdge(i);
+            if (edge != null) {
+                result.add(new AnnotatedEdge<>(edge, inputAlphabet.getSymbol(i)));
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public Alphabet<I> getInputAlphabet() {
+        return inputAlphabet;
+    }
+
+    /**
+     * Returns the number of currently stored nodes (including the root).
+     *
+     * @return the number of currently stored nodes
+     */
+    public int getNumNodes() {
+        return numNodes;
+    }
+
+    /**
+     * Returns the maximum number of nodes (including the root) of the tree.
+     *
+     * @return the maximum number of nodes
+     */
+    public int getMaxNodes() {
+        return maxNodes;
+    }
+
+    /**
+     * Returns the number of lookups for which complete information was available.
+     *
+     * @return the number of successful lookups
+     */
+    public long getHitCount() {
+        return hitCount;
+    }
+
+    /**
+     * Returns the number of lookups for which no complete information was available (e.g., because the information
+     * has never been inserted or has been evicted).
+     *
+     * @return the number of unsuccessful lookups
+     */
+    public long getMissCount() {
+        return missCount;
+    }
+
+    /**
+     * Returns the number of evicted subtrees.
+     *
+     * @return the number of evicted subtrees
+     */
+    public long getEvictionCount() {
+        return evictionCount;
+    }
+
+    /**
+     * The policy that determines which subtrees are evicted if the tree exceeds its budget.
+     */
+    public enum EvictionPolicy {
+        /**
+         * Evicts the subtrees that have not been accessed for the longest time.
+         */
+        LRU,
+        /**
+         * Evicts the subtrees that have been accessed least frequently. Ties are broken by evicting the least recently
+         * accessed subtree.
+         */
+        LFU
+    }
+}
@@ -0,0 +1,117 @@
+/* Copyright (C) 2013-2022 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.incremental.mealy.tree;
+
+import net.automatalib.commons.smartcollections.ResizingArrayStorage;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Node of a {@link BoundedIncrementalMealyTreeBuilder}. In addition to the outgoing edges, each node stores a reference
+ * to its parent (for unlinking evicted subtrees), its access statistics, and its links in the {@link EvictionQueue}.
+ *
+ * @param <O>
+ *         output symbol type
+ *
+ * @author agent
+ */
+final class BoundedNode<O> {
+
+    private final ResizingArrayStorage<Edge<BoundedNode<O>, O>> outEdges;
+    private final @Nullable BoundedNode<O> parent;
+    private final int parentIdx;
+    private long lastAccess;
+    private long frequency;
+
+    private EvictionQueue.@Nullable Bucket<O> bucket;
+    private @Nullable BoundedNode<O> prev;
+    private @Nullable BoundedNode<O> next;
+
+    BoundedNode(int alphabetSize, @Nullable BoundedNode<O> parent, int parentIdx) {
+        this.outEdges = new ResizingArrayStorage<>(Edge.class, alphabetSize);
+        this.parent = parent;
+        this.parentIdx = parentIdx;
+    }
+
+    @Nullable Edge<BoundedNode<O>, O> getEdge(int idx) {
+        return outEdges.array[idx];
+    }
+
+    void setEdge(int idx, @Nullable Edge<BoundedNode<O>, O> edge) {
+        outEdges.array[idx] = edge;
+    }
+
+    int getNumEdges() {
+        return outEdges.array.length;
+    }
+
+    @Nullable BoundedNode<O> getParent() {
+        return parent;
+    }
+
+    int getParentIdx() {
+        return parentIdx;
+    }
+
+    /**
+     * Records an access to this node.
+     *
+     * @param time
+     *         the (logical) time of the access
+     */
+    void touch(long time) {
+        this.lastAccess = time;
+        this.frequency++;
+    }
+
+    long getLastAccess() {
+        return lastAccess;
+    }
+
+    long getFrequency() {
+        return frequency;
+    }
+
+    EvictionQueue.@Nullable Bucket<O> getBucket() {
+        return bucket;
+    }
+
+    void setBucket(EvictionQueue.@Nullable Bucket<O> bucket) {
+        this.bucket = bucket;
+    }
+
+    @Nullable BoundedNode<O> getPrev() {
+        return prev;
+    }
+
+    void setPrev(@Nullable BoundedNode<O> prev) {
+        this.prev = prev;
+    }
+
+    @Nullable BoundedNode<O> getNext() {
+        return next;
+    }
+
+    void setNext(@Nullable BoundedNode<O> next) {
+        this.next = next;
+    }
+
+    /**
+     * See {@link ResizingArrayStorage#ensureCapacity(int)}.
+     */
+    boolean ensureInputCapacity(int capacity) {
+        return this.outEdges.ensureCapacity(capacity);
+    }
+}
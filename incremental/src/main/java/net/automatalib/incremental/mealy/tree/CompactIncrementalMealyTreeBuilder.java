@@ -0,0 +1,241 @@
+/* Copyright (C) 2013-2022 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.incremental.mealy.tree;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+
+import net.automatalib.automata.concepts.InputAlphabetHolder;
+import net.automatalib.incremental.ConflictException;
+import net.automatalib.words.Alphabet;
+import net.automatalib.words.Word;
+import net.automatalib.words.impl.Alphabets;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * A variation of the normal {@link IncrementalMealyTreeBuilder}, which stores the complete tree in flat, primitive
+ * arrays instead of individual node and edge objects.
+ * <p>
+ * Nodes are addressed by their (integer) ID, with the root having ID {@code 0}. Since every node except the root has
+ * exactly one incoming edge, the tree is stored in a sparse (first-child/next-sibling) layout: for each node {@code n},
+ * the tables store the input index and the (interned) output of the incoming edge of {@code
+ * n}, the ID of the first child of {@code n}, and the ID of the next sibling of {@code n} (where {@code 0} denotes an
+ * undefined child or sibling, because the root is never a child). This requires 16 bytes per node independent of the
+ * size of the input alphabet and avoids the per-symbol object overhead of the regular tree, which is beneficial for
+ * very large caches. Furthermore, growing the input alphabet does not require to modify the tables at all.
+ * <p>
+ * In turn, looking up a successor requires a linear scan over the children of a node. Hence, this builder is best
+ * suited for trees whose (average) branching degree is small compared to the size of the input alphabet, which is
+ * typically the case for query caches.
+ *
+ * @param <I>
+ *         input symbol type
+ * @param <O>
+ *         output symbol type
+ *
+ * @author agent
+ */
+public class CompactIncrementalMealyTreeBuilder<I, O> extends AbstractIncrementalMealyTreeBuilder<Integer, I, O>
+        implements InputAlphabetHolder<I> {
+
+    /**
+     * The maximum number of nodes (including the root) of a tree. This corresponds to the maximum size of arrays
+     * supported by common JVMs.
+     */
+    public static final int MAX_NODES = Integer.MAX_VALUE - 8;
+
+    private static final int ROOT = 0;
+    private static final int NO_NODE = 0;
+    private static final int DEFAULT_INIT_CAPACITY = 16;
+
+    private final Alphabet<I> inputAlphabet;
+
+    private final IntTable inputs;
+    private final IntTable outputs;
+    private final IntTable firstChild;
+    private final IntTable nextSibling;
+    private int numNodes;
+
+    private final OutputTable<O> outputTable;
+
+    public CompactIncrementalMealyTreeBuilder(Alphabet<I> inputAlphabet) {
+        this(inputAlphabet, DEFAULT_INIT_CAPACITY);
+    }
+
+    public CompactIncrementalMealyTreeBuilder(Alphabet<I> inputAlphabet, int initialNodeCapacity) {
+        this(inputAlphabet,
+             new ArrayIntTable(Math.max(initialNodeCapacity, 1)),
+             new ArrayIntTable(Math.max(initialNodeCapacity, 1)),
+             new ArrayIntTable(Math.max(initialNodeCapacity, 1)),
+             new ArrayIntTable(Math.max(initialNodeCapacity, 1)),
+             1,
+             new OutputTable<>());
+    }
+
+    CompactIncrementalMealyTreeBuilder(Alphabet<I> inputAlphabet,
+                                       IntTable inputs,
+                                       IntTable outputs,
+                                       IntTable firstChild,
+                                       IntTable nextSibling,
+                                       int numNodes,
+                                       OutputTable<O> outputTable) {
+        super(ROOT);
+        this.inputAlphabet = inputAlphabet;
+        this.inputs = inputs;
+        this.outputs = outputs;
+        this.firstChild = firstChild;
+        this.nextSibling = nextSibling;
+        this.numNodes = numNodes;
+        this.outputTable = outputTable;
+
+        ensureCapacity(numNodes);
+    }
+
+    @Override
+    public void addAlphabetSymbol(I symbol) {
+        if (!inputAlphabet.containsSymbol(symbol)) {
+            Alphabets.toGrowingAlphabetOrThrowException(inputAlphabet).addSymbol(symbol);
+        }
+        // the tables do not depend on the size of the alphabet
+    }
+
+    @Override
+    public boolean lookup(Word<? extends I> word, List<? super O> output) {
+        int curr = ROOT;
+
+        for (I sym : word) {
+            final int succ = getChild(curr, inputAlphabet.getSymbolIndex(sym));
+            if (succ == NO_NODE) {
+                return false;
+            }
+            output.add(outputTable.decode(outputs.get(succ)));
+            curr = succ;
+        }
+
+        return true;
+    }
+
+    @Override
+    public void insert(Word<? extends I> input, Word<? extends O> outputWord) {
+        int curr = ROOT;
+
+        final Iterator<? extends O> outputIt = outputWord.iterator();
+        for (I sym : input) {
+            final O out = outputIt.next();
+            final int symIdx = inputAlphabet.getSymbolIndex(sym);
+            final int succ = getChild(curr, symIdx);
+            if (succ == NO_NODE) {
+                curr = insertNode(curr, symIdx, out);
+            } else {
+                if (!Objects.equals(out, outputTable.decode(outputs.get(succ)))) {
+                    throw new ConflictException();
+                }
+                curr = succ;
+            }
+        }
+    }
+
+    /**
+     * Returns the number of nodes (including the root) currently stored in this tree.
+     *
+     * @return the number of nodes
+     */
+    public int getNumNodes() {
+        return numNodes;
+    }
+
+    private int getChild(int node, int symIdx) {
+        int child = firstChild.get(node);
+        while (child != NO_NODE && inputs.get(child) != symIdx) {
+            child = nextSibling.get(child);
+        }
+        return child;
+    }
+
+    @Override
+    protected @Nullable Edge<Integer, O> getEdge(Integer node, I symbol) {
+        final int succ = getChild(node, inputAlphabet.getSymbolIndex(symbol));
+        if (succ == NO_NODE) {
+            return null;
+        }
+        return new Edge<>(outputTable.decode(outputs.get(succ)), succ);
+    }
+
+    @Override
+    protected Integer createNode() {
+        if (numNodes >= MAX_NODES) {
+            throw new IllegalStateException("The tree cannot store more than " + MAX_NODES + " nodes");
+        }
+
+        ensureCapacity(numNodes + 1);
+        return numNodes++;
+    }
+
+    private void ensureCapacity(int capacity) {
+        inputs.ensureCapacity(capacity);
+        outputs.ensureCapacity(capacity);
+        firstChild.ensureCapacity(capacity);
+        nextSibling.ensureCapacity(capacity);
+    }
+
+    @Override
+    protected Integer insertNode(Integer parent, I symbol, O output) {
+        return insertNode(parent.intValue(), inputAlphabet.getSymbolIndex(symbol), output);
+    }
+
+    private int insertNode(int parent, int symIdx, O output) {
+        final int succ = createNode();
+        inputs.set(succ, symIdx);
+        outputs.set(succ, encodeOutput(output));
+        nextSibling.set(succ, firstChild.get(parent));
+        // only link the new node once it is fully initialized
+        firstChild.set(parent, succ);
+        return succ;
+    }
+
+    private int encodeOutput(O output) {
+        if (!outputTable.contains(output)) {
+            outputAdded(output);
+        }
+        return outputTable.encode(output);
+    }
+
+    /**
+     * Callback that is invoked before a new (i.e. not yet interned) output is stored in this tree.
+     *
+     * @param output
+     *         the new output
+     */
+    void outputAdded(O output) {}
+
+    @Override
+    protected Collection<AnnotatedEdge<Integer, I, O>> getOutgoingEdges(Integer node) {
+        final List<AnnotatedEdge<Integer, I, O>> result = new ArrayList<>();
+        for (int child = firstChild.get(node); child != NO_NODE; child = nextSibling.get(child)) {
+            final Edge<Integer, O> edge = new Edge<>(outputTable.decode(outputs.get(child)), child);
+            result.add(new AnnotatedEdge<>(edge, inputAlphabet.getSymbol(inputs.get(child))));
+        }
+        return result;
+    }
+
+    @Override
+    public Alphabet<I> getInputAlphabet() {
+        return inputAlphabet;
+    }
+}
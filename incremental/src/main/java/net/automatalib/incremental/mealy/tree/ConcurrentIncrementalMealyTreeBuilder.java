@@ -0,0 +1,180 @@
+/* Copyright (C) 2013-2022 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.incremental.mealy.tree;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import net.automatalib.automata.concepts.InputAlphabetHolder;
+import net.automatalib.automata.transducers.MealyMachine;
+import net.automatalib.incremental.ConflictException;
+import net.automatalib.words.Alphabet;
+import net.automatalib.words.Word;
+import net.automatalib.words.impl.Alphabets;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * A thread-safe variant of the {@link IncrementalMealyTreeBuilder}.
+ * <p>
+ * Tree nodes are never removed and edges are only published via atomic compare-and-set operations. Hence, {@link
+ * #lookup(Word, List) lookups} are lock-free and may be executed concurrently with each other and with {@link
+ * #insert(Word, Word) insertions}. If two threads concurrently insert an edge for the same prefix, exactly one of the
+ * edges is published and the other thread continues on the published edge, i.e. it throws a {@link ConflictException}
+ * if the outputs of both edges differ.
+ * <p>
+ * Insertions, {@link #findSeparatingWord(MealyMachine, Collection, boolean)} and the traversals of {@link #asGraph()}
+ * share a read lock and operate on the tree directly. Their results reflect (at least) all insertions that have
+ * finished before they were started, but may or may not reflect concurrent insertions. {@link
+ * #addAlphabetSymbol(Object)} acquires the corresponding write lock, because it replaces the edge storage of the tree
+ * nodes.
+ * <p>
+ * Note that lookups do not synchronize with {@link #addAlphabetSymbol(Object)}. Hence, they may only be executed
+ * concurrently to an alphabet extension if the underlying alphabet supports concurrent reads during its growth.
+ *
+ * @param <I>
+ *         input symbol type
+ * @param <O>
+ *         output symbol type
+ *
+ * @author agent
+ */
+public class ConcurrentIncrementalMealyTreeBuilder<I, O>
+        extends AbstractIncrementalMealyTreeBuilder<ConcurrentNode<O>, I, O> implements InputAlphabetHolder<I> {
+
+    private final Alphabet<I> inputAlphabet;
+    private volatile int alphabetSize;
+
+    private final Lock readLock;
+    private final Lock writeLock;
+
+    public ConcurrentIncrementalMealyTreeBuilder(Alphabet<I> inputAlphabet) {
+        super(new ConcurrentNode<>(inputAlphabet.size()));
+        this.inputAlphabet = inputAlphabet;
+        this.alphabetSize = inputAlphabet.size();
+
+        final ReadWriteLock lock = new ReentrantReadWriteLock();
+        this.readLock = lock.readLock();
+        this.writeLock = lock.writeLock();
+    }
+
+    @Override
+    public void addAlphabetSymbol(I symbol) {
+        writeLock.lock();
+        try {
+            if (!inputAlphabet.containsSymbol(symbol)) {
+                Alphabets.toGrowingAlphabetOrThrowException(inputAlphabet).addSymbol(symbol);
+            }
+
+            final int oldAlphabetSize = alphabetSize;
+            final int newAlphabetSize = inputAlphabet.size();
+            // even if the symbol was already in the alphabet, we need to make sure to be able to store the new symbol
+            if (oldAlphabetSize < newAlphabetSize) {
+                ensureInputCapacity(root, oldAlphabetSize, newAlphabetSize);
+                alphabetSize = newAlphabetSize;
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public void insert(Word<? extends I> input, Word<? extends O> outputWord) {
+        readLock.lock();
+        try {
+            super.insert(input, outputWord);
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    @Override
+    public @Nullable Word<I> findSeparatingWord(MealyMachine<?, I, ?, O> target,
+                                                Collection<? extends I> inputs,
+                                                boolean omitUndefined) {
+        readLock.lock();
+        try {
+            return super.findSeparatingWord(target, inputs, omitUndefined);
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    private void ensureInputCapacity(ConcurrentNode<O> node, int oldAlphabetSize, int newAlphabetSize) {
+        node.ensureInputCapacity(newAlphabetSize);
+        for (int i = 0; i < oldAlphabetSize; i++) {
+            final ConcurrentNode<O> child = node.getSuccessor(i);
+            if (child != null) {
+                ensureInputCapacity(child, oldAlphabetSize, newAlphabetSize);
+            }
+        }
+    }
+
+    @Override
+    protected @Nullable Edge<ConcurrentNode<O>, O> getEdge(ConcurrentNode<O> node, I symbol) {
+        return node.getEdge(inputAlphabet.getSymbolIndex(symbol));
+    }
+
+    @Override
+    protected ConcurrentNode<O> createNode() {
+        return new ConcurrentNode<>(alphabetSize);
+    }
+
+    @Override
+    protected ConcurrentNode<O> insertNode(ConcurrentNode<O> parent, I symIdx, O output) {
+        final ConcurrentNode<O> succ = createNode();
+        final Edge<ConcurrentNode<O>, O> edge = new Edge<>(output, succ);
+        final Edge<ConcurrentNode<O>, O> existing = parent.setEdgeIfAbsent(inputAlphabet.getSymbolIndex(symIdx), edge);
+
+        if (existing == null) {
+            return succ;
+        }
+
+        // another thread has published an edge in the meantime
+        if (!Objects.equals(output, existing.getOutput())) {
+            throw new ConflictException();
+        }
+
+        return existing.getTarget();
+    }
+
+    @Override
+    protected Collection<AnnotatedEdge<ConcurrentNode<O>, I, O>> getOutgoingEdges(ConcurrentNode<O> node) {
+        readLock.lock();
+        try {
+            final int size = alphabetSize;
+            final List<AnnotatedEdge<ConcurrentNode<O>, I, O>> result = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                final Edge<ConcurrentNode<O>, O> edge = node.getEdge(i);
+                if (edge != null) {
+                    result.add(new AnnotatedEdge<>(edge, inputAlphabet.getSymbol(i)));
+                }
+            }
+            return result;
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    @Override
+    public Alphabet<I> getInputAlphabet() {
+        return inputAlphabet;
+    }
+}
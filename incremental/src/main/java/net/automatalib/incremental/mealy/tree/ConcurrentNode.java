@@ -0,0 +1,101 @@
+/* Copyright (C) 2013-2022 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.incremental.mealy.tree;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * A tree node of the {@link ConcurrentIncrementalMealyTreeBuilder}, whose outgoing edges are stored in an {@link
+ * AtomicReferenceArray} so that they can be published via compare-and-set operations.
+ *
+ * @param <O>
+ *         output symbol type
+ *
+ * @author agent
+ */
+final class ConcurrentNode<O> {
+
+    private volatile AtomicReferenceArray<Edge<ConcurrentNode<O>, O>> outEdges;
+
+    ConcurrentNode(int alphabetSize) {
+        this.outEdges = new AtomicReferenceArray<>(alphabetSize);
+    }
+
+    /**
+     * Returns the edge for the given index. Indices beyond the current capacity of this node (e.g., of symbols that are
+     * concurrently added to the alphabet) yield {@code null}.
+     *
+     * @param idx
+     *         the alphabet symbol index
+     *
+     * @return the edge for the given index, or {@code null} if there is no such edge
+     */
+    @Nullable Edge<ConcurrentNode<O>, O> getEdge(int idx) {
+        final AtomicReferenceArray<Edge<ConcurrentNode<O>, O>> edges = this.outEdges;
+        return idx < edges.length() ? edges.get(idx) : null;
+    }
+
+    /**
+     * Atomically sets the edge for the given index if no edge has been set before.
+     *
+     * @return {@code null} if the given edge has been set, the previously existing edge otherwise
+     */
+    @Nullable Edge<ConcurrentNode<O>, O> setEdgeIfAbsent(int idx, Edge<ConcurrentNode<O>, O> edge) {
+        final AtomicReferenceArray<Edge<ConcurrentNode<O>, O>> edges = this.outEdges;
+
+        while (!edges.compareAndSet(idx, null, edge)) {
+            final Edge<ConcurrentNode<O>, O> existing = edges.get(idx);
+            if (existing != null) {
+                return existing;
+            }
+        }
+
+        return null;
+    }
+
+    @Nullable ConcurrentNode<O> getSuccessor(int idx) {
+        final Edge<ConcurrentNode<O>, O> edge = getEdge(idx);
+        if (edge != null) {
+            return edge.getTarget();
+        }
+        return null;
+    }
+
+    /**
+     * Enlarges the edge storage to the given capacity. May be called concurrently with {@link #getEdge(int)} but must
+     * not be called concurrently with {@link #setEdgeIfAbsent(int, Edge)}, since edges that are published to the old
+     * storage in the meantime would be lost.
+     *
+     * @return {@code true} if the storage has been enlarged, {@code false} otherwise
+     */
+    boolean ensureInputCapacity(int capacity) {
+        final AtomicReferenceArray<Edge<ConcurrentNode<O>, O>> oldEdges = this.outEdges;
+        final int oldCapacity = oldEdges.length();
+
+        if (oldCapacity >= capacity) {
+            return false;
+        }
+
+        final AtomicReferenceArray<Edge<ConcurrentNode<O>, O>> newEdges = new AtomicReferenceArray<>(capacity);
+        for (int i = 0; i < oldCapacity; i++) {
+            newEdges.set(i, oldEdges.get(i));
+        }
+        this.outEdges = newEdges;
+        return true;
+    }
+}
@@ -0,0 +1,178 @@
+/* Copyright (C) 2013-2022 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.incremental.mealy.tree;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * The eviction order of a {@link BoundedIncrementalMealyTreeBuilder}. All (non-root) nodes are kept in doubly-linked
+ * buckets that are ordered by ascending access frequency (for {@link
+ * BoundedIncrementalMealyTreeBuilder.EvictionPolicy#LFU LFU}) or in a single bucket (for {@link
+ * BoundedIncrementalMealyTreeBuilder.EvictionPolicy#LRU LRU}). Every access moves a node to the end of its (new)
+ * bucket, so each bucket is ordered by ascending access time. Hence, accessing, adding, and removing nodes as well as
+ * determining the next eviction candidate only require constant time (per visited bucket).
+ * <p>
+ * Since a word is accessed from the root to its leaf, ancestors are enqueued before their descendants if both have
+ * been accessed equally frequently and recently.
+ *
+ * @param <O>
+ *         output symbol type
+ *
+ * @author agent
+ */
+final class EvictionQueue<O> {
+
+    private final boolean frequencyBuckets;
+    // the sentinel of the circular list of buckets
+    private final Bucket<O> buckets;
+
+    EvictionQueue(boolean frequencyBuckets) {
+        this.frequencyBuckets = frequencyBuckets;
+        this.buckets = new Bucket<>(0);
+
+        if (!frequencyBuckets) {
+            insertBucketAfter(buckets, 0);
+        }
+    }
+
+    /**
+     * Records an access to the given node and moves it to its new position in the eviction order. Nodes that have not
+     * been accessed before are added to the queue.
+     *
+     * @param node
+     *         the accessed node
+     * @param time
+     *         the (logical) time of the access
+     */
+    void access(BoundedNode<O> node, long time) {
+        node.touch(time);
+
+        final Bucket<O> current = node.getBucket();
+        final Bucket<O> target;
+
+        if (frequencyBuckets) {
+            final Bucket<O> pred = current == null ? buckets : current;
+            final Bucket<O> succ = pred.next;
+            if (succ != buckets && succ.frequency == node.getFrequency()) {
+                target = succ;
+            } else {
+                target = insertBucketAfter(pred, node.getFrequency());
+            }
+        } else {
+            target = buckets.next;
+        }
+
+        if (current != null) {
+            remove(node);
+        }
+
+        node.setPrev(target.tail);
+        node.setNext(null);
+        node.setBucket(target);
+        if (target.tail == null) {
+            target.head = node;
+        } else {
+            target.tail.setNext(node);
+        }
+        target.tail = node;
+    }
+
+    /**
+     * Removes the given node from the queue.
+     *
+     * @param node
+     *         the node to remove
+     */
+    void remove(BoundedNode<O> node) {
+        final Bucket<O> bucket = node.getBucket();
+        assert bucket != null;
+
+        final BoundedNode<O> prev = node.getPrev();
+        final BoundedNode<O> next = node.getNext();
+
+        if (prev == null) {
+            bucket.head = next;
+        } else {
+            prev.setNext(next);
+        }
+
+        if (next == null) {
+            bucket.tail = prev;
+        } else {
+            next.setPrev(prev);
+        }
+
+        node.setPrev(null);
+        node.setNext(null);
+        node.setBucket(null);
+
+        if (frequencyBuckets && bucket.head == null) {
+            bucket.prev.next = bucket.next;
+            bucket.next.prev = bucket.prev;
+        }
+    }
+
+    /**
+     * Returns the next node to evict. Nodes that have been accessed at the given time are only returned if all other
+     * nodes have been evicted.
+     *
+     * @param now
+     *         the (logical) time of the current access
+     *
+     * @return the next node to evict, or {@code null} if the queue is empty
+     */
+    @Nullable BoundedNode<O> peek(long now) {
+        // nodes accessed at the current time are always located at the end of their bucket
+        for (Bucket<O> b = buckets.next; b != buckets; b = b.next) {
+            final BoundedNode<O> head = b.head;
+            if (head != null && head.getLastAccess() != now) {
+                return head;
+            }
+        }
+
+        for (Bucket<O> b = buckets.next; b != buckets; b = b.next) {
+            if (b.head != null) {
+                return b.head;
+            }
+        }
+
+        return null;
+    }
+
+    private Bucket<O> insertBucketAfter(Bucket<O> pred, long frequency) {
+        final Bucket<O> bucket = new Bucket<>(frequency);
+        bucket.prev = pred;
+        bucket.next = pred.next;
+        pred.next.prev = bucket;
+        pred.next = bucket;
+        return bucket;
+    }
+
+    static final class Bucket<O> {
+
+        private final long frequency;
+        private @Nullable BoundedNode<O> head;
+        private @Nullable BoundedNode<O> tail;
+        private Bucket<O> prev;
+        private Bucket<O> next;
+
+        Bucket(long frequency) {
+            this.frequency = frequency;
+            this.prev = this;
+            this.next = this;
+        }
+    }
+}
@@ -0,0 +1,38 @@
+/* Copyright (C) 2013-2022 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.incremental.mealy.tree;
+
+/**
+ * A growable table of {@code int}s, which abstracts from the storage of the {@link
+ * CompactIncrementalMealyTreeBuilder} (and its {@link PersistentIncrementalMealyTreeBuilder persistent} variant).
+ * Newly allocated entries are initialized with {@code 0}.
+ *
+ * @author agent
+ */
+interface IntTable {
+
+    int get(int idx);
+
+    void set(int idx, int value);
+
+    /**
+     * Makes sure that the table can store (at least) the given number of entries.
+     *
+     * @param capacity
+     *         the required number of entries
+     */
+    void ensureCapacity(int capacity);
+}
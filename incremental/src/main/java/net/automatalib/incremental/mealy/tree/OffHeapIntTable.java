@@ -0,0 +1,47 @@
+/* Copyright (C) 2013-2022 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.incremental.mealy.tree;
+
+import net.automatalib.automata.base.compact.OffHeapIntStorage;
+
+/**
+ * An {@link IntTable} that stores its entries in an {@link OffHeapIntStorage}.
+ *
+ * @author agent
+ */
+final class OffHeapIntTable implements IntTable {
+
+    private final OffHeapIntStorage storage;
+
+    OffHeapIntTable(OffHeapIntStorage storage) {
+        this.storage = storage;
+    }
+
+    @Override
+    public int get(int idx) {
+        return storage.get(idx);
+    }
+
+    @Override
+    public void set(int idx, int value) {
+        storage.set(idx, value);
+    }
+
+    @Override
+    public void ensureCapacity(int capacity) {
+        storage.ensureCapacity(capacity);
+    }
+}
@@ -0,0 +1,292 @@
+/* Copyright (C) 2013-2022 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.incremental.mealy.tree;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+import net.automatalib.automata.base.compact.OffHeapIntStorage;
+import net.automatalib.words.Alphabet;
+
+/**
+ * A variation of the {@link CompactIncrementalMealyTreeBuilder}, which stores its tree in memory-mapped files of a
+ * given directory (see {@link OffHeapIntStorage}). This allows to persist (potentially large) caches across multiple
+ * runs of the JVM: {@link #open(Path, Alphabet, Function, Function) Re-opening} an existing directory only maps the
+ * stored files and reads the table of output symbols, but does not need to re-insert any words.
+ * <p>
+ * Output symbols are persisted via a user-provided encoder and decoder, e.g. a UTF-8 encoding of strings. Note that
+ * the decoder processes the contents of the given directory, i.e. it should not deserialize arbitrary objects if the
+ * directory may be modified by third parties. Input symbols are persisted by their index in the input alphabet, i.e. a
+ * directory has to be re-opened with an alphabet whose symbol indices match the ones of the alphabet it has been
+ * created with. The alphabet may contain additional symbols (at the end), though.
+ * <p>
+ * Modifications are written to the mapped files by the operating system. New nodes are only linked to the tree after
+ * they have been fully written, so that the files remain consistent if the JVM terminates unexpectedly. To make sure
+ * that all modifications have been persisted (e.g. to guard against a system crash), call {@link #flush()}. The
+ * builder needs to be {@link #close() closed} after use.
+ *
+ * @param <I>
+ *         input symbol type
+ * @param <O>
+ *         output symbol type
+ *
+ * @author agent
+ */
+public class PersistentIncrementalMealyTreeBuilder<I, O> extends CompactIncrementalMealyTreeBuilder<I, O>
+        implements Closeable {
+
+    private static final String META_FILE = "meta.bin";
+    private static final String INPUTS_FILE = "inputs.bin";
+    private static final String OUTPUTS_FILE = "outputs.bin";
+    private static final String CHILDREN_FILE = "children.bin";
+    private static final String SIBLINGS_FILE = "siblings.bin";
+    private static final String SYMBOLS_FILE = "symbols.bin";
+
+    private static final int MAGIC = 0x4D45414C; // "MEAL"
+    private static final int META_SEGMENT_BITS = 2;
+    private static final int MAGIC_IDX = 0;
+    private static final int ALPHABET_SIZE_IDX = 1;
+    private static final int NUM_NODES_IDX = 2;
+
+    private final OffHeapIntStorage meta;
+    private final OffHeapIntStorage[] tables;
+    private final FileChannel symbolLog;
+    private final Function<? super O, byte[]> encoder;
+
+    private PersistentIncrementalMealyTreeBuilder(Alphabet<I> inputAlphabet,
+                                                  OffHeapIntStorage meta,
+                                                  OffHeapIntStorage[] tables,
+                                                  FileChannel symbolLog,
+                                                  OutputTable<O> outputTable,
+                                                  Function<? super O, byte[]> encoder) {
+        super(inputAlphabet,
+              new OffHeapIntTable(tables[0]),
+              new OffHeapIntTable(tables[1]),
+              new OffHeapIntTable(tables[2]),
+              new OffHeapIntTable(tables[3]),
+              meta.get(NUM_NODES_IDX),
+              outputTable);
+        this.meta = meta;
+        this.tables = tables;
+        this.symbolLog = symbolLog;
+        this.encoder = encoder;
+
+        // the alphabet may have grown since the last time
+        meta.set(ALPHABET_SIZE_IDX, inputAlphabet.size());
+    }
+
+    /**
+     * Opens the cache stored in the given directory. If the directory does not exist or contains no cache, a new
+     * (empty) cache is created.
+     *
+     * @param directory
+     *         the directory containing the files of the cache
+     * @param inputAlphabet
+     *         the input alphabet. Its symbol indices must match the ones of the alphabet the cache has been created
+     *         with
+     * @param encoder
+     *         the function for encoding output symbols when they are first inserted into the cache
+     * @param decoder
+     *         the function for decoding the stored output symbols when re-opening the cache. It needs to be the
+     *         inverse of the {@code encoder}
+     * @param <I>
+     *         input symbol type
+     * @param <O>
+     *         output symbol type
+     *
+     * @return the opened cache
+     *
+     * @throws IOException
+     *         if the files of the cache cannot be opened or do not contain a valid cache
+     */
+    public static <I, O> PersistentIncrementalMealyTreeBuilder<I, O> open(Path directory,
+                                                                         Alphabet<I> inputAlphabet,
+                                                                         Function<? super O, byte[]> encoder,
+                                                                         Function<byte[], ? extends O> decoder)
+            throws IOException {
+        Files.createDirectories(directory);
+
+        final List<Closeable> resources = new ArrayList<>();
+
+        try {
+            final OffHeapIntStorage meta = OffHeapIntStorage.open(directory.resolve(META_FILE), META_SEGMENT_BITS);
+            resources.add(meta);
+            meta.ensureCapacity(NUM_NODES_IDX + 1);
+
+            final int magic = meta.get(MAGIC_IDX);
+            if (magic == 0) {
+                meta.set(ALPHABET_SIZE_IDX, inputAlphabet.size());
+                meta.set(NUM_NODES_IDX, 1);
+                meta.set(MAGIC_IDX, MAGIC);
+            } else if (magic != MAGIC) {
+                throw new IOException("Directory '" + directory + "' does not contain a valid Mealy cache");
+            }
+            if (meta.get(ALPHABET_SIZE_IDX) > inputAlphabet.size()) {
+                throw new IllegalArgumentException("The cache has been created with a larger input alphabet");
+            }
+
+            final String[] files = {INPUTS_FILE, OUTPUTS_FILE, CHILDREN_FILE, SIBLINGS_FILE};
+            final OffHeapIntStorage[] tables = new OffHeapIntStorage[files.length];
+            for (int i = 0; i < files.length; i++) {
+                final Path file = directory.resolve(files[i]);
+                tables[i] = OffHeapIntStorage.open(file, OffHeapIntStorage.DEFAULT_SEGMENT_BITS);
+                resources.add(tables[i]);
+            }
+
+            final Path symbolFile = directory.resolve(SYMBOLS_FILE);
+            final FileChannel symbolLog = FileChannel.open(symbolFile,
+                                                           StandardOpenOption.CREATE,
+                                                           StandardOpenOption.READ,
+                                                           StandardOpenOption.WRITE);
+            resources.add(symbolLog);
+            final OutputTable<O> outputTable = readSymbols(symbolFile, symbolLog, decoder);
+
+            return new PersistentIncrementalMealyTreeBuilder<>(inputAlphabet,
+                                                               meta,
+                                                               tables,
+                                                               symbolLog,
+                                                               outputTable,
+                                                               encoder);
+        } catch (IOException | RuntimeException e) {
+            closeAll(resources, e);
+            throw e;
+        }
+    }
+
+    private static void closeAll(List<Closeable> resources, Exception cause) {
+        for (Closeable c : resources) {
+            try {
+                c.close();
+            } catch (IOException e) {
+                cause.addSuppressed(e);
+            }
+        }
+    }
+
+    private static <O> OutputTable<O> readSymbols(Path symbolFile,
+                                                  FileChannel symbolLog,
+                                                  Function<byte[], ? extends O> decoder) throws IOException {
+        final OutputTable<O> result = new OutputTable<>();
+        long validBytes = 0;
+
+        try (InputStream is = Files.newInputStream(symbolFile);
+             DataInputStream dis = new DataInputStream(new BufferedInputStream(is))) {
+            while (true) {
+                final int length;
+                try {
+                    length = dis.readInt();
+                } catch (EOFException eof) {
+                    break;
+                }
+
+                if (length < 0) {
+                    throw new IOException("Invalid length of output symbol: " + length);
+                }
+
+                final byte[] bytes = new byte[length];
+                try {
+                    dis.readFully(bytes);
+                } catch (EOFException eof) {
+                    // incomplete trailing record, e.g. due to a crash
+                    break;
+                }
+
+                // outputs are logged exactly once, hence they are assigned their original index
+                result.encode(decoder.apply(bytes));
+                validBytes += Integer.BYTES + length;
+            }
+        }
+
+        symbolLog.truncate(validBytes);
+        symbolLog.position(validBytes);
+
+        return result;
+    }
+
+    @Override
+    public void addAlphabetSymbol(I symbol) {
+        super.addAlphabetSymbol(symbol);
+        meta.set(ALPHABET_SIZE_IDX, getInputAlphabet().size());
+    }
+
+    /**
+     * Forces all modifications of this cache to be written to its backing files.
+     *
+     * @throws IOException
+     *         if the modifications cannot be written
+     */
+    public void flush() throws IOException {
+        symbolLog.force(false);
+        for (OffHeapIntStorage table : tables) {
+            table.force();
+        }
+        meta.force();
+    }
+
+    @Override
+    public void close() throws IOException {
+        flush();
+        for (OffHeapIntStorage table : tables) {
+            table.close();
+        }
+        symbolLog.close();
+        meta.close();
+    }
+
+    @Override
+    protected Integer createNode() {
+        final Integer node = super.createNode();
+        // reserve the node before it is written, so that its ID is never re-used
+        meta.set(NUM_NODES_IDX, getNumNodes());
+        return node;
+    }
+
+    @Override
+    void outputAdded(O output) {
+        // log the output before it is referenced by the tree
+        final byte[] bytes = encoder.apply(output);
+        final ByteBuffer buffer = ByteBuffer.allocate(Integer.BYTES + bytes.length);
+        buffer.putInt(bytes.length).put(bytes).flip();
+
+        try {
+            final long position = symbolLog.position();
+            try {
+                while (buffer.hasRemaining()) {
+                    symbolLog.write(buffer);
+                }
+            } catch (IOException e) {
+                // discard partially written records, so that subsequent records remain readable
+                symbolLog.truncate(position);
+                throw e;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
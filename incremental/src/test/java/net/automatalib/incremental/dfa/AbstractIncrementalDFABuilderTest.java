@@ -16,13 +16,18 @@
 package net.automatalib.incremental.dfa;
 
 import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
 
 import javax.swing.SwingUtilities;
 
 import net.automatalib.automata.fsa.impl.compact.CompactDFA;
+import net.automatalib.commons.util.random.RandomUtil;
 import net.automatalib.commons.util.system.JVMUtil;
 import net.automatalib.incremental.ConflictException;
 import net.automatalib.incremental.dfa.IncrementalDFABuilder.TransitionSystemView;
+import net.automatalib.util.automata.random.RandomAutomata;
 import net.automatalib.visualization.Visualization;
 import net.automatalib.words.Alphabet;
 import net.automatalib.words.GrowingAlphabet;
@@ -228,4 +233,74 @@ public abstract class AbstractIncrementalDFABuilderTest {
         Assert.assertEquals(growableBuilder.lookup(input2), Acceptance.FALSE);
     }
 
+    @Test
+    public void testInsertAll() {
+        final Random random = new Random(42);
+        final Alphabet<Integer> alphabet = Alphabets.integers(0, 2);
+        final CompactDFA<Integer> target = RandomAutomata.randomDFA(random, 10, alphabet);
+
+        final IncrementalDFABuilder<Integer> sequential = createIncrementalDFABuilder(alphabet);
+        final IncrementalDFABuilder<Integer> batched = createIncrementalDFABuilder(alphabet);
+        final List<Word<Integer>> words = new ArrayList<>();
+
+        for (int round = 0; round < 5; round++) {
+            final List<Word<Integer>> accepted = new ArrayList<>();
+            final List<Word<Integer>> rejected = new ArrayList<>();
+
+            final List<Integer> symbols = new ArrayList<>(alphabet);
+            for (int i = 0; i < 100; i++) {
+                final Word<Integer> word = Word.fromList(RandomUtil.sample(symbols, random.nextInt(10), random));
+                final boolean acc = target.accepts(word);
+                sequential.insert(word, acc);
+                (acc ? accepted : rejected).add(word);
+                words.add(word);
+            }
+
+            batched.insertAll(accepted, true);
+            batched.insertAll(rejected, false);
+
+            for (Word<Integer> w : words) {
+                Assert.assertEquals(batched.lookup(w), sequential.lookup(w));
+            }
+            Assert.assertEquals(batched.asGraph().getNodes().size(), sequential.asGraph().getNodes().size());
+        }
+
+        Assert.assertNull(batched.findSeparatingWord(target, alphabet, true));
+    }
+
+    @Test
+    public void testInsertAllPrefixClosed() {
+        final Random random = new Random(42);
+        final Alphabet<Integer> alphabet = Alphabets.integers(0, 2);
+        final CompactDFA<Integer> target = RandomAutomata.randomDFA(random, 10, alphabet);
+
+        final IncrementalDFABuilder<Integer> sequential = createIncrementalDFABuilder(alphabet);
+        final IncrementalDFABuilder<Integer> batched = createIncrementalDFABuilder(alphabet);
+        final List<Word<Integer>> words = new ArrayList<>();
+
+        for (int round = 0; round < 5; round++) {
+            final List<Word<Integer>> accepted = new ArrayList<>();
+            final List<Word<Integer>> rejected = new ArrayList<>();
+
+            final List<Integer> symbols = new ArrayList<>(alphabet);
+            for (int i = 0; i < 10; i++) {
+                final Word<Integer> word = Word.fromList(RandomUtil.sample(symbols, 20, random));
+                // batches of prefix-closed sets share most of their symbols and are inserted in a single pass
+                for (Word<Integer> prefix : word.prefixes(false)) {
+                    final boolean acc = target.accepts(prefix);
+                    sequential.insert(prefix, acc);
+                    (acc ? accepted : rejected).add(prefix);
+                    words.add(prefix);
+                }
+            }
+
+            batched.insertAll(accepted, true);
+            batched.insertAll(rejected, false);
+
+            for (Word<Integer> w : words) {
+                Assert.assertEquals(batched.lookup(w), sequential.lookup(w));
+            }
+            Assert.assertEquals(batched.asGraph().getNodes().size(), sequential.asGraph().getNodes().size());
+        }
+    }
 }
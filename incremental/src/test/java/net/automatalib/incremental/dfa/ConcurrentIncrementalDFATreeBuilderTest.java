@@ -0,0 +1,188 @@
+/* Copyright (C) 2013-2022 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.incremental.dfa;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import net.automatalib.automata.fsa.impl.compact.CompactDFA;
+import net.automatalib.commons.util.random.RandomUtil;
+import net.automatalib.incremental.ConflictException;
+import net.automatalib.incremental.dfa.tree.ConcurrentIncrementalDFATreeBuilder;
+import net.automatalib.incremental.dfa.tree.IncrementalDFATreeBuilder;
+import net.automatalib.util.automata.random.RandomAutomata;
+import net.automatalib.words.Alphabet;
+import net.automatalib.words.Word;
+import net.automatalib.words.impl.Alphabets;
+import net.automatalib.words.impl.GrowingMapAlphabet;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+@Test
+public class ConcurrentIncrementalDFATreeBuilderTest extends AbstractIncrementalDFABuilderTest {
+
+    private static final int NUM_THREADS = 8;
+    private static final int NUM_WORDS = 2000;
+
+    @Override
+    protected <I> IncrementalDFABuilder<I> createIncrementalDFABuilder(Alphabet<I> alphabet) {
+        return new ConcurrentIncrementalDFATreeBuilder<>(alphabet);
+    }
+
+    @Test
+    public void testConcurrentInsertAndLookup() throws InterruptedException, ExecutionException {
+        final Random random = new Random(42);
+        final Alphabet<Integer> alphabet = Alphabets.integers(0, 2);
+        final CompactDFA<Integer> target = RandomAutomata.randomDFA(random, 20, alphabet);
+        final List<Word<Integer>> words = new ArrayList<>(NUM_WORDS);
+
+        final List<Integer> symbols = new ArrayList<>(alphabet);
+        for (int i = 0; i < NUM_WORDS; i++) {
+            words.add(Word.fromList(RandomUtil.sample(symbols, random.nextInt(12), random)));
+        }
+
+        final ConcurrentIncrementalDFATreeBuilder<Integer> builder =
+                new ConcurrentIncrementalDFATreeBuilder<>(alphabet);
+        final ExecutorService executor = Executors.newFixedThreadPool(NUM_THREADS);
+
+        try {
+            final List<Future<?>> futures = new ArrayList<>(NUM_THREADS);
+            for (int t = 0; t < NUM_THREADS; t++) {
+                // each thread inserts all words (in a different order) and concurrently checks earlier insertions
+                final List<Word<Integer>> shuffled = new ArrayList<>(words);
+                Collections.shuffle(shuffled, new Random(t));
+                final boolean takeSnapshots = t == 0;
+                futures.add(executor.submit(() -> {
+                    for (Word<Integer> w : shuffled) {
+                        final boolean acc = target.accepts(w);
+                        builder.insert(w, acc);
+                        Assert.assertEquals(builder.lookup(w), Acceptance.fromBoolean(acc));
+                        if (takeSnapshots) {
+                            Assert.assertEquals(builder.snapshot().lookup(w), Acceptance.fromBoolean(acc));
+                        }
+                    }
+                }));
+            }
+
+            for (Future<?> f : futures) {
+                f.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        final IncrementalDFATreeBuilder<Integer> snapshot = builder.snapshot();
+        for (Word<Integer> w : words) {
+            final Acceptance expected = Acceptance.fromBoolean(target.accepts(w));
+            Assert.assertEquals(builder.lookup(w), expected);
+            Assert.assertEquals(snapshot.lookup(w), expected);
+        }
+        Assert.assertNull(builder.findSeparatingWord(target, alphabet, false));
+    }
+
+    @Test
+    public void testConcurrentConflict() throws InterruptedException, ExecutionException {
+        final Alphabet<Integer> alphabet = Alphabets.integers(0, 1);
+        final Word<Integer> input = Word.fromSymbols(0, 1, 0, 1);
+        final IncrementalDFABuilder<Integer> builder = createIncrementalDFABuilder(alphabet);
+        final ExecutorService executor = Executors.newFixedThreadPool(NUM_THREADS);
+        final AtomicInteger accepted = new AtomicInteger();
+        final AtomicInteger rejected = new AtomicInteger();
+
+        try {
+            final List<Future<?>> futures = new ArrayList<>(NUM_THREADS);
+            for (int t = 0; t < NUM_THREADS; t++) {
+                final boolean acceptance = t % 2 == 0;
+                futures.add(executor.submit(() -> {
+                    try {
+                        builder.insert(input, acceptance);
+                        (acceptance ? accepted : rejected).incrementAndGet();
+                    } catch (ConflictException ce) {
+                        // expected for one half of the threads
+                    }
+                }));
+            }
+
+            for (Future<?> f : futures) {
+                f.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        // exactly one acceptance value must have won
+        final Acceptance winner = builder.lookup(input);
+        Assert.assertNotEquals(winner, Acceptance.DONT_KNOW);
+        Assert.assertEquals(winner == Acceptance.TRUE ? accepted.get() : rejected.get(), NUM_THREADS / 2);
+        Assert.assertEquals(winner == Acceptance.TRUE ? rejected.get() : accepted.get(), 0);
+    }
+
+    @Test
+    public void testConcurrentAlphabetGrowth() throws InterruptedException, ExecutionException {
+        final Random random = new Random(42);
+        final GrowingMapAlphabet<Integer> alphabet = new GrowingMapAlphabet<>(Alphabets.integers(0, 1));
+        final CompactDFA<Integer> target = RandomAutomata.randomDFA(random, 20, Alphabets.integers(0, 9));
+        final List<Word<Integer>> words = new ArrayList<>(NUM_WORDS);
+
+        final List<Integer> symbols = new ArrayList<>(alphabet);
+        for (int i = 0; i < NUM_WORDS; i++) {
+            words.add(Word.fromList(RandomUtil.sample(symbols, random.nextInt(12), random)));
+        }
+
+        final ConcurrentIncrementalDFATreeBuilder<Integer> builder =
+                new ConcurrentIncrementalDFATreeBuilder<>(alphabet);
+        final ExecutorService executor = Executors.newFixedThreadPool(NUM_THREADS);
+
+        try {
+            final List<Future<?>> futures = new ArrayList<>(NUM_THREADS);
+            for (int t = 0; t < NUM_THREADS; t++) {
+                final List<Word<Integer>> shuffled = new ArrayList<>(words);
+                Collections.shuffle(shuffled, new Random(t));
+                futures.add(executor.submit(() -> {
+                    // the alphabet grows concurrently to the insertions
+                    for (Word<Integer> w : shuffled) {
+                        builder.insert(w, target.accepts(w));
+                    }
+                }));
+            }
+
+            for (int sym = 2; sym < 10; sym++) {
+                builder.addAlphabetSymbol(sym);
+            }
+
+            for (Future<?> f : futures) {
+                f.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        for (Word<Integer> w : words) {
+            Assert.assertEquals(builder.lookup(w), Acceptance.fromBoolean(target.accepts(w)));
+            final Word<Integer> extended = w.append(9);
+            builder.insert(extended, target.accepts(extended));
+            Assert.assertEquals(builder.lookup(extended), Acceptance.fromBoolean(target.accepts(extended)));
+        }
+        Assert.assertNull(builder.findSeparatingWord(target, symbols, false));
+    }
+}
@@ -16,14 +16,19 @@
 package net.automatalib.incremental.dfa;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 import net.automatalib.commons.util.Pair;
+import net.automatalib.incremental.ConflictException;
 import net.automatalib.incremental.IntegrationUtil;
 import net.automatalib.incremental.IntegrationUtil.ParsedTraces;
 import net.automatalib.incremental.dfa.dag.IncrementalDFADAGBuilder;
 import net.automatalib.words.Alphabet;
 import net.automatalib.words.Word;
+import net.automatalib.words.impl.Alphabets;
+import net.automatalib.words.impl.GrowingMapAlphabet;
 import org.testng.Assert;
 import org.testng.annotations.Test;
 
@@ -76,6 +81,59 @@ public class IncrementalDFADAGBuilderTest extends AbstractIncrementalDFABuilderT
 
             Assert.assertEquals(value, cache.lookup(input).toBoolean());
         }
+
+        // test batch insertion
+        final List<Word<Integer>> accepted = new ArrayList<>();
+        final List<Word<Integer>> rejected = new ArrayList<>();
+        for (Pair<Word<Integer>, Boolean> trace : traces) {
+            (trace.getSecond() ? accepted : rejected).add(trace.getFirst());
+        }
+
+        final IncrementalDFABuilder<Integer> batchCache = createIncrementalDFABuilder(alphabet);
+        batchCache.insertAll(accepted, true);
+        batchCache.insertAll(rejected, false);
+
+        for (Pair<Word<Integer>, Boolean> trace : traces) {
+            Assert.assertEquals(trace.getSecond().booleanValue(), batchCache.lookup(trace.getFirst()).toBoolean());
+        }
+        Assert.assertEquals(batchCache.asGraph().getNodes().size(), cache.asGraph().getNodes().size());
+    }
+
+    @Test
+    public void testInsertAllConflict() {
+        final Alphabet<Character> alphabet = Alphabets.characters('a', 'c');
+        final IncrementalDFABuilder<Character> builder = createIncrementalDFABuilder(alphabet);
+        final Word<Character> w1 = Word.fromString("abc");
+        builder.insert(w1, true);
+
+        final int numNodes = builder.asGraph().getNodes().size();
+
+        Assert.assertThrows(ConflictException.class,
+                            () -> builder.insertAll(Arrays.asList(Word.fromString("bca"), w1), false));
+
+        // nothing should have been inserted
+        Assert.assertEquals(builder.asGraph().getNodes().size(), numNodes);
+        Assert.assertFalse(builder.hasDefinitiveInformation(Word.fromString("bca")));
+        Assert.assertEquals(builder.lookup(w1), Acceptance.TRUE);
+    }
+
+    @Test
+    public void testMinimalityAfterAlphabetGrowth() {
+        final List<Word<Character>> words =
+                Arrays.asList(Word.fromString("ab"), Word.fromString("ba"), Word.fromString("cab"));
+
+        final IncrementalDFABuilder<Character> grown =
+                createIncrementalDFABuilder(new GrowingMapAlphabet<>(Alphabets.characters('a', 'b')));
+        grown.insert(words.get(0), true);
+        grown.insert(words.get(1), true);
+        grown.addAlphabetSymbol('c');
+        grown.insert(words.get(2), true);
+
+        final IncrementalDFABuilder<Character> fresh = createIncrementalDFABuilder(Alphabets.characters('a', 'c'));
+        fresh.insertAll(words, true);
+
+        // states created before and after the alphabet growth need to be merged as well
+        Assert.assertEquals(grown.asGraph().getNodes().size(), fresh.asGraph().getNodes().size());
     }
 
 }
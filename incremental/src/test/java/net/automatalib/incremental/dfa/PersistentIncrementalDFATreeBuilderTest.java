@@ -0,0 +1,146 @@
+/* Copyright (C) 2013-2022 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.incremental.dfa;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import net.automatalib.automata.fsa.impl.compact.CompactDFA;
+import net.automatalib.commons.util.random.RandomUtil;
+import net.automatalib.incremental.ConflictException;
+import net.automatalib.incremental.dfa.tree.PersistentIncrementalDFATreeBuilder;
+import net.automatalib.util.automata.random.RandomAutomata;
+import net.automatalib.words.Alphabet;
+import net.automatalib.words.Word;
+import net.automatalib.words.impl.Alphabets;
+import net.automatalib.words.impl.GrowingMapAlphabet;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.Test;
+
+@Test
+public class PersistentIncrementalDFATreeBuilderTest extends AbstractIncrementalDFABuilderTest {
+
+    private final List<Closeable> builders = new ArrayList<>();
+    private final List<Path> directories = new ArrayList<>();
+
+    @Override
+    protected <I> IncrementalDFABuilder<I> createIncrementalDFABuilder(Alphabet<I> alphabet) {
+        try {
+            final PersistentIncrementalDFATreeBuilder<I> builder =
+                    PersistentIncrementalDFATreeBuilder.open(createDirectory(), alphabet);
+            builders.add(builder);
+            return builder;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void cleanUp() throws IOException {
+        for (Closeable builder : builders) {
+            builder.close();
+        }
+        builders.clear();
+
+        for (Path directory : directories) {
+            try (Stream<Path> files = Files.walk(directory)) {
+                for (Path file : (Iterable<Path>) files.sorted(Comparator.reverseOrder())::iterator) {
+                    Files.delete(file);
+                }
+            }
+        }
+        directories.clear();
+    }
+
+    @Test
+    public void testReopen() throws IOException {
+        final Random random = new Random(42);
+        final Path directory = createDirectory();
+        final GrowingMapAlphabet<Integer> alphabet = new GrowingMapAlphabet<>(Alphabets.integers(0, 2));
+        final CompactDFA<Integer> target = RandomAutomata.randomDFA(random, 50, Alphabets.integers(0, 3));
+
+        final List<Word<Integer>> words = new ArrayList<>();
+        final int numNodes;
+
+        try (PersistentIncrementalDFATreeBuilder<Integer> builder =
+                     PersistentIncrementalDFATreeBuilder.open(directory, alphabet)) {
+            final List<Integer> symbols = new ArrayList<>(alphabet);
+            for (int i = 0; i < 500; i++) {
+                final Word<Integer> word = Word.fromList(RandomUtil.sample(symbols, random.nextInt(15), random));
+                words.add(word);
+                builder.insert(word, target.accepts(word));
+            }
+            numNodes = builder.getNumNodes();
+        }
+
+        // re-open with a grown alphabet
+        alphabet.addSymbol(3);
+        try (PersistentIncrementalDFATreeBuilder<Integer> builder =
+                     PersistentIncrementalDFATreeBuilder.open(directory, alphabet)) {
+            Assert.assertEquals(builder.getNumNodes(), numNodes);
+            for (Word<Integer> w : words) {
+                Assert.assertEquals(builder.lookup(w), Acceptance.fromBoolean(target.accepts(w)));
+            }
+
+            final List<Integer> symbols = new ArrayList<>(alphabet);
+            for (int i = 0; i < 500; i++) {
+                final Word<Integer> word = Word.fromList(RandomUtil.sample(symbols, random.nextInt(15), random));
+                words.add(word);
+                builder.insert(word, target.accepts(word));
+            }
+
+            final Word<Integer> first = words.get(0);
+            Assert.assertThrows(ConflictException.class, () -> builder.insert(first, !target.accepts(first)));
+        }
+
+        try (PersistentIncrementalDFATreeBuilder<Integer> builder =
+                     PersistentIncrementalDFATreeBuilder.open(directory, alphabet)) {
+            for (Word<Integer> w : words) {
+                Assert.assertEquals(builder.lookup(w), Acceptance.fromBoolean(target.accepts(w)));
+            }
+            Assert.assertEquals(builder.asGraph().getNodes().size(), builder.getNumNodes());
+            Assert.assertNull(builder.findSeparatingWord(target, alphabet, false));
+        }
+
+        // smaller alphabets are not supported
+        Assert.assertThrows(IllegalArgumentException.class,
+                            () -> PersistentIncrementalDFATreeBuilder.open(directory, Alphabets.integers(0, 2)));
+    }
+
+    @Test
+    public void testInvalidDirectory() throws IOException {
+        final Path directory = createDirectory();
+        Files.write(directory.resolve("meta.bin"), new byte[] {1, 2, 3, 4});
+
+        Assert.assertThrows(IOException.class,
+                            () -> PersistentIncrementalDFATreeBuilder.open(directory, Alphabets.integers(0, 2)));
+    }
+
+    private Path createDirectory() throws IOException {
+        final Path directory = Files.createTempDirectory("dfa-cache");
+        directories.add(directory);
+        return directory;
+    }
+}
@@ -17,13 +17,19 @@ package net.automatalib.incremental.mealy;
 
 import java.lang.reflect.InvocationTargetException;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
 
 import javax.swing.SwingUtilities;
 
 import net.automatalib.automata.transducers.impl.compact.CompactMealy;
+import net.automatalib.commons.util.random.RandomUtil;
 import net.automatalib.commons.util.system.JVMUtil;
 import net.automatalib.incremental.ConflictException;
 import net.automatalib.ts.output.MealyTransitionSystem;
+import net.automatalib.util.automata.random.RandomAutomata;
 import net.automatalib.visualization.Visualization;
 import net.automatalib.words.Alphabet;
 import net.automatalib.words.GrowingAlphabet;
@@ -243,4 +249,72 @@ public abstract class AbstractIncrementalMealyBuilderTest {
         Assert.assertEquals(growableBuilder.lookup(input2), Word.fromLetter('1'));
     }
 
+    @Test
+    public void testInsertAll() {
+        final Random random = new Random(42);
+        final Alphabet<Integer> alphabet = Alphabets.integers(0, 2);
+        final CompactMealy<Integer, Integer> target = RandomAutomata.randomMealy(random, 10, alphabet, alphabet);
+
+        final IncrementalMealyBuilder<Integer, Integer> sequential = createIncrementalMealyBuilder(alphabet);
+        final IncrementalMealyBuilder<Integer, Integer> batched = createIncrementalMealyBuilder(alphabet);
+        final List<Word<Integer>> words = new ArrayList<>();
+
+        for (int round = 0; round < 5; round++) {
+            final Map<Word<Integer>, Word<Integer>> batch = new HashMap<>();
+
+            final List<Integer> symbols = new ArrayList<>(alphabet);
+            for (int i = 0; i < 100; i++) {
+                final Word<Integer> word = Word.fromList(RandomUtil.sample(symbols, random.nextInt(10), random));
+                final Word<Integer> output = target.computeOutput(word);
+                sequential.insert(word, output);
+                batch.put(word, output);
+                words.add(word);
+            }
+
+            batched.insertAll(batch);
+
+            for (Word<Integer> w : words) {
+                Assert.assertEquals(batched.lookup(w), sequential.lookup(w));
+            }
+            Assert.assertEquals(batched.asGraph().getNodes().size(), sequential.asGraph().getNodes().size());
+        }
+
+        Assert.assertNull(batched.findSeparatingWord(target, alphabet, false));
+    }
+
+    @Test
+    public void testInsertAllPrefixClosed() {
+        final Random random = new Random(42);
+        final Alphabet<Integer> alphabet = Alphabets.integers(0, 2);
+        final CompactMealy<Integer, Integer> target = RandomAutomata.randomMealy(random, 10, alphabet, alphabet);
+
+        final IncrementalMealyBuilder<Integer, Integer> sequential = createIncrementalMealyBuilder(alphabet);
+        final IncrementalMealyBuilder<Integer, Integer> batched = createIncrementalMealyBuilder(alphabet);
+        final List<Word<Integer>> words = new ArrayList<>();
+
+        for (int round = 0; round < 5; round++) {
+            final Map<Word<Integer>, Word<Integer>> batch = new HashMap<>();
+
+            final List<Integer> symbols = new ArrayList<>(alphabet);
+            for (int i = 0; i < 10; i++) {
+                final Word<Integer> word = Word.fromList(RandomUtil.sample(symbols, 20, random));
+                // batches of prefix-closed sets share most of their symbols and are inserted in a single pass
+                for (Word<Integer> prefix : word.prefixes(false)) {
+                    final Word<Integer> output = target.computeOutput(prefix);
+                    sequential.insert(prefix, output);
+                    batch.put(prefix, output);
+                    words.add(prefix);
+                }
+            }
+
+            batched.insertAll(batch);
+
+            for (Word<Integer> w : words) {
+                Assert.assertEquals(batched.lookup(w), sequential.lookup(w));
+            }
+            Assert.assertEquals(batched.asGraph().getNodes().size(), sequential.asGraph().getNodes().size());
+        }
+
+        Assert.assertNull(batched.findSeparatingWord(target, alphabet, false));
+    }
 }
@@ -0,0 +1,156 @@
+/* Copyright (C) 2013-2022 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.incremental.mealy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import net.automatalib.commons.util.random.RandomUtil;
+import net.automatalib.incremental.mealy.tree.BoundedIncrementalMealyTreeBuilder;
+import net.automatalib.incremental.mealy.tree.BoundedIncrementalMealyTreeBuilder.EvictionPolicy;
+import net.automatalib.words.Alphabet;
+import net.automatalib.words.Word;
+import net.automatalib.words.impl.Alphabets;
+import org.testng.Assert;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+@Test
+public class BoundedIncrementalMealyTreeBuilderTest extends AbstractIncrementalMealyBuilderTest {
+
+    private static final Alphabet<Character> ALPHABET = Alphabets.characters('a', 'c');
+
+    @Override
+    protected <I, O> IncrementalMealyBuilder<I, O> createIncrementalMealyBuilder(Alphabet<I> alphabet) {
+        return new BoundedIncrementalMealyTreeBuilder<>(alphabet, Integer.MAX_VALUE);
+    }
+
+    @Test
+    public void testLRUEviction() {
+        final BoundedIncrementalMealyTreeBuilder<Character, Character> builder =
+                new BoundedIncrementalMealyTreeBuilder<>(ALPHABET, 8, EvictionPolicy.LRU);
+
+        builder.insert(Word.fromString("aaa"), Word.fromString("xxx"));
+        builder.insert(Word.fromString("bbb"), Word.fromString("yyy"));
+        Assert.assertEquals(builder.getNumNodes(), 7);
+
+        // access the older word, so that the more recently inserted word becomes the least recently used one
+        Assert.assertTrue(builder.hasDefinitiveInformation(Word.fromString("aaa")));
+
+        builder.insert(Word.fromString("cc"), Word.fromString("zz"));
+
+        Assert.assertTrue(builder.getNumNodes() <= 6);
+        Assert.assertEquals(builder.getEvictionCount(), 1);
+        Assert.assertEquals(builder.lookup(Word.fromString("aaa")), Word.fromString("xxx"));
+        Assert.assertEquals(builder.lookup(Word.fromString("cc")), Word.fromString("zz"));
+        Assert.assertFalse(builder.hasDefinitiveInformation(Word.fromString("b")));
+        Assert.assertEquals(builder.lookup(Word.fromString("bbb")), Word.epsilon());
+        Assert.assertEquals(builder.asGraph().getNodes().size(), builder.getNumNodes());
+
+        // evicted information can be re-inserted (even with different outputs)
+        builder.insert(Word.fromString("bbb"), Word.fromString("zzz"));
+        Assert.assertEquals(builder.lookup(Word.fromString("bbb")), Word.fromString("zzz"));
+    }
+
+    @Test
+    public void testLFUEviction() {
+        final BoundedIncrementalMealyTreeBuilder<Character, Character> builder =
+                new BoundedIncrementalMealyTreeBuilder<>(ALPHABET, 8, EvictionPolicy.LFU);
+
+        builder.insert(Word.fromString("aaa"), Word.fromString("xxx"));
+        builder.insert(Word.fromString("bbb"), Word.fromString("yyy"));
+
+        for (int i = 0; i < 3; i++) {
+            Assert.assertTrue(builder.hasDefinitiveInformation(Word.fromString("bbb")));
+        }
+        Assert.assertTrue(builder.hasDefinitiveInformation(Word.fromString("aaa")));
+
+        builder.insert(Word.fromString("cc"), Word.fromString("zz"));
+
+        // "aaa" has been accessed more recently, but less frequently than "bbb"
+        Assert.assertEquals(builder.getEvictionCount(), 1);
+        Assert.assertFalse(builder.hasDefinitiveInformation(Word.fromString("a")));
+        Assert.assertEquals(builder.lookup(Word.fromString("bbb")), Word.fromString("yyy"));
+        Assert.assertEquals(builder.lookup(Word.fromString("cc")), Word.fromString("zz"));
+    }
+
+    @Test
+    public void testPartialSubtreeEviction() {
+        final BoundedIncrementalMealyTreeBuilder<Character, Character> builder =
+                new BoundedIncrementalMealyTreeBuilder<>(ALPHABET, 7, EvictionPolicy.LRU);
+
+        builder.insert(Word.fromString("aab"), Word.fromString("xxy"));
+        builder.insert(Word.fromString("aac"), Word.fromString("xxz"));
+        builder.insert(Word.fromString("aaa"), Word.fromString("xxx"));
+        Assert.assertEquals(builder.getNumNodes(), 6);
+
+        builder.insert(Word.fromString("bb"), Word.fromString("yy"));
+
+        // only the least recently used leaves of the shared prefix are evicted
+        Assert.assertEquals(builder.getEvictionCount(), 2);
+        Assert.assertEquals(builder.getNumNodes(), 6);
+        Assert.assertFalse(builder.hasDefinitiveInformation(Word.fromString("aab")));
+        Assert.assertFalse(builder.hasDefinitiveInformation(Word.fromString("aac")));
+        Assert.assertEquals(builder.lookup(Word.fromString("aaa")), Word.fromString("xxx"));
+        Assert.assertEquals(builder.lookup(Word.fromString("bb")), Word.fromString("yy"));
+    }
+
+    @Test
+    public void testCounters() {
+        final BoundedIncrementalMealyTreeBuilder<Character, Character> builder =
+                new BoundedIncrementalMealyTreeBuilder<>(ALPHABET, 4);
+
+        builder.insert(Word.fromString("ab"), Word.fromString("xy"));
+        Assert.assertTrue(builder.hasDefinitiveInformation(Word.fromString("a")));
+        Assert.assertTrue(builder.hasDefinitiveInformation(Word.fromString("ab")));
+        Assert.assertFalse(builder.hasDefinitiveInformation(Word.fromString("abc")));
+
+        Assert.assertEquals(builder.getHitCount(), 2);
+        Assert.assertEquals(builder.getMissCount(), 1);
+        Assert.assertEquals(builder.getEvictionCount(), 0);
+
+        builder.insert(Word.fromString("ccc"), Word.fromString("zzz"));
+        Assert.assertTrue(builder.getEvictionCount() > 0);
+        Assert.assertTrue(builder.getNumNodes() <= builder.getMaxNodes());
+    }
+
+    @Test(dataProvider = "policies")
+    public void testRepeatedEviction(EvictionPolicy policy) {
+        final BoundedIncrementalMealyTreeBuilder<Character, Character> builder =
+                new BoundedIncrementalMealyTreeBuilder<>(ALPHABET, 32, policy);
+        final List<Character> symbols = new ArrayList<>(ALPHABET);
+        final Random random = new Random(42);
+
+        for (int i = 0; i < 1000; i++) {
+            final Word<Character> input = Word.fromList(RandomUtil.sample(symbols, 1 + random.nextInt(6), random));
+            final Word<Character> output = input.transform(Character::toUpperCase);
+
+            builder.insert(input, output);
+
+            Assert.assertTrue(builder.getNumNodes() <= builder.getMaxNodes());
+            Assert.assertEquals(builder.asGraph().getNodes().size(), builder.getNumNodes());
+            Assert.assertEquals(builder.lookup(input), output);
+        }
+
+        Assert.assertTrue(builder.getEvictionCount() > 0);
+    }
+
+    @DataProvider(name = "policies")
+    public static Object[][] policies() {
+        return new Object[][] {{EvictionPolicy.LRU}, {EvictionPolicy.LFU}};
+    }
+}
@@ -0,0 +1,99 @@
+/* Copyright (C) 2013-2022 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.incremental.mealy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import net.automatalib.automata.transducers.impl.compact.CompactMealy;
+import net.automatalib.incremental.mealy.tree.CompactIncrementalMealyTreeBuilder;
+import net.automatalib.util.automata.random.RandomAutomata;
+import net.automatalib.words.Alphabet;
+import net.automatalib.words.Word;
+import net.automatalib.words.impl.Alphabets;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+@Test
+public class CompactIncrementalMealyTreeBuilderTest extends AbstractIncrementalMealyBuilderTest {
+
+    @Override
+    protected <I, O> IncrementalMealyBuilder<I, O> createIncrementalMealyBuilder(Alphabet<I> alphabet) {
+        return new CompactIncrementalMealyTreeBuilder<>(alphabet);
+    }
+
+    @Test
+    public void testRandomWords() {
+        final Random random = new Random(42);
+        final Alphabet<Integer> alphabet = Alphabets.integers(0, 3);
+        final CompactMealy<Integer, Character> target =
+                RandomAutomata.randomMealy(random, 50, alphabet, Alphabets.characters('a', 'e'));
+        final CompactIncrementalMealyTreeBuilder<Integer, Character> builder =
+                new CompactIncrementalMealyTreeBuilder<>(alphabet, 1);
+
+        final List<Word<Integer>> words = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            final List<Integer> symbols = new ArrayList<>();
+            final int length = random.nextInt(20);
+            for (int j = 0; j < length; j++) {
+                symbols.add(random.nextInt(alphabet.size()));
+            }
+            final Word<Integer> word = Word.fromList(symbols);
+            words.add(word);
+            builder.insert(word, target.computeOutput(word));
+        }
+
+        int maxNodes = 1;
+        for (Word<Integer> w : words) {
+            Assert.assertEquals(builder.lookup(w), target.computeOutput(w));
+            maxNodes += w.length();
+        }
+
+        Assert.assertTrue(builder.getNumNodes() <= maxNodes);
+        Assert.assertEquals(builder.asGraph().getNodes().size(), builder.getNumNodes());
+        Assert.assertNull(builder.findSeparatingWord(target, alphabet, false));
+    }
+
+    @Test
+    public void testLargeAlphabet() {
+        final Random random = new Random(42);
+        final Alphabet<Integer> alphabet = Alphabets.integers(0, 99);
+        final CompactMealy<Integer, Character> target =
+                RandomAutomata.randomMealy(random, 50, alphabet, Alphabets.characters('a', 'e'));
+        final CompactIncrementalMealyTreeBuilder<Integer, Character> builder =
+                new CompactIncrementalMealyTreeBuilder<>(alphabet);
+
+        final Word<Integer> allSymbols = Word.fromList(new ArrayList<>(alphabet));
+
+        // every node has (at most) a single child, except for the root which has a child for every symbol
+        int numNodes = 1;
+        for (Integer sym : alphabet) {
+            final Word<Integer> word = Word.fromLetter(sym).concat(allSymbols.prefix(sym));
+            builder.insert(word, target.computeOutput(word));
+            numNodes += word.length();
+        }
+
+        Assert.assertEquals(builder.getNumNodes(), numNodes);
+        final IncrementalMealyBuilder.GraphView<Integer, Character, Integer, ?> graph = builder.asGraph();
+        Assert.assertEquals(graph.getOutgoingEdges(graph.getInitialNode()).size(), alphabet.size());
+        for (Integer sym : alphabet) {
+            final Word<Integer> word = Word.fromLetter(sym).concat(allSymbols.prefix(sym));
+            Assert.assertEquals(builder.lookup(word), target.computeOutput(word));
+        }
+        Assert.assertNull(builder.findSeparatingWord(target, alphabet, true));
+    }
+}
@@ -0,0 +1,182 @@
+/* Copyright (C) 2013-2022 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.incremental.mealy;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import net.automatalib.automata.transducers.impl.compact.CompactMealy;
+import net.automatalib.commons.util.random.RandomUtil;
+import net.automatalib.incremental.ConflictException;
+import net.automatalib.incremental.mealy.tree.ConcurrentIncrementalMealyTreeBuilder;
+import net.automatalib.util.automata.random.RandomAutomata;
+import net.automatalib.words.Alphabet;
+import net.automatalib.words.Word;
+import net.automatalib.words.impl.Alphabets;
+import net.automatalib.words.impl.GrowingMapAlphabet;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+@Test
+public class ConcurrentIncrementalMealyTreeBuilderTest extends AbstractIncrementalMealyBuilderTest {
+
+    private static final int NUM_THREADS = 8;
+    private static final int NUM_WORDS = 2000;
+
+    @Override
+    protected <I, O> IncrementalMealyBuilder<I, O> createIncrementalMealyBuilder(Alphabet<I> alphabet) {
+        return new ConcurrentIncrementalMealyTreeBuilder<>(alphabet);
+    }
+
+    @Test
+    public void testConcurrentInsertAndLookup() throws InterruptedException, ExecutionException {
+        final Random random = new Random(42);
+        final Alphabet<Integer> alphabet = Alphabets.integers(0, 2);
+        final CompactMealy<Integer, Character> target =
+                RandomAutomata.randomMealy(random, 20, alphabet, Alphabets.characters('a', 'c'));
+        final List<Word<Integer>> words = new ArrayList<>(NUM_WORDS);
+
+        final List<Integer> symbols = new ArrayList<>(alphabet);
+        for (int i = 0; i < NUM_WORDS; i++) {
+            words.add(Word.fromList(RandomUtil.sample(symbols, 1 + random.nextInt(12), random)));
+        }
+
+        final IncrementalMealyBuilder<Integer, Character> builder = createIncrementalMealyBuilder(alphabet);
+        final ExecutorService executor = Executors.newFixedThreadPool(NUM_THREADS);
+
+        try {
+            final List<Future<?>> futures = new ArrayList<>(NUM_THREADS);
+            for (int t = 0; t < NUM_THREADS; t++) {
+                // each thread inserts all words (in a different order) and concurrently checks earlier insertions
+                final List<Word<Integer>> shuffled = new ArrayList<>(words);
+                Collections.shuffle(shuffled, new Random(t));
+                futures.add(executor.submit(() -> {
+                    for (Word<Integer> w : shuffled) {
+                        builder.insert(w, target.computeOutput(w));
+                        Assert.assertEquals(builder.lookup(w), target.computeOutput(w));
+                    }
+                }));
+            }
+
+            for (Future<?> f : futures) {
+                f.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        for (Word<Integer> w : words) {
+            Assert.assertTrue(builder.hasDefinitiveInformation(w));
+            Assert.assertEquals(builder.lookup(w), target.computeOutput(w));
+        }
+        Assert.assertNull(builder.findSeparatingWord(target, alphabet, true));
+    }
+
+    @Test
+    public void testConcurrentConflict() throws InterruptedException, ExecutionException {
+        final Alphabet<Integer> alphabet = Alphabets.integers(0, 1);
+        final Word<Integer> input = Word.fromSymbols(0, 1, 0, 1);
+        final IncrementalMealyBuilder<Integer, Integer> builder = createIncrementalMealyBuilder(alphabet);
+        final ExecutorService executor = Executors.newFixedThreadPool(NUM_THREADS);
+        final AtomicInteger conflicts = new AtomicInteger();
+
+        try {
+            final List<Future<?>> futures = new ArrayList<>(NUM_THREADS);
+            for (int t = 0; t < NUM_THREADS; t++) {
+                final Word<Integer> output = Word.fromSymbols(t, t, t, t);
+                futures.add(executor.submit(() -> {
+                    try {
+                        builder.insert(input, output);
+                    } catch (ConflictException ce) {
+                        conflicts.incrementAndGet();
+                    }
+                }));
+            }
+
+            for (Future<?> f : futures) {
+                f.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        // exactly one output must have won
+        Assert.assertEquals(conflicts.get(), NUM_THREADS - 1);
+
+        final Word<Integer> winner = builder.lookup(input);
+        Assert.assertEquals(winner.size(), input.size());
+        Assert.assertEquals(winner, Word.fromSymbols(winner.firstSymbol(),
+                                                     winner.firstSymbol(),
+                                                     winner.firstSymbol(),
+                                                     winner.firstSymbol()));
+    }
+
+    @Test
+    public void testConcurrentAlphabetGrowth() throws InterruptedException, ExecutionException {
+        final Random random = new Random(42);
+        final GrowingMapAlphabet<Integer> alphabet = new GrowingMapAlphabet<>(Alphabets.integers(0, 1));
+        final CompactMealy<Integer, Character> target =
+                RandomAutomata.randomMealy(random, 20, Alphabets.integers(0, 9), Alphabets.characters('a', 'c'));
+        final List<Word<Integer>> words = new ArrayList<>(NUM_WORDS);
+
+        final List<Integer> symbols = new ArrayList<>(alphabet);
+        for (int i = 0; i < NUM_WORDS; i++) {
+            words.add(Word.fromList(RandomUtil.sample(symbols, 1 + random.nextInt(12), random)));
+        }
+
+        final IncrementalMealyBuilder<Integer, Character> builder = createIncrementalMealyBuilder(alphabet);
+        final ExecutorService executor = Executors.newFixedThreadPool(NUM_THREADS);
+
+        try {
+            final List<Future<?>> futures = new ArrayList<>(NUM_THREADS);
+            for (int t = 0; t < NUM_THREADS; t++) {
+                final List<Word<Integer>> shuffled = new ArrayList<>(words);
+                Collections.shuffle(shuffled, new Random(t));
+                futures.add(executor.submit(() -> {
+                    // the alphabet grows concurrently to the insertions
+                    for (Word<Integer> w : shuffled) {
+                        builder.insert(w, target.computeOutput(w));
+                    }
+                }));
+            }
+
+            for (int sym = 2; sym < 10; sym++) {
+                builder.addAlphabetSymbol(sym);
+            }
+
+            for (Future<?> f : futures) {
+                f.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        for (Word<Integer> w : words) {
+            Assert.assertEquals(builder.lookup(w), target.computeOutput(w));
+            final Word<Integer> extended = w.append(9);
+            builder.insert(extended, target.computeOutput(extended));
+            Assert.assertEquals(builder.lookup(extended), target.computeOutput(extended));
+        }
+        Assert.assertNull(builder.findSeparatingWord(target, symbols, true));
+    }
+}
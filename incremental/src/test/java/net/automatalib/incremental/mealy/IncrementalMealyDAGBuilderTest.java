@@ -16,14 +16,19 @@
 package net.automatalib.incremental.mealy;
 
 import java.io.IOException;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import net.automatalib.commons.util.Pair;
+import net.automatalib.incremental.ConflictException;
 import net.automatalib.incremental.IntegrationUtil;
 import net.automatalib.incremental.IntegrationUtil.ParsedTraces;
 import net.automatalib.incremental.mealy.dag.IncrementalMealyDAGBuilder;
 import net.automatalib.words.Alphabet;
 import net.automatalib.words.Word;
+import net.automatalib.words.impl.Alphabets;
+import net.automatalib.words.impl.GrowingMapAlphabet;
 import org.testng.Assert;
 import org.testng.annotations.Test;
 
@@ -76,5 +81,69 @@ public class IncrementalMealyDAGBuilderTest extends AbstractIncrementalMealyBuil
 
             Assert.assertEquals(value, cache.lookup(input));
         }
+
+        // test batch insertion
+        final Map<Word<Integer>, Word<Integer>> batch = new HashMap<>();
+        for (Pair<Word<Integer>, Word<Integer>> trace : traces) {
+            batch.put(trace.getFirst(), trace.getSecond());
+        }
+
+        final IncrementalMealyBuilder<Integer, Integer> batchCache = createIncrementalMealyBuilder(alphabet);
+        batchCache.insertAll(batch);
+
+        for (Pair<Word<Integer>, Word<Integer>> trace : traces) {
+            Assert.assertEquals(trace.getSecond(), batchCache.lookup(trace.getFirst()));
+        }
+        Assert.assertEquals(batchCache.asGraph().getNodes().size(), cache.asGraph().getNodes().size());
+    }
+
+    @Test
+    public void testInsertAllConflict() {
+        final Alphabet<Character> alphabet = Alphabets.characters('a', 'c');
+        final IncrementalMealyBuilder<Character, Character> builder = createIncrementalMealyBuilder(alphabet);
+        final Word<Character> w1 = Word.fromString("abc");
+        builder.insert(w1, Word.fromString("xyz"));
+
+        final int numNodes = builder.asGraph().getNodes().size();
+
+        // conflict within the batch
+        final Map<Word<Character>, Word<Character>> batch1 = new HashMap<>();
+        batch1.put(Word.fromString("bca"), Word.fromString("xyz"));
+        batch1.put(Word.fromString("bcb"), Word.fromString("xzz"));
+        Assert.assertThrows(ConflictException.class, () -> builder.insertAll(batch1));
+
+        // conflict with existing information
+        final Map<Word<Character>, Word<Character>> batch2 = new HashMap<>();
+        batch2.put(Word.fromString("c"), Word.fromString("x"));
+        batch2.put(Word.fromString("abb"), Word.fromString("xzz"));
+        Assert.assertThrows(ConflictException.class, () -> builder.insertAll(batch2));
+
+        // nothing should have been inserted
+        Assert.assertEquals(builder.asGraph().getNodes().size(), numNodes);
+        Assert.assertFalse(builder.hasDefinitiveInformation(Word.fromString("bca")));
+        Assert.assertFalse(builder.hasDefinitiveInformation(Word.fromString("c")));
+        Assert.assertEquals(builder.lookup(w1), Word.fromString("xyz"));
+    }
+
+    @Test
+    public void testMinimalityAfterAlphabetGrowth() {
+        final Map<Word<Character>, Word<Character>> words = new HashMap<>();
+        words.put(Word.fromString("ab"), Word.fromString("xy"));
+        words.put(Word.fromString("ba"), Word.fromString("yx"));
+        words.put(Word.fromString("cab"), Word.fromString("zxy"));
+
+        final IncrementalMealyBuilder<Character, Character> grown =
+                createIncrementalMealyBuilder(new GrowingMapAlphabet<>(Alphabets.characters('a', 'b')));
+        grown.insert(Word.fromString("ab"), words.get(Word.fromString("ab")));
+        grown.insert(Word.fromString("ba"), words.get(Word.fromString("ba")));
+        grown.addAlphabetSymbol('c');
+        grown.insert(Word.fromString("cab"), words.get(Word.fromString("cab")));
+
+        final IncrementalMealyBuilder<Character, Character> fresh =
+                createIncrementalMealyBuilder(Alphabets.characters('a', 'c'));
+        fresh.insertAll(words);
+
+        // states created before and after the alphabet growth need to be merged as well
+        Assert.assertEquals(grown.asGraph().getNodes().size(), fresh.asGraph().getNodes().size());
     }
 }
@@ -0,0 +1,178 @@
+/* Copyright (C) 2013-2022 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.incremental.mealy;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import net.automatalib.automata.transducers.impl.compact.CompactMealy;
+import net.automatalib.commons.util.random.RandomUtil;
+import net.automatalib.incremental.ConflictException;
+import net.automatalib.incremental.mealy.tree.PersistentIncrementalMealyTreeBuilder;
+import net.automatalib.util.automata.random.RandomAutomata;
+import net.automatalib.words.Alphabet;
+import net.automatalib.words.Word;
+import net.automatalib.words.impl.Alphabets;
+import net.automatalib.words.impl.GrowingMapAlphabet;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.Test;
+
+@Test
+public class PersistentIncrementalMealyTreeBuilderTest extends AbstractIncrementalMealyBuilderTest {
+
+    private final List<Closeable> builders = new ArrayList<>();
+    private final List<Path> directories = new ArrayList<>();
+
+    @Override
+    protected <I, O> IncrementalMealyBuilder<I, O> createIncrementalMealyBuilder(Alphabet<I> alphabet) {
+        try {
+            // the builders of the generic tests are never re-opened, hence their outputs are never decoded
+            final PersistentIncrementalMealyTreeBuilder<I, O> builder =
+                    PersistentIncrementalMealyTreeBuilder.open(createDirectory(),
+                                                               alphabet,
+                                                               o -> encode(String.valueOf(o)),
+                                                               bytes -> {
+                                                                   throw new UnsupportedOperationException();
+                                                               });
+            builders.add(builder);
+            return builder;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void cleanUp() throws IOException {
+        for (Closeable builder : builders) {
+            builder.close();
+        }
+        builders.clear();
+
+        for (Path directory : directories) {
+            try (Stream<Path> files = Files.walk(directory)) {
+                for (Path file : (Iterable<Path>) files.sorted(Comparator.reverseOrder())::iterator) {
+                    Files.delete(file);
+                }
+            }
+        }
+        directories.clear();
+    }
+
+    @Test
+    public void testReopen() throws IOException {
+        final Random random = new Random(42);
+        final Path directory = createDirectory();
+        final GrowingMapAlphabet<Integer> alphabet = new GrowingMapAlphabet<>(Alphabets.integers(0, 2));
+        final CompactMealy<Integer, String> target =
+                RandomAutomata.randomMealy(random, 50, Alphabets.integers(0, 3), Alphabets.fromArray("a", "b", "c"));
+
+        final List<Word<Integer>> words = new ArrayList<>();
+        final int numNodes;
+
+        try (PersistentIncrementalMealyTreeBuilder<Integer, String> builder = open(directory, alphabet)) {
+            final List<Integer> symbols = new ArrayList<>(alphabet);
+            for (int i = 0; i < 500; i++) {
+                final Word<Integer> word = Word.fromList(RandomUtil.sample(symbols, random.nextInt(15), random));
+                words.add(word);
+                builder.insert(word, target.computeOutput(word));
+            }
+            numNodes = builder.getNumNodes();
+        }
+
+        // re-open with a grown alphabet
+        alphabet.addSymbol(3);
+        try (PersistentIncrementalMealyTreeBuilder<Integer, String> builder = open(directory, alphabet)) {
+            Assert.assertEquals(builder.getNumNodes(), numNodes);
+            for (Word<Integer> w : words) {
+                Assert.assertEquals(builder.lookup(w), target.computeOutput(w));
+            }
+
+            final List<Integer> symbols = new ArrayList<>(alphabet);
+            for (int i = 0; i < 500; i++) {
+                final Word<Integer> word = Word.fromList(RandomUtil.sample(symbols, random.nextInt(15), random));
+                words.add(word);
+                builder.insert(word, target.computeOutput(word));
+            }
+
+            final Word<Integer> first = words.get(0);
+            final Word<String> conflicting = Word.fromList(invert(target.computeOutput(first)));
+            if (!first.isEmpty()) {
+                Assert.assertThrows(ConflictException.class, () -> builder.insert(first, conflicting));
+            }
+        }
+
+        try (PersistentIncrementalMealyTreeBuilder<Integer, String> builder = open(directory, alphabet)) {
+            for (Word<Integer> w : words) {
+                Assert.assertEquals(builder.lookup(w), target.computeOutput(w));
+            }
+            Assert.assertNull(builder.findSeparatingWord(target, alphabet, false));
+        }
+
+        // smaller alphabets are not supported
+        Assert.assertThrows(IllegalArgumentException.class,
+                            () -> open(directory, Alphabets.integers(0, 2)));
+    }
+
+    @Test
+    public void testInvalidDirectory() throws IOException {
+        final Path directory = createDirectory();
+        Files.write(directory.resolve("meta.bin"), new byte[] {1, 2, 3, 4});
+
+        Assert.assertThrows(IOException.class,
+                            () -> open(directory, Alphabets.integers(0, 2)));
+    }
+
+    private static PersistentIncrementalMealyTreeBuilder<Integer, String> open(Path directory,
+                                                                               Alphabet<Integer> alphabet)
+            throws IOException {
+        return PersistentIncrementalMealyTreeBuilder.open(directory,
+                                                          alphabet,
+                                                          PersistentIncrementalMealyTreeBuilderTest::encode,
+                                                          PersistentIncrementalMealyTreeBuilderTest::decode);
+    }
+
+    private static byte[] encode(String output) {
+        return output.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String decode(byte[] bytes) {
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static List<String> invert(Word<String> word) {
+        final List<String> result = new ArrayList<>(word.size());
+        for (String s : word) {
+            result.add(s + s);
+        }
+        return result;
+    }
+
+    private Path createDirectory() throws IOException {
+        final Path directory = Files.createTempDirectory("mealy-cache");
+        directories.add(directory);
+        return directory;
+    }
+}
@@ -19,6 +19,7 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 
 import net.automatalib.automata.Automaton;
 import net.automatalib.automata.DeterministicAutomaton;
@@ -32,6 +33,7 @@ import net.automatalib.commons.util.collections.CollectionsUtil;
 import net.automatalib.graphs.Graph;
 import net.automatalib.graphs.UniversalGraph;
 import net.automatalib.util.automata.cover.Covers;
+import net.automatalib.util.automata.equivalence.BatchEquivalenceTest;
 import net.automatalib.util.automata.equivalence.CharacterizingSets;
 import net.automatalib.util.automata.equivalence.DeterministicEquivalenceTest;
 import net.automatalib.util.automata.equivalence.NearLinearEquivalenceTest;
@@ -42,6 +44,7 @@ import net.automatalib.util.minimizer.BlockMap;
 import net.automatalib.util.minimizer.MinimizationResult;
 import net.automatalib.util.minimizer.Minimizer;
 import net.automatalib.util.ts.TS;
+import net.automatalib.words.Alphabet;
 import net.automatalib.words.SPAAlphabet;
 import net.automatalib.words.VPDAlphabet;
 import net.automatalib.words.Word;
@@ -182,6 +185,31 @@ public class Automata extends TS {
         return DeterministicEquivalenceTest.findSeparatingWordLarge(reference, other, inputs);
     }
 
+    /**
+     * Finds a shortest separating word for two automata by distributing the exploration of their product among the
+     * threads of the {@link ForkJoinPool#commonPool() common pool}. The returned word is identical to the one of {@link
+     * #findShortestSeparatingWord(UniversalDeterministicAutomaton, UniversalDeterministicAutomaton, Collection)}.
+     *
+     * @param <I>
+     *         input symbol type
+     * @param reference
+     *         the one automaton to consider
+     * @param other
+     *         the other automaton to consider
+     * @param inputs
+     *         the input symbols to consider
+     *
+     * @return a shortest separating word, or {@code null} if no such word could be found.
+     *
+     * @see DeterministicEquivalenceTest#findSeparatingWordParallel(UniversalDeterministicAutomaton,
+     * UniversalDeterministicAutomaton, Alphabet, ForkJoinPool)
+     */
+    public static <I> @Nullable Word<I> findShortestSeparatingWordParallel(UniversalDeterministicAutomaton<?, I, ?, ?, ?> reference,
+                                                                           UniversalDeterministicAutomaton<?, I, ?, ?, ?> other,
+                                                                           Alphabet<I> inputs) {
+        return DeterministicEquivalenceTest.findSeparatingWordParallel(reference, other, inputs);
+    }
+
     public static <I> boolean testEquivalence(UniversalDeterministicAutomaton<?, I, ?, ?, ?> reference,
                                               UniversalDeterministicAutomaton<?, I, ?, ?, ?> other,
                                               Collection<? extends I> inputs) {
@@ -221,6 +249,30 @@ public class Automata extends TS {
         return NearLinearEquivalenceTest.findSeparatingWord(reference, other, inputs);
     }
 
+    /**
+     * Finds a separating word for a reference automaton and each of the given candidate automata. The reference
+     * automaton is pre-processed only once for all candidates.
+     *
+     * @param <I>
+     *         input symbol type
+     * @param reference
+     *         the reference automaton
+     * @param candidates
+     *         the candidate automata
+     * @param inputs
+     *         the input symbols to consider
+     *
+     * @return a list containing for each candidate (in iteration order) a separating word, or {@code null} if the
+     * respective candidate is equivalent to the reference
+     *
+     * @see BatchEquivalenceTest
+     */
+    public static <I> List<@Nullable Word<I>> findSeparatingWords(UniversalDeterministicAutomaton<?, I, ?, ?, ?> reference,
+                                                                  Collection<? extends UniversalDeterministicAutomaton<?, I, ?, ?, ?>> candidates,
+                                                                  Alphabet<I> inputs) {
+        return BatchEquivalenceTest.findSeparatingWords(reference, candidates, inputs);
+    }
+
     /**
      * Finds a separating word for two states in an automaton. A separating word is a word that exposes a difference
      * (differing state or transition properties, or a transition undefined in only one of the paths) between the two
@@ -0,0 +1,205 @@
+/* Copyright (C) 2013-2022 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.util.automata.conformance;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+import net.automatalib.words.Word;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Base class for {@link Spliterator}s over the test words of conformance testing methods that combine a set of
+ * (access sequence and middle part) prefixes with sets of characterizing suffixes.
+ * <p>
+ * The test space is organized in indexed <i>rows</i>. Each row consists of a single prefix word and a list of suffixes,
+ * and contributes one test word per suffix. Splitting (see {@link #trySplit()}) and sharding (see {@link #shard(int,
+ * int)}) only partition the range of row indices, which makes the resulting slices disjoint and independent of the
+ * order in which (or the thread by which) they are processed. The encounter order of a spliterator matches the order
+ * of the corresponding iterator-based implementation.
+ * <p>
+ * Implementations only access immutable (or thread-safe) data once constructed and therefore may be traversed
+ * concurrently, e.g. via {@link java.util.stream.StreamSupport#stream(Spliterator, boolean) parallel streams}, as
+ * long as the automaton of the test suite is not modified.
+ *
+ * @param <I>
+ *         input symbol type
+ *
+ * @author agent
+ */
+public abstract class AbstractTestsSpliterator<I> implements Spliterator<Word<I>> {
+
+    private final long fence;
+    private final boolean sized;
+
+    private long row;
+    private @Nullable Word<I> rowPrefix;
+    private List<Word<I>> rowSuffixes = Collections.emptyList();
+    private int suffixIdx;
+
+    /**
+     * Constructor.
+     *
+     * @param origin
+     *         the (inclusive) index of the first row covered by this spliterator
+     * @param fence
+     *         the (exclusive) index of the last row covered by this spliterator
+     * @param sized
+     *         whether {@link #estimateTests(long, long)} computes the exact number of test words
+     */
+    protected AbstractTestsSpliterator(long origin, long fence, boolean sized) {
+        this.row = origin;
+        this.fence = fence;
+        this.sized = sized;
+    }
+
+    /**
+     * Returns the prefix of all test words of the given row.
+     *
+     * @param row
+     *         the row index
+     *
+     * @return the prefix of all test words of the given row
+     */
+    protected abstract Word<I> getRowPrefix(long row);
+
+    /**
+     * Returns the suffixes of the given row. The returned list must not be empty.
+     *
+     * @param row
+     *         the row index
+     * @param prefix
+     *         the prefix of the row as returned by {@link #getRowPrefix(long)}
+     *
+     * @return the suffixes of the given row
+     */
+    protected abstract List<Word<I>> getRowSuffixes(long row, Word<I> prefix);
+
+    /**
+     * Returns the (estimated) number of test words of the rows in the given range.
+     *
+     * @param origin
+     *         the (inclusive) index of the first row
+     * @param fence
+     *         the (exclusive) index of the last row
+     *
+     * @return the (estimated) number of test words
+     */
+    protected abstract long estimateTests(long origin, long fence);
+
+    /**
+     * Creates a spliterator that covers the rows in the given range and shares the (immutable) test data of this
+     * spliterator.
+     *
+     * @param origin
+     *         the (inclusive) index of the first row
+     * @param fence
+     *         the (exclusive) index of the last row
+     *
+     * @return the spliterator
+     */
+    protected abstract AbstractTestsSpliterator<I> createSpliterator(long origin, long fence);
+
+    /**
+     * Returns a spliterator for the {@code index}-th of {@code numShards} (almost) equally sized slices of the rows of
+     * this spliterator that have not been traversed yet. This spliterator is not modified. Hence, a worker that knows
+     * its index and the total number of workers can construct its slice of the test space independently of other
+     * workers.
+     *
+     * @param index
+     *         the index of the shard, in the range {@code [0, numShards)}
+     * @param numShards
+     *         the total number of shards
+     *
+     * @return the spliterator covering the requested shard
+     *
+     * @throws IllegalArgumentException
+     *         if the shard index is not within the specified bounds
+     * @throws IllegalStateException
+     *         if this spliterator is currently in the middle of traversing a row
+     */
+    public AbstractTestsSpliterator<I> shard(int index, int numShards) {
+        if (numShards <= 0 || index < 0 || index >= numShards) {
+            throw new IllegalArgumentException("Invalid shard " + index + " of " + numShards);
+        }
+        if (isTraversingRow()) {
+            throw new IllegalStateException("Cannot shard a spliterator while traversing a row");
+        }
+
+        final long numRows = fence - row;
+        final long shardSize = numRows / numShards;
+        final long remainder = numRows % numShards;
+
+        // the first (numRows % numShards) shards receive an additional row
+        final long lo = row + index * shardSize + Math.min(index, remainder);
+        final long hi = lo + shardSize + (index < remainder ? 1 : 0);
+
+        return createSpliterator(lo, hi);
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super Word<I>> action) {
+        while (!isTraversingRow()) {
+            if (row >= fence) {
+                return false;
+            }
+            final Word<I> prefix = getRowPrefix(row);
+            rowPrefix = prefix;
+            rowSuffixes = getRowSuffixes(row, prefix);
+            suffixIdx = 0;
+            row++;
+        }
+
+        assert rowPrefix != null;
+        action.accept(rowPrefix.concat(rowSuffixes.get(suffixIdx++)));
+        return true;
+    }
+
+    @Override
+    public @Nullable AbstractTestsSpliterator<I> trySplit() {
+        // only split at row boundaries so that the returned spliterator covers a prefix of the encounter order
+        if (isTraversingRow()) {
+            return null;
+        }
+
+        final long lo = row;
+        final long mid = (lo + fence) >>> 1;
+
+        if (mid <= lo) {
+            return null;
+        }
+
+        this.row = mid;
+        return createSpliterator(lo, mid);
+    }
+
+    @Override
+    public long estimateSize() {
+        return (rowSuffixes.size() - suffixIdx) + estimateTests(row, fence);
+    }
+
+    @Override
+    public int characteristics() {
+        final int characteristics = Spliterator.ORDERED | Spliterator.NONNULL | Spliterator.IMMUTABLE;
+        return sized ? characteristics | Spliterator.SIZED | Spliterator.SUBSIZED : characteristics;
+    }
+
+    private boolean isTraversingRow() {
+        return suffixIdx < rowSuffixes.size();
+    }
+}
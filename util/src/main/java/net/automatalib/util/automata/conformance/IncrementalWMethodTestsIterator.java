@@ -16,15 +16,21 @@
 package net.automatalib.util.automata.conformance;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
 
 import net.automatalib.automata.UniversalDeterministicAutomaton;
 import net.automatalib.util.automata.Automata;
 import net.automatalib.util.automata.cover.Covers;
 import net.automatalib.words.Alphabet;
 import net.automatalib.words.Word;
+import net.automatalib.words.WordBuilder;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
 /**
@@ -105,6 +111,140 @@ public class IncrementalWMethodTestsIterator<I> implements Iterator<Word<I>> {
         return result;
     }
 
+    /**
+     * Returns a {@link java.util.Spliterator} over the test words that have not been returned by this iterator yet.
+     * The spliterator operates on a snapshot of the current state of this iterator, i.e. neither traversing the
+     * spliterator affects this iterator nor do subsequent calls to {@link #next()} or {@link
+     * #update(UniversalDeterministicAutomaton)} affect the spliterator.
+     * <p>
+     * The spliterator covers the same set of test words as the remaining iterations of this iterator. However, its
+     * encounter order is sorted by the {@link Word#canonicalComparator(java.util.Comparator) canonical order} of the
+     * middle parts, then by the prefix indices and then by the suffix indices, whereas this iterator interleaves
+     * pending (batches of) test words by means of a priority queue. Test words that are covered by several pending
+     * batches are only returned once.
+     * <p>
+     * The rows of the spliterator are computed on demand. Its memory consumption only depends on the number of pending
+     * batches and prefixes, but not on the number of middle parts.
+     *
+     * @return a spliterator over the remaining test words
+     *
+     * @see AbstractTestsSpliterator
+     */
+    public AbstractTestsSpliterator<I> spliterator() {
+        final int numPrefixes = prefixes.size();
+        final int alphabetSize = alphabet.size();
+        final long numMiddles = countMiddles(alphabetSize, maxDepth);
+
+        // group the pending items by the canonical rank of their current middle part
+        final SortedMap<Long, List<Item<I>>> itemsByRank = new TreeMap<>();
+        for (Item<I> item : itemQueue) {
+            if (item.middle.length() <= maxDepth) {
+                itemsByRank.computeIfAbsent(rank(item.middle, alphabet), r -> new ArrayList<>()).add(item);
+            }
+        }
+
+        // Between the ranks of the items, the first pending suffix index of each prefix does not change. Hence, the
+        // rows can be described by a few segments of middle parts with identical first pending suffixes.
+        final TestsSpliterator.Builder<I> builder =
+                new TestsSpliterator.Builder<>(prefixes, suffixes, alphabet, alphabetSize);
+        final int[] firstSuffixes = new int[numPrefixes];
+        Arrays.fill(firstSuffixes, -1);
+        long middle = 0;
+
+        for (Map.Entry<Long, List<Item<I>>> e : itemsByRank.entrySet()) {
+            final long rank = e.getKey();
+            builder.addSegment(middle, rank, firstSuffixes);
+
+            final int[] current = firstSuffixes.clone();
+            for (Item<I> item : e.getValue()) {
+                for (int p = item.prefixIdx; p < item.maxPrefix; p++) {
+                    updateFirstSuffix(current, p, p == item.prefixIdx ? item.suffixIdx : item.minSuffix);
+                }
+                // subsequent middle parts are combined with all prefixes and suffixes of the item
+                for (int p = item.minPrefix; p < item.maxPrefix; p++) {
+                    updateFirstSuffix(firstSuffixes, p, item.minSuffix);
+                }
+            }
+            builder.addSegment(rank, rank + 1, current);
+            middle = rank + 1;
+        }
+        builder.addSegment(middle, numMiddles, firstSuffixes);
+
+        return builder.build();
+    }
+
+    private static void updateFirstSuffix(int[] firstSuffixes, int prefix, int suffix) {
+        if (firstSuffixes[prefix] < 0 || suffix < firstSuffixes[prefix]) {
+            firstSuffixes[prefix] = suffix;
+        }
+    }
+
+    /**
+     * Returns the number of middle parts (i.e. words over an alphabet of the given size) of length at most {@code
+     * maxDepth}.
+     */
+    private static long countMiddles(int alphabetSize, int maxDepth) {
+        if (alphabetSize <= 1) {
+            return alphabetSize == 0 ? 1 : (long) maxDepth + 1;
+        }
+
+        long result = 0;
+        long count = 1;
+        for (int i = 0; i <= maxDepth; i++) {
+            result = Math.addExact(result, count);
+            if (i < maxDepth) {
+                count = Math.multiplyExact(count, alphabetSize);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the index of the given word in the canonical order of all words over the given alphabet.
+     */
+    private static <I> long rank(Word<I> word, Alphabet<I> alphabet) {
+        final int alphabetSize = alphabet.size();
+        long offset = 0;
+        long count = 1;
+        long value = 0;
+
+        for (I sym : word) {
+            offset += count;
+            count *= alphabetSize;
+            value = value * alphabetSize + alphabet.getSymbolIndex(sym);
+        }
+
+        return offset + value;
+    }
+
+    /**
+     * Returns the word with the given index in the canonical order of all words over the given alphabet (the inverse of
+     * {@link #rank(Word, Alphabet)}).
+     */
+    private static <I> Word<I> unrank(long rank, Alphabet<I> alphabet, int alphabetSize) {
+        long value = rank;
+        long count = 1;
+        int length = 0;
+
+        while (value >= count) {
+            value -= count;
+            count *= alphabetSize;
+            length++;
+        }
+
+        final int[] symIdx = new int[length];
+        for (int i = length - 1; i >= 0; i--) {
+            symIdx[i] = (int) (value % alphabetSize);
+            value /= alphabetSize;
+        }
+
+        final WordBuilder<I> wb = new WordBuilder<>(length);
+        for (int idx : symIdx) {
+            wb.append(alphabet.getSymbol(idx));
+        }
+        return wb.toWord();
+    }
+
     private Word<I> assembleWord(Item<I> item) {
         Word<I> prefix = prefixes.get(item.prefixIdx);
         if (suffixes.isEmpty()) {
@@ -184,4 +324,204 @@ public class IncrementalWMethodTestsIterator<I> implements Iterator<Word<I>> {
         }
     }
 
+    /**
+     * The spliterator over the pending test words. Its rows are grouped into segments, i.e. ranges of (canonical ranks
+     * of) middle parts that share the same (non-empty) list of pending prefixes and their first pending suffixes. Each
+     * segment contributes one row per middle part and pending prefix.
+     */
+    private static final class TestsSpliterator<I> extends AbstractTestsSpliterator<I> {
+
+        private final List<Word<I>> prefixes;
+        private final List<Word<I>> suffixes;
+        private final Alphabet<I> alphabet;
+        private final int alphabetSize;
+        private final Segment[] segments;
+        private final long numRows;
+        private final long numTests;
+
+        private TestsSpliterator(List<Word<I>> prefixes,
+                                 List<Word<I>> suffixes,
+                                 Alphabet<I> alphabet,
+                                 int alphabetSize,
+                                 Segment[] segments,
+                                 long numRows,
+                                 long numTests,
+                                 long origin,
+                                 long fence) {
+            super(origin, fence, true);
+            this.prefixes = prefixes;
+            this.suffixes = suffixes;
+            this.alphabet = alphabet;
+            this.alphabetSize = alphabetSize;
+            this.segments = segments;
+            this.numRows = numRows;
+            this.numTests = numTests;
+        }
+
+        @Override
+        protected Word<I> getRowPrefix(long row) {
+            final Segment segment = findSegment(row);
+            final long offset = row - segment.firstRow;
+            final int numPrefixes = segment.prefixes.length;
+            final Word<I> middle = unrank(segment.firstMiddle + offset / numPrefixes, alphabet, alphabetSize);
+            return prefixes.get(segment.prefixes[(int) (offset % numPrefixes)]).concat(middle);
+        }
+
+        @Override
+        protected List<Word<I>> getRowSuffixes(long row, Word<I> prefix) {
+            if (suffixes.isEmpty()) {
+                return Collections.singletonList(Word.epsilon());
+            }
+            final Segment segment = findSegment(row);
+            final long offset = row - segment.firstRow;
+            return suffixes.subList(segment.firstSuffixes[(int) (offset % segment.prefixes.length)], suffixes.size());
+        }
+
+        @Override
+        protected long estimateTests(long origin, long fence) {
+            return testsBefore(fence) - testsBefore(origin);
+        }
+
+        @Override
+        protected TestsSpliterator<I> createSpliterator(long origin, long fence) {
+            return new TestsSpliterator<>(prefixes,
+                                          suffixes,
+                                          alphabet,
+                                          alphabetSize,
+                                          segments,
+                                          numRows,
+                                          numTests,
+                                          origin,
+                                          fence);
+        }
+
+        private long testsBefore(long row) {
+            if (row >= numRows) {
+                return numTests;
+            }
+            final Segment segment = findSegment(row);
+            final long offset = row - segment.firstRow;
+            final int numPrefixes = segment.prefixes.length;
+            return segment.firstTest + (offset / numPrefixes) * segment.testOffsets[numPrefixes] +
+                   segment.testOffsets[(int) (offset % numPrefixes)];
+        }
+
+        private Segment findSegment(long row) {
+            int lo = 0;
+            int hi = segments.length - 1;
+
+            // find the last segment whose first row is not greater than the given row
+            while (lo < hi) {
+                final int mid = (lo + hi + 1) >>> 1;
+                if (segments[mid].firstRow <= row) {
+                    lo = mid;
+                } else {
+                    hi = mid - 1;
+                }
+            }
+
+            return segments[lo];
+        }
+
+        private static final class Segment {
+
+            private final long firstMiddle;
+            private final long firstRow;
+            private final long firstTest;
+            private final int[] prefixes;
+            private final int[] firstSuffixes;
+            // the number of test words of a middle part before each prefix of this segment
+            private final long[] testOffsets;
+
+            Segment(long firstMiddle,
+                    long firstRow,
+                    long firstTest,
+                    int[] prefixes,
+                    int[] firstSuffixes,
+                    int numSuffixes) {
+                this.firstMiddle = firstMiddle;
+                this.firstRow = firstRow;
+                this.firstTest = firstTest;
+                this.prefixes = prefixes;
+                this.firstSuffixes = firstSuffixes;
+                this.testOffsets = new long[prefixes.length + 1];
+
+                for (int i = 0; i < prefixes.length; i++) {
+                    // without suffixes, each row contributes a single test word
+                    testOffsets[i + 1] = testOffsets[i] + Math.max(numSuffixes - firstSuffixes[i], 1);
+                }
+            }
+        }
+
+        private static final class Builder<I> {
+
+            private final List<Word<I>> prefixes;
+            private final List<Word<I>> suffixes;
+            private final Alphabet<I> alphabet;
+            private final int alphabetSize;
+            private final List<Segment> segments = new ArrayList<>();
+            private long numRows;
+            private long numTests;
+
+            Builder(List<Word<I>> prefixes, List<Word<I>> suffixes, Alphabet<I> alphabet, int alphabetSize) {
+                this.prefixes = new ArrayList<>(prefixes);
+                this.suffixes = new ArrayList<>(suffixes);
+                this.alphabet = alphabet;
+                this.alphabetSize = alphabetSize;
+            }
+
+            void addSegment(long firstMiddle, long lastMiddle, int[] firstSuffixes) {
+                if (firstMiddle >= lastMiddle) {
+                    return;
+                }
+
+                int numPending = 0;
+                for (int s : firstSuffixes) {
+                    if (s >= 0) {
+                        numPending++;
+                    }
+                }
+
+                if (numPending == 0) {
+                    return;
+                }
+
+                final int[] pendingPrefixes = new int[numPending];
+                final int[] pendingSuffixes = new int[numPending];
+                int i = 0;
+                for (int p = 0; p < firstSuffixes.length; p++) {
+                    if (firstSuffixes[p] >= 0) {
+                        pendingPrefixes[i] = p;
+                        pendingSuffixes[i] = firstSuffixes[p];
+                        i++;
+                    }
+                }
+
+                final Segment segment =
+                        new Segment(firstMiddle, numRows, numTests, pendingPrefixes, pendingSuffixes, suffixes.size());
+                final long numSegmentMiddles = lastMiddle - firstMiddle;
+                segments.add(segment);
+                numRows = Math.addExact(numRows, Math.multiplyExact(numSegmentMiddles, numPending));
+                numTests = Math.addExact(numTests,
+                                         Math.multiplyExact(numSegmentMiddles, segment.testOffsets[numPending]));
+            }
+
+            TestsSpliterator<I> build() {
+                if (segments.isEmpty()) {
+                    // provide a (never accessed) segment, so that segment lookups do not need to handle this case
+                    segments.add(new Segment(0, 0, 0, new int[1], new int[1], suffixes.size()));
+                }
+                return new TestsSpliterator<>(prefixes,
+                                              suffixes,
+                                              alphabet,
+                                              alphabetSize,
+                                              segments.toArray(new Segment[0]),
+                                              numRows,
+                                              numTests,
+                                              0,
+                                              numRows);
+            }
+        }
+    }
+
 }
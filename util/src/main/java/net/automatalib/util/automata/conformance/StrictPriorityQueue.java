@@ -211,7 +211,7 @@ public class StrictPriorityQueue<E> extends AbstractQueue<E> {
 
     @Override
     public Iterator<E> iterator() {
-        return Iterators.forArray(storage.array);
+        return Iterators.limit(Iterators.forArray(storage.array), size);
     }
 
     @Override
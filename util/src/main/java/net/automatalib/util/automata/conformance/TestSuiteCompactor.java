@@ -0,0 +1,331 @@
+/* Copyright (C) 2013-2022 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.util.automata.conformance;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import net.automatalib.words.Alphabet;
+import net.automatalib.words.Word;
+import net.automatalib.words.WordBuilder;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * A compaction stage for conformance test suites (e.g., as generated by {@link WMethodTestsIterator} or {@link
+ * WpMethodTestsIterator}) that stores the added tests in a prefix tree.
+ * <p>
+ * Tests that are prefixes of other tests do not need to be executed separately if the system under test reports an
+ * output for every executed input symbol (as, e.g., Mealy machines do), because their outputs are part of the outputs
+ * of the longer tests. This compactor therefore only {@link #iterator() returns} the maximal tests, i.e. the tests
+ * that are not a prefix of another (added) test. Each (distinct) maximal test is returned exactly once, in the
+ * depth-first order of the prefix tree (with symbols ordered by their alphabet index), so that subsequent tests share
+ * their longest possible common prefix, e.g. for a cache of the system under test.
+ * <p>
+ * As each test requires a reset of the system under test, the number of maximal tests is the minimal number of resets
+ * required to cover all added tests. The savings in terms of resets and executed symbols compared to executing all
+ * added tests are available via {@link #getSavedResets()} and {@link #getSavedSymbols()}.
+ *
+ * @param <I>
+ *         input symbol type
+ *
+ * @author agent
+ */
+public class TestSuiteCompactor<I> implements Iterable<Word<I>> {
+
+    private final Alphabet<I> alphabet;
+    private final Node root;
+
+    private boolean empty = true;
+
+    private long numTests;
+    private long numSymbols;
+    private long numMaximalTests;
+    private long numMaximalSymbols;
+
+    public TestSuiteCompactor(Alphabet<I> alphabet) {
+        this.alphabet = alphabet;
+        this.root = new Node(0);
+    }
+
+    /**
+     * Adds all tests of the given iterator to this compactor.
+     *
+     * @param tests
+     *         the tests to add
+     *
+     * @return this compactor
+     */
+    public TestSuiteCompactor<I> addAll(Iterator<? extends Word<I>> tests) {
+        while (tests.hasNext()) {
+            add(tests.next());
+        }
+        return this;
+    }
+
+    /**
+     * Adds the given test to this compactor.
+     *
+     * @param test
+     *         the test to add
+     *
+     * @return {@code true} if the test is a new maximal test (i.e. it is not a prefix of a previously added test),
+     * {@code false} otherwise
+     */
+    public boolean add(Word<I> test) {
+        numTests++;
+        numSymbols += test.length();
+
+        // iterate the test instead of accessing its symbols by index, as the latter may require flattening the word
+        final Iterator<I> iter = test.iterator();
+
+        Node curr = root;
+        int symIdx = -1;
+
+        while (iter.hasNext()) {
+            symIdx = alphabet.getSymbolIndex(iter.next());
+            final Node succ = curr.getChild(symIdx);
+            if (succ == null) {
+                break;
+            }
+            curr = succ;
+            symIdx = -1;
+        }
+
+        if (symIdx < 0) {
+            // the test is a prefix of a previously added test, unless it is the first (empty) test
+            if (empty) {
+                empty = false;
+                numMaximalTests++;
+                return true;
+            }
+            return false;
+        }
+
+        // the test extends a previously added maximal test
+        if (curr.isLeaf() && !empty) {
+            numMaximalTests--;
+            numMaximalSymbols -= curr.depth;
+        }
+
+        while (true) {
+            final Node succ = new Node(curr.depth + 1);
+            curr.addChild(symIdx, succ);
+            curr = succ;
+
+            if (!iter.hasNext()) {
+                break;
+            }
+            symIdx = alphabet.getSymbolIndex(iter.next());
+        }
+
+        empty = false;
+        numMaximalTests++;
+        numMaximalSymbols += curr.depth;
+
+        return true;
+    }
+
+    /**
+     * Returns the number of added tests.
+     *
+     * @return the number of added tests
+     */
+    public long getNumTests() {
+        return numTests;
+    }
+
+    /**
+     * Returns the total number of symbols of all added tests.
+     *
+     * @return the total number of symbols of all added tests
+     */
+    public long getNumSymbols() {
+        return numSymbols;
+    }
+
+    /**
+     * Returns the number of maximal tests, i.e. the number of tests returned by {@link #iterator()}.
+     *
+     * @return the number of maximal tests
+     */
+    public long getNumMaximalTests() {
+        return numMaximalTests;
+    }
+
+    /**
+     * Returns the total number of symbols of all maximal tests.
+     *
+     * @return the total number of symbols of all maximal tests
+     */
+    public long getNumMaximalSymbols() {
+        return numMaximalSymbols;
+    }
+
+    /**
+     * Returns the number of resets saved by executing only the maximal tests instead of all added tests.
+     *
+     * @return the number of saved resets
+     */
+    public long getSavedResets() {
+        return numTests - numMaximalTests;
+    }
+
+    /**
+     * Returns the number of symbols saved by executing only the maximal tests instead of all added tests.
+     *
+     * @return the number of saved symbols
+     */
+    public long getSavedSymbols() {
+        return numSymbols - numMaximalSymbols;
+    }
+
+    /**
+     * Returns an iterator over the maximal tests in depth-first order of the prefix tree. The iterator is not
+     * fail-fast, i.e. the behavior of the iterator is unspecified if tests are added during iteration.
+     *
+     * @return an iterator over the maximal tests
+     */
+    @Override
+    public Iterator<Word<I>> iterator() {
+        return empty ? Collections.emptyIterator() : new MaximalTestsIterator();
+    }
+
+    private final class MaximalTestsIterator implements Iterator<Word<I>> {
+
+        // the current path of the depth-first search and the next child index to explore for each node of the path
+        private final WordBuilder<I> path = new WordBuilder<>();
+        private Node[] nodes = new Node[16];
+        private int[] nextChild = new int[16];
+        private int height;
+
+        private @Nullable Word<I> next;
+
+        MaximalTestsIterator() {
+            nodes[0] = root;
+            height = 1;
+            next = advance();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        @Override
+        public Word<I> next() {
+            final Word<I> result = next;
+            if (result == null) {
+                throw new NoSuchElementException();
+            }
+            next = advance();
+            return result;
+        }
+
+        private @Nullable Word<I> advance() {
+            while (height > 0) {
+                final int top = height - 1;
+                final Node node = nodes[top];
+
+                if (node.isLeaf()) {
+                    // a leaf, i.e. a maximal test. Return it once and backtrack afterwards
+                    if (nextChild[top] == 0) {
+                        nextChild[top] = 1;
+                        return path.toWord();
+                    }
+                    pop();
+                    continue;
+                }
+
+                final int idx = nextChild[top];
+
+                if (idx == node.numChildren) {
+                    pop();
+                    continue;
+                }
+
+                nextChild[top] = idx + 1;
+                push(node.children[idx], node.symbols[idx]);
+            }
+
+            return null;
+        }
+
+        private void push(Node node, int symIdx) {
+            if (height == nodes.length) {
+                nodes = Arrays.copyOf(nodes, height * 2);
+                nextChild = Arrays.copyOf(nextChild, height * 2);
+            }
+            nodes[height] = node;
+            nextChild[height] = 0;
+            height++;
+            path.append(alphabet.getSymbol(symIdx));
+        }
+
+        private void pop() {
+            height--;
+            if (height > 0) {
+                path.truncate(height - 1);
+            }
+        }
+    }
+
+    /**
+     * A node of the prefix tree. As prefix trees of test suites are usually sparse, the children of a node are stored in
+     * (lazily grown) arrays that are sorted by the alphabet index of the respective symbol.
+     */
+    private static final class Node {
+
+        private static final int[] NO_SYMBOLS = {};
+        private static final Node[] NO_CHILDREN = {};
+
+        private final int depth;
+        private int[] symbols = NO_SYMBOLS;
+        private Node[] children = NO_CHILDREN;
+        private int numChildren;
+
+        Node(int depth) {
+            this.depth = depth;
+        }
+
+        boolean isLeaf() {
+            return numChildren == 0;
+        }
+
+        @Nullable Node getChild(int symIdx) {
+            final int pos = Arrays.binarySearch(symbols, 0, numChildren, symIdx);
+            return pos < 0 ? null : children[pos];
+        }
+
+        void addChild(int symIdx, Node child) {
+            final int pos = -Arrays.binarySearch(symbols, 0, numChildren, symIdx) - 1;
+            assert pos >= 0;
+
+            if (numChildren == symbols.length) {
+                final int newCapacity = Math.max(2, numChildren * 2);
+                symbols = Arrays.copyOf(symbols, newCapacity);
+                children = Arrays.copyOf(children, newCapacity);
+            }
+
+            System.arraycopy(symbols, pos, symbols, pos + 1, numChildren - pos);
+            System.arraycopy(children, pos, children, pos + 1, numChildren - pos);
+            symbols[pos] = symIdx;
+            children[pos] = child;
+            numChildren++;
+        }
+    }
+}
@@ -28,7 +28,6 @@ import net.automatalib.commons.util.collections.ReusableIterator;
 import net.automatalib.util.automata.cover.Covers;
 import net.automatalib.util.automata.equivalence.CharacterizingSets;
 import net.automatalib.words.Word;
-import net.automatalib.words.WordBuilder;
 
 /**
  * Iterator that returns test words generated by the W method.
@@ -45,7 +44,10 @@ public class WMethodTestsIterator<I> extends AbstractThreeLevelIterator<List<I>,
     private final Iterable<Word<I>> prefixes;
     private final Iterable<Word<I>> suffixes;
 
-    private final WordBuilder<I> wordBuilder = new WordBuilder<>();
+    /**
+     * The (immutable) word representation of the current middle part, which is shared by all generated test words.
+     */
+    private Word<I> middleWord = Word.epsilon();
 
     /**
      * Convenience-constructor for {@link #WMethodTestsIterator(UniversalDeterministicAutomaton, Collection, int)} that
@@ -91,6 +93,8 @@ public class WMethodTestsIterator<I> extends AbstractThreeLevelIterator<List<I>,
 
     @Override
     protected Iterator<Word<I>> l2Iterator(List<I> l1Object) {
+        // the tuple iterator re-uses its lists, so copy the current middle part once for all prefixes and suffixes
+        middleWord = Word.fromList(l1Object);
         return prefixes.iterator();
     }
 
@@ -101,9 +105,6 @@ public class WMethodTestsIterator<I> extends AbstractThreeLevelIterator<List<I>,
 
     @Override
     protected Word<I> combine(List<I> middle, Word<I> prefix, Word<I> suffix) {
-        wordBuilder.ensureAdditionalCapacity(prefix.size() + middle.size() + suffix.size());
-        Word<I> word = wordBuilder.append(prefix).append(middle).append(suffix).toWord();
-        wordBuilder.clear();
-        return word;
+        return prefix.concat(middleWord, suffix);
     }
 }
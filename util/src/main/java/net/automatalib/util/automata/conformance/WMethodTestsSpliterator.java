@@ -0,0 +1,130 @@
+/* Copyright (C) 2013-2022 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.util.automata.conformance;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+import com.google.common.collect.Lists;
+import net.automatalib.automata.UniversalDeterministicAutomaton;
+import net.automatalib.commons.util.collections.CollectionsUtil;
+import net.automatalib.util.automata.cover.Covers;
+import net.automatalib.util.automata.equivalence.CharacterizingSets;
+import net.automatalib.words.Word;
+
+/**
+ * A {@link java.util.Spliterator} over the test words generated by the W method. The encounter order of the test words
+ * is identical to the one of {@link WMethodTestsIterator}.
+ * <p>
+ * Each row of this spliterator corresponds to a pair of a middle part and a transition cover prefix, and contains all
+ * characterizing suffixes. Since all rows are of equal size, the spliterator reports exact sizes.
+ *
+ * @param <I>
+ *         input symbol type
+ *
+ * @author agent
+ * @see AbstractTestsSpliterator
+ */
+public class WMethodTestsSpliterator<I> extends AbstractTestsSpliterator<I> {
+
+    private final List<Word<I>> prefixes;
+    private final List<Word<I>> middleParts;
+    private final List<Word<I>> suffixes;
+
+    /**
+     * Convenience-constructor for {@link #WMethodTestsSpliterator(UniversalDeterministicAutomaton, Collection, int)}
+     * that selects {@code 0} as {@code maxDepth}.
+     *
+     * @param automaton
+     *         the automaton for which the testing sequences should be generated
+     * @param inputs
+     *         the input symbols that should be considered for test sequence generation
+     */
+    public WMethodTestsSpliterator(UniversalDeterministicAutomaton<?, I, ?, ?, ?> automaton,
+                                   Collection<? extends I> inputs) {
+        this(automaton, inputs, 0);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param automaton
+     *         the automaton for which the testing sequences should be generated
+     * @param inputs
+     *         the input symbols that should be considered for test sequence generation
+     * @param maxDepth
+     *         the maximum number of symbols that are appended to the transition-cover part of the test sequences
+     */
+    public WMethodTestsSpliterator(UniversalDeterministicAutomaton<?, I, ?, ?, ?> automaton,
+                                   Collection<? extends I> inputs,
+                                   int maxDepth) {
+        this(Lists.newArrayList(Covers.transitionCoverIterator(automaton, inputs)),
+             middleParts(inputs, maxDepth),
+             Lists.newArrayList(CharacterizingSets.characterizingSetIterator(automaton, inputs)));
+    }
+
+    private WMethodTestsSpliterator(List<Word<I>> prefixes, List<Word<I>> middleParts, List<Word<I>> suffixes) {
+        this(prefixes,
+             middleParts,
+             // Special case: List of characterizing suffixes may be empty,
+             // but in this case we still need to iterate over the prefixes!
+             suffixes.isEmpty() ? Collections.singletonList(Word.epsilon()) : suffixes,
+             0,
+             (long) middleParts.size() * prefixes.size());
+    }
+
+    private WMethodTestsSpliterator(List<Word<I>> prefixes,
+                                    List<Word<I>> middleParts,
+                                    List<Word<I>> suffixes,
+                                    long origin,
+                                    long fence) {
+        super(origin, fence, true);
+        this.prefixes = prefixes;
+        this.middleParts = middleParts;
+        this.suffixes = suffixes;
+    }
+
+    static <I> List<Word<I>> middleParts(Collection<? extends I> inputs, int maxDepth) {
+        final List<Word<I>> result = new ArrayList<>();
+        for (List<I> middle : CollectionsUtil.<I>allTuples(inputs, 0, maxDepth)) {
+            result.add(Word.fromList(middle));
+        }
+        return result;
+    }
+
+    @Override
+    protected Word<I> getRowPrefix(long row) {
+        final int numPrefixes = prefixes.size();
+        return prefixes.get((int) (row % numPrefixes)).concat(middleParts.get((int) (row / numPrefixes)));
+    }
+
+    @Override
+    protected List<Word<I>> getRowSuffixes(long row, Word<I> prefix) {
+        return suffixes;
+    }
+
+    @Override
+    protected long estimateTests(long origin, long fence) {
+        return (fence - origin) * suffixes.size();
+    }
+
+    @Override
+    protected WMethodTestsSpliterator<I> createSpliterator(long origin, long fence) {
+        return new WMethodTestsSpliterator<>(prefixes, middleParts, suffixes, origin, fence);
+    }
+}
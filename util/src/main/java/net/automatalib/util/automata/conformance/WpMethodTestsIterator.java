@@ -33,7 +33,6 @@ import net.automatalib.util.automata.Automata;
 import net.automatalib.util.automata.cover.Covers;
 import net.automatalib.util.automata.equivalence.CharacterizingSets;
 import net.automatalib.words.Word;
-import net.automatalib.words.WordBuilder;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
@@ -79,8 +78,8 @@ public class WpMethodTestsIterator<I> extends ForwardingIterator<Word<I>> {
                                  Collection<? extends I> inputs,
                                  int maxDepth) {
 
-        final Set<Word<I>> stateCover = Sets.newHashSetWithExpectedSize(automaton.size());
-        final Set<Word<I>> transitionCover = Sets.newHashSetWithExpectedSize(automaton.size() * inputs.size());
+        final Set<Word<I>> stateCover = Sets.newLinkedHashSetWithExpectedSize(automaton.size());
+        final Set<Word<I>> transitionCover = Sets.newLinkedHashSetWithExpectedSize(automaton.size() * inputs.size());
 
         Covers.cover(automaton, inputs, stateCover, transitionCover);
 
@@ -121,7 +120,7 @@ public class WpMethodTestsIterator<I> extends ForwardingIterator<Word<I>> {
         private final Iterable<Word<I>> prefixes;
         private final Iterable<Word<I>> suffixes;
 
-        private final WordBuilder<I> wordBuilder = new WordBuilder<>();
+        private Word<I> middleWord = Word.epsilon();
 
         FirstPhaseIterator(Iterable<Word<I>> prefixes, Iterable<List<I>> middleParts, Iterable<Word<I>> suffixes) {
             super(middleParts.iterator());
@@ -132,6 +131,8 @@ public class WpMethodTestsIterator<I> extends ForwardingIterator<Word<I>> {
 
         @Override
         protected Iterator<Word<I>> l2Iterator(List<I> l1Object) {
+            // see WMethodTestsIterator
+            middleWord = Word.fromList(l1Object);
             return prefixes.iterator();
         }
 
@@ -142,10 +143,7 @@ public class WpMethodTestsIterator<I> extends ForwardingIterator<Word<I>> {
 
         @Override
         protected Word<I> combine(List<I> middle, Word<I> prefix, Word<I> suffix) {
-            wordBuilder.ensureAdditionalCapacity(prefix.size() + middle.size() + suffix.size());
-            Word<I> word = wordBuilder.append(prefix).append(middle).append(suffix).toWord();
-            wordBuilder.clear();
-            return word;
+            return prefix.concat(middleWord, suffix);
         }
     }
 
@@ -158,7 +156,7 @@ public class WpMethodTestsIterator<I> extends ForwardingIterator<Word<I>> {
         private final MutableMapping<S, @Nullable List<Word<I>>> localSuffixSets;
         private final Iterable<Word<I>> prefixes;
 
-        private final WordBuilder<I> wordBuilder = new WordBuilder<>();
+        private Word<I> middleWord = Word.epsilon();
 
         SecondPhaseIterator(UniversalDeterministicAutomaton<S, I, ?, ?, ?> automaton,
                             Collection<? extends I> inputs,
@@ -174,6 +172,7 @@ public class WpMethodTestsIterator<I> extends ForwardingIterator<Word<I>> {
 
         @Override
         protected Iterator<Word<I>> l2Iterator(List<I> l1Object) {
+            middleWord = Word.fromList(l1Object);
             return prefixes.iterator();
         }
 
@@ -200,10 +199,7 @@ public class WpMethodTestsIterator<I> extends ForwardingIterator<Word<I>> {
 
         @Override
         protected Word<I> combine(List<I> middle, Word<I> prefix, Word<I> suffix) {
-            wordBuilder.ensureAdditionalCapacity(prefix.size() + middle.size() + suffix.size());
-            Word<I> word = wordBuilder.append(prefix).append(middle).append(suffix).toWord();
-            wordBuilder.clear();
-            return word;
+            return prefix.concat(middleWord, suffix);
         }
     }
 }
@@ -0,0 +1,219 @@
+/* Copyright (C) 2013-2022 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.util.automata.conformance;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
+import net.automatalib.automata.UniversalDeterministicAutomaton;
+import net.automatalib.automata.concepts.StateIDs;
+import net.automatalib.util.automata.Automata;
+import net.automatalib.util.automata.cover.Covers;
+import net.automatalib.util.automata.equivalence.CharacterizingSets;
+import net.automatalib.words.Word;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * A {@link java.util.Spliterator} over the test words generated by the partial W method. The encounter order of the
+ * test words is identical to the one of {@link WpMethodTestsIterator}.
+ * <p>
+ * The rows of the first phase correspond to pairs of a middle part and a state cover prefix (combined with the global
+ * characterizing set), the rows of the second phase to pairs of a middle part and a (remaining) transition cover prefix
+ * (combined with the characterizing set of the reached state). The local characterizing sets are computed lazily and
+ * cached in a thread-safe manner. As the size of the local characterizing sets is not known in advance, the size of
+ * this spliterator is only an estimate.
+ *
+ * @param <I>
+ *         input symbol type
+ *
+ * @author agent
+ * @see AbstractTestsSpliterator
+ */
+public class WpMethodTestsSpliterator<I> extends AbstractTestsSpliterator<I> {
+
+    private final List<Word<I>> stateCover;
+    private final List<Word<I>> transitionCover;
+    private final List<Word<I>> middleParts;
+    private final List<Word<I>> globalSuffixes;
+    private final LocalSuffixes<?, I> localSuffixes;
+    private final long numFirstPhaseRows;
+
+    /**
+     * Convenience-constructor for {@link #WpMethodTestsSpliterator(UniversalDeterministicAutomaton, Collection, int)}
+     * that selects {@code 0} as {@code maxDepth}.
+     *
+     * @param automaton
+     *         the automaton for which the testing sequences should be generated
+     * @param inputs
+     *         the input symbols that should be considered for test sequence generation
+     */
+    public WpMethodTestsSpliterator(UniversalDeterministicAutomaton<?, I, ?, ?, ?> automaton,
+                                    Collection<? extends I> inputs) {
+        this(automaton, inputs, 0);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param automaton
+     *         the automaton for which the testing sequences should be generated
+     * @param inputs
+     *         the input symbols that should be considered for test sequence generation
+     * @param maxDepth
+     *         the maximum number of symbols that are appended to the transition-cover part of the test sequences
+     */
+    public WpMethodTestsSpliterator(UniversalDeterministicAutomaton<?, I, ?, ?, ?> automaton,
+                                    Collection<? extends I> inputs,
+                                    int maxDepth) {
+        this(automaton, inputs, WMethodTestsSpliterator.middleParts(inputs, maxDepth), coverSets(automaton, inputs));
+    }
+
+    private WpMethodTestsSpliterator(UniversalDeterministicAutomaton<?, I, ?, ?, ?> automaton,
+                                     Collection<? extends I> inputs,
+                                     List<Word<I>> middleParts,
+                                     List<List<Word<I>>> covers) {
+        this(covers.get(0),
+             covers.get(1),
+             middleParts,
+             globalSuffixes(automaton, inputs),
+             new LocalSuffixes<>(automaton, inputs),
+             0,
+             (long) middleParts.size() * (covers.get(0).size() + covers.get(1).size()));
+    }
+
+    private WpMethodTestsSpliterator(List<Word<I>> stateCover,
+                                     List<Word<I>> transitionCover,
+                                     List<Word<I>> middleParts,
+                                     List<Word<I>> globalSuffixes,
+                                     LocalSuffixes<?, I> localSuffixes,
+                                     long origin,
+                                     long fence) {
+        super(origin, fence, false);
+        this.stateCover = stateCover;
+        this.transitionCover = transitionCover;
+        this.middleParts = middleParts;
+        this.globalSuffixes = globalSuffixes;
+        this.localSuffixes = localSuffixes;
+        this.numFirstPhaseRows = (long) middleParts.size() * stateCover.size();
+    }
+
+    private static <I> List<List<Word<I>>> coverSets(UniversalDeterministicAutomaton<?, I, ?, ?, ?> automaton,
+                                                     Collection<? extends I> inputs) {
+        // construct the sets in the same way as WpMethodTestsIterator, so that both iterate them in the same order.
+        // Linked sets keep the (deterministic) order of the cover computation, which is independent of the hash codes
+        // of the input symbols and thus guarantees reproducible rows (and shards) across JVMs
+        final Set<Word<I>> stateCover = Sets.newLinkedHashSetWithExpectedSize(automaton.size());
+        final Set<Word<I>> transitionCover = Sets.newLinkedHashSetWithExpectedSize(automaton.size() * inputs.size());
+
+        Covers.cover(automaton, inputs, stateCover, transitionCover);
+        transitionCover.removeAll(stateCover);
+
+        final List<List<Word<I>>> result = new ArrayList<>(2);
+        result.add(new ArrayList<>(stateCover));
+        result.add(new ArrayList<>(transitionCover));
+        return result;
+    }
+
+    private static <I> List<Word<I>> globalSuffixes(UniversalDeterministicAutomaton<?, I, ?, ?, ?> automaton,
+                                                    Collection<? extends I> inputs) {
+        final List<Word<I>> result =
+                Lists.newArrayList(CharacterizingSets.characterizingSetIterator(automaton, inputs));
+        return result.isEmpty() ? Collections.singletonList(Word.epsilon()) : result;
+    }
+
+    @Override
+    protected Word<I> getRowPrefix(long row) {
+        final List<Word<I>> prefixes;
+        final long idx;
+
+        if (row < numFirstPhaseRows) {
+            prefixes = stateCover;
+            idx = row;
+        } else {
+            prefixes = transitionCover;
+            idx = row - numFirstPhaseRows;
+        }
+
+        final int numPrefixes = prefixes.size();
+        return prefixes.get((int) (idx % numPrefixes)).concat(middleParts.get((int) (idx / numPrefixes)));
+    }
+
+    @Override
+    protected List<Word<I>> getRowSuffixes(long row, Word<I> prefix) {
+        return row < numFirstPhaseRows ? globalSuffixes : localSuffixes.get(prefix);
+    }
+
+    @Override
+    protected long estimateTests(long origin, long fence) {
+        return (fence - origin) * globalSuffixes.size();
+    }
+
+    @Override
+    protected WpMethodTestsSpliterator<I> createSpliterator(long origin, long fence) {
+        return new WpMethodTestsSpliterator<>(stateCover,
+                                              transitionCover,
+                                              middleParts,
+                                              globalSuffixes,
+                                              localSuffixes,
+                                              origin,
+                                              fence);
+    }
+
+    /**
+     * A (thread-safe) cache for the local characterizing sets of the states of an automaton that is shared among all
+     * spliterators of a test suite.
+     */
+    private static final class LocalSuffixes<S, I> {
+
+        private final UniversalDeterministicAutomaton<S, I, ?, ?, ?> automaton;
+        private final Collection<? extends I> inputs;
+        private final StateIDs<S> stateIds;
+        private final AtomicReferenceArray<@Nullable List<Word<I>>> cache;
+
+        LocalSuffixes(UniversalDeterministicAutomaton<S, I, ?, ?, ?> automaton, Collection<? extends I> inputs) {
+            this.automaton = automaton;
+            this.inputs = inputs;
+            this.stateIds = automaton.stateIDs();
+            this.cache = new AtomicReferenceArray<>(automaton.size());
+        }
+
+        List<Word<I>> get(Word<I> word) {
+            @SuppressWarnings("nullness") // input sequences have been computed on defined transitions
+            final @NonNull S state = automaton.getState(word);
+            final int id = stateIds.getStateId(state);
+
+            List<Word<I>> result = cache.get(id);
+
+            if (result == null) {
+                // concurrent computations yield the same result, so we do not need to synchronize them
+                result = Automata.stateCharacterizingSet(automaton, inputs, state);
+                if (result.isEmpty()) {
+                    result = Collections.singletonList(Word.epsilon());
+                }
+                cache.set(id, result);
+            }
+
+            return result;
+        }
+    }
+}
@@ -0,0 +1,229 @@
+/* Copyright (C) 2013-2022 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.util.automata.equivalence;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+
+import net.automatalib.automata.UniversalDeterministicAutomaton;
+import net.automatalib.automata.UniversalDeterministicAutomaton.FullIntAbstraction;
+import net.automatalib.commons.util.IntDisjointSets;
+import net.automatalib.commons.util.UnionFindRemSP;
+import net.automatalib.words.Alphabet;
+import net.automatalib.words.Word;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * An equivalence test that checks a single reference automaton against a (potentially large) number of candidate
+ * automata, e.g. previous hypotheses or mutants of the reference.
+ * <p>
+ * Upon construction, the transition structure as well as the state and transition properties of the reference
+ * automaton are extracted into (flat) arrays once. Each candidate is then checked by means of the near-linear
+ * (union-find based) algorithm of {@link NearLinearEquivalenceTest} on the disjoint union of the reference and the
+ * candidate, which only queries the (integer abstraction of the) candidate and re-uses the internal buffers of
+ * previous checks. The returned separating words are identical to the ones of {@link
+ * NearLinearEquivalenceTest#findSeparatingWord(UniversalDeterministicAutomaton, UniversalDeterministicAutomaton,
+ * Alphabet)}.
+ * <p>
+ * Note that subsequent modifications of the reference automaton are not reflected by this test. Furthermore, instances
+ * of this class are not thread-safe.
+ *
+ * @param <I>
+ *         input symbol type
+ *
+ * @author agent
+ */
+public class BatchEquivalenceTest<I> {
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    private final Alphabet<I> inputs;
+    private final int numInputs;
+    private final int refSize;
+    private final int refInit;
+    private final int[] successors;
+    private final @Nullable Object[] stateProperties;
+    private final @Nullable Object @Nullable [] transitionProperties;
+
+    // buffers of the exploration, re-used across checks
+    private int[] states1;
+    private int[] states2;
+    private int[] preds;
+    private int[] symbols;
+
+    public BatchEquivalenceTest(UniversalDeterministicAutomaton<?, I, ?, ?, ?> reference, Alphabet<I> inputs) {
+        final FullIntAbstraction<?, ?, ?> abs = reference.fullIntAbstraction(inputs);
+
+        this.inputs = inputs;
+        this.numInputs = inputs.size();
+        this.refSize = reference.size();
+        this.refInit = abs.getIntInitialState();
+        this.successors = new int[refSize * numInputs];
+        this.stateProperties = new Object[refSize];
+
+        final @Nullable Object[] transProps = new Object[refSize * numInputs];
+        boolean hasTransProps = false;
+
+        for (int s = 0; s < refSize; s++) {
+            stateProperties[s] = abs.getStateProperty(s);
+            for (int i = 0; i < numInputs; i++) {
+                final int idx = s * numInputs + i;
+                final int succ = abs.getSuccessor(s, i);
+                successors[idx] = succ;
+                if (succ >= 0) {
+                    final Object prop = abs.getTransitionProperty(s, i);
+                    transProps[idx] = prop;
+                    hasTransProps |= prop != null;
+                }
+            }
+        }
+
+        // e.g. DFAs do not have any transition properties, so we do not need to store them
+        this.transitionProperties = hasTransProps ? transProps : null;
+
+        this.states1 = new int[INITIAL_CAPACITY];
+        this.states2 = new int[INITIAL_CAPACITY];
+        this.preds = new int[INITIAL_CAPACITY];
+        this.symbols = new int[INITIAL_CAPACITY];
+    }
+
+    /**
+     * Convenience method for checking the given reference automaton against multiple candidates.
+     *
+     * @param reference
+     *         the reference automaton
+     * @param candidates
+     *         the candidate automata
+     * @param inputs
+     *         the input symbols to consider
+     * @param <I>
+     *         input symbol type
+     *
+     * @return a list containing for each candidate (in iteration order) a separating word, or {@code null} if the
+     * respective candidate is equivalent to the reference
+     *
+     * @see #findSeparatingWords(Collection)
+     */
+    public static <I> List<@Nullable Word<I>> findSeparatingWords(
+            UniversalDeterministicAutomaton<?, I, ?, ?, ?> reference,
+            Collection<? extends UniversalDeterministicAutomaton<?, I, ?, ?, ?>> candidates,
+            Alphabet<I> inputs) {
+        return new BatchEquivalenceTest<>(reference, inputs).findSeparatingWords(candidates);
+    }
+
+    /**
+     * Checks the reference automaton against each of the given candidates.
+     *
+     * @param candidates
+     *         the candidate automata
+     *
+     * @return a list containing for each candidate (in iteration order) a separating word, or {@code null} if the
+     * respective candidate is equivalent to the reference
+     */
+    public List<@Nullable Word<I>> findSeparatingWords(
+            Collection<? extends UniversalDeterministicAutomaton<?, I, ?, ?, ?>> candidates) {
+        final List<@Nullable Word<I>> result = new ArrayList<>(candidates.size());
+
+        for (UniversalDeterministicAutomaton<?, I, ?, ?, ?> candidate : candidates) {
+            result.add(findSeparatingWord(candidate));
+        }
+
+        return result;
+    }
+
+    /**
+     * Checks the reference automaton against the given candidate.
+     *
+     * @param candidate
+     *         the candidate automaton
+     *
+     * @return a separating word, or {@code null} if the candidate is equivalent to the reference
+     */
+    public @Nullable Word<I> findSeparatingWord(UniversalDeterministicAutomaton<?, I, ?, ?, ?> candidate) {
+        return findSeparatingWord(candidate.fullIntAbstraction(inputs), candidate.size());
+    }
+
+    private <T, SP, TP> @Nullable Word<I> findSeparatingWord(FullIntAbstraction<T, SP, TP> abs, int size) {
+        final int init = abs.getIntInitialState();
+
+        if (refInit < 0 || init < 0) {
+            return refInit < 0 && init < 0 ? null : Word.epsilon();
+        }
+
+        if (!Objects.equals(stateProperties[refInit], abs.getStateProperty(init))) {
+            return Word.epsilon();
+        }
+
+        final IntDisjointSets uf = new UnionFindRemSP(refSize + size);
+        uf.link(refInit, refSize + init);
+
+        states1[0] = refInit;
+        states2[0] = init;
+        preds[0] = -1;
+        int head = 0, tail = 1;
+
+        while (head < tail) {
+            final int curr = head++;
+            final int state1 = states1[curr];
+            final int state2 = states2[curr];
+            final int base = state1 * numInputs;
+
+            for (int sym = 0; sym < numInputs; sym++) {
+                final int succ1 = successors[base + sym];
+                final int succ2 = abs.getSuccessor(state2, sym);
+
+                if (succ1 < 0 || succ2 < 0) {
+                    if (succ1 < 0 && succ2 < 0) {
+                        continue;
+                    }
+                    return DeterministicEquivalenceTest.buildWord(inputs, preds, symbols, curr, sym);
+                }
+
+                final Object tprop1 = transitionProperties == null ? null : transitionProperties[base + sym];
+                if (!Objects.equals(tprop1, abs.getTransitionProperty(state2, sym))) {
+                    return DeterministicEquivalenceTest.buildWord(inputs, preds, symbols, curr, sym);
+                }
+
+                if (!uf.union(succ1, refSize + succ2)) {
+                    continue;
+                }
+
+                if (!Objects.equals(stateProperties[succ1], abs.getStateProperty(succ2))) {
+                    return DeterministicEquivalenceTest.buildWord(inputs, preds, symbols, curr, sym);
+                }
+
+                if (tail == states1.length) {
+                    final int newCapacity = tail * 2;
+                    states1 = Arrays.copyOf(states1, newCapacity);
+                    states2 = Arrays.copyOf(states2, newCapacity);
+                    preds = Arrays.copyOf(preds, newCapacity);
+                    symbols = Arrays.copyOf(symbols, newCapacity);
+                }
+
+                states1[tail] = succ1;
+                states2[tail] = succ2;
+                preds[tail] = curr;
+                symbols[tail] = sym;
+                tail++;
+            }
+        }
+
+        return null;
+    }
+}
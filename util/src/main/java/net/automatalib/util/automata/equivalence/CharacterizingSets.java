@@ -19,8 +19,8 @@ import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -252,7 +252,7 @@ public final class CharacterizingSets {
 
     private static <S, I> Queue<List<S>> buildInitialBlocks(UniversalDeterministicAutomaton<S, I, ?, ?, ?> automaton,
                                                             List<? extends Word<I>> oldSuffixes) {
-        Map<List<List<?>>, List<S>> initialPartitioning = new HashMap<>();
+        Map<List<List<?>>, List<S>> initialPartitioning = new LinkedHashMap<>();
         Queue<List<S>> blocks = new ArrayDeque<>();
         for (S state : automaton) {
             List<List<?>> sig = buildSignature(automaton, oldSuffixes, state);
@@ -328,7 +328,7 @@ public final class CharacterizingSets {
             if (suffix != null) {
                 int otherBlocks = blockQueue.size();
 
-                Map<List<?>, List<S>> buckets = new HashMap<>();
+                Map<List<?>, List<S>> buckets = new LinkedHashMap<>();
 
                 List<S> firstBucket = new ArrayList<>();
                 List<S> secondBucket = new ArrayList<>();
@@ -360,7 +360,7 @@ public final class CharacterizingSets {
 
     private static <S, I, SP> Map<?, List<S>> clusterByProperty(UniversalDeterministicAutomaton<S, I, ?, SP, ?> automaton,
                                                                 List<S> states) {
-        Map<SP, List<S>> result = new HashMap<>();
+        Map<SP, List<S>> result = new LinkedHashMap<>();
 
         for (S state : states) {
             SP prop = automaton.getStateProperty(state);
@@ -16,14 +16,19 @@
 package net.automatalib.util.automata.equivalence;
 
 import java.util.ArrayDeque;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Queue;
+import java.util.concurrent.ForkJoinPool;
 
 import net.automatalib.automata.UniversalDeterministicAutomaton;
+import net.automatalib.automata.UniversalDeterministicAutomaton.FullIntAbstraction;
+import net.automatalib.automata.concepts.InputAlphabetHolder;
 import net.automatalib.automata.concepts.StateIDs;
+import net.automatalib.words.Alphabet;
 import net.automatalib.words.Word;
 import net.automatalib.words.WordBuilder;
 import org.checkerframework.checker.nullness.qual.Nullable;
@@ -31,6 +36,7 @@ import org.checkerframework.checker.nullness.qual.Nullable;
 public class DeterministicEquivalenceTest<I> {
 
     private static final int MAP_THRESHOLD = 10_000;
+    private static final int INITIAL_CAPACITY = 64;
     private final UniversalDeterministicAutomaton<?, I, ?, ?, ?> reference;
 
     public DeterministicEquivalenceTest(UniversalDeterministicAutomaton<?, I, ?, ?, ?> reference) {
@@ -46,6 +52,11 @@ public class DeterministicEquivalenceTest<I> {
             UniversalDeterministicAutomaton<S, I, T, SP, TP> reference,
             UniversalDeterministicAutomaton<S2, I, T2, SP2, TP2> other,
             Collection<? extends I> inputs) {
+        final Alphabet<I> alphabet = getCommonAlphabet(reference, other, inputs);
+        if (alphabet != null) {
+            return findSeparatingWordPrimitive(reference, other, alphabet);
+        }
+
         int refSize = reference.size();
         int totalStates = refSize * other.size();
 
@@ -164,6 +175,11 @@ public class DeterministicEquivalenceTest<I> {
             UniversalDeterministicAutomaton<S, I, T, SP, TP> reference,
             UniversalDeterministicAutomaton<S2, I, T2, SP2, TP2> other,
             Collection<? extends I> inputs) {
+        final Alphabet<I> alphabet = getCommonAlphabet(reference, other, inputs);
+        if (alphabet != null) {
+            return findSeparatingWordPrimitive(reference, other, alphabet);
+        }
+
         S refInit = reference.getInitialState();
         S2 otherInit = other.getInitialState();
 
@@ -275,6 +291,259 @@ public class DeterministicEquivalenceTest<I> {
         return sep.toWord();
     }
 
+    /**
+     * Computes a shortest separating word of the two given automata by means of a breadth-first exploration of their
+     * product. In contrast to {@link #findSeparatingWord(UniversalDeterministicAutomaton,
+     * UniversalDeterministicAutomaton, Collection)}, this method operates on the {@link FullIntAbstraction integer
+     * abstractions} of both automata: product states are encoded as {@code long}s, and the BFS queue as well as the
+     * predecessor information are stored in primitive arrays, so that no objects are allocated per explored product
+     * state. This makes the method suitable for very large automata. If both automata are {@link
+     * net.automatalib.automata.transducers.impl.compact.InternedCompactMealy}s over the given inputs, their transition
+     * outputs are compared by their (interned) indices rather than by {@link Object#equals(Object)}.
+     * <p>
+     * The returned word is identical to the one of the object-based exploration with the same input order. The
+     * object-based methods automatically delegate to this method if both automata and the given inputs share the same
+     * {@link Alphabet}.
+     *
+     * @param reference
+     *         the first automaton
+     * @param other
+     *         the second automaton
+     * @param inputs
+     *         the input symbols to consider
+     * @param <I>
+     *         input symbol type
+     * @param <T>
+     *         transition type of the first automaton
+     * @param <SP>
+     *         state property type of the first automaton
+     * @param <TP>
+     *         transition property type of the first automaton
+     * @param <T2>
+     *         transition type of the second automaton
+     * @param <SP2>
+     *         state property type of the second automaton
+     * @param <TP2>
+     *         transition property type of the second automaton
+     *
+     * @return a shortest separating word, or {@code null} if the two automata are equivalent (w.r.t. the given
+     * inputs)
+     */
+    public static <I, T, SP, TP, T2, SP2, TP2> @Nullable Word<I> findSeparatingWordPrimitive(
+            UniversalDeterministicAutomaton<?, I, T, SP, TP> reference,
+            UniversalDeterministicAutomaton<?, I, T2, SP2, TP2> other,
+            Alphabet<I> inputs) {
+        final FullIntAbstraction<T, SP, TP> absRef = reference.fullIntAbstraction(inputs);
+        final FullIntAbstraction<T2, SP2, TP2> absOther = other.fullIntAbstraction(inputs);
+
+        final int refInit = absRef.getIntInitialState();
+        final int otherInit = absOther.getIntInitialState();
+
+        if (refInit < 0 || otherInit < 0) {
+            return refInit < 0 && otherInit < 0 ? null : Word.epsilon();
+        }
+
+        if (!Objects.equals(absRef.getStateProperty(refInit), absOther.getStateProperty(otherInit))) {
+            return Word.epsilon();
+        }
+
+        final int numInputs = inputs.size();
+        final ProductStateSet visited = new ProductStateSet(reference.size(), other.size());
+        final @Nullable InternedOutputComparator outputs = InternedOutputComparator.of(reference, other, inputs);
+
+        // BFS queue, indexed by the discovery order of the product states. The queue is never drained, so that the
+        // predecessor of a product state can be referenced by its queue index
+        long[] queue = new long[INITIAL_CAPACITY];
+        int[] preds = new int[INITIAL_CAPACITY];
+        int[] symbols = new int[INITIAL_CAPACITY];
+
+        visited.add(refInit, otherInit);
+        queue[0] = ProductStateSet.encode(refInit, otherInit);
+        preds[0] = -1;
+        int head = 0, tail = 1;
+
+        while (head < tail) {
+            final int curr = head++;
+            final int refState = ProductStateSet.decodeFirst(queue[curr]);
+            final int otherState = ProductStateSet.decodeSecond(queue[curr]);
+
+            for (int sym = 0; sym < numInputs; sym++) {
+                // query successors and properties separately, because transition objects may be created on-the-fly
+                final int refSucc = absRef.getSuccessor(refState, sym);
+                final int otherSucc = absOther.getSuccessor(otherState, sym);
+
+                if (refSucc < 0 || otherSucc < 0) {
+                    if (refSucc < 0 && otherSucc < 0) {
+                        continue;
+                    }
+                    return buildWord(inputs, preds, symbols, curr, sym);
+                }
+
+                if (outputs != null ? !outputs.isEqual(refState, otherState, sym) :
+                        !Objects.equals(absRef.getTransitionProperty(refState, sym),
+                                        absOther.getTransitionProperty(otherState, sym))) {
+                    return buildWord(inputs, preds, symbols, curr, sym);
+                }
+
+                if (visited.add(refSucc, otherSucc)) {
+                    if (!Objects.equals(absRef.getStateProperty(refSucc), absOther.getStateProperty(otherSucc))) {
+                        return buildWord(inputs, preds, symbols, curr, sym);
+                    }
+
+                    if (tail == queue.length) {
+                        final int newCapacity = tail * 2;
+                        queue = Arrays.copyOf(queue, newCapacity);
+                        preds = Arrays.copyOf(preds, newCapacity);
+                        symbols = Arrays.copyOf(symbols, newCapacity);
+                    }
+
+                    queue[tail] = ProductStateSet.encode(refSucc, otherSucc);
+                    preds[tail] = curr;
+                    symbols[tail] = sym;
+                    tail++;
+                }
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Parallel version of {@link #findSeparatingWordPrimitive(UniversalDeterministicAutomaton,
+     * UniversalDeterministicAutomaton, Alphabet)} which uses the {@link ForkJoinPool#commonPool() common pool} for
+     * expanding product states.
+     *
+     * @param reference
+     *         the first automaton
+     * @param other
+     *         the second automaton
+     * @param inputs
+     *         the input symbols to consider
+     * @param <I>
+     *         input symbol type
+     *
+     * @return a shortest separating word, or {@code null} if the two automata are equivalent (w.r.t. the given
+     * inputs)
+     *
+     * @see #findSeparatingWordParallel(UniversalDeterministicAutomaton, UniversalDeterministicAutomaton, Alphabet,
+     * ForkJoinPool)
+     */
+    public static <I> @Nullable Word<I> findSeparatingWordParallel(
+            UniversalDeterministicAutomaton<?, I, ?, ?, ?> reference,
+            UniversalDeterministicAutomaton<?, I, ?, ?, ?> other,
+            Alphabet<I> inputs) {
+        return findSeparatingWordParallel(reference, other, inputs, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Computes a shortest separating word of the two given automata by means of a breadth-first exploration of their
+     * product, in which the expansion of product states is distributed among the threads of the given {@link
+     * ForkJoinPool}.
+     * <p>
+     * The BFS queue is processed in blocks of consecutive product states. All phases of a block (expanding its
+     * transitions, claiming newly discovered product states and appending them to the queue) are executed in parallel.
+     * Newly discovered product states are claimed in a concurrent table by the minimal index of the transitions leading
+     * to them, so that the exploration order and thus the returned word are identical to the ones of {@link
+     * #findSeparatingWordPrimitive(UniversalDeterministicAutomaton, UniversalDeterministicAutomaton, Alphabet)},
+     * independent of the number of threads.
+     * <p>
+     * Blocks contain at most 2<sup>14</sup> product states and 2<sup>20</sup> transitions (but at least one product
+     * state), so that the buffers of a block remain bounded for large input alphabets. Since the synchronization
+     * between the phases only pays off for sufficiently many threads and product states, this method delegates to
+     * {@link #findSeparatingWordPrimitive(UniversalDeterministicAutomaton, UniversalDeterministicAutomaton, Alphabet)}
+     * if the given pool has a parallelism of 1, and processes blocks with only few product states (e.g., the first
+     * levels of the BFS) in the calling thread.
+     * <p>
+     * Note that both automata are accessed concurrently and therefore must not be modified during the computation.
+     *
+     * @param reference
+     *         the first automaton
+     * @param other
+     *         the second automaton
+     * @param inputs
+     *         the input symbols to consider
+     * @param pool
+     *         the pool used for expanding product states
+     * @param <I>
+     *         input symbol type
+     * @param <T>
+     *         transition type of the first automaton
+     * @param <SP>
+     *         state property type of the first automaton
+     * @param <TP>
+     *         transition property type of the first automaton
+     * @param <T2>
+     *         transition type of the second automaton
+     * @param <SP2>
+     *         state property type of the second automaton
+     * @param <TP2>
+     *         transition property type of the second automaton
+     *
+     * @return a shortest separating word, or {@code null} if the two automata are equivalent (w.r.t. the given
+     * inputs)
+     */
+    public static <I, T, SP, TP, T2, SP2, TP2> @Nullable Word<I> findSeparatingWordParallel(
+            UniversalDeterministicAutomaton<?, I, T, SP, TP> reference,
+            UniversalDeterministicAutomaton<?, I, T2, SP2, TP2> other,
+            Alphabet<I> inputs,
+            ForkJoinPool pool) {
+        if (pool.getParallelism() <= 1) {
+            return findSeparatingWordPrimitive(reference, other, inputs);
+        }
+
+        final FullIntAbstraction<T, SP, TP> absRef = reference.fullIntAbstraction(inputs);
+        final FullIntAbstraction<T2, SP2, TP2> absOther = other.fullIntAbstraction(inputs);
+
+        final int refInit = absRef.getIntInitialState();
+        final int otherInit = absOther.getIntInitialState();
+
+        if (refInit < 0 || otherInit < 0) {
+            return refInit < 0 && otherInit < 0 ? null : Word.epsilon();
+        }
+
+        if (!Objects.equals(absRef.getStateProperty(refInit), absOther.getStateProperty(otherInit))) {
+            return Word.epsilon();
+        }
+
+        final @Nullable InternedOutputComparator outputs = InternedOutputComparator.of(reference, other, inputs);
+
+        return new ParallelProductBFS<>(absRef, absOther, outputs, inputs, pool).findSeparatingWord(refInit,
+                                                                                                   otherInit);
+    }
+
+    static <I> Word<I> buildWord(Alphabet<I> inputs, int[] preds, int[] symbols, int last, int lastSym) {
+        int length = 1;
+        for (int i = last; preds[i] >= 0; i = preds[i]) {
+            length++;
+        }
+
+        @SuppressWarnings("nullness") // we make sure to set each index to a value of type I
+        WordBuilder<I> sep = new WordBuilder<>(null, length);
+        int index = length - 1;
+        sep.setSymbol(index--, inputs.getSymbol(lastSym));
+
+        for (int i = last; preds[i] >= 0; i = preds[i]) {
+            sep.setSymbol(index--, inputs.getSymbol(symbols[i]));
+        }
+
+        return sep.toWord();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <I> @Nullable Alphabet<I> getCommonAlphabet(UniversalDeterministicAutomaton<?, I, ?, ?, ?> reference,
+                                                               UniversalDeterministicAutomaton<?, I, ?, ?, ?> other,
+                                                               Collection<? extends I> inputs) {
+        if (inputs instanceof Alphabet && reference instanceof InputAlphabetHolder &&
+            other instanceof InputAlphabetHolder) {
+            final Alphabet<I> alphabet = (Alphabet<I>) inputs;
+            if (alphabet.equals(((InputAlphabetHolder<I>) reference).getInputAlphabet()) &&
+                alphabet.equals(((InputAlphabetHolder<I>) other).getInputAlphabet())) {
+                return alphabet;
+            }
+        }
+        return null;
+    }
+
     private static final class StatePair<S, S2> {
 
         public final S ref;
@@ -302,4 +571,141 @@ public class DeterministicEquivalenceTest<I> {
             this.symbol = input;
         }
     }
+
+    /**
+     * A set of (encoded) product states. For small products, the set is realized by a bit set over all product states,
+     * for larger products by an open-addressing hash table of the encoded product states.
+     */
+    static final class ProductStateSet {
+
+        // 2^26 bits correspond to 8 MB
+        private static final long DENSE_THRESHOLD = 1L << 26;
+        private static final long EMPTY = -1L;
+        private static final int INITIAL_TABLE_SIZE = 1 << 10;
+
+        private final int secondSize;
+
+        private final long @Nullable [] bits;
+
+        private long[] table;
+        private int mask;
+        private int size;
+
+        ProductStateSet(int firstSize, int secondSize) {
+            this.secondSize = secondSize;
+
+            final long numProductStates = (long) firstSize * secondSize;
+            if (numProductStates <= DENSE_THRESHOLD) {
+                this.bits = new long[(int) ((numProductStates + Long.SIZE - 1) >>> 6)];
+                this.table = new long[0];
+            } else {
+                this.bits = null;
+                this.table = new long[INITIAL_TABLE_SIZE];
+                Arrays.fill(this.table, EMPTY);
+            }
+            this.mask = table.length - 1;
+        }
+
+        static long encode(int first, int second) {
+            return ((long) first << 32) | second;
+        }
+
+        static int decodeFirst(long code) {
+            return (int) (code >>> 32);
+        }
+
+        static int decodeSecond(long code) {
+            return (int) code;
+        }
+
+        /**
+         * Checks whether the given product state is contained in this set.
+         *
+         * @return {@code true} if the product state is contained in this set, {@code false} otherwise
+         */
+        boolean contains(int first, int second) {
+            final long[] b = this.bits;
+            if (b != null) {
+                final long idx = (long) first * secondSize + second;
+                return (b[(int) (idx >>> 6)] & (1L << idx)) != 0;
+            }
+
+            final long code = encode(first, second);
+            int slot = hash(code) & mask;
+            long curr;
+            while ((curr = table[slot]) != EMPTY) {
+                if (curr == code) {
+                    return true;
+                }
+                slot = (slot + 1) & mask;
+            }
+            return false;
+        }
+
+        /**
+         * Adds the given product state to this set.
+         *
+         * @return {@code true} if the product state was not contained in this set before, {@code false} otherwise
+         */
+        boolean add(int first, int second) {
+            final long[] b = this.bits;
+            if (b != null) {
+                final long idx = (long) first * secondSize + second;
+                final int wordIdx = (int) (idx >>> 6);
+                final long bit = 1L << idx;
+                if ((b[wordIdx] & bit) != 0) {
+                    return false;
+                }
+                b[wordIdx] |= bit;
+                return true;
+            }
+
+            final long code = encode(first, second);
+            int slot = hash(code) & mask;
+            long curr;
+            while ((curr = table[slot]) != EMPTY) {
+                if (curr == code) {
+                    return false;
+                }
+                slot = (slot + 1) & mask;
+            }
+
+            table[slot] = code;
+            if (++size > table.length >>> 1) {
+                rehash();
+            }
+            return true;
+        }
+
+        private void rehash() {
+            final long[] oldTable = table;
+            final long[] newTable = new long[oldTable.length * 2];
+            Arrays.fill(newTable, EMPTY);
+            final int newMask = newTable.length - 1;
+
+            for (long code : oldTable) {
+                if (code != EMPTY) {
+                    int slot = hash(code) & newMask;
+                    while (newTable[slot] != EMPTY) {
+                        slot = (slot + 1) & newMask;
+                    }
+                    newTable[slot] = code;
+                }
+            }
+
+            this.table = newTable;
+            this.mask = newMask;
+        }
+
+        static int hash(long code) {
+            // finalizer of MurmurHash3
+            long h = code;
+            h ^= h >>> 33;
+            h *= 0xff51afd7ed558ccdL;
+            h ^= h >>> 33;
+            h *= 0xc4ceb9fe1a85ec53L;
+            h ^= h >>> 33;
+            return (int) h;
+        }
+    }
 }
@@ -0,0 +1,106 @@
+/* Copyright (C) 2013-2022 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.util.automata.equivalence;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import net.automatalib.automata.UniversalDeterministicAutomaton;
+import net.automatalib.automata.transducers.impl.compact.InternedCompactMealy;
+import net.automatalib.words.Alphabet;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Compares the transition outputs of two {@link InternedCompactMealy}s by their output indices (see {@link
+ * InternedCompactMealy#getIntOutput(int, int)}) instead of invoking {@link Object#equals(Object)} for each pair of
+ * transitions. As both machines intern their outputs independently, the output indices of the first machine are
+ * translated to the ones of the second machine once, upon construction.
+ *
+ * @author agent
+ */
+final class InternedOutputComparator {
+
+    private static final int ABSENT = -2;
+
+    private final InternedCompactMealy<?, ?> reference;
+    private final InternedCompactMealy<?, ?> other;
+
+    // maps the output index of the reference (plus one, so that undefined outputs map to -1) to the output index of
+    // the other machine, or to ABSENT if the other machine does not know the output
+    private final int[] mapping;
+
+    private InternedOutputComparator(InternedCompactMealy<?, ?> reference, InternedCompactMealy<?, ?> other) {
+        this.reference = reference;
+        this.other = other;
+
+        final List<?> otherOutputs = other.getOutputSymbols();
+        final Map<Object, Integer> otherIndices = new HashMap<>(otherOutputs.size() * 2);
+        for (int i = 0; i < otherOutputs.size(); i++) {
+            otherIndices.put(otherOutputs.get(i), i);
+        }
+
+        final List<?> refOutputs = reference.getOutputSymbols();
+        this.mapping = new int[refOutputs.size() + 1];
+        this.mapping[0] = -1;
+        for (int i = 0; i < refOutputs.size(); i++) {
+            final Integer idx = otherIndices.get(refOutputs.get(i));
+            this.mapping[i + 1] = idx == null ? ABSENT : idx;
+        }
+    }
+
+    /**
+     * Returns a comparator for the given automata, if both of them are {@link InternedCompactMealy}s whose int
+     * abstractions coincide with the given inputs.
+     *
+     * @param reference
+     *         the first automaton
+     * @param other
+     *         the second automaton
+     * @param inputs
+     *         the inputs of the int abstractions
+     *
+     * @return the comparator, or {@code null} if the outputs of the automata cannot be compared by their indices
+     */
+    static @Nullable InternedOutputComparator of(UniversalDeterministicAutomaton<?, ?, ?, ?, ?> reference,
+                                                 UniversalDeterministicAutomaton<?, ?, ?, ?, ?> other,
+                                                 Alphabet<?> inputs) {
+        if (reference instanceof InternedCompactMealy && other instanceof InternedCompactMealy) {
+            final InternedCompactMealy<?, ?> ref = (InternedCompactMealy<?, ?>) reference;
+            final InternedCompactMealy<?, ?> oth = (InternedCompactMealy<?, ?>) other;
+            if (inputs.equals(ref.getInputAlphabet()) && inputs.equals(oth.getInputAlphabet())) {
+                return new InternedOutputComparator(ref, oth);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns whether the (defined) transitions of the given states for the given input have the same output.
+     *
+     * @param refState
+     *         the (int abstracted) state of the first automaton
+     * @param otherState
+     *         the (int abstracted) state of the second automaton
+     * @param input
+     *         the (int abstracted) input
+     *
+     * @return {@code true} if both transitions have the same output, {@code false} otherwise
+     */
+    boolean isEqual(int refState, int otherState, int input) {
+        return mapping[reference.getIntOutput(refState, input) + 1] == other.getIntOutput(otherState, input);
+    }
+}
@@ -347,6 +347,7 @@ public class NearLinearEquivalenceTest<I> {
 
         int lastSym = -1;
         int numInputs = inputs.size();
+        @Nullable InternedOutputComparator outputs = InternedOutputComparator.of(target, other, inputs);
 
         IntRecord current;
 
@@ -356,32 +357,54 @@ public class NearLinearEquivalenceTest<I> {
             int state2 = current.state2;
 
             for (int sym = 0; sym < numInputs; sym++) {
-                T trans1 = absTarget.getTransition(state1, sym);
-                T2 trans2 = absOther.getTransition(state2, sym);
+                final int succ1;
+                final int succ2;
+
+                if (outputs != null) {
+                    // query successors and outputs directly, because transition objects would be created on-the-fly
+                    succ1 = absTarget.getSuccessor(state1, sym);
+                    succ2 = absOther.getSuccessor(state2, sym);
+
+                    if (succ1 < 0 || succ2 < 0) {
+                        if (ignoreUndefinedTransitions || (succ1 < 0 && succ2 < 0)) {
+                            continue;
+                        }
+                        lastSym = sym;
+                        break explore;
+                    }
 
-                if (ignoreUndefinedTransitions && (trans1 == null || trans2 == null)) {
-                    continue;
-                } else if (trans1 == null) {
-                    if (trans2 == null) {
+                    if (!outputs.isEqual(state1, state2, sym)) {
+                        lastSym = sym;
+                        break explore;
+                    }
+                } else {
+                    T trans1 = absTarget.getTransition(state1, sym);
+                    T2 trans2 = absOther.getTransition(state2, sym);
+
+                    if (ignoreUndefinedTransitions && (trans1 == null || trans2 == null)) {
                         continue;
+                    } else if (trans1 == null) {
+                        if (trans2 == null) {
+                            continue;
+                        }
+                        lastSym = sym;
+                        break explore;
+                    } else if (trans2 == null) {
+                        lastSym = sym;
+                        break explore;
                     }
-                    lastSym = sym;
-                    break explore;
-                } else if (trans2 == null) {
-                    lastSym = sym;
-                    break explore;
-                }
 
-                TP tprop1 = target.getTransitionProperty(trans1);
-                TP2 tprop2 = other.getTransitionProperty(trans2);
+                    TP tprop1 = target.getTransitionProperty(trans1);
+                    TP2 tprop2 = other.getTransitionProperty(trans2);
 
-                if (!Objects.equals(tprop1, tprop2)) {
-                    lastSym = sym;
-                    break explore;
-                }
+                    if (!Objects.equals(tprop1, tprop2)) {
+                        lastSym = sym;
+                        break explore;
+                    }
 
-                int succ1 = absTarget.getIntSuccessor(trans1);
-                int succ2 = absOther.getIntSuccessor(trans2);
+                    succ1 = absTarget.getIntSuccessor(trans1);
+                    succ2 = absOther.getIntSuccessor(trans2);
+                }
 
                 id1 = succ1;
                 id2 = succ2 + targetStates;
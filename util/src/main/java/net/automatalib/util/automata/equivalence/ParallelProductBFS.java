@@ -0,0 +1,518 @@
+/* Copyright (C) 2013-2022 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.util.automata.equivalence;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import net.automatalib.automata.UniversalDeterministicAutomaton.FullIntAbstraction;
+import net.automatalib.util.automata.equivalence.DeterministicEquivalenceTest.ProductStateSet;
+import net.automatalib.words.Alphabet;
+import net.automatalib.words.Word;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * A breadth-first exploration of the product of two automata whose phases are distributed among the threads of a
+ * {@link ForkJoinPool}.
+ * <p>
+ * The BFS queue is processed in blocks of consecutive product states, which are split into chunks of {@value
+ * #CHUNK_SIZE} product states. Each block is processed in three parallel phases:
+ * <ol>
+ * <li>All transitions of the block are expanded. Every successor that has not been visited before the current block
+ * is claimed in a concurrent table that stores, for each successor, the minimal (block-relative) index of the
+ * transitions leading to it.</li>
+ * <li>Each chunk counts the successors whose claim it holds, i.e., whose minimal transition index lies within the
+ * chunk, and drops the others.</li>
+ * <li>Each chunk appends its successors to the queue at the offset given by the (prefix) sum of the counts of the
+ * preceding chunks and marks them as visited.</li>
+ * </ol>
+ * Consequently, each product state is discovered by the same transition and appended at the same position as in the
+ * sequential exploration of {@link DeterministicEquivalenceTest#findSeparatingWordPrimitive(
+ * net.automatalib.automata.UniversalDeterministicAutomaton, net.automatalib.automata.UniversalDeterministicAutomaton,
+ * Alphabet)}, independent of the number of threads.
+ *
+ * @param <I>
+ *         input symbol type
+ * @param <T>
+ *         transition type of the first automaton
+ * @param <SP>
+ *         state property type of the first automaton
+ * @param <TP>
+ *         transition property type of the first automaton
+ * @param <T2>
+ *         transition type of the second automaton
+ * @param <SP2>
+ *         state property type of the second automaton
+ * @param <TP2>
+ *         transition property type of the second automaton
+ *
+ * @author agent
+ */
+final class ParallelProductBFS<I, T, SP, TP, T2, SP2, TP2> {
+
+    private static final int INITIAL_CAPACITY = 64;
+    private static final int BLOCK_SIZE = 1 << 14;
+    // 2^20 successors correspond to 8 MB (plus 4 MB for their claims and 24 MB for the claim table)
+    private static final int BLOCK_TRANSITIONS = 1 << 20;
+    private static final int CHUNK_SIZE = 256;
+    private static final long NO_SUCCESSOR = -1L;
+
+    private static final int EXPAND = 0;
+    private static final int SELECT = 1;
+    private static final int APPEND = 2;
+
+    private final FullIntAbstraction<T, SP, TP> absRef;
+    private final FullIntAbstraction<T2, SP2, TP2> absOther;
+    private final @Nullable InternedOutputComparator outputs;
+    private final Alphabet<I> inputs;
+    private final int numInputs;
+    private final ForkJoinPool pool;
+
+    private final ConcurrentProductStateSet visited;
+    private final AtomicInteger firstConflict;
+
+    // the BFS queue, which is never drained (see DeterministicEquivalenceTest#findSeparatingWordPrimitive)
+    private long[] queue;
+    private int[] preds;
+    private int[] symbols;
+    private int head;
+    private int tail;
+
+    // buffers of the current block
+    private int blockSize;
+    private long[] successors;
+    private int[] slots;
+    private int[] offsets;
+    private SuccessorClaims claims;
+
+    ParallelProductBFS(FullIntAbstraction<T, SP, TP> absRef,
+                       FullIntAbstraction<T2, SP2, TP2> absOther,
+                       @Nullable InternedOutputComparator outputs,
+                       Alphabet<I> inputs,
+                       ForkJoinPool pool) {
+        this.absRef = absRef;
+        this.absOther = absOther;
+        this.outputs = outputs;
+        this.inputs = inputs;
+        this.numInputs = inputs.size();
+        this.pool = pool;
+
+        this.visited = new ConcurrentProductStateSet(absRef.size(), absOther.size());
+        this.firstConflict = new AtomicInteger();
+
+        this.queue = new long[INITIAL_CAPACITY];
+        this.preds = new int[INITIAL_CAPACITY];
+        this.symbols = new int[INITIAL_CAPACITY];
+
+        this.successors = new long[0];
+        this.slots = new int[0];
+        this.offsets = new int[0];
+        this.claims = new SuccessorClaims(0);
+    }
+
+    /**
+     * Explores the product, starting from the given (equivalent) product state.
+     *
+     * @param refInit
+     *         the initial state of the first automaton
+     * @param otherInit
+     *         the initial state of the second automaton
+     *
+     * @return a shortest separating word, or {@code null} if no separating word exists
+     */
+    @Nullable Word<I> findSeparatingWord(int refInit, int otherInit) {
+        visited.reserve(1);
+        visited.add(ProductStateSet.encode(refInit, otherInit));
+        queue[0] = ProductStateSet.encode(refInit, otherInit);
+        preds[0] = -1;
+        head = 0;
+        tail = 1;
+
+        // limit the block size, so that blockSize * numInputs never exceeds max(BLOCK_TRANSITIONS, numInputs)
+        final int maxBlockSize = Math.max(1, Math.min(BLOCK_SIZE, BLOCK_TRANSITIONS / Math.max(1, numInputs)));
+
+        while (head < tail) {
+            blockSize = Math.min(tail - head, maxBlockSize);
+
+            // the buffers are grown on demand, because the first levels of the BFS usually contain only few states
+            final int numSuccessors = blockSize * numInputs;
+            if (numSuccessors > successors.length) {
+                successors = new long[numSuccessors];
+                slots = new int[numSuccessors];
+                claims = new SuccessorClaims(numSuccessors);
+            }
+
+            final int numChunks = (blockSize + CHUNK_SIZE - 1) / CHUNK_SIZE;
+            if (numChunks > offsets.length) {
+                offsets = new int[numChunks];
+            }
+
+            firstConflict.set(Integer.MAX_VALUE);
+            runPhase(EXPAND, numChunks);
+
+            final int conflict = firstConflict.get();
+            if (conflict != Integer.MAX_VALUE) {
+                return DeterministicEquivalenceTest.buildWord(inputs,
+                                                              preds,
+                                                              symbols,
+                                                              head + conflict / numInputs,
+                                                              conflict % numInputs);
+            }
+
+            runPhase(SELECT, numChunks);
+
+            int numDiscovered = 0;
+            for (int c = 0; c < numChunks; c++) {
+                final int count = offsets[c];
+                offsets[c] = numDiscovered;
+                numDiscovered += count;
+            }
+
+            if (tail + numDiscovered > queue.length) {
+                final int newCapacity = Math.max(queue.length * 2, tail + numDiscovered);
+                queue = Arrays.copyOf(queue, newCapacity);
+                preds = Arrays.copyOf(preds, newCapacity);
+                symbols = Arrays.copyOf(symbols, newCapacity);
+            }
+            visited.reserve(numDiscovered);
+
+            runPhase(APPEND, numChunks);
+
+            head += blockSize;
+            tail += numDiscovered;
+        }
+
+        return null;
+    }
+
+    private void runPhase(int phase, int numChunks) {
+        final PhaseAction action = new PhaseAction(phase, 0, numChunks);
+
+        // a single chunk is not split anyway, so avoid the hand-off to the pool
+        if (numChunks == 1) {
+            action.compute();
+        } else {
+            pool.invoke(action);
+        }
+    }
+
+    private void expand(int chunk) {
+        final int high = Math.min(blockSize, (chunk + 1) * CHUNK_SIZE);
+
+        for (int i = chunk * CHUNK_SIZE; i < high; i++) {
+            final int base = i * numInputs;
+
+            // conflicts are only relevant up to the first one
+            if (base >= firstConflict.get()) {
+                return;
+            }
+
+            final long code = queue[head + i];
+            final int refState = ProductStateSet.decodeFirst(code);
+            final int otherState = ProductStateSet.decodeSecond(code);
+
+            for (int sym = 0; sym < numInputs; sym++) {
+                final int idx = base + sym;
+                final int refSucc = absRef.getSuccessor(refState, sym);
+                final int otherSucc = absOther.getSuccessor(otherState, sym);
+
+                if (refSucc < 0 || otherSucc < 0) {
+                    if (refSucc < 0 && otherSucc < 0) {
+                        successors[idx] = NO_SUCCESSOR;
+                        continue;
+                    }
+                    firstConflict.accumulateAndGet(idx, Math::min);
+                    return;
+                }
+
+                if (outputs != null ? !outputs.isEqual(refState, otherState, sym) :
+                        !Objects.equals(absRef.getTransitionProperty(refState, sym),
+                                        absOther.getTransitionProperty(otherState, sym))) {
+                    firstConflict.accumulateAndGet(idx, Math::min);
+                    return;
+                }
+
+                final long succCode = ProductStateSet.encode(refSucc, otherSucc);
+
+                if (visited.contains(succCode)) {
+                    successors[idx] = NO_SUCCESSOR;
+                    continue;
+                }
+
+                // product states with differing properties are never visited, so we can check them here already
+                if (!Objects.equals(absRef.getStateProperty(refSucc), absOther.getStateProperty(otherSucc))) {
+                    firstConflict.accumulateAndGet(idx, Math::min);
+                    return;
+                }
+
+                successors[idx] = succCode;
+                slots[idx] = claims.claim(succCode, idx);
+            }
+        }
+    }
+
+    private void select(int chunk) {
+        final int high = Math.min(blockSize, (chunk + 1) * CHUNK_SIZE) * numInputs;
+        int count = 0;
+
+        for (int idx = chunk * CHUNK_SIZE * numInputs; idx < high; idx++) {
+            if (successors[idx] != NO_SUCCESSOR) {
+                if (claims.isOwner(slots[idx], idx)) {
+                    count++;
+                } else {
+                    successors[idx] = NO_SUCCESSOR;
+                }
+            }
+        }
+
+        offsets[chunk] = count;
+    }
+
+    private void append(int chunk) {
+        final int high = Math.min(blockSize, (chunk + 1) * CHUNK_SIZE) * numInputs;
+        int pos = tail + offsets[chunk];
+
+        for (int idx = chunk * CHUNK_SIZE * numInputs; idx < high; idx++) {
+            final long code = successors[idx];
+            if (code != NO_SUCCESSOR) {
+                queue[pos] = code;
+                preds[pos] = head + idx / numInputs;
+                symbols[pos] = idx % numInputs;
+                pos++;
+                visited.add(code);
+                claims.release(slots[idx]);
+            }
+        }
+    }
+
+    /**
+     * Executes a phase for a range of chunks of the current block.
+     */
+    private final class PhaseAction extends RecursiveAction {
+
+        private final int phase;
+        private final int low;
+        private final int high;
+
+        PhaseAction(int phase, int low, int high) {
+            this.phase = phase;
+            this.low = low;
+            this.high = high;
+        }
+
+        @Override
+        protected void compute() {
+            if (high - low > 1) {
+                final int mid = (low + high) >>> 1;
+                invokeAll(new PhaseAction(phase, low, mid), new PhaseAction(phase, mid, high));
+                return;
+            }
+
+            switch (phase) {
+                case EXPAND:
+                    expand(low);
+                    break;
+                case SELECT:
+                    select(low);
+                    break;
+                case APPEND:
+                    append(low);
+                    break;
+                default:
+                    throw new IllegalStateException("Unknown phase " + phase);
+            }
+        }
+    }
+
+    /**
+     * A set of (encoded) product states that supports concurrent additions. For small products, the set is realized
+     * by a bit set over all product states, for larger products by an open-addressing hash table of the encoded
+     * product states. The hash table is only resized by {@link #reserve(int)}, which must not be called concurrently.
+     */
+    private static final class ConcurrentProductStateSet {
+
+        // 2^26 bits correspond to 8 MB
+        private static final long DENSE_THRESHOLD = 1L << 26;
+        // encoded product states are stored with an offset of one, so that zero marks an empty slot
+        private static final long EMPTY = 0L;
+        private static final int INITIAL_TABLE_SIZE = 1 << 10;
+
+        private final int secondSize;
+
+        private final @Nullable AtomicLongArray bits;
+
+        private AtomicLongArray table;
+        private int mask;
+        private int size;
+
+        ConcurrentProductStateSet(int firstSize, int secondSize) {
+            this.secondSize = secondSize;
+
+            final long numProductStates = (long) firstSize * secondSize;
+            if (numProductStates <= DENSE_THRESHOLD) {
+                this.bits = new AtomicLongArray((int) ((numProductStates + Long.SIZE - 1) >>> 6));
+                this.table = new AtomicLongArray(0);
+            } else {
+                this.bits = null;
+                this.table = new AtomicLongArray(INITIAL_TABLE_SIZE);
+            }
+            this.mask = table.length() - 1;
+        }
+
+        boolean contains(long code) {
+            final AtomicLongArray b = this.bits;
+            if (b != null) {
+                final long idx = index(code);
+                return (b.get((int) (idx >>> 6)) & (1L << idx)) != 0;
+            }
+
+            int slot = ProductStateSet.hash(code) & mask;
+            long curr;
+            while ((curr = table.get(slot)) != EMPTY) {
+                if (curr == code + 1) {
+                    return true;
+                }
+                slot = (slot + 1) & mask;
+            }
+            return false;
+        }
+
+        /**
+         * Adds the given product state, which must not be contained in this set. Concurrent additions are limited to
+         * the number of product states announced via {@link #reserve(int)}.
+         */
+        void add(long code) {
+            final AtomicLongArray b = this.bits;
+            if (b != null) {
+                final long idx = index(code);
+                final int wordIdx = (int) (idx >>> 6);
+                final long bit = 1L << idx;
+                long curr;
+                do {
+                    curr = b.get(wordIdx);
+                } while (!b.compareAndSet(wordIdx, curr, curr | bit));
+                return;
+            }
+
+            int slot = ProductStateSet.hash(code) & mask;
+            while (!table.compareAndSet(slot, EMPTY, code + 1)) {
+                slot = (slot + 1) & mask;
+            }
+        }
+
+        /**
+         * Ensures that the given number of product states can be added without resizing the hash table.
+         */
+        void reserve(int additional) {
+            if (bits != null) {
+                return;
+            }
+
+            size += additional;
+            if (size > table.length() >>> 1) {
+                int newLength = table.length();
+                while (size > newLength >>> 1) {
+                    newLength *= 2;
+                }
+
+                final AtomicLongArray oldTable = table;
+                final AtomicLongArray newTable = new AtomicLongArray(newLength);
+                final int newMask = newLength - 1;
+
+                for (int i = 0; i < oldTable.length(); i++) {
+                    final long key = oldTable.get(i);
+                    if (key != EMPTY) {
+                        int slot = ProductStateSet.hash(key - 1) & newMask;
+                        while (newTable.get(slot) != EMPTY) {
+                            slot = (slot + 1) & newMask;
+                        }
+                        newTable.set(slot, key);
+                    }
+                }
+
+                this.table = newTable;
+                this.mask = newMask;
+            }
+        }
+
+        private long index(long code) {
+            return (long) ProductStateSet.decodeFirst(code) * secondSize + ProductStateSet.decodeSecond(code);
+        }
+    }
+
+    /**
+     * A concurrent open-addressing hash table that maps the successors of the current block to the minimal
+     * (block-relative) index of the transitions leading to them. The table is sized for all transitions of a block,
+     * so it never needs to be resized, and each slot is released by the owner of its claim once the block has been
+     * processed.
+     */
+    private static final class SuccessorClaims {
+
+        // encoded product states are stored with an offset of one, so that zero marks an empty slot
+        private static final long EMPTY = 0L;
+
+        private final AtomicLongArray keys;
+        // stores Integer.MAX_VALUE - idx, so that zero marks an unclaimed slot and larger values win
+        private final AtomicIntegerArray claims;
+        private final int mask;
+
+        SuccessorClaims(int numTransitions) {
+            // at least twice the number of transitions, so that probe sequences remain short
+            final int length = Integer.highestOneBit(Math.max(1, numTransitions) * 2 - 1) << 1;
+            this.keys = new AtomicLongArray(length);
+            this.claims = new AtomicIntegerArray(length);
+            this.mask = length - 1;
+        }
+
+        /**
+         * Claims the given successor for the given transition index.
+         *
+         * @return the slot of the successor, to be passed to {@link #isOwner(int, int)} and {@link #release(int)}
+         */
+        int claim(long code, int idx) {
+            final long key = code + 1;
+            int slot = ProductStateSet.hash(code) & mask;
+            long curr;
+            while ((curr = keys.get(slot)) != key) {
+                if (curr == EMPTY) {
+                    if (keys.compareAndSet(slot, EMPTY, key)) {
+                        break;
+                    }
+                    // another thread has occupied the slot, so re-check it
+                } else {
+                    slot = (slot + 1) & mask;
+                }
+            }
+
+            claims.accumulateAndGet(slot, Integer.MAX_VALUE - idx, Math::max);
+            return slot;
+        }
+
+        boolean isOwner(int slot, int idx) {
+            return claims.get(slot) == Integer.MAX_VALUE - idx;
+        }
+
+        void release(int slot) {
+            keys.set(slot, EMPTY);
+            claims.set(slot, 0);
+        }
+    }
+}
@@ -0,0 +1,365 @@
+/* Copyright (C) 2013-2022 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.util.automata.fsa;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+import net.automatalib.automata.fsa.MutableDFA;
+import net.automatalib.automata.fsa.NFA;
+import net.automatalib.automata.fsa.impl.compact.CompactDFA;
+import net.automatalib.automata.fsa.impl.compact.CompactNFA;
+import net.automatalib.automata.fsa.impl.compact.FrozenCompactNFA;
+import net.automatalib.words.Alphabet;
+
+/**
+ * A subset construction that is specialized to {@link CompactNFA}s and {@link FrozenCompactNFA}s. The successors of
+ * the NFA are read directly from the (primitive) transition storage of the respective automaton, i.e. without copying
+ * or freezing a {@link CompactNFA} first. Instead of {@link
+ * java.util.BitSet}s and state lists, subsets are represented by the (trimmed) words of a bit vector over the integer
+ * state IDs of the NFA. The successor subsets are computed in a single, re-used scratch buffer and are only copied
+ * into the subset storage if they have not been discovered before. Subsets are explored in the same order as in the
+ * generic implementation of {@link NFAs}, so that both implementations yield identical automata.
+ *
+ * @author agent
+ */
+final class CompactNFADeterminizer {
+
+    private static final int WORD_SHIFT = 6;
+    private static final int INITIAL_CAPACITY = 64;
+
+    // successor structure of the NFA and the alphabet indices of the (ordered) inputs
+    private final SuccessorFunction successors;
+    private final int[] symbolIndices;
+    private final int numInputs;
+
+    private final long[] acceptingMask;
+    private final long[] scratch;
+
+    // subset storage
+    private long[] words;
+    private int wordsSize;
+    private int[] subsetOffsets;
+    private int[] subsetLengths;
+    private int[] subsetHashes;
+    private boolean[] subsetAccepting;
+    private int numSubsets;
+
+    // open-addressing hash table (storing subset ID + 1, 0 denoting an empty slot)
+    private int[] table;
+
+    // transitions of the resulting DFA (indexed by subset * numInputs + input, -1 denoting an undefined transition)
+    private int[] transitions;
+
+    private <I> CompactNFADeterminizer(NFA<Integer, I> nfa,
+                                       Alphabet<I> alphabet,
+                                       SuccessorFunction successors,
+                                       List<? extends I> inputs) {
+        final int size = nfa.size();
+        final int numWords = (size + Long.SIZE - 1) >>> WORD_SHIFT;
+
+        this.successors = successors;
+        this.numInputs = inputs.size();
+        this.symbolIndices = new int[numInputs];
+        for (int i = 0; i < numInputs; i++) {
+            symbolIndices[i] = alphabet.getSymbolIndex(inputs.get(i));
+        }
+
+        this.acceptingMask = new long[numWords];
+        for (int s = 0; s < size; s++) {
+            if (nfa.isAccepting(s)) {
+                acceptingMask[s >>> WORD_SHIFT] |= 1L << s;
+            }
+        }
+
+        this.scratch = new long[numWords];
+
+        this.words = new long[Math.max(numWords, 1) * INITIAL_CAPACITY];
+        this.subsetOffsets = new int[INITIAL_CAPACITY];
+        this.subsetLengths = new int[INITIAL_CAPACITY];
+        this.subsetHashes = new int[INITIAL_CAPACITY];
+        this.subsetAccepting = new boolean[INITIAL_CAPACITY];
+        this.table = new int[INITIAL_CAPACITY * 2];
+        this.transitions = new int[INITIAL_CAPACITY * numInputs];
+    }
+
+    static <I, SO> void determinize(CompactNFA<I> nfa,
+                                    Collection<? extends I> inputs,
+                                    MutableDFA<SO, I> out,
+                                    boolean partial) {
+        final SuccessorFunction successors = (state, inputIdx, subset) -> {
+            boolean nonEmpty = false;
+            int t = nfa.getNextSuccessor(state, inputIdx, 0);
+            while (t >= 0) {
+                subset[t >>> WORD_SHIFT] |= 1L << t;
+                nonEmpty = true;
+                t = nfa.getNextSuccessor(state, inputIdx, t + 1);
+            }
+            return nonEmpty;
+        };
+
+        determinize(nfa, nfa.getInputAlphabet(), successors, inputs, out, partial);
+    }
+
+    static <I, SO> void determinize(FrozenCompactNFA<I> nfa,
+                                    Collection<? extends I> inputs,
+                                    MutableDFA<SO, I> out,
+                                    boolean partial) {
+        final SuccessorFunction successors = (state, inputIdx, subset) -> {
+            final int begin = nfa.getSuccessorsBegin(state, inputIdx);
+            final int end = nfa.getSuccessorsEnd(state, inputIdx);
+            for (int j = begin; j < end; j++) {
+                final int t = nfa.getTarget(j);
+                subset[t >>> WORD_SHIFT] |= 1L << t;
+            }
+            return begin < end;
+        };
+
+        determinize(nfa, nfa.getInputAlphabet(), successors, inputs, out, partial);
+    }
+
+    private static <I, SO> void determinize(NFA<Integer, I> nfa,
+                                            Alphabet<I> alphabet,
+                                            SuccessorFunction successors,
+                                            Collection<? extends I> inputs,
+                                            MutableDFA<SO, I> out,
+                                            boolean partial) {
+        final List<? extends I> inputList = new ArrayList<>(inputs);
+        final CompactNFADeterminizer determinizer = new CompactNFADeterminizer(nfa, alphabet, successors, inputList);
+
+        for (Integer init : nfa.getInitialStates()) {
+            determinizer.scratch[init >>> WORD_SHIFT] |= 1L << init;
+        }
+
+        determinizer.explore(partial);
+        determinizer.writeTo(inputList, out);
+    }
+
+    private void explore(boolean partial) {
+        int[] stack = new int[INITIAL_CAPACITY];
+        int stackSize = 0;
+
+        stack[stackSize++] = intern();
+
+        while (stackSize > 0) {
+            final int curr = stack[--stackSize];
+
+            for (int i = 0; i < numInputs; i++) {
+                if (!computeSuccessor(curr, i) && partial) {
+                    transitions[curr * numInputs + i] = -1;
+                    continue;
+                }
+
+                final int oldNumSubsets = numSubsets;
+                final int succ = intern();
+
+                if (numSubsets > oldNumSubsets) {
+                    if (stackSize == stack.length) {
+                        stack = Arrays.copyOf(stack, stack.length * 2);
+                    }
+                    stack[stackSize++] = succ;
+                }
+
+                transitions[curr * numInputs + i] = succ;
+            }
+        }
+    }
+
+    /**
+     * Computes the successor subset of the given subset for the given input in the scratch buffer.
+     *
+     * @return {@code true} if the successor subset is non-empty, {@code false} otherwise.
+     */
+    private boolean computeSuccessor(int subset, int input) {
+        Arrays.fill(scratch, 0L);
+
+        final int offset = subsetOffsets[subset];
+        final int length = subsetLengths[subset];
+        boolean nonEmpty = false;
+
+        for (int w = 0; w < length; w++) {
+            long word = words[offset + w];
+            while (word != 0) {
+                final int state = (w << WORD_SHIFT) + Long.numberOfTrailingZeros(word);
+                nonEmpty |= successors.addSuccessors(state, symbolIndices[input], scratch);
+                word &= word - 1;
+            }
+        }
+
+        return nonEmpty;
+    }
+
+    /**
+     * Returns the ID of the subset currently stored in the scratch buffer, adding it to the subset storage if it has
+     * not been discovered before.
+     */
+    private int intern() {
+        int length = scratch.length;
+        while (length > 0 && scratch[length - 1] == 0) {
+            length--;
+        }
+
+        int hash = 1;
+        for (int w = 0; w < length; w++) {
+            final long word = scratch[w];
+            hash = 31 * hash + (int) (word ^ (word >>> 32));
+        }
+        hash ^= hash >>> 16;
+
+        final int mask = table.length - 1;
+        int slot = hash & mask;
+
+        while (table[slot] != 0) {
+            final int candidate = table[slot] - 1;
+            if (subsetHashes[candidate] == hash && equalsScratch(candidate, length)) {
+                return candidate;
+            }
+            slot = (slot + 1) & mask;
+        }
+
+        return addSubset(slot, hash, length);
+    }
+
+    private boolean equalsScratch(int subset, int length) {
+        if (subsetLengths[subset] != length) {
+            return false;
+        }
+
+        final int offset = subsetOffsets[subset];
+        for (int w = 0; w < length; w++) {
+            if (words[offset + w] != scratch[w]) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private int addSubset(int slot, int hash, int length) {
+        final int id = numSubsets++;
+
+        if (id == subsetOffsets.length) {
+            final int newCapacity = id * 2;
+            subsetOffsets = Arrays.copyOf(subsetOffsets, newCapacity);
+            subsetLengths = Arrays.copyOf(subsetLengths, newCapacity);
+            subsetHashes = Arrays.copyOf(subsetHashes, newCapacity);
+            subsetAccepting = Arrays.copyOf(subsetAccepting, newCapacity);
+            transitions = Arrays.copyOf(transitions, newCapacity * numInputs);
+        }
+
+        if (wordsSize + length > words.length) {
+            words = Arrays.copyOf(words, Math.max(words.length * 2, wordsSize + length));
+        }
+
+        boolean accepting = false;
+        for (int w = 0; w < length; w++) {
+            accepting |= (scratch[w] & acceptingMask[w]) != 0;
+        }
+
+        System.arraycopy(scratch, 0, words, wordsSize, length);
+        subsetOffsets[id] = wordsSize;
+        subsetLengths[id] = length;
+        subsetHashes[id] = hash;
+        subsetAccepting[id] = accepting;
+        wordsSize += length;
+
+        table[slot] = id + 1;
+
+        if (numSubsets * 2 > table.length) {
+            rehash();
+        }
+
+        return id;
+    }
+
+    private void rehash() {
+        final int[] newTable = new int[table.length * 2];
+        final int mask = newTable.length - 1;
+
+        for (int id = 0; id < numSubsets; id++) {
+            int slot = subsetHashes[id] & mask;
+            while (newTable[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            newTable[slot] = id + 1;
+        }
+
+        this.table = newTable;
+    }
+
+    @SuppressWarnings("unchecked")
+    private <I, SO> void writeTo(List<? extends I> inputs, MutableDFA<SO, I> out) {
+        if (out instanceof CompactDFA) {
+            writeTo(inputs, (CompactDFA<I>) out);
+            return;
+        }
+
+        final List<SO> outStates = new ArrayList<>(numSubsets);
+        outStates.add(out.addInitialState(subsetAccepting[0]));
+        for (int s = 1; s < numSubsets; s++) {
+            outStates.add(out.addState(subsetAccepting[s]));
+        }
+
+        for (int s = 0; s < numSubsets; s++) {
+            final SO src = outStates.get(s);
+            for (int i = 0; i < numInputs; i++) {
+                final int succ = transitions[s * numInputs + i];
+                if (succ >= 0) {
+                    out.setTransition(src, inputs.get(i), outStates.get(succ));
+                }
+            }
+        }
+    }
+
+    private <I> void writeTo(List<? extends I> inputs, CompactDFA<I> out) {
+        final Alphabet<I> alphabet = out.getInputAlphabet();
+        final int[] outStates = new int[numSubsets];
+        outStates[0] = out.addIntInitialState(subsetAccepting[0]);
+        for (int s = 1; s < numSubsets; s++) {
+            outStates[s] = out.addIntState(subsetAccepting[s]);
+        }
+
+        final int[] symbolIndices = new int[numInputs];
+        for (int i = 0; i < numInputs; i++) {
+            symbolIndices[i] = alphabet.getSymbolIndex(inputs.get(i));
+        }
+
+        for (int s = 0; s < numSubsets; s++) {
+            for (int i = 0; i < numInputs; i++) {
+                final int succ = transitions[s * numInputs + i];
+                if (succ >= 0) {
+                    out.setTransition(outStates[s], symbolIndices[i], outStates[succ]);
+                }
+            }
+        }
+    }
+
+    /**
+     * Primitive access to the successors of the NFA to determinize.
+     */
+    @FunctionalInterface
+    private interface SuccessorFunction {
+
+        /**
+         * Adds the successors of the given state and input to the given subset (bit vector).
+         *
+         * @return {@code true} if the state has at least one successor for the given input, {@code false} otherwise
+         */
+        boolean addSuccessors(int state, int inputIdx, long[] subset);
+    }
+}
@@ -16,6 +16,7 @@
 package net.automatalib.util.automata.fsa;
 
 import java.util.Collection;
+import java.util.concurrent.ForkJoinPool;
 
 import net.automatalib.automata.concepts.InputAlphabetHolder;
 import net.automatalib.automata.fsa.DFA;
@@ -24,7 +25,9 @@ import net.automatalib.automata.fsa.impl.compact.CompactDFA;
 import net.automatalib.ts.acceptors.DeterministicAcceptorTS;
 import net.automatalib.util.automata.copy.AutomatonCopyMethod;
 import net.automatalib.util.automata.copy.AutomatonLowLevelCopy;
+import net.automatalib.util.automata.minimizer.brzozowski.BrzozowskiMinimization;
 import net.automatalib.util.automata.minimizer.hopcroft.HopcroftMinimization;
+import net.automatalib.util.automata.minimizer.hopcroft.HopcroftMinimization.PruningMode;
 import net.automatalib.util.ts.acceptors.AcceptanceCombiner;
 import net.automatalib.util.ts.acceptors.Acceptors;
 import net.automatalib.util.ts.copy.TSCopy;
@@ -356,6 +359,36 @@ public final class DFAs {
         return HopcroftMinimization.minimizeDFA(dfa, alphabet);
     }
 
+    /**
+     * Minimizes the given DFA over the given alphabet using the given minimization strategy. This method does not
+     * modify the given DFA, but returns the minimized version as a new instance. All strategies yield identical
+     * results.
+     * <p>
+     * <b>Note:</b> the DFA must be completely specified.
+     *
+     * @param dfa
+     *         the DFA to be minimized
+     * @param alphabet
+     *         the input alphabet to consider for minimization (this will also be the input alphabet of the resulting
+     *         automaton)
+     * @param strategy
+     *         the minimization algorithm to use
+     *
+     * @return a minimized version of the specified DFA
+     */
+    public static <I> CompactDFA<I> minimize(DFA<?, I> dfa, Alphabet<I> alphabet, MinimizationStrategy strategy) {
+        switch (strategy) {
+            case HOPCROFT:
+                return HopcroftMinimization.minimizeDFA(dfa, alphabet);
+            case BRZOZOWSKI:
+                return BrzozowskiMinimization.minimizeDFA(dfa, alphabet);
+            case PARALLEL_REFINEMENT:
+                return HopcroftMinimization.minimizeDFA(dfa, alphabet, PruningMode.PRUNE_AFTER, ForkJoinPool.commonPool());
+            default:
+                throw new IllegalArgumentException("Unknown minimization strategy: " + strategy);
+        }
+    }
+
     /**
      * Minimizes the given DFA. This method does not modify the given DFA, but returns the minimized version as a new
      * instance.
@@ -409,4 +442,25 @@ public final class DFAs {
     public static <S> boolean acceptsEmptyLanguage(DFA<S, ?> dfa) {
         return dfa.getStates().stream().noneMatch(dfa::isAccepting);
     }
+
+    /**
+     * The algorithms available for {@link #minimize(DFA, Alphabet, MinimizationStrategy) minimizing} DFAs.
+     */
+    public enum MinimizationStrategy {
+        /**
+         * Hopcroft's partition refinement algorithm (see {@link HopcroftMinimization}). This is the default strategy
+         * and usually the best choice.
+         */
+        HOPCROFT,
+        /**
+         * Brzozowski's double-reversal algorithm (see {@link BrzozowskiMinimization}). While exponential in the worst
+         * case, this may be faster for automata whose reversal is (almost) deterministic, such as very sparse DFAs.
+         */
+        BRZOZOWSKI,
+        /**
+         * A round-based partition refinement, whose rounds are distributed on the {@link ForkJoinPool#commonPool()
+         * common pool} (see {@link HopcroftMinimization#minimizeDFA(DFA, Alphabet, PruningMode, ForkJoinPool)}).
+         */
+        PARALLEL_REFINEMENT
+    }
 }
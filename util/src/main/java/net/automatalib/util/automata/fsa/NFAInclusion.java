@@ -0,0 +1,311 @@
+/* Copyright (C) 2013-2022 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.util.automata.fsa;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+
+import net.automatalib.automata.concepts.StateIDs;
+import net.automatalib.automata.fsa.NFA;
+import net.automatalib.words.Word;
+import net.automatalib.words.WordBuilder;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Antichain-based language inclusion and universality checks for {@link NFA}s.
+ * <p>
+ * Instead of determinizing (and complementing) the involved automata, the checks lazily explore the subsets of the
+ * (implicit) powerset construction in breadth-first order and stop as soon as a counterexample has been found.
+ * Subsets that are supersets of an already explored subset (for the same state of the left-hand side NFA) are pruned,
+ * because every counterexample reachable from the superset is also reachable from the smaller subset. This usually
+ * avoids exploring large parts of the powerset. Due to the breadth-first exploration, the returned counterexamples are
+ * of minimal length.
+ * <p>
+ * See "Antichains: A New Algorithm for Checking Universality of Finite Automata" by De Wulf, Doyen, Henzinger, and
+ * Raskin.
+ *
+ * @author agent
+ */
+public final class NFAInclusion {
+
+    private NFAInclusion() {
+        // prevent instantiation
+    }
+
+    /**
+     * Checks whether the language of the first NFA is included in the language of the second NFA.
+     *
+     * @param nfa1
+     *         the first (included) NFA
+     * @param nfa2
+     *         the second (including) NFA
+     * @param inputs
+     *         the input symbols to consider
+     * @param <I>
+     *         input symbol type
+     *
+     * @return {@code true} if every word accepted by {@code nfa1} is accepted by {@code nfa2}, {@code false}
+     * otherwise.
+     *
+     * @see #findInclusionCounterexample(NFA, NFA, Collection)
+     */
+    public static <I> boolean isIncluded(NFA<?, I> nfa1, NFA<?, I> nfa2, Collection<? extends I> inputs) {
+        return findInclusionCounterexample(nfa1, nfa2, inputs) == null;
+    }
+
+    /**
+     * Checks whether the given NFA accepts every word over the given inputs.
+     *
+     * @param nfa
+     *         the NFA
+     * @param inputs
+     *         the input symbols to consider
+     * @param <I>
+     *         input symbol type
+     *
+     * @return {@code true} if the NFA accepts every word, {@code false} otherwise.
+     *
+     * @see #findUniversalityCounterexample(NFA, Collection)
+     */
+    public static <I> boolean isUniversal(NFA<?, I> nfa, Collection<? extends I> inputs) {
+        return findUniversalityCounterexample(nfa, inputs) == null;
+    }
+
+    /**
+     * Searches for a word that is accepted by the first NFA but rejected by the second NFA.
+     *
+     * @param nfa1
+     *         the first (included) NFA
+     * @param nfa2
+     *         the second (including) NFA
+     * @param inputs
+     *         the input symbols to consider
+     * @param <I>
+     *         input symbol type
+     *
+     * @return a shortest word accepted by {@code nfa1} but not by {@code nfa2}, or {@code null} if the language of
+     * {@code nfa1} is included in the language of {@code nfa2}.
+     */
+    public static <I, S1, S2> @Nullable Word<I> findInclusionCounterexample(NFA<S1, I> nfa1,
+                                                                           NFA<S2, I> nfa2,
+                                                                           Collection<? extends I> inputs) {
+
+        final StateIDs<S1> ids1 = nfa1.stateIDs();
+        final StateIDs<S2> ids2 = nfa2.stateIDs();
+        final BitSet accepting2 = acceptingStates(nfa2, ids2);
+
+        final Antichain antichain = new Antichain(nfa1.size());
+        final Queue<Record> queue = new ArrayDeque<>();
+
+        final BitSet init2 = new BitSet();
+        for (S2 s : nfa2.getInitialStates()) {
+            init2.set(ids2.getStateId(s));
+        }
+
+        for (S1 s : nfa1.getInitialStates()) {
+            final int id = ids1.getStateId(s);
+            if (antichain.add(id, init2)) {
+                if (nfa1.isAccepting(s) && !init2.intersects(accepting2)) {
+                    return Word.epsilon();
+                }
+                queue.add(new Record(id, init2, null, null));
+            }
+        }
+
+        Record curr;
+        while ((curr = queue.poll()) != null) {
+            final S1 state1 = ids1.getState(curr.state);
+
+            for (I sym : inputs) {
+                final Collection<S1> succs1 = nfa1.getSuccessors(state1, sym);
+                if (succs1.isEmpty()) {
+                    continue;
+                }
+
+                final BitSet succ2 = post(nfa2, ids2, curr.subset, sym);
+                final boolean rejecting = !succ2.intersects(accepting2);
+
+                for (S1 s : succs1) {
+                    final int id = ids1.getStateId(s);
+                    if (antichain.add(id, succ2)) {
+                        final Record r = new Record(id, succ2, curr, sym);
+                        if (rejecting && nfa1.isAccepting(s)) {
+                            return buildWord(r);
+                        }
+                        queue.add(r);
+                    }
+                }
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Searches for a word that is rejected by the given NFA.
+     *
+     * @param nfa
+     *         the NFA
+     * @param inputs
+     *         the input symbols to consider
+     * @param <I>
+     *         input symbol type
+     *
+     * @return a shortest word rejected by {@code nfa}, or {@code null} if {@code nfa} accepts every word.
+     */
+    public static <I, S> @Nullable Word<I> findUniversalityCounterexample(NFA<S, I> nfa,
+                                                                         Collection<? extends I> inputs) {
+
+        final StateIDs<S> ids = nfa.stateIDs();
+        final BitSet accepting = acceptingStates(nfa, ids);
+
+        final BitSet init = new BitSet();
+        for (S s : nfa.getInitialStates()) {
+            init.set(ids.getStateId(s));
+        }
+
+        if (!init.intersects(accepting)) {
+            return Word.epsilon();
+        }
+
+        // universality is inclusion of a single, universal state
+        final Antichain antichain = new Antichain(1);
+        final Queue<Record> queue = new ArrayDeque<>();
+
+        antichain.add(0, init);
+        queue.add(new Record(0, init, null, null));
+
+        Record curr;
+        while ((curr = queue.poll()) != null) {
+            for (I sym : inputs) {
+                final BitSet succ = post(nfa, ids, curr.subset, sym);
+
+                if (antichain.add(0, succ)) {
+                    final Record r = new Record(0, succ, curr, sym);
+                    if (!succ.intersects(accepting)) {
+                        return buildWord(r);
+                    }
+                    queue.add(r);
+                }
+            }
+        }
+
+        return null;
+    }
+
+    private static <S> BitSet acceptingStates(NFA<S, ?> nfa, StateIDs<S> ids) {
+        final BitSet result = new BitSet();
+        for (S s : nfa) {
+            if (nfa.isAccepting(s)) {
+                result.set(ids.getStateId(s));
+            }
+        }
+        return result;
+    }
+
+    private static <S, I> BitSet post(NFA<S, I> nfa, StateIDs<S> ids, BitSet subset, I sym) {
+        final BitSet result = new BitSet();
+        for (int i = subset.nextSetBit(0); i >= 0; i = subset.nextSetBit(i + 1)) {
+            for (S succ : nfa.getSuccessors(ids.getState(i), sym)) {
+                result.set(ids.getStateId(succ));
+            }
+        }
+        return result;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <I> Word<I> buildWord(Record record) {
+        final WordBuilder<I> wb = new WordBuilder<>();
+
+        Record curr = record;
+        while (curr.parent != null) {
+            wb.add((I) curr.symbol);
+            curr = curr.parent;
+        }
+
+        return wb.reverse().toWord();
+    }
+
+    private static final class Record {
+
+        private final int state;
+        private final BitSet subset;
+        private final @Nullable Record parent;
+        private final @Nullable Object symbol;
+
+        Record(int state, BitSet subset, @Nullable Record parent, @Nullable Object symbol) {
+            this.state = state;
+            this.subset = subset;
+            this.parent = parent;
+            this.symbol = symbol;
+        }
+    }
+
+    /**
+     * A collection of antichains (w.r.t. subset inclusion) of subsets, one for each state of the included NFA.
+     */
+    private static final class Antichain {
+
+        private final List<List<BitSet>> elements;
+
+        Antichain(int size) {
+            this.elements = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                this.elements.add(new ArrayList<>());
+            }
+        }
+
+        /**
+         * Adds the given subset to the antichain of the given state, unless the antichain already contains a subset
+         * of it. Subsets of the antichain that are supersets of the given subset are removed.
+         *
+         * @return {@code true} if the subset has been added, {@code false} otherwise.
+         */
+        boolean add(int state, BitSet subset) {
+            final List<BitSet> chain = elements.get(state);
+
+            for (BitSet bs : chain) {
+                if (isSubset(bs, subset)) {
+                    return false;
+                }
+            }
+
+            final Iterator<BitSet> iter = chain.iterator();
+            while (iter.hasNext()) {
+                if (isSubset(subset, iter.next())) {
+                    iter.remove();
+                }
+            }
+
+            chain.add(subset);
+            return true;
+        }
+
+        private static boolean isSubset(BitSet sub, BitSet sup) {
+            for (int i = sub.nextSetBit(0); i >= 0; i = sub.nextSetBit(i + 1)) {
+                if (!sup.get(i)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
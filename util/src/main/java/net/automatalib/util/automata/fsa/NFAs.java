@@ -23,6 +23,10 @@ import java.util.Deque;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 
 import net.automatalib.automata.concepts.InputAlphabetHolder;
 import net.automatalib.automata.concepts.StateIDs;
@@ -31,6 +35,7 @@ import net.automatalib.automata.fsa.MutableNFA;
 import net.automatalib.automata.fsa.NFA;
 import net.automatalib.automata.fsa.impl.compact.CompactDFA;
 import net.automatalib.automata.fsa.impl.compact.CompactNFA;
+import net.automatalib.automata.fsa.impl.compact.FrozenCompactNFA;
 import net.automatalib.ts.acceptors.AcceptorTS;
 import net.automatalib.util.automata.Automata;
 import net.automatalib.util.ts.acceptors.AcceptanceCombiner;
@@ -291,6 +296,48 @@ public final class NFAs {
         return combine(nfa1, nfa2, inputs, out, AcceptanceCombiner.IMPL);
     }
 
+    /**
+     * Computes the reversal of the given NFA, i.e. an NFA that accepts exactly the reversed words of the given NFA.
+     * Initial and accepting states swap their roles and all transitions are inverted. The state with ID {@code i} of
+     * the returned NFA corresponds to the state with ID {@code i} (w.r.t. {@link NFA#stateIDs()}) of the given NFA.
+     *
+     * @param nfa
+     *         the NFA to reverse
+     * @param inputAlphabet
+     *         the input alphabet
+     *
+     * @return a new NFA accepting the reversed language of the given NFA
+     */
+    public static <I, S> CompactNFA<I> reverse(NFA<S, I> nfa, Alphabet<I> inputAlphabet) {
+        final StateIDs<S> stateIds = nfa.stateIDs();
+        final int size = nfa.size();
+        final CompactNFA<I> result = new CompactNFA<>(inputAlphabet, size);
+
+        for (int i = 0; i < size; i++) {
+            result.addState(false);
+        }
+
+        for (S init : nfa.getInitialStates()) {
+            result.setAccepting(stateIds.getStateId(init), true);
+        }
+
+        for (int i = 0; i < size; i++) {
+            final S state = stateIds.getState(i);
+
+            if (nfa.isAccepting(state)) {
+                result.setInitial(i, true);
+            }
+
+            for (int j = 0; j < inputAlphabet.size(); j++) {
+                for (S succ : nfa.getSuccessors(state, inputAlphabet.getSymbol(j))) {
+                    result.addTransition(stateIds.getStateId(succ), j, i);
+                }
+            }
+        }
+
+        return result;
+    }
+
     public static <I> CompactDFA<I> determinize(NFA<?, I> nfa, Alphabet<I> inputAlphabet) {
         return determinize(nfa, inputAlphabet, false, true);
     }
@@ -309,7 +356,13 @@ public final class NFAs {
                                        MutableDFA<?, I> out,
                                        boolean partial,
                                        boolean minimize) {
-        doDeterminize(nfa, inputs, out, partial);
+        if (nfa instanceof CompactNFA) {
+            CompactNFADeterminizer.determinize((CompactNFA<I>) nfa, inputs, out, partial);
+        } else if (nfa instanceof FrozenCompactNFA) {
+            CompactNFADeterminizer.determinize((FrozenCompactNFA<I>) nfa, inputs, out, partial);
+        } else {
+            doDeterminize(nfa, inputs, out, partial);
+        }
         if (minimize) {
             Automata.invasiveMinimize(out, inputs);
         }
@@ -329,6 +382,66 @@ public final class NFAs {
         determinize(nfa, inputs, out, false, true);
     }
 
+    /**
+     * Determinizes the given NFA using a parallel subset construction. This is a convenience method for {@link
+     * #determinizeParallel(NFA, Alphabet, boolean, boolean, ForkJoinPool)} that uses the {@link
+     * ForkJoinPool#commonPool() common pool}.
+     *
+     * @param nfa
+     *         the NFA to determinize
+     * @param inputAlphabet
+     *         the input alphabet
+     * @param partial
+     *         if {@code true}, the resulting DFA will not contain a sink state for the empty subset
+     * @param minimize
+     *         if {@code true}, the resulting DFA will be minimized
+     *
+     * @return a DFA accepting the same language as the given NFA
+     */
+    public static <I> CompactDFA<I> determinizeParallel(NFA<?, I> nfa,
+                                                        Alphabet<I> inputAlphabet,
+                                                        boolean partial,
+                                                        boolean minimize) {
+        return determinizeParallel(nfa, inputAlphabet, partial, minimize, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Determinizes the given NFA using a parallel subset construction.
+     * <p>
+     * The powerset is explored level by level (in breadth-first order). The successor subsets of all subsets of the
+     * current level are computed in parallel on the given {@link ForkJoinPool} and are interned in a concurrent subset
+     * table. Afterwards, newly discovered subsets are numbered sequentially in the order of their discovery, so that
+     * the state numbering of the returned {@link CompactDFA} does not depend on the scheduling of the worker threads
+     * (or their number).
+     * <p>
+     * Note that the given NFA is accessed concurrently and therefore must not be modified during the determinization.
+     *
+     * @param nfa
+     *         the NFA to determinize
+     * @param inputAlphabet
+     *         the input alphabet
+     * @param partial
+     *         if {@code true}, the resulting DFA will not contain a sink state for the empty subset
+     * @param minimize
+     *         if {@code true}, the resulting DFA will be minimized
+     * @param pool
+     *         the pool used for the parallel expansion of the subsets
+     *
+     * @return a DFA accepting the same language as the given NFA
+     */
+    public static <I> CompactDFA<I> determinizeParallel(NFA<?, I> nfa,
+                                                        Alphabet<I> inputAlphabet,
+                                                        boolean partial,
+                                                        boolean minimize,
+                                                        ForkJoinPool pool) {
+        final CompactDFA<I> result = new CompactDFA<>(inputAlphabet);
+        doDeterminizeParallel(nfa, inputAlphabet, result, partial, pool);
+        if (minimize) {
+            Automata.invasiveMinimize(result, inputAlphabet);
+        }
+        return result;
+    }
+
     private static <I, SI, SO> void doDeterminize(NFA<SI, I> nfa,
                                                   Collection<? extends I> inputs,
                                                   MutableDFA<SO, I> out,
@@ -386,6 +499,166 @@ public final class NFAs {
 
     }
 
+    private static <I, SI> void doDeterminizeParallel(NFA<SI, I> nfa,
+                                                      Alphabet<I> inputs,
+                                                      CompactDFA<I> out,
+                                                      boolean partial,
+                                                      ForkJoinPool pool) {
+
+        final StateIDs<SI> stateIds = nfa.stateIDs();
+        final ConcurrentMap<BitSet, Subset> subsetTable = new ConcurrentHashMap<>();
+
+        final BitSet initBs = new BitSet();
+        boolean initAcc = false;
+        for (SI init : nfa.getInitialStates()) {
+            initBs.set(stateIds.getStateId(init));
+            initAcc |= nfa.isAccepting(init);
+        }
+
+        final Subset initSubset = new Subset(initBs, initAcc);
+        initSubset.id = out.addIntInitialState(initAcc);
+        subsetTable.put(initBs, initSubset);
+
+        final int numInputs = inputs.size();
+        List<Subset> level = new ArrayList<>();
+        level.add(initSubset);
+
+        while (!level.isEmpty()) {
+            final Subset[] successors = new Subset[level.size() * numInputs];
+
+            pool.invoke(new ExpandSubsetsAction<>(nfa,
+                                                  stateIds,
+                                                  inputs,
+                                                  partial,
+                                                  subsetTable,
+                                                  level,
+                                                  successors,
+                                                  0,
+                                                  level.size()));
+
+            // number new subsets sequentially in the order of their discovery to guarantee deterministic results
+            final List<Subset> nextLevel = new ArrayList<>();
+            int idx = 0;
+            for (Subset src : level) {
+                for (int i = 0; i < numInputs; i++) {
+                    final Subset succ = successors[idx++];
+                    if (succ != null) {
+                        if (succ.id < 0) {
+                            succ.id = out.addIntState(succ.accepting);
+                            nextLevel.add(succ);
+                        }
+                        out.setTransition(src.id, i, succ.id);
+                    }
+                }
+            }
+
+            level = nextLevel;
+        }
+    }
+
+    private static final class Subset {
+
+        private final BitSet states;
+        private final boolean accepting;
+        private int id;
+
+        Subset(BitSet states, boolean accepting) {
+            this.states = states;
+            this.accepting = accepting;
+            this.id = -1;
+        }
+    }
+
+    private static final class ExpandSubsetsAction<I, SI> extends RecursiveAction {
+
+        private static final int THRESHOLD = 32;
+
+        private final NFA<SI, I> nfa;
+        private final StateIDs<SI> stateIds;
+        private final Alphabet<I> inputs;
+        private final boolean partial;
+        private final ConcurrentMap<BitSet, Subset> subsetTable;
+        private final List<Subset> level;
+        private final Subset[] successors;
+        private final int low;
+        private final int high;
+
+        // we never serialize these actions
+        @SuppressWarnings("PMD.BeanMembersShouldSerialize")
+        ExpandSubsetsAction(NFA<SI, I> nfa,
+                            StateIDs<SI> stateIds,
+                            Alphabet<I> inputs,
+                            boolean partial,
+                            ConcurrentMap<BitSet, Subset> subsetTable,
+                            List<Subset> level,
+                            Subset[] successors,
+                            int low,
+                            int high) {
+            this.nfa = nfa;
+            this.stateIds = stateIds;
+            this.inputs = inputs;
+            this.partial = partial;
+            this.subsetTable = subsetTable;
+            this.level = level;
+            this.successors = successors;
+            this.low = low;
+            this.high = high;
+        }
+
+        @Override
+        protected void compute() {
+            if (high - low > THRESHOLD) {
+                final int mid = (low + high) >>> 1;
+                invokeAll(new ExpandSubsetsAction<>(nfa,
+                                                    stateIds,
+                                                    inputs,
+                                                    partial,
+                                                    subsetTable,
+                                                    level,
+                                                    successors,
+                                                    low,
+                                                    mid),
+                          new ExpandSubsetsAction<>(nfa,
+                                                    stateIds,
+                                                    inputs,
+                                                    partial,
+                                                    subsetTable,
+                                                    level,
+                                                    successors,
+                                                    mid,
+                                                    high));
+                return;
+            }
+
+            final int numInputs = inputs.size();
+
+            for (int i = low; i < high; i++) {
+                final BitSet src = level.get(i).states;
+
+                for (int j = 0; j < numInputs; j++) {
+                    final I sym = inputs.getSymbol(j);
+                    final BitSet succBs = new BitSet();
+                    boolean succAcc = false;
+
+                    for (int s = src.nextSetBit(0); s >= 0; s = src.nextSetBit(s + 1)) {
+                        for (SI succ : nfa.getSuccessors(stateIds.getState(s), sym)) {
+                            final int succId = stateIds.getStateId(succ);
+                            if (!succBs.get(succId)) {
+                                succBs.set(succId);
+                                succAcc |= nfa.isAccepting(succ);
+                            }
+                        }
+                    }
+
+                    if (!partial || !succBs.isEmpty()) {
+                        final boolean acc = succAcc;
+                        successors[i * numInputs + j] = subsetTable.computeIfAbsent(succBs, bs -> new Subset(bs, acc));
+                    }
+                }
+            }
+        }
+    }
+
     private static final class DeterminizeRecord<SI, SO> {
 
         private final List<SI> inputStates;
@@ -0,0 +1,71 @@
+/* Copyright (C) 2013-2022 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.util.automata.minimizer.brzozowski;
+
+import net.automatalib.automata.fsa.DFA;
+import net.automatalib.automata.fsa.impl.compact.CompactDFA;
+import net.automatalib.automata.fsa.impl.compact.CompactNFA;
+import net.automatalib.util.automata.copy.AutomatonCopyMethod;
+import net.automatalib.util.automata.copy.AutomatonLowLevelCopy;
+import net.automatalib.util.automata.fsa.NFAs;
+import net.automatalib.words.Alphabet;
+
+/**
+ * Brzozowski's minimization algorithm for deterministic finite automata.
+ * <p>
+ * The algorithm reverses and determinizes the automaton twice. The determinization of the reversal of an initially
+ * connected DFA yields the minimal DFA of the reversed language, hence applying this step twice yields the minimal DFA
+ * of the original language. While the worst-case complexity of this approach is exponential, it performs well on
+ * automata whose reversal is (almost) deterministic, e.g., very sparse DFAs.
+ * <p>
+ * The states of the returned DFA are numbered in breadth-first order (w.r.t. the order of the alphabet), which
+ * coincides with the numbering of the pruned results of {@link
+ * net.automatalib.util.automata.minimizer.hopcroft.HopcroftMinimization}.
+ * <p>
+ * <b>Note:</b> the DFA must be completely specified.
+ *
+ * @author agent
+ */
+public final class BrzozowskiMinimization {
+
+    private BrzozowskiMinimization() {
+        // prevent instantiation
+    }
+
+    /**
+     * Minimizes the given DFA. The result is returned in the form of a {@link CompactDFA}.
+     *
+     * @param dfa
+     *         the DFA to minimize
+     * @param alphabet
+     *         the input alphabet (this will be the input alphabet of the returned DFA)
+     * @param <I>
+     *         input symbol type
+     *
+     * @return a minimized version of the specified DFA
+     */
+    public static <I> CompactDFA<I> minimizeDFA(DFA<?, I> dfa, Alphabet<I> alphabet) {
+        final CompactNFA<I> reversed = NFAs.reverse(dfa, alphabet);
+        final CompactDFA<I> reversedDFA = NFAs.determinize(reversed, alphabet, false, false);
+        final CompactNFA<I> reReversed = NFAs.reverse(reversedDFA, alphabet);
+        final CompactDFA<I> minimal = NFAs.determinize(reReversed, alphabet, false, false);
+
+        final CompactDFA<I> result = new CompactDFA<>(alphabet, minimal.size());
+        AutomatonLowLevelCopy.copy(AutomatonCopyMethod.BFS, minimal, alphabet, result);
+
+        return result;
+    }
+}
@@ -15,6 +15,8 @@
  */
 package net.automatalib.util.automata.minimizer.hopcroft;
 
+import java.util.concurrent.ForkJoinPool;
+
 import net.automatalib.automata.AutomatonCreator;
 import net.automatalib.automata.MutableDeterministic;
 import net.automatalib.automata.UniversalDeterministicAutomaton;
@@ -32,6 +34,7 @@ import net.automatalib.util.partitionrefinement.PaigeTarjan;
 import net.automatalib.util.partitionrefinement.PaigeTarjanExtractors;
 import net.automatalib.util.partitionrefinement.PaigeTarjanInitializers;
 import net.automatalib.words.Alphabet;
+import org.checkerframework.checker.nullness.qual.Nullable;
 
 /**
  * Versions of Hopcroft's minimization algorithm for deterministic finite automata.
@@ -52,6 +55,11 @@ import net.automatalib.words.Alphabet;
  * Otherwise, pruning can be chosen to be performed on the automaton to be minimized ({@link PruningMode#PRUNE_BEFORE}),
  * or on the calculated state partition ({@link PruningMode#PRUNE_AFTER}). For methods that do not provide a {@code
  * pruningMode} parameter, the default is {@link PruningMode#PRUNE_AFTER}.
+ * <p>
+ * Methods that take an additional {@link ForkJoinPool} parameter compute the state equivalences in parallel (see {@link
+ * PaigeTarjan#computeCoarsestStablePartition(ForkJoinPool)}). For {@link PruningMode#PRUNE_AFTER}, their results are
+ * identical to the ones of the sequential methods. For the other pruning modes, the results only coincide up to
+ * isomorphism (i.e., the numbering of states may differ).
  *
  * @author Malte Isberner
  */
@@ -120,6 +128,33 @@ public final class HopcroftMinimization {
         return minimizeDFA(dfa, alphabet, pruningMode, new CompactDFA.Creator<>());
     }
 
+    /**
+     * Minimizes the given DFA, computing the state equivalences in parallel. The result is returned in the form of a
+     * {@link CompactDFA}.
+     *
+     * @param dfa
+     *         the DFA to minimize
+     * @param alphabet
+     *         the input alphabet (this will be the input alphabet of the returned DFA)
+     * @param pruningMode
+     *         the pruning mode (see above)
+     * @param pool
+     *         the pool used for the parallel computation of the state equivalences
+     *
+     * @return a minimized version of the specified DFA
+     */
+    public static <I> CompactDFA<I> minimizeDFA(DFA<?, I> dfa,
+                                                Alphabet<I> alphabet,
+                                                PruningMode pruningMode,
+                                                ForkJoinPool pool) {
+        return minimizeUniversal(dfa,
+                                 alphabet,
+                                 new CompactDFA.Creator<>(),
+                                 AutomatonInitialPartitioning.BY_STATE_PROPERTY,
+                                 pruningMode,
+                                 pool);
+    }
+
     /**
      * Minimizes the given DFA. The result is returned in the form of a {@link CompactDFA}.
      *
@@ -206,6 +241,33 @@ public final class HopcroftMinimization {
         return minimizeMealy(mealy, alphabet, pruningMode, new CompactMealy.Creator<>());
     }
 
+    /**
+     * Minimizes the given Mealy machine, computing the state equivalences in parallel. The result is returned in the
+     * form of a {@link CompactMealy}.
+     *
+     * @param mealy
+     *         the Mealy machine to minimize
+     * @param alphabet
+     *         the input alphabet (this will be the input alphabet of the resulting Mealy machine)
+     * @param pruningMode
+     *         the pruning mode (see above)
+     * @param pool
+     *         the pool used for the parallel computation of the state equivalences
+     *
+     * @return a minimized version of the specified Mealy machine
+     */
+    public static <I, O> CompactMealy<I, O> minimizeMealy(MealyMachine<?, I, ?, O> mealy,
+                                                          Alphabet<I> alphabet,
+                                                          PruningMode pruningMode,
+                                                          ForkJoinPool pool) {
+        return minimizeUniversal(mealy,
+                                 alphabet,
+                                 new CompactMealy.Creator<>(),
+                                 AutomatonInitialPartitioning.BY_TRANSITION_PROPERTIES,
+                                 pruningMode,
+                                 pool);
+    }
+
     /**
      * Minimizes the given Mealy machine. The result is returned in the form of a {@link CompactMealy}.
      *
@@ -255,14 +317,59 @@ public final class HopcroftMinimization {
             AutomatonCreator<A, I> creator,
             AutomatonInitialPartitioning ap,
             PruningMode pruningMode) {
+        return doMinimizeUniversal(automaton, alphabet, creator, ap, pruningMode, null);
+    }
+
+    /**
+     * Minimizes the given automaton depending on the given partitioning function, computing the state equivalences in
+     * parallel.
+     *
+     * @param automaton
+     *         the automaton to minimize
+     * @param alphabet
+     *         the input alphabet (this will be the input alphabet of the resulting Mealy machine)
+     * @param creator
+     *         the creator for constructing the automata instance to return
+     * @param ap
+     *         the initial partitioning function, determining how states will be distinguished
+     * @param pruningMode
+     *         the pruning mode (see above)
+     * @param pool
+     *         the pool used for the parallel computation of the state equivalences
+     *
+     * @return the minimized automaton, initially constructed from the given {@code creator}.
+     *
+     * @see AutomatonInitialPartitioning
+     */
+    public static <I, T, SP, TP, A extends MutableDeterministic<?, I, ?, SP, TP>> A minimizeUniversal(
+            UniversalDeterministicAutomaton<?, I, T, SP, TP> automaton,
+            Alphabet<I> alphabet,
+            AutomatonCreator<A, I> creator,
+            AutomatonInitialPartitioning ap,
+            PruningMode pruningMode,
+            ForkJoinPool pool) {
+        return doMinimizeUniversal(automaton, alphabet, creator, ap, pruningMode, pool);
+    }
+
+    private static <I, T, SP, TP, A extends MutableDeterministic<?, I, ?, SP, TP>> A doMinimizeUniversal(
+            UniversalDeterministicAutomaton<?, I, T, SP, TP> automaton,
+            Alphabet<I> alphabet,
+            AutomatonCreator<A, I> creator,
+            AutomatonInitialPartitioning ap,
+            PruningMode pruningMode,
+            @Nullable ForkJoinPool pool) {
 
         final PaigeTarjan pt = new PaigeTarjan();
         final FullIntAbstraction<T, SP, TP> abs = automaton.fullIntAbstraction(alphabet);
 
         PaigeTarjanInitializers.initCompleteDeterministic(pt, abs, ap, pruningMode == PruningMode.PRUNE_BEFORE);
 
-        pt.initWorklist(false);
-        pt.computeCoarsestStablePartition();
+        if (pool == null) {
+            pt.initWorklist(false);
+            pt.computeCoarsestStablePartition();
+        } else {
+            pt.computeCoarsestStablePartition(pool);
+        }
 
         @SuppressWarnings("nullness") // getTransitionProperty will only be called for defined transitions
         final A result = PaigeTarjanExtractors.toDeterministic(pt,
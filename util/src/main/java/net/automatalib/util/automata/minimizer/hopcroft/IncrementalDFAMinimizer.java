@@ -0,0 +1,602 @@
+/* Copyright (C) 2013-2022 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.util.automata.minimizer.hopcroft;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Map;
+
+import net.automatalib.automata.MutableDeterministic;
+import net.automatalib.automata.fsa.DFA;
+import net.automatalib.automata.fsa.impl.compact.CompactDFA;
+import net.automatalib.automata.simple.SimpleDeterministicAutomaton;
+import net.automatalib.util.partitionrefinement.PaigeTarjan;
+import net.automatalib.util.partitionrefinement.PaigeTarjanInitializers;
+import net.automatalib.words.Alphabet;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * An incremental variant of {@link HopcroftMinimization} for {@link CompactDFA}s that are modified by only a small
+ * number of changes between subsequent minimizations (as, e.g., the hypotheses of an active learning loop).
+ * <p>
+ * The minimizer maintains its own copy of the automaton which has to be modified exclusively via the mutating methods
+ * of this class (e.g., {@link #addState(boolean)} or {@link #setTransition(int, int, int)}). Alongside the automaton,
+ * the state partition of the last minimization is kept. Upon {@link #minimize()}, only the states whose languages may
+ * have changed (i.e., the modified states and all states that can reach them) are re-stabilized, whereas all other
+ * states keep their equivalence classes:
+ * <ul>
+ * <li>If the affected states do not form a cycle, they are processed in reverse topological order and assigned to the
+ * equivalence class with the same signature (acceptance and successor classes), similar to the register of the DAG-based
+ * incremental construction algorithms.</li>
+ * <li>Otherwise, the partition refinement (see {@link PaigeTarjan}) is performed on the quotient in which every
+ * unaffected equivalence class is collapsed to a single representative.</li>
+ * </ul>
+ * <p>
+ * The results of {@link #minimize()} are identical to the ones of {@link HopcroftMinimization#minimizeDFA(DFA,
+ * Alphabet) HopcroftMinimization.minimizeDFA(automaton, alphabet)} (i.e., using {@link
+ * HopcroftMinimization.PruningMode#PRUNE_AFTER}) for the current state of the automaton.
+ * <p>
+ * <b>Important note:</b> As with {@link HopcroftMinimization}, the automaton must be complete at the time of calling
+ * {@link #minimize()}. Otherwise, a {@link IllegalArgumentException} is thrown.
+ *
+ * @param <I>
+ *         input symbol type
+ *
+ * @author agent
+ */
+public class IncrementalDFAMinimizer<I> {
+
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private final Alphabet<I> alphabet;
+    private final int numInputs;
+    private final CompactDFA<I> automaton;
+    private final MutableDeterministic.FullIntAbstraction<Integer, Boolean, Void> abs;
+
+    // states whose outgoing transitions or acceptance have been modified since the last minimization
+    private final BitSet dirty;
+
+    // the (multi-)set of predecessors of every state
+    private int[][] predecessors;
+    private int[] numPredecessors;
+
+    // the equivalence class of every state w.r.t. the last minimization
+    private int[] classOf;
+    private int numClassifiedStates;
+
+    // the size and signature of every equivalence class, as well as the register of all live classes
+    private int[] classSize;
+    private @Nullable Signature[] classSignature;
+    private int numClasses;
+    private int[] freeClasses;
+    private int numFreeClasses;
+    private final Map<Signature, Integer> register;
+
+    /**
+     * Constructor. Initializes the minimizer with an empty automaton.
+     *
+     * @param alphabet
+     *         the input alphabet
+     */
+    public IncrementalDFAMinimizer(Alphabet<I> alphabet) {
+        this(new CompactDFA<>(alphabet));
+    }
+
+    /**
+     * Constructor. Initializes the minimizer with a copy of the given automaton.
+     *
+     * @param dfa
+     *         the automaton to initialize the minimizer with
+     */
+    public IncrementalDFAMinimizer(CompactDFA<I> dfa) {
+        this.automaton = new CompactDFA<>(dfa);
+        this.alphabet = automaton.getInputAlphabet();
+        this.numInputs = alphabet.size();
+        this.abs = automaton.fullIntAbstraction(alphabet);
+        this.dirty = new BitSet();
+        this.register = new HashMap<>();
+
+        final int numStates = automaton.size();
+        final int capacity = Math.max(numStates, DEFAULT_CAPACITY);
+
+        this.predecessors = new int[capacity][];
+        this.numPredecessors = new int[capacity];
+        this.classOf = new int[capacity];
+        this.classSize = new int[capacity];
+        this.classSignature = new Signature[capacity];
+        this.freeClasses = new int[capacity];
+
+        for (int s = 0; s < numStates; s++) {
+            for (int i = 0; i < numInputs; i++) {
+                final int succ = abs.getSuccessor(s, i);
+                if (succ >= 0) {
+                    addPredecessor(succ, s);
+                }
+            }
+        }
+
+        this.dirty.set(0, numStates);
+    }
+
+    /**
+     * Returns the automaton maintained by this minimizer. The returned automaton must not be modified directly, as
+     * otherwise subsequent calls to {@link #minimize()} may compute incorrect results.
+     *
+     * @return the automaton maintained by this minimizer
+     */
+    public CompactDFA<I> getAutomaton() {
+        return automaton;
+    }
+
+    /**
+     * Adds a new state to the automaton.
+     *
+     * @param accepting
+     *         whether the state is accepting
+     *
+     * @return the id of the new state
+     *
+     * @see CompactDFA#addState(boolean)
+     */
+    public int addState(boolean accepting) {
+        final int state = automaton.addIntState(accepting);
+        ensureStateCapacity(state + 1);
+        dirty.set(state);
+        return state;
+    }
+
+    /**
+     * Adds a new initial state to the automaton.
+     *
+     * @param accepting
+     *         whether the state is accepting
+     *
+     * @return the id of the new state
+     *
+     * @see CompactDFA#addInitialState(boolean)
+     */
+    public int addInitialState(boolean accepting) {
+        final int state = automaton.addIntInitialState(accepting);
+        ensureStateCapacity(state + 1);
+        dirty.set(state);
+        return state;
+    }
+
+    /**
+     * Sets the initial state of the automaton. As the languages of the individual states are not affected by this
+     * operation, it does not require any re-stabilization.
+     *
+     * @param state
+     *         the id of the new initial state
+     */
+    public void setInitialState(int state) {
+        automaton.setInitialState(state);
+    }
+
+    /**
+     * Sets the acceptance of the given state.
+     *
+     * @param state
+     *         the id of the state
+     * @param accepting
+     *         whether the state should be accepting
+     */
+    public void setAccepting(int state, boolean accepting) {
+        if (automaton.isAccepting(state) != accepting) {
+            automaton.setAccepting(state, accepting);
+            dirty.set(state);
+        }
+    }
+
+    /**
+     * Sets the successor of the given state for the given input symbol.
+     *
+     * @param state
+     *         the id of the source state
+     * @param input
+     *         the input symbol
+     * @param succ
+     *         the id of the successor state
+     */
+    public void setTransition(int state, I input, int succ) {
+        setTransition(state, alphabet.getSymbolIndex(input), succ);
+    }
+
+    /**
+     * Sets the successor of the given state for the given input symbol index.
+     *
+     * @param state
+     *         the id of the source state
+     * @param inputIdx
+     *         the index of the input symbol
+     * @param succ
+     *         the id of the successor state
+     */
+    public void setTransition(int state, int inputIdx, int succ) {
+        final int oldSucc = abs.getSuccessor(state, inputIdx);
+        if (oldSucc != succ) {
+            if (oldSucc >= 0) {
+                removePredecessor(oldSucc, state);
+            }
+            automaton.setTransition(state, inputIdx, succ);
+            if (succ >= 0) {
+                addPredecessor(succ, state);
+            }
+            dirty.set(state);
+        }
+    }
+
+    /**
+     * Computes a minimal version of the current automaton, re-stabilizing only the states that are affected by the
+     * modifications since the last invocation of this method.
+     *
+     * @return a minimized version of the current automaton
+     *
+     * @throws IllegalArgumentException
+     *         if the current automaton is partial
+     */
+    public CompactDFA<I> minimize() {
+        final int init = automaton.getIntInitialState();
+
+        if (init < 0) {
+            return new CompactDFA<>(alphabet);
+        }
+
+        if (!dirty.isEmpty()) {
+            stabilize();
+            dirty.clear();
+        }
+
+        return extract(init);
+    }
+
+    private void stabilize() {
+        final int numStates = automaton.size();
+        final BitSet affected = computeAffectedStates(numStates);
+
+        for (int s = affected.nextSetBit(0); s >= 0 && s < numClassifiedStates; s = affected.nextSetBit(s + 1)) {
+            releaseClass(classOf[s]);
+        }
+
+        if (numClassifiedStates == 0 || !resolveAcyclic(affected)) {
+            refine(affected, numStates);
+        }
+
+        this.numClassifiedStates = numStates;
+    }
+
+    private BitSet computeAffectedStates(int numStates) {
+        final BitSet affected = new BitSet(numStates);
+        affected.or(dirty);
+        affected.set(numClassifiedStates, numStates);
+
+        final int[] stack = new int[numStates];
+        int stackPtr = 0;
+        for (int s = affected.nextSetBit(0); s >= 0; s = affected.nextSetBit(s + 1)) {
+            stack[stackPtr++] = s;
+        }
+
+        while (stackPtr > 0) {
+            final int curr = stack[--stackPtr];
+            final int[] preds = predecessors[curr];
+            for (int j = 0; j < numPredecessors[curr]; j++) {
+                final int pred = preds[j];
+                if (!affected.get(pred)) {
+                    affected.set(pred);
+                    stack[stackPtr++] = pred;
+                }
+            }
+        }
+
+        return affected;
+    }
+
+    /**
+     * Assigns equivalence classes to the affected states in reverse topological order.
+     *
+     * @return {@code true} if all affected states have been classified, {@code false} if the affected states contain a
+     * cycle
+     */
+    private boolean resolveAcyclic(BitSet affected) {
+        final int numAffected = affected.cardinality();
+        final int[] pending = new int[automaton.size()];
+        final int[] queue = new int[numAffected];
+        int queueEnd = 0;
+
+        for (int s = affected.nextSetBit(0); s >= 0; s = affected.nextSetBit(s + 1)) {
+            int count = 0;
+            for (int i = 0; i < numInputs; i++) {
+                final int succ = abs.getSuccessor(s, i);
+                if (succ < 0) {
+                    throw new IllegalArgumentException("Automaton must not be partial");
+                }
+                if (affected.get(succ)) {
+                    count++;
+                }
+            }
+            pending[s] = count;
+            if (count == 0) {
+                queue[queueEnd++] = s;
+            }
+        }
+
+        int queuePtr = 0;
+        while (queuePtr < queueEnd) {
+            final int curr = queue[queuePtr++];
+            final Signature sig = computeSignature(curr);
+            Integer cls = register.get(sig);
+            if (cls == null) {
+                cls = createClass(sig);
+            }
+            classOf[curr] = cls;
+            classSize[cls]++;
+
+            final int[] preds = predecessors[curr];
+            for (int j = 0; j < numPredecessors[curr]; j++) {
+                final int pred = preds[j];
+                if (--pending[pred] == 0) {
+                    queue[queueEnd++] = pred;
+                }
+            }
+        }
+
+        return queueEnd == numAffected;
+    }
+
+    private void refine(BitSet affected, int numStates) {
+        // construct the quotient: every unaffected equivalence class is collapsed into its first unaffected member,
+        // whereas affected states are kept as individual states
+        final int[] quotientOf = new int[numStates];
+        final int[] representatives = new int[numStates];
+        final int[] quotientOfClass = new int[numClasses];
+        Arrays.fill(quotientOfClass, -1);
+
+        int numQuotientStates = 0;
+        for (int s = 0; s < numStates; s++) {
+            if (affected.get(s)) {
+                quotientOf[s] = numQuotientStates;
+                representatives[numQuotientStates++] = s;
+            } else {
+                final int c = classOf[s];
+                int q = quotientOfClass[c];
+                if (q < 0) {
+                    q = numQuotientStates;
+                    quotientOfClass[c] = q;
+                    representatives[numQuotientStates++] = s;
+                }
+                quotientOf[s] = q;
+            }
+        }
+
+        // successors of unaffected states are unaffected as well, hence the quotient is well-defined
+        final int[] successors = new int[numQuotientStates * numInputs];
+        for (int q = 0; q < numQuotientStates; q++) {
+            final int rep = representatives[q];
+            for (int i = 0; i < numInputs; i++) {
+                final int succ = abs.getSuccessor(rep, i);
+                if (succ < 0) {
+                    throw new IllegalArgumentException("Automaton must not be partial");
+                }
+                successors[q * numInputs + i] = quotientOf[succ];
+            }
+        }
+
+        final PaigeTarjan pt = new PaigeTarjan();
+        PaigeTarjanInitializers.initCompleteDeterministic(pt,
+                                                          new QuotientAbstraction(successors,
+                                                                                  numQuotientStates,
+                                                                                  numInputs),
+                                                          q -> automaton.isAccepting(representatives[q]),
+                                                          false);
+        pt.initWorklist(false);
+        pt.computeCoarsestStablePartition();
+
+        // re-build the class information from scratch
+        final int numBlocks = pt.getNumBlocks();
+        ensureClassCapacity(numBlocks);
+        Arrays.fill(classSize, 0);
+        Arrays.fill(classSignature, null);
+        register.clear();
+        this.numClasses = numBlocks;
+        this.numFreeClasses = 0;
+
+        for (int s = 0; s < numStates; s++) {
+            final int cls = pt.getBlockForState(quotientOf[s]).id;
+            classOf[s] = cls;
+            classSize[cls]++;
+        }
+
+        for (int q = 0; q < numQuotientStates; q++) {
+            final int cls = pt.getBlockForState(q).id;
+            if (classSignature[cls] == null) {
+                final Signature sig = computeSignature(representatives[q]);
+                classSignature[cls] = sig;
+                register.put(sig, cls);
+            }
+        }
+    }
+
+    private CompactDFA<I> extract(int init) {
+        final CompactDFA<I> result = new CompactDFA<>(alphabet, numClasses - numFreeClasses);
+        final int[] stateMap = new int[numClasses];
+        final int[] repMap = new int[numClasses];
+        Arrays.fill(stateMap, -1);
+
+        final int resInit = result.addIntInitialState(automaton.isAccepting(init));
+        stateMap[classOf[init]] = resInit;
+        repMap[resInit] = init;
+
+        int statesPtr = 0;
+        int numStates = 1;
+        while (statesPtr < numStates) {
+            final int resState = statesPtr++;
+            final int rep = repMap[resState];
+            for (int i = 0; i < numInputs; i++) {
+                final int succ = abs.getSuccessor(rep, i);
+                final int succClass = classOf[succ];
+                int resSucc = stateMap[succClass];
+                if (resSucc < 0) {
+                    resSucc = result.addIntState(automaton.isAccepting(succ));
+                    stateMap[succClass] = resSucc;
+                    repMap[resSucc] = succ;
+                    numStates++;
+                }
+                result.setTransition(resState, i, resSucc);
+            }
+        }
+
+        return result;
+    }
+
+    private Signature computeSignature(int state) {
+        final int[] succClasses = new int[numInputs];
+        for (int i = 0; i < numInputs; i++) {
+            succClasses[i] = classOf[abs.getSuccessor(state, i)];
+        }
+        return new Signature(automaton.isAccepting(state), succClasses);
+    }
+
+    private int createClass(Signature sig) {
+        final int cls;
+        if (numFreeClasses > 0) {
+            cls = freeClasses[--numFreeClasses];
+        } else {
+            ensureClassCapacity(numClasses + 1);
+            cls = numClasses++;
+        }
+        classSignature[cls] = sig;
+        register.put(sig, cls);
+        return cls;
+    }
+
+    private void releaseClass(int cls) {
+        if (--classSize[cls] == 0) {
+            final Signature sig = classSignature[cls];
+            assert sig != null;
+            register.remove(sig);
+            classSignature[cls] = null;
+            freeClasses[numFreeClasses++] = cls;
+        }
+    }
+
+    private void addPredecessor(int state, int pred) {
+        int[] preds = predecessors[state];
+        final int num = numPredecessors[state];
+        if (preds == null) {
+            preds = new int[2];
+            predecessors[state] = preds;
+        } else if (num == preds.length) {
+            preds = Arrays.copyOf(preds, num * 2);
+            predecessors[state] = preds;
+        }
+        preds[num] = pred;
+        numPredecessors[state] = num + 1;
+    }
+
+    private void removePredecessor(int state, int pred) {
+        final int[] preds = predecessors[state];
+        final int last = --numPredecessors[state];
+        for (int j = 0; j <= last; j++) {
+            if (preds[j] == pred) {
+                preds[j] = preds[last];
+                return;
+            }
+        }
+    }
+
+    private void ensureStateCapacity(int capacity) {
+        if (capacity > classOf.length) {
+            final int newCapacity = Math.max(capacity, classOf.length * 2);
+            this.predecessors = Arrays.copyOf(predecessors, newCapacity);
+            this.numPredecessors = Arrays.copyOf(numPredecessors, newCapacity);
+            this.classOf = Arrays.copyOf(classOf, newCapacity);
+        }
+    }
+
+    private void ensureClassCapacity(int capacity) {
+        if (capacity > classSize.length) {
+            final int newCapacity = Math.max(capacity, classSize.length * 2);
+            this.classSize = Arrays.copyOf(classSize, newCapacity);
+            this.classSignature = Arrays.copyOf(classSignature, newCapacity);
+            this.freeClasses = Arrays.copyOf(freeClasses, newCapacity);
+        }
+    }
+
+    private static final class Signature {
+
+        private final boolean accepting;
+        private final int[] succClasses;
+        private final int hashCode;
+
+        Signature(boolean accepting, int[] succClasses) {
+            this.accepting = accepting;
+            this.succClasses = succClasses;
+            this.hashCode = 31 * Arrays.hashCode(succClasses) + Boolean.hashCode(accepting);
+        }
+
+        @Override
+        public boolean equals(@Nullable Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Signature)) {
+                return false;
+            }
+
+            final Signature that = (Signature) o;
+            return accepting == that.accepting && Arrays.equals(succClasses, that.succClasses);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+
+    private static final class QuotientAbstraction implements SimpleDeterministicAutomaton.FullIntAbstraction {
+
+        private final int[] successors;
+        private final int numStates;
+        private final int numInputs;
+
+        QuotientAbstraction(int[] successors, int numStates, int numInputs) {
+            this.successors = successors;
+            this.numStates = numStates;
+            this.numInputs = numInputs;
+        }
+
+        @Override
+        public int getSuccessor(int state, int input) {
+            return successors[state * numInputs + input];
+        }
+
+        @Override
+        public int numInputs() {
+            return numInputs;
+        }
+
+        @Override
+        public int getIntInitialState() {
+            return 0;
+        }
+
+        @Override
+        public int size() {
+            return numStates;
+        }
+    }
+}
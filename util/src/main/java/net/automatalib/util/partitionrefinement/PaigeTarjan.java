@@ -20,6 +20,9 @@ import java.util.Iterator;
 import java.util.PrimitiveIterator;
 import java.util.Spliterator;
 import java.util.Spliterators;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
 
 import org.checkerframework.checker.nullness.qual.Nullable;
 
@@ -41,6 +44,11 @@ import org.checkerframework.checker.nullness.qual.Nullable;
  */
 public class PaigeTarjan {
 
+    // the number of states processed by a single task of the parallel refinement
+    private static final int CHUNK_SIZE = 4096;
+    // the largest power of two that is a valid array size
+    private static final int MAX_TABLE_SIZE = 1 << 30;
+
     /**
      * The number of input symbols.
      */
@@ -270,6 +278,275 @@ public class PaigeTarjan {
         }
     }
 
+    /**
+     * Refines the partition until it stabilizes, distributing the computation on the given {@link ForkJoinPool}.
+     * <p>
+     * Instead of processing the worklist splitter by splitter, this method refines all blocks simultaneously in rounds
+     * (in the style of Moore's algorithm): in each round, the states of each block are split according to the blocks
+     * of their successors. The successor lookups are independent for each input symbol and state and are computed in
+     * parallel, whereas the (cheap) assignment of new block IDs is performed sequentially so that the result does not
+     * depend on the scheduling of the worker threads. Once the partition is stable, the block list, the {@link
+     * #blockData}, {@link #posData} and {@link #blockForState} data are rebuilt, so the result can be processed exactly
+     * like the result of {@link #computeCoarsestStablePartition()}. The worklist is cleared in the process.
+     * <p>
+     * Since each round only splits off the states that are distinguished by words of a certain length, deep automata
+     * (e.g., chains of states) may require up to {@code n} rounds, each of which costs {@code O(k * n)}. Therefore, the
+     * number of rounds is limited to the binary logarithm of the number of partitioned states. If the partition has not
+     * stabilized by then, the blocks are rebuilt from the current partition and the refinement is completed by the
+     * sequential {@link #computeCoarsestStablePartition()} (with all blocks on the worklist), which bounds the overall
+     * complexity by {@code O(k * n * log(n))}.
+     * <p>
+     * The round-based refinement requires every state to have at most one successor per input symbol. It further
+     * assumes that the states of all non-empty blocks occupy a contiguous range of the {@link #blockData} array (as it
+     * is the case for the data structures created by {@link PaigeTarjanInitializers}), since it operates on a copy of
+     * this range. If the successors are not unique or the number of partitioned states exceeds the capacity of the
+     * internal hash table (i.e., {@code 2^29} states), this method falls back to the sequential {@link
+     * #computeCoarsestStablePartition()}. In this case, an empty worklist is initialized via {@link
+     * #initWorklist(boolean) initWorklist(false)} first.
+     *
+     * @param pool
+     *         the pool used for the parallel computation
+     */
+    public void computeCoarsestStablePartition(ForkJoinPool pool) {
+        final int[][] successors = computeSuccessors(pool);
+
+        if (successors == null) {
+            computeCoarsestStablePartitionSequentially();
+            return;
+        }
+
+        int low = Integer.MAX_VALUE;
+        int high = Integer.MIN_VALUE;
+        int size = 0;
+        for (Block b = blocklistHead; b != null; b = b.nextBlock) {
+            if (!b.isEmpty()) {
+                low = Math.min(low, b.low);
+                high = Math.max(high, b.high);
+                size += b.size();
+            }
+        }
+
+        if (size == 0) {
+            return;
+        }
+
+        assert high - low == size : "non-empty blocks need to occupy a contiguous range of blockData";
+
+        if (size > MAX_TABLE_SIZE / 2) {
+            computeCoarsestStablePartitionSequentially();
+            return;
+        }
+
+        // the number of states contained in blocks (excluding e.g. pruned states)
+        final int numPartitioned = size;
+
+        final int[] states = Arrays.copyOfRange(blockData, low, low + numPartitioned);
+        final int numChunks = (numPartitioned + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        final int[][] signatures = new int[numInputs][numStates];
+        final int[] hashes = new int[numStates];
+        final int[] table = new int[tableSize(numPartitioned)];
+
+        int[] blockIds = new int[numStates];
+        int[] newBlockIds = new int[numStates];
+        int currNumBlocks = 0;
+        for (Block b = blocklistHead; b != null; b = b.nextBlock) {
+            if (!b.isEmpty()) {
+                final int id = currNumBlocks++;
+                for (int i = b.low; i < b.high; i++) {
+                    blockIds[blockData[i]] = id;
+                }
+            }
+        }
+
+        // each round costs O(k * n), so after log(n) rounds we continue with the O(k * n * log(n)) sequential refinement
+        final int maxRounds = Integer.SIZE - Integer.numberOfLeadingZeros(numPartitioned);
+        int rounds = 0;
+
+        while (true) {
+            final int[] currIds = blockIds;
+
+            runParallel(pool, numInputs * numChunks, task -> {
+                final int input = task / numChunks;
+                final int chunkLow = (task % numChunks) * CHUNK_SIZE;
+                final int chunkHigh = Math.min(chunkLow + CHUNK_SIZE, numPartitioned);
+                final int[] succs = successors[input];
+                final int[] sigs = signatures[input];
+
+                for (int i = chunkLow; i < chunkHigh; i++) {
+                    final int state = states[i];
+                    final int succ = succs[state];
+                    sigs[state] = succ < 0 ? -1 : currIds[succ];
+                }
+            });
+
+            runParallel(pool, numChunks, chunk -> {
+                final int chunkLow = chunk * CHUNK_SIZE;
+                final int chunkHigh = Math.min(chunkLow + CHUNK_SIZE, numPartitioned);
+
+                for (int i = chunkLow; i < chunkHigh; i++) {
+                    final int state = states[i];
+                    int hash = currIds[state];
+                    for (int j = 0; j < numInputs; j++) {
+                        hash = 31 * hash + signatures[j][state];
+                    }
+                    hashes[state] = hash ^ (hash >>> 16);
+                }
+            });
+
+            final int newNumBlocks = refineBySignatures(states, currIds, newBlockIds, signatures, hashes, table);
+
+            if (newNumBlocks == currNumBlocks) {
+                break;
+            }
+
+            currNumBlocks = newNumBlocks;
+            blockIds = newBlockIds;
+            newBlockIds = currIds;
+
+            if (++rounds >= maxRounds) {
+                rebuildBlocks(states, low, blockIds, currNumBlocks);
+                initWorklist(true);
+                computeCoarsestStablePartition();
+                return;
+            }
+        }
+
+        rebuildBlocks(states, low, blockIds, currNumBlocks);
+    }
+
+    private void computeCoarsestStablePartitionSequentially() {
+        if (worklistHead == null) {
+            initWorklist(false);
+        }
+        computeCoarsestStablePartition();
+    }
+
+    /**
+     * Returns the size of the open-addressing table used for refining the given number of states, i.e. a power of two
+     * that is at least twice as large, so that the load factor does not exceed 1/2. Requires {@code numEntries <=
+     * MAX_TABLE_SIZE / 2}.
+     */
+    private static int tableSize(int numEntries) {
+        final long size = Long.highestOneBit(numEntries) << 2;
+        return (int) Math.min(size, MAX_TABLE_SIZE);
+    }
+
+    /**
+     * Computes the (unique) successor of each state for each input symbol from the predecessor data, or {@code -1} if
+     * no such successor exists. Returns {@code null} if some state has multiple successors for an input symbol.
+     */
+    private int @Nullable [][] computeSuccessors(ForkJoinPool pool) {
+        final int[][] successors = new int[numInputs][numStates];
+        final boolean[] deterministic = {true};
+
+        runParallel(pool, numInputs, input -> {
+            final int[] succs = successors[input];
+            final int predOfsBase = predOfsDataLow + input * numStates;
+
+            Arrays.fill(succs, -1);
+
+            for (int state = 0; state < numStates; state++) {
+                final int predLow = predOfsData[predOfsBase + state];
+                final int predHigh = predOfsData[predOfsBase + state + 1];
+                for (int k = predLow; k < predHigh; k++) {
+                    final int pred = predData[k];
+                    if (succs[pred] >= 0) {
+                        deterministic[0] = false;
+                        return;
+                    }
+                    succs[pred] = state;
+                }
+            }
+        });
+
+        return deterministic[0] ? successors : null;
+    }
+
+    private static int refineBySignatures(int[] states,
+                                          int[] blockIds,
+                                          int[] newBlockIds,
+                                          int[][] signatures,
+                                          int[] hashes,
+                                          int[] table) {
+        final int mask = table.length - 1;
+        int numBlocks = 0;
+
+        Arrays.fill(table, 0);
+
+        for (int state : states) {
+            final int hash = hashes[state];
+            int slot = hash & mask;
+            int block = -1;
+
+            while (table[slot] != 0) {
+                final int rep = table[slot] - 1;
+                if (hashes[rep] == hash && sameSignature(blockIds, signatures, rep, state)) {
+                    block = newBlockIds[rep];
+                    break;
+                }
+                slot = (slot + 1) & mask;
+            }
+
+            if (block < 0) {
+                block = numBlocks++;
+                table[slot] = state + 1;
+            }
+
+            newBlockIds[state] = block;
+        }
+
+        return numBlocks;
+    }
+
+    private static boolean sameSignature(int[] blockIds, int[][] signatures, int s1, int s2) {
+        if (blockIds[s1] != blockIds[s2]) {
+            return false;
+        }
+
+        for (int[] sigs : signatures) {
+            if (sigs[s1] != sigs[s2]) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private void rebuildBlocks(int[] states, int low, int[] blockIds, int newNumBlocks) {
+        final int[] offsets = new int[newNumBlocks + 1];
+        for (int state : states) {
+            offsets[blockIds[state] + 1]++;
+        }
+        for (int i = 0; i < newNumBlocks; i++) {
+            offsets[i + 1] += offsets[i];
+        }
+
+        final Block[] blocks = new Block[newNumBlocks];
+        Block next = null;
+        for (int i = newNumBlocks - 1; i >= 0; i--) {
+            next = new Block(low + offsets[i], low + offsets[i + 1], i, next);
+            blocks[i] = next;
+        }
+
+        for (int state : states) {
+            final Block b = blocks[blockIds[state]];
+            final int pos = low + offsets[b.id]++;
+            blockData[pos] = state;
+            posData[posDataLow + state] = pos;
+            blockForState[state] = b;
+        }
+
+        this.blocklistHead = next;
+        this.numBlocks = newNumBlocks;
+        this.worklistHead = null;
+        this.worklistTail = null;
+        this.touchedHead = null;
+    }
+
+    private static void runParallel(ForkJoinPool pool, int numTasks, IntConsumer task) {
+        pool.submit(() -> IntStream.range(0, numTasks).parallel().forEach(task)).join();
+    }
+
     private @Nullable Block poll() {
         if (worklistHead == null) {
             return null;
@@ -15,20 +15,27 @@
  */
 package net.automatalib.util.automata.conformance;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Random;
 import java.util.Set;
 import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
 
+import com.google.common.collect.Lists;
 import com.google.common.collect.Sets;
 import com.google.common.collect.Streams;
 import net.automatalib.automata.fsa.impl.compact.CompactDFA;
 import net.automatalib.automata.transducers.impl.compact.CompactMealy;
 import net.automatalib.commons.util.collections.CollectionsUtil;
+import net.automatalib.commons.util.comparison.CmpUtil;
 import net.automatalib.util.automata.Automata;
 import net.automatalib.util.automata.builders.AutomatonBuilders;
+import net.automatalib.util.automata.random.RandomAutomata;
 import net.automatalib.words.Alphabet;
 import net.automatalib.words.Word;
 import net.automatalib.words.impl.Alphabets;
+import org.checkerframework.checker.nullness.qual.Nullable;
 import org.testng.Assert;
 import org.testng.annotations.BeforeClass;
 import org.testng.annotations.Test;
@@ -120,6 +127,66 @@ public class IncrementalWMethodTestsIteratorTest {
         }
     }
 
+    @Test
+    public void testSpliterator() {
+        final Alphabet<Character> outputs = Alphabets.characters('x', 'z');
+        final CompactMealy<Character, Character> m1 = RandomAutomata.randomMealy(new Random(42), 5, alphabet, outputs);
+        final CompactMealy<Character, Character> m2 = new CompactMealy<>(m1);
+        final int newState = m2.addState();
+        for (Character c : alphabet) {
+            m2.addTransition(newState, c, newState, 'x');
+        }
+        m2.setTransition(0, (Character) 'a', newState, m2.getOutput(0, 'a'));
+
+        checkSpliterator(m1, 0, null);
+        checkSpliterator(m1, 17, null);
+        checkSpliterator(m1, Integer.MAX_VALUE, null);
+        checkSpliterator(m1, 0, m2);
+        checkSpliterator(m1, 17, m2);
+    }
+
+    private void checkSpliterator(CompactMealy<Character, Character> initial,
+                                  int numConsumed,
+                                  @Nullable CompactMealy<Character, Character> updated) {
+        final List<Word<Character>> remainingTests = Lists.newArrayList(createIterator(initial, numConsumed, updated));
+        final IncrementalWMethodTestsIterator<Character> iterator = createIterator(initial, numConsumed, updated);
+
+        // the spliterator covers the remaining tests of the iterator (in a different order)
+        final List<Word<Character>> expected =
+                StreamSupport.stream(iterator.spliterator(), false).collect(Collectors.toList());
+        Assert.assertEquals(sorted(expected), sorted(remainingTests));
+
+        WMethodTestsSpliteratorTest.checkSpliterator(iterator::spliterator, expected, true);
+
+        // spliterators operate on snapshots and therefore must not affect the iterator
+        Assert.assertEquals(Lists.newArrayList(iterator), remainingTests);
+    }
+
+    private static List<Word<Character>> sorted(List<Word<Character>> words) {
+        final List<Word<Character>> result = new ArrayList<>(words);
+        result.sort(CmpUtil.lexComparator());
+        return result;
+    }
+
+    private IncrementalWMethodTestsIterator<Character> createIterator(
+            CompactMealy<Character, Character> initial,
+            int numConsumed,
+            @Nullable CompactMealy<Character, Character> updated) {
+        final IncrementalWMethodTestsIterator<Character> iterator = new IncrementalWMethodTestsIterator<>(alphabet);
+        iterator.setMaxDepth(MAX_DEPTH);
+        iterator.update(initial);
+
+        for (int i = 0; i < numConsumed && iterator.hasNext(); i++) {
+            iterator.next();
+        }
+
+        if (updated != null) {
+            iterator.update(updated);
+        }
+
+        return iterator;
+    }
+
     private Set<Word<Character>> computeWMethodTests() {
 
         final List<Word<Character>> characterizingSet = Automata.characterizingSet(mealy, alphabet);
@@ -0,0 +1,139 @@
+/* Copyright (C) 2013-2022 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.util.automata.conformance;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import com.google.common.collect.Lists;
+import net.automatalib.automata.transducers.MealyMachine;
+import net.automatalib.commons.util.comparison.CmpUtil;
+import net.automatalib.util.automata.random.RandomAutomata;
+import net.automatalib.words.Alphabet;
+import net.automatalib.words.Word;
+import net.automatalib.words.impl.Alphabets;
+import net.automatalib.words.impl.GrowingMapAlphabet;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * @author agent
+ */
+public class TestSuiteCompactorTest {
+
+    private final Alphabet<Character> alphabet = Alphabets.characters('a', 'c');
+
+    @Test
+    public void testEmpty() {
+        final TestSuiteCompactor<Character> compactor = new TestSuiteCompactor<>(alphabet);
+        Assert.assertFalse(compactor.iterator().hasNext());
+        Assert.assertEquals(compactor.getSavedResets(), 0);
+        Assert.assertEquals(compactor.getSavedSymbols(), 0);
+
+        Assert.assertTrue(compactor.add(Word.epsilon()));
+        Assert.assertFalse(compactor.add(Word.epsilon()));
+        Assert.assertEquals(Lists.newArrayList(compactor), Collections.singletonList(Word.epsilon()));
+        Assert.assertEquals(compactor.getSavedResets(), 1);
+
+        Assert.assertTrue(compactor.add(Word.fromString("a")));
+        Assert.assertEquals(Lists.newArrayList(compactor), Collections.singletonList(Word.fromString("a")));
+        Assert.assertEquals(compactor.getNumMaximalTests(), 1);
+        Assert.assertEquals(compactor.getNumMaximalSymbols(), 1);
+    }
+
+    @Test
+    public void testCompaction() {
+        final TestSuiteCompactor<Character> compactor = new TestSuiteCompactor<>(alphabet);
+
+        Assert.assertTrue(compactor.add(Word.fromString("ab")));
+        Assert.assertFalse(compactor.add(Word.fromString("a")));
+        Assert.assertTrue(compactor.add(Word.fromString("c")));
+        Assert.assertTrue(compactor.add(Word.fromString("abc")));
+        Assert.assertFalse(compactor.add(Word.fromString("ab")));
+        Assert.assertTrue(compactor.add(Word.fromString("aa")));
+        Assert.assertFalse(compactor.add(Word.epsilon()));
+
+        Assert.assertEquals(Lists.newArrayList(compactor),
+                            Lists.newArrayList(Word.fromString("aa"), Word.fromString("abc"), Word.fromString("c")));
+
+        Assert.assertEquals(compactor.getNumTests(), 7);
+        Assert.assertEquals(compactor.getNumSymbols(), 11);
+        Assert.assertEquals(compactor.getNumMaximalTests(), 3);
+        Assert.assertEquals(compactor.getNumMaximalSymbols(), 6);
+        Assert.assertEquals(compactor.getSavedResets(), 4);
+        Assert.assertEquals(compactor.getSavedSymbols(), 5);
+    }
+
+    @Test
+    public void testGrowingAlphabet() {
+        final GrowingMapAlphabet<Character> growingAlphabet = new GrowingMapAlphabet<>(alphabet);
+        final TestSuiteCompactor<Character> compactor = new TestSuiteCompactor<>(growingAlphabet);
+
+        Assert.assertTrue(compactor.add(Word.fromString("ab")));
+
+        growingAlphabet.addSymbol('d');
+        Assert.assertFalse(compactor.add(Word.fromString("a")));
+        Assert.assertTrue(compactor.add(Word.fromString("ad")));
+        Assert.assertTrue(compactor.add(Word.fromString("dad")));
+        Assert.assertFalse(compactor.add(Word.fromString("da")));
+
+        Assert.assertEquals(Lists.newArrayList(compactor),
+                            Lists.newArrayList(Word.fromString("ab"), Word.fromString("ad"), Word.fromString("dad")));
+        Assert.assertEquals(compactor.getNumMaximalTests(), 3);
+        Assert.assertEquals(compactor.getNumMaximalSymbols(), 7);
+    }
+
+    @Test
+    public void testConformanceTests() {
+        final MealyMachine<?, Character, ?, Integer> mealy =
+                RandomAutomata.randomMealy(new Random(42), 15, alphabet, Alphabets.integers(0, 1));
+
+        final List<Word<Character>> tests = Lists.newArrayList(new WMethodTestsIterator<>(mealy, alphabet, 2));
+        final TestSuiteCompactor<Character> compactor = new TestSuiteCompactor<>(alphabet);
+        compactor.addAll(tests.iterator());
+
+        final List<Word<Character>> compacted = Lists.newArrayList(compactor);
+
+        Assert.assertEquals(compacted.size(), compactor.getNumMaximalTests());
+        Assert.assertEquals(compactor.getNumTests(), tests.size());
+        Assert.assertTrue(compactor.getSavedResets() > 0);
+        Assert.assertTrue(compactor.getSavedSymbols() > 0);
+
+        long numSymbols = 0;
+        for (Word<Character> t : tests) {
+            numSymbols += t.length();
+            Assert.assertTrue(compacted.stream().anyMatch(t::isPrefixOf), t.toString());
+        }
+        Assert.assertEquals(compactor.getNumSymbols(), numSymbols);
+
+        long numMaximalSymbols = 0;
+        for (int i = 0; i < compacted.size(); i++) {
+            final Word<Character> t = compacted.get(i);
+            numMaximalSymbols += t.length();
+            Assert.assertTrue(tests.contains(t));
+
+            for (int j = 0; j < compacted.size(); j++) {
+                Assert.assertTrue(i == j || !t.isPrefixOf(compacted.get(j)));
+            }
+            // depth-first order with symbols ordered by their index coincides with the lexicographic order
+            if (i > 0) {
+                Assert.assertTrue(CmpUtil.lexCompare(compacted.get(i - 1), t, alphabet) < 0);
+            }
+        }
+        Assert.assertEquals(compactor.getNumMaximalSymbols(), numMaximalSymbols);
+    }
+}
@@ -0,0 +1,104 @@
+/* Copyright (C) 2013-2022 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.util.automata.conformance;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Spliterator;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+
+import com.google.common.collect.Lists;
+import net.automatalib.automata.fsa.DFA;
+import net.automatalib.util.automata.random.RandomAutomata;
+import net.automatalib.words.Alphabet;
+import net.automatalib.words.Word;
+import net.automatalib.words.impl.Alphabets;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * @author agent
+ */
+public class WMethodTestsSpliteratorTest {
+
+    private final Alphabet<Integer> alphabet = Alphabets.integers(0, 3);
+    private final DFA<?, Integer> dfa = RandomAutomata.randomDFA(new Random(42), 10, alphabet);
+
+    @Test
+    public void testSpliterator() {
+        for (int depth = 0; depth < 3; depth++) {
+            final int maxDepth = depth;
+            final List<Word<Integer>> expected =
+                    Lists.newArrayList(new WMethodTestsIterator<>(dfa, alphabet, maxDepth));
+
+            checkSpliterator(() -> new WMethodTestsSpliterator<>(dfa, alphabet, maxDepth), expected, true);
+        }
+    }
+
+    static <I> void checkSpliterator(Supplier<AbstractTestsSpliterator<I>> supplier,
+                                     List<Word<I>> expected,
+                                     boolean exactSize) {
+        final AbstractTestsSpliterator<I> spliterator = supplier.get();
+        Assert.assertEquals(spliterator.hasCharacteristics(Spliterator.SIZED), exactSize);
+        if (exactSize) {
+            Assert.assertEquals(spliterator.getExactSizeIfKnown(), expected.size());
+        }
+
+        // sequential and parallel traversal
+        Assert.assertEquals(StreamSupport.stream(spliterator, false).collect(Collectors.toList()), expected);
+        Assert.assertEquals(StreamSupport.stream(supplier.get(), true).collect(Collectors.toList()), expected);
+
+        // recursive splitting
+        final List<Word<I>> split = new ArrayList<>(expected.size());
+        collectSplits(supplier.get(), split);
+        Assert.assertEquals(split, expected);
+
+        // sharding
+        for (int numShards : new int[] {1, 3, 7, expected.size() + 1}) {
+            final List<Word<I>> sharded = new ArrayList<>(expected.size());
+            for (int i = 0; i < numShards; i++) {
+                final List<Word<I>> shard =
+                        StreamSupport.stream(supplier.get().shard(i, numShards), false).collect(Collectors.toList());
+                final List<Word<I>> shardAgain =
+                        StreamSupport.stream(supplier.get().shard(i, numShards), false).collect(Collectors.toList());
+                Assert.assertEquals(shardAgain, shard);
+                sharded.addAll(shard);
+            }
+            Assert.assertEquals(sharded, expected);
+        }
+
+        // splitting in the middle of a row is not possible
+        final AbstractTestsSpliterator<I> partial = supplier.get();
+        Assert.assertEquals(partial.tryAdvance(w -> {}), !expected.isEmpty());
+        if (partial.estimateSize() > 0 && partial.trySplit() == null) {
+            Assert.assertThrows(IllegalStateException.class, () -> partial.shard(0, 2));
+        }
+        Assert.assertThrows(IllegalArgumentException.class, () -> supplier.get().shard(2, 2));
+    }
+
+    private static <I> void collectSplits(Spliterator<Word<I>> spliterator, List<Word<I>> result) {
+        final Spliterator<Word<I>> prefix = spliterator.trySplit();
+        if (prefix != null) {
+            collectSplits(prefix, result);
+            collectSplits(spliterator, result);
+        } else {
+            spliterator.forEachRemaining(result::add);
+        }
+    }
+}
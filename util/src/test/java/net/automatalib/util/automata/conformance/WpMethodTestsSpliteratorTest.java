@@ -0,0 +1,49 @@
+/* Copyright (C) 2013-2022 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.util.automata.conformance;
+
+import java.util.List;
+import java.util.Random;
+
+import com.google.common.collect.Lists;
+import net.automatalib.automata.fsa.DFA;
+import net.automatalib.util.automata.random.RandomAutomata;
+import net.automatalib.words.Alphabet;
+import net.automatalib.words.Word;
+import net.automatalib.words.impl.Alphabets;
+import org.testng.annotations.Test;
+
+/**
+ * @author agent
+ */
+public class WpMethodTestsSpliteratorTest {
+
+    private final Alphabet<Integer> alphabet = Alphabets.integers(0, 3);
+    private final DFA<?, Integer> dfa = RandomAutomata.randomDFA(new Random(42), 10, alphabet);
+
+    @Test
+    public void testSpliterator() {
+        for (int depth = 0; depth < 3; depth++) {
+            final int maxDepth = depth;
+            final List<Word<Integer>> expected =
+                    Lists.newArrayList(new WpMethodTestsIterator<>(dfa, alphabet, maxDepth));
+
+            WMethodTestsSpliteratorTest.checkSpliterator(() -> new WpMethodTestsSpliterator<>(dfa, alphabet, maxDepth),
+                                                         expected,
+                                                         false);
+        }
+    }
+}
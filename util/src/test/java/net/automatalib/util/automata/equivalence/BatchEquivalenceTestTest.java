@@ -0,0 +1,122 @@
+/* Copyright (C) 2013-2022 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.util.automata.equivalence;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import net.automatalib.automata.UniversalDeterministicAutomaton;
+import net.automatalib.automata.fsa.impl.compact.CompactDFA;
+import net.automatalib.automata.transducers.impl.compact.CompactMealy;
+import net.automatalib.util.automata.random.RandomAutomata;
+import net.automatalib.words.Alphabet;
+import net.automatalib.words.Word;
+import net.automatalib.words.impl.Alphabets;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * @author agent
+ */
+public class BatchEquivalenceTestTest {
+
+    private static final Alphabet<Integer> ALPHABET = Alphabets.integers(0, 3);
+    private static final int AUTOMATON_SIZE = 500;
+    private static final int NUM_MUTANTS = 20;
+
+    @Test
+    public void testDFAMutants() {
+        final Random random = new Random(0);
+        final CompactDFA<Integer> reference = RandomAutomata.randomDFA(random, AUTOMATON_SIZE, ALPHABET, false);
+
+        final List<CompactDFA<Integer>> candidates = new ArrayList<>(NUM_MUTANTS + 3);
+        candidates.add(new CompactDFA<>(reference));
+        candidates.add(RandomAutomata.randomDFA(random, AUTOMATON_SIZE, ALPHABET, false));
+
+        for (int i = 0; i < NUM_MUTANTS; i++) {
+            final CompactDFA<Integer> mutant = new CompactDFA<>(reference);
+            final int state = random.nextInt(AUTOMATON_SIZE);
+            mutant.setAccepting(state, !mutant.isAccepting(state));
+            candidates.add(mutant);
+        }
+
+        final CompactDFA<Integer> partial = new CompactDFA<>(reference);
+        partial.removeAllTransitions(AUTOMATON_SIZE / 2, 0);
+        candidates.add(partial);
+
+        checkAgainstNearLinear(reference, candidates);
+    }
+
+    @Test
+    public void testMealyMutants() {
+        final Random random = new Random(0);
+        final Alphabet<Character> outputs = Alphabets.characters('a', 'c');
+        final CompactMealy<Integer, Character> reference =
+                RandomAutomata.randomMealy(random, AUTOMATON_SIZE, ALPHABET, outputs, false);
+
+        final List<CompactMealy<Integer, Character>> candidates = new ArrayList<>(NUM_MUTANTS + 2);
+        candidates.add(new CompactMealy<>(reference));
+        candidates.add(RandomAutomata.randomMealy(random, AUTOMATON_SIZE, ALPHABET, outputs, false));
+
+        for (int i = 0; i < NUM_MUTANTS; i++) {
+            final CompactMealy<Integer, Character> mutant = new CompactMealy<>(reference);
+            final int state = random.nextInt(AUTOMATON_SIZE);
+            final int input = random.nextInt(ALPHABET.size());
+            final int succ = mutant.getSuccessor(state, input);
+            final Character output = 'x';
+            mutant.setTransition(state, input, succ, output);
+            candidates.add(mutant);
+        }
+
+        checkAgainstNearLinear(reference, candidates);
+    }
+
+    @Test
+    public void testEmptyDFAs() {
+        final CompactDFA<Integer> uninit = new CompactDFA<>(ALPHABET, 0);
+        final CompactDFA<Integer> empty = new CompactDFA<>(ALPHABET, 1);
+        empty.addInitialState(false);
+
+        Assert.assertEquals(BatchEquivalenceTest.findSeparatingWords(uninit, Arrays.asList(uninit, empty), ALPHABET),
+                            Arrays.asList(null, Word.epsilon()));
+        Assert.assertEquals(BatchEquivalenceTest.findSeparatingWords(empty, Arrays.asList(uninit, empty), ALPHABET),
+                            Arrays.asList(Word.epsilon(), null));
+    }
+
+    private static void checkAgainstNearLinear(
+            UniversalDeterministicAutomaton<?, Integer, ?, ?, ?> reference,
+            List<? extends UniversalDeterministicAutomaton<?, Integer, ?, ?, ?>> candidates) {
+        final List<Word<Integer>> expected = new ArrayList<>(candidates.size());
+
+        for (UniversalDeterministicAutomaton<?, Integer, ?, ?, ?> candidate : candidates) {
+            expected.add(NearLinearEquivalenceTest.findSeparatingWord(reference, candidate, ALPHABET));
+        }
+
+        // the first candidate is an equivalent copy of the reference, the second one a random automaton
+        Assert.assertNull(expected.get(0));
+        Assert.assertNotNull(expected.get(1));
+
+        final BatchEquivalenceTest<Integer> test = new BatchEquivalenceTest<>(reference, ALPHABET);
+        Assert.assertEquals(test.findSeparatingWords(candidates), expected);
+
+        // buffers are re-used, so check that subsequent (single) checks are not affected by previous ones
+        for (int i = candidates.size() - 1; i >= 0; i--) {
+            Assert.assertEquals(test.findSeparatingWord(candidates.get(i)), expected.get(i));
+        }
+    }
+}
@@ -15,8 +15,11 @@
  */
 package net.automatalib.util.automata.equivalence;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
 
 import net.automatalib.automata.UniversalDeterministicAutomaton;
 import net.automatalib.automata.concepts.Output;
@@ -24,10 +27,12 @@ import net.automatalib.automata.fsa.DFA;
 import net.automatalib.automata.fsa.impl.compact.CompactDFA;
 import net.automatalib.automata.transducers.MealyMachine;
 import net.automatalib.automata.transducers.impl.compact.CompactMealy;
+import net.automatalib.automata.transducers.impl.compact.InternedCompactMealy;
 import net.automatalib.util.automata.random.RandomAutomata;
 import net.automatalib.words.Alphabet;
 import net.automatalib.words.Word;
 import net.automatalib.words.impl.Alphabets;
+import org.checkerframework.checker.nullness.qual.Nullable;
 import org.testng.Assert;
 import org.testng.annotations.Test;
 
@@ -42,6 +47,9 @@ public class DeterministicEquivalenceTestTest {
     // Equivalence check switches implementation when stateSize**2 is > 10000
     private static final int AUTOMATON_SIZE_LARGE = 200;
 
+    // Primitive equivalence check switches from a bit set to a hash set when the product exceeds 2**26 states
+    private static final int AUTOMATON_SIZE_HUGE = 10000;
+
     @Test
     public void testEquivalenceDFA() {
         final Alphabet<Integer> alphabet = Alphabets.integers(0, 5);
@@ -95,6 +103,198 @@ public class DeterministicEquivalenceTestTest {
         testForEmptySepWord(uninit, empty, alphabet);
     }
 
+    @Test
+    public void testPrimitiveDFA() {
+        final Alphabet<Integer> alphabet = Alphabets.integers(0, 3);
+
+        for (int size : new int[] {AUTOMATON_SIZE_SMALL, AUTOMATON_SIZE_LARGE, AUTOMATON_SIZE_HUGE}) {
+            final CompactDFA<Integer> a1 = RandomAutomata.randomDFA(RANDOM, size, alphabet, false);
+            final CompactDFA<Integer> a2 = RandomAutomata.randomDFA(RANDOM, size, alphabet, false);
+            final CompactDFA<Integer> a3 = new CompactDFA<>(a1);
+            // flip the acceptance of a single (probably deep) state
+            a3.setAccepting(size - 1, !a3.isAccepting(size - 1));
+
+            testPrimitiveInternal(a1, a1, alphabet, true);
+            testPrimitiveInternal(a1, a2, alphabet, true);
+            testPrimitiveInternal(a1, a3, alphabet, true);
+        }
+    }
+
+    @Test
+    public void testPrimitiveMealy() {
+        final Alphabet<Integer> inputAlphabet = Alphabets.integers(0, 3);
+        final Alphabet<Character> outputAlphabet = Alphabets.characters('a', 'c');
+
+        for (int size : new int[] {AUTOMATON_SIZE_SMALL, AUTOMATON_SIZE_HUGE}) {
+            final CompactMealy<Integer, Character> a1 =
+                    RandomAutomata.randomMealy(RANDOM, size, inputAlphabet, outputAlphabet, false);
+            final CompactMealy<Integer, Character> a2 = new CompactMealy<>(a1);
+            final int state = size - 1;
+            final int input = inputAlphabet.size() - 1;
+            final int succ = a2.getSuccessor(state, input);
+            final Character output = 'x';
+            a2.setTransition(state, input, succ, output);
+
+            testPrimitiveInternal(a1, a1, inputAlphabet, true);
+            testPrimitiveInternal(a1, a2, inputAlphabet, true);
+        }
+    }
+
+    @Test
+    public void testPrimitiveInternedMealy() {
+        final Alphabet<Integer> inputAlphabet = Alphabets.integers(0, 3);
+        final Alphabet<Character> outputAlphabet = Alphabets.characters('a', 'c');
+
+        for (int size : new int[] {AUTOMATON_SIZE_SMALL, AUTOMATON_SIZE_HUGE}) {
+            final CompactMealy<Integer, Character> a1 =
+                    RandomAutomata.randomMealy(RANDOM, size, inputAlphabet, outputAlphabet, false);
+            final CompactMealy<Integer, Character> a2 = new CompactMealy<>(a1);
+            final int state = size - 1;
+            final int input = inputAlphabet.size() - 1;
+            a2.setTransition(state, input, a2.getSuccessor(state, input), (Character) 'x');
+
+            // intern the outputs in different orders, so that equal outputs have different indices
+            final InternedCompactMealy<Integer, Character> i1 = intern(a1, false);
+            final InternedCompactMealy<Integer, Character> i2 = intern(a1, true);
+            final InternedCompactMealy<Integer, Character> i3 = intern(a2, true);
+
+            Assert.assertNull(testPrimitiveInternal(i1, i2, inputAlphabet, false));
+            Assert.assertEquals(testPrimitiveInternal(i1, i3, inputAlphabet, false),
+                                testPrimitiveInternal(a1, a2, inputAlphabet, true));
+            Assert.assertEquals(testPrimitiveInternal(i3, i1, inputAlphabet, false),
+                                testPrimitiveInternal(a2, a1, inputAlphabet, true));
+        }
+    }
+
+    @Test
+    public void testPrimitivePartial() {
+        final Alphabet<Integer> alphabet = Alphabets.integers(0, 3);
+        final CompactDFA<Integer> a1 = RandomAutomata.randomDFA(RANDOM, AUTOMATON_SIZE_LARGE, alphabet, false);
+        final CompactDFA<Integer> a2 = new CompactDFA<>(a1);
+        final CompactDFA<Integer> a3 = new CompactDFA<>(a1);
+
+        // remove the same transitions in both copies
+        for (int i = 0; i < AUTOMATON_SIZE_LARGE; i += 10) {
+            a2.removeAllTransitions(i, i % alphabet.size());
+            a3.removeAllTransitions(i, i % alphabet.size());
+        }
+        Assert.assertNull(testPrimitiveInternal(a2, a3, alphabet, false));
+
+        // and one more only in one copy. Note that the resulting separating words are structural, i.e., they do not
+        // necessarily separate the languages of the (partial) DFAs
+        a3.removeAllTransitions(AUTOMATON_SIZE_LARGE - 1, 0);
+        Assert.assertNotNull(testPrimitiveInternal(a1, a3, alphabet, false));
+        Assert.assertNotNull(testPrimitiveInternal(a2, a3, alphabet, false));
+    }
+
+    @Test
+    public void testParallelIsDeterministic() {
+        final Alphabet<Integer> inputAlphabet = Alphabets.integers(0, 3);
+        final Alphabet<Character> outputAlphabet = Alphabets.characters('a', 'c');
+        final int size = AUTOMATON_SIZE_HUGE * 5;
+
+        final CompactMealy<Integer, Character> a1 =
+                RandomAutomata.randomMealy(RANDOM, size, inputAlphabet, outputAlphabet, false);
+        final CompactMealy<Integer, Character> a2 = new CompactMealy<>(a1);
+
+        // introduce several differences, so that multiple expansion tasks may observe a conflict
+        for (int i = 0; i < 100; i++) {
+            final int state = size / 2 + RANDOM.nextInt(size / 2);
+            final int input = RANDOM.nextInt(inputAlphabet.size());
+            final int succ = a2.getSuccessor(state, input);
+            final Character output = 'x';
+            a2.setTransition(state, input, succ, output);
+        }
+
+        final ForkJoinPool singlePool = new ForkJoinPool(1);
+        final ForkJoinPool multiPool = new ForkJoinPool(4);
+
+        try {
+            final Word<Integer> expected =
+                    DeterministicEquivalenceTest.findSeparatingWordPrimitive(a1, a2, inputAlphabet);
+            Assert.assertNotNull(expected);
+            Assert.assertEquals(DeterministicEquivalenceTest.findSeparatingWordParallel(a1,
+                                                                                        a2,
+                                                                                        inputAlphabet,
+                                                                                        singlePool), expected);
+
+            for (int i = 0; i < 5; i++) {
+                Assert.assertEquals(DeterministicEquivalenceTest.findSeparatingWordParallel(a1,
+                                                                                            a2,
+                                                                                            inputAlphabet,
+                                                                                            multiPool), expected);
+            }
+
+            Assert.assertNull(DeterministicEquivalenceTest.findSeparatingWordParallel(a1,
+                                                                                      a1,
+                                                                                      inputAlphabet,
+                                                                                      multiPool));
+        } finally {
+            singlePool.shutdown();
+            multiPool.shutdown();
+        }
+    }
+
+    private static <I, M extends UniversalDeterministicAutomaton<?, I, ?, ?, ?> & Output<I, ?>> @Nullable Word<I> testPrimitiveInternal(
+            M a1,
+            M a2,
+            Alphabet<I> alphabet,
+            boolean checkOutput) {
+        final UniversalDeterministicAutomaton<?, I, ?, ?, ?> m1 = a1;
+        final UniversalDeterministicAutomaton<?, I, ?, ?, ?> m2 = a2;
+        final List<I> inputs = new ArrayList<>(alphabet);
+
+        final Word<I> expected = DeterministicEquivalenceTest.findSeparatingWordLarge(m1, m2, inputs);
+        final Word<I> actual = DeterministicEquivalenceTest.findSeparatingWordPrimitive(m1, m2, alphabet);
+
+        // both explorations process successors in the same order and therefore find the same (shortest) word
+        Assert.assertEquals(actual, expected);
+        Assert.assertEquals(DeterministicEquivalenceTest.findSeparatingWord(m1, m2, alphabet), expected);
+        Assert.assertEquals(DeterministicEquivalenceTest.findSeparatingWordParallel(m1, m2, alphabet), expected);
+
+        // the common pool may not be parallel on the test machine, so explicitly use multiple threads
+        final ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            Assert.assertEquals(DeterministicEquivalenceTest.findSeparatingWordParallel(m1, m2, alphabet, pool),
+                                expected);
+        } finally {
+            pool.shutdown();
+        }
+
+        if (checkOutput) {
+            Assert.assertEquals(a1 == a2, expected == null);
+            if (expected != null) {
+                Assert.assertNotEquals(a1.computeOutput(expected), a2.computeOutput(expected));
+            }
+        }
+
+        return actual;
+    }
+
+    private static <I, O> InternedCompactMealy<I, O> intern(CompactMealy<I, O> mealy, boolean reverse) {
+        final Alphabet<I> alphabet = mealy.getInputAlphabet();
+        final int size = mealy.size();
+        final InternedCompactMealy<I, O> result = new InternedCompactMealy<>(alphabet, size);
+
+        for (int i = 0; i < size; i++) {
+            result.addState();
+        }
+        result.setInitialState(mealy.getInitialState());
+
+        for (int i = 0; i < size; i++) {
+            final int s = reverse ? size - i - 1 : i;
+            for (int j = 0; j < alphabet.size(); j++) {
+                final int sym = reverse ? alphabet.size() - j - 1 : j;
+                final int succ = mealy.getSuccessor(s, sym);
+                if (succ >= 0) {
+                    result.setTransition(s, sym, succ, mealy.getOutput(s, alphabet.getSymbol(sym)));
+                }
+            }
+        }
+
+        return result;
+    }
+
     private static <I> void testForEmptySepWord(UniversalDeterministicAutomaton<?, I, ?, ?, ?> a1,
                                                 UniversalDeterministicAutomaton<?, I, ?, ?, ?> a2,
                                                 Collection<? extends I> inputs) {
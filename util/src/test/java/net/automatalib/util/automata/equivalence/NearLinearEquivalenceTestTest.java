@@ -22,6 +22,7 @@ import java.util.Set;
 import net.automatalib.automata.UniversalDeterministicAutomaton;
 import net.automatalib.automata.fsa.impl.compact.CompactDFA;
 import net.automatalib.automata.transducers.impl.compact.CompactMealy;
+import net.automatalib.automata.transducers.impl.compact.InternedCompactMealy;
 import net.automatalib.util.automata.random.RandomAutomata;
 import net.automatalib.words.Alphabet;
 import net.automatalib.words.Word;
@@ -128,6 +129,59 @@ public class NearLinearEquivalenceTestTest {
         testForEmptySepWord(empty, uninit, ALPHABET);
     }
 
+    @Test
+    public void testInternedMealies() {
+        final Alphabet<Character> outputs = Alphabets.characters('a', 'c');
+        final CompactMealy<Integer, Character> mealy =
+                RandomAutomata.randomMealy(new Random(0), AUTOMATON_SIZE, ALPHABET, outputs, false);
+
+        // intern the outputs in different orders, so that equal outputs have different indices
+        final InternedCompactMealy<Integer, Character> m1 = new InternedCompactMealy<>(ALPHABET, AUTOMATON_SIZE);
+        final InternedCompactMealy<Integer, Character> m2 = new InternedCompactMealy<>(ALPHABET, AUTOMATON_SIZE);
+
+        for (int i = 0; i < AUTOMATON_SIZE; i++) {
+            m1.addState();
+            m2.addState();
+        }
+        m1.setInitialState(mealy.getInitialState());
+        m2.setInitialState(mealy.getInitialState());
+
+        for (int s = 0; s < AUTOMATON_SIZE; s++) {
+            for (int i = 0; i < ALPHABET.size(); i++) {
+                final int s2 = AUTOMATON_SIZE - s - 1;
+                m1.setTransition(s, i, mealy.getSuccessor(s, i), mealy.getOutput(s, ALPHABET.getSymbol(i)));
+                m2.setTransition(s2, i, mealy.getSuccessor(s2, i), mealy.getOutput(s2, ALPHABET.getSymbol(i)));
+            }
+        }
+
+        Assert.assertNull(NearLinearEquivalenceTest.findSeparatingWord(m1, m2, ALPHABET));
+
+        // partial transitions
+        m2.removeAllTransitions(15, 2);
+        Assert.assertNull(NearLinearEquivalenceTest.findSeparatingWord(m1, m2, ALPHABET, true));
+        Assert.assertNotNull(NearLinearEquivalenceTest.findSeparatingWord(m1, m2, ALPHABET, false));
+        m2.setTransition(15, 2, mealy.getSuccessor(15, 2), mealy.getOutput(15, 2));
+
+        // an output unknown to the other machine
+        m2.setTransition(15, 2, mealy.getSuccessor(15, 2), (Character) 'x');
+
+        final Word<Integer> sepWord1 = NearLinearEquivalenceTest.findSeparatingWord(m1, m2, ALPHABET);
+        Assert.assertNotNull(sepWord1);
+        Assert.assertNotEquals(m1.computeOutput(sepWord1), m2.computeOutput(sepWord1));
+
+        final Word<Integer> sepWord2 = NearLinearEquivalenceTest.findSeparatingWord(m2, m1, ALPHABET);
+        Assert.assertNotNull(sepWord2);
+        Assert.assertNotEquals(m1.computeOutput(sepWord2), m2.computeOutput(sepWord2));
+
+        // an output known to the other machine
+        final Character other = mealy.getOutput(15, 2) == 'a' ? 'b' : 'a';
+        m2.setTransition(15, 2, mealy.getSuccessor(15, 2), other);
+
+        final Word<Integer> sepWord3 = NearLinearEquivalenceTest.findSeparatingWord(m1, m2, ALPHABET);
+        Assert.assertNotNull(sepWord3);
+        Assert.assertNotEquals(m1.computeOutput(sepWord3), m2.computeOutput(sepWord3));
+    }
+
     private static <I> void testForEmptySepWord(UniversalDeterministicAutomaton<?, I, ?, ?, ?> a1,
                                                 UniversalDeterministicAutomaton<?, I, ?, ?, ?> a2,
                                                 Alphabet<I> inputs) {
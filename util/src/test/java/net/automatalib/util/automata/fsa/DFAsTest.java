@@ -15,9 +15,13 @@
  */
 package net.automatalib.util.automata.fsa;
 
+import java.util.Random;
+
 import net.automatalib.automata.fsa.DFA;
 import net.automatalib.automata.fsa.impl.compact.CompactDFA;
 import net.automatalib.util.automata.Automata;
+import net.automatalib.util.automata.fsa.DFAs.MinimizationStrategy;
+import net.automatalib.util.automata.random.RandomAutomata;
 import net.automatalib.words.Alphabet;
 import net.automatalib.words.impl.Alphabets;
 import org.testng.Assert;
@@ -134,4 +138,59 @@ public class DFAsTest {
 
         Assert.assertFalse(DFAs.acceptsEmptyLanguage(forVector(true)));
     }
+
+    @Test
+    public void testMinimizationStrategies() {
+        final Random random = new Random(42);
+        final Alphabet<Integer> alphabet = Alphabets.integers(0, 2);
+
+        for (int i = 0; i < 20; i++) {
+            final CompactDFA<Integer> dfa = RandomAutomata.randomDFA(random, 12, alphabet, false);
+            final CompactDFA<Integer> expected = DFAs.minimize(dfa, alphabet, MinimizationStrategy.HOPCROFT);
+
+            for (MinimizationStrategy strategy : MinimizationStrategy.values()) {
+                assertIdentical(DFAs.minimize(dfa, alphabet, strategy), expected, alphabet);
+            }
+        }
+
+        // exceeds the chunk size of the parallel refinement
+        final CompactDFA<Integer> large = RandomAutomata.randomDFA(random, 10_000, alphabet, false);
+        assertIdentical(DFAs.minimize(large, alphabet, MinimizationStrategy.PARALLEL_REFINEMENT),
+                        DFAs.minimize(large, alphabet, MinimizationStrategy.HOPCROFT),
+                        alphabet);
+
+        // a chain requires as many refinement rounds as it has states, so the parallel refinement falls back to the
+        // sequential one
+        final CompactDFA<Integer> chain = new CompactDFA<>(alphabet);
+        final int chainSize = 5_000;
+        for (int s = 0; s < chainSize; s++) {
+            chain.addState(s % 7 == 0);
+        }
+        chain.setInitialState(0);
+        for (int s = 0; s < chainSize; s++) {
+            for (int i = 0; i < alphabet.size(); i++) {
+                chain.setTransition(s, i, Math.min(s + 1, chainSize - 1));
+            }
+        }
+        assertIdentical(DFAs.minimize(chain, alphabet, MinimizationStrategy.PARALLEL_REFINEMENT),
+                        DFAs.minimize(chain, alphabet, MinimizationStrategy.HOPCROFT),
+                        alphabet);
+
+        // empty language
+        final CompactDFA<Integer> empty = forVector(false, false);
+        for (MinimizationStrategy strategy : MinimizationStrategy.values()) {
+            assertIdentical(DFAs.minimize(empty, testAlphabet, strategy), forVector(false), testAlphabet);
+        }
+    }
+
+    private static <I> void assertIdentical(CompactDFA<I> actual, CompactDFA<I> expected, Alphabet<I> alphabet) {
+        Assert.assertEquals(actual.size(), expected.size());
+        Assert.assertEquals(actual.getIntInitialState(), expected.getIntInitialState());
+        for (int s = 0; s < expected.size(); s++) {
+            Assert.assertEquals(actual.isAccepting(s), expected.isAccepting(s));
+            for (int i = 0; i < alphabet.size(); i++) {
+                Assert.assertEquals(actual.getTransition(s, i), expected.getTransition(s, i));
+            }
+        }
+    }
 }
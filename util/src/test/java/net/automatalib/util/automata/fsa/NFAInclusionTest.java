@@ -0,0 +1,131 @@
+/* Copyright (C) 2013-2022 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.util.automata.fsa;
+
+import java.util.Random;
+
+import net.automatalib.automata.fsa.impl.compact.CompactDFA;
+import net.automatalib.automata.fsa.impl.compact.CompactNFA;
+import net.automatalib.util.automata.Automata;
+import net.automatalib.words.Alphabet;
+import net.automatalib.words.Word;
+import net.automatalib.words.impl.Alphabets;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+public class NFAInclusionTest {
+
+    private static final int NUM_TESTS = 100;
+
+    private final Alphabet<Integer> alphabet = Alphabets.integers(0, 1);
+
+    @Test
+    public void testInclusion() {
+        final Random random = new Random(42);
+
+        for (int i = 0; i < NUM_TESTS; i++) {
+            final CompactNFA<Integer> nfa1 = randomNFA(random, 6);
+            final CompactNFA<Integer> nfa2 = randomNFA(random, 6);
+
+            final CompactDFA<Integer> difference = DFAs.and(NFAs.determinize(nfa1, alphabet),
+                                                            DFAs.complement(NFAs.determinize(nfa2, alphabet),
+                                                                            alphabet),
+                                                            alphabet);
+            final Word<Integer> expected = Automata.findSeparatingWord(difference, emptyDFA(), alphabet);
+            final Word<Integer> actual = NFAInclusion.findInclusionCounterexample(nfa1, nfa2, alphabet);
+
+            checkCounterexample(actual, expected, difference);
+            Assert.assertEquals(NFAInclusion.isIncluded(nfa1, nfa2, alphabet), expected == null);
+
+            Assert.assertTrue(NFAInclusion.isIncluded(NFAs.and(nfa1, nfa2, alphabet), nfa2, alphabet));
+        }
+    }
+
+    @Test
+    public void testUniversality() {
+        final Random random = new Random(42);
+
+        for (int i = 0; i < NUM_TESTS; i++) {
+            final CompactNFA<Integer> nfa = randomNFA(random, 6);
+
+            final CompactDFA<Integer> complement = DFAs.complement(NFAs.determinize(nfa, alphabet), alphabet);
+            final Word<Integer> expected = Automata.findSeparatingWord(complement, emptyDFA(), alphabet);
+            final Word<Integer> actual = NFAInclusion.findUniversalityCounterexample(nfa, alphabet);
+
+            checkCounterexample(actual, expected, complement);
+            Assert.assertEquals(NFAInclusion.isUniversal(nfa, alphabet), expected == null);
+
+            final CompactDFA<Integer> universal = DFAs.or(NFAs.determinize(nfa, alphabet), complement, alphabet);
+            Assert.assertTrue(NFAInclusion.isUniversal(universal, alphabet));
+        }
+    }
+
+    @Test
+    public void testEmptyAutomata() {
+        final CompactNFA<Integer> empty = new CompactNFA<>(alphabet);
+        final CompactNFA<Integer> epsilon = new CompactNFA<>(alphabet);
+        epsilon.addInitialState(true);
+
+        Assert.assertTrue(NFAInclusion.isIncluded(empty, epsilon, alphabet));
+        Assert.assertEquals(NFAInclusion.findInclusionCounterexample(epsilon, empty, alphabet), Word.epsilon());
+        Assert.assertEquals(NFAInclusion.findUniversalityCounterexample(empty, alphabet), Word.epsilon());
+        Assert.assertEquals(NFAInclusion.findUniversalityCounterexample(epsilon, alphabet), Word.fromSymbols(0));
+    }
+
+    private static void checkCounterexample(Word<Integer> actual,
+                                            Word<Integer> expected,
+                                            CompactDFA<Integer> difference) {
+        if (expected == null) {
+            Assert.assertNull(actual);
+        } else {
+            Assert.assertNotNull(actual);
+            Assert.assertEquals(actual.length(), expected.length());
+            Assert.assertTrue(difference.accepts(actual));
+        }
+    }
+
+    private CompactDFA<Integer> emptyDFA() {
+        final CompactDFA<Integer> result = new CompactDFA<>(alphabet);
+        final int init = result.addIntInitialState(false);
+
+        for (int i = 0; i < alphabet.size(); i++) {
+            result.setTransition(init, i, init);
+        }
+
+        return result;
+    }
+
+    private CompactNFA<Integer> randomNFA(Random random, int size) {
+        final CompactNFA<Integer> nfa = new CompactNFA<>(alphabet, size);
+
+        for (int s = 0; s < size; s++) {
+            nfa.addState(random.nextInt(3) == 0);
+            nfa.setInitial(s, random.nextInt(size) == 0);
+        }
+
+        for (int s = 0; s < size; s++) {
+            for (int i = 0; i < alphabet.size(); i++) {
+                for (int t = 0; t < size; t++) {
+                    if (random.nextInt(size) < 2) {
+                        nfa.addTransition(s, i, t);
+                    }
+                }
+            }
+        }
+
+        return nfa;
+    }
+}
@@ -15,12 +15,25 @@
  */
 package net.automatalib.util.automata.fsa;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
 import net.automatalib.automata.fsa.NFA;
+import net.automatalib.automata.fsa.impl.FastNFA;
 import net.automatalib.automata.fsa.impl.compact.CompactDFA;
 import net.automatalib.automata.fsa.impl.compact.CompactNFA;
+import net.automatalib.automata.fsa.impl.compact.FrozenCompactNFA;
+import net.automatalib.commons.util.random.RandomUtil;
 import net.automatalib.util.automata.Automata;
+import net.automatalib.util.automata.copy.AutomatonCopyMethod;
+import net.automatalib.util.automata.copy.AutomatonLowLevelCopy;
+import net.automatalib.util.automata.random.RandomAutomata;
 import net.automatalib.words.Alphabet;
 import net.automatalib.words.Word;
+import net.automatalib.words.WordBuilder;
 import net.automatalib.words.impl.Alphabets;
 import org.testng.Assert;
 import org.testng.annotations.Test;
@@ -128,6 +141,135 @@ public class NFAsTest {
         Assert.assertEquals(dfa.size(), 2);
     }
 
+    @Test
+    public void testReverse() {
+        final Alphabet<Integer> alphabet = Alphabets.integers(0, 1);
+        final Random random = new Random(42);
+        final CompactNFA<Integer> nfa = randomNFA(random, 8, alphabet);
+        final CompactNFA<Integer> reversed = NFAs.reverse(nfa, alphabet);
+
+        final List<Integer> symbols = new ArrayList<>(alphabet);
+        for (int i = 0; i < 100; i++) {
+            final Word<Integer> word = Word.fromList(RandomUtil.sample(symbols, random.nextInt(8), random));
+            Assert.assertEquals(reversed.accepts(new WordBuilder<>(word).reverse().toWord()), nfa.accepts(word));
+        }
+    }
+
+    @Test
+    public void testDeterminizeCompact() {
+        final Alphabet<Integer> alphabet = Alphabets.integers(0, 2);
+
+        // the second NFA yields subsets that exceed a single word of the bit vector
+        for (CompactNFA<Integer> compactNFA : Arrays.asList(randomNFA(new Random(42), 12, alphabet),
+                                                             unionNFA(new Random(7), 100, alphabet))) {
+            final FastNFA<Integer> fastNFA = new FastNFA<>(alphabet);
+            AutomatonLowLevelCopy.copy(AutomatonCopyMethod.STATE_BY_STATE, compactNFA, alphabet, fastNFA);
+
+            for (boolean partial : new boolean[] {false, true}) {
+                // CompactNFAs use a specialized implementation which should yield identical results
+                final CompactDFA<Integer> compact = NFAs.determinize(compactNFA, alphabet, partial, false);
+                final CompactDFA<Integer> frozen =
+                        NFAs.determinize(new FrozenCompactNFA<>(compactNFA), alphabet, partial, false);
+                final CompactDFA<Integer> generic = NFAs.determinize(fastNFA, alphabet, partial, false);
+
+                assertIdentical(compact, generic, alphabet);
+                assertIdentical(frozen, generic, alphabet);
+            }
+        }
+    }
+
+    @Test
+    public void testDeterminizeParallel() {
+        final Alphabet<Integer> alphabet = Alphabets.integers(0, 2);
+        final CompactNFA<Integer> nfa = randomNFA(new Random(42), 12, alphabet);
+
+        for (boolean partial : new boolean[] {false, true}) {
+            final CompactDFA<Integer> sequential = NFAs.determinize(nfa, alphabet, partial, false);
+            final CompactDFA<Integer> parallel = NFAs.determinizeParallel(nfa, alphabet, partial, false);
+
+            Assert.assertEquals(parallel.size(), sequential.size());
+            Assert.assertTrue(Automata.testEquivalence(sequential, parallel, alphabet));
+
+            final CompactDFA<Integer> minimized = NFAs.determinizeParallel(nfa, alphabet, partial, true);
+            Assert.assertEquals(minimized.size(), NFAs.determinize(nfa, alphabet, partial, true).size());
+            Assert.assertTrue(Automata.testEquivalence(sequential, minimized, alphabet));
+        }
+    }
+
+    @Test
+    public void testDeterminizeParallelIsDeterministic() {
+        final Alphabet<Integer> alphabet = Alphabets.integers(0, 1);
+        final CompactNFA<Integer> nfa = randomNFA(new Random(1337), 14, alphabet);
+
+        final ForkJoinPool singlePool = new ForkJoinPool(1);
+        final ForkJoinPool multiPool = new ForkJoinPool(4);
+
+        try {
+            final CompactDFA<Integer> single = NFAs.determinizeParallel(nfa, alphabet, false, false, singlePool);
+            final CompactDFA<Integer> multi = NFAs.determinizeParallel(nfa, alphabet, false, false, multiPool);
+
+            assertIdentical(multi, single, alphabet);
+        } finally {
+            singlePool.shutdown();
+            multiPool.shutdown();
+        }
+    }
+
+    /**
+     * Creates an NFA that non-deterministically chooses between two random DFAs of the given size.
+     */
+    private static CompactNFA<Integer> unionNFA(Random random, int size, Alphabet<Integer> alphabet) {
+        final CompactNFA<Integer> nfa = new CompactNFA<>(alphabet, 2 * size);
+
+        for (int offset = 0; offset < 2 * size; offset += size) {
+            final CompactDFA<Integer> dfa = RandomAutomata.randomDFA(random, size, alphabet, false);
+
+            for (int s = 0; s < size; s++) {
+                nfa.addState(dfa.isAccepting(s));
+            }
+            nfa.setInitial(offset + dfa.getIntInitialState(), true);
+
+            for (int s = 0; s < size; s++) {
+                for (int i = 0; i < alphabet.size(); i++) {
+                    nfa.addTransition(offset + s, i, offset + dfa.getTransition(s, i));
+                }
+            }
+        }
+
+        return nfa;
+    }
+
+    private static <I> void assertIdentical(CompactDFA<I> actual, CompactDFA<I> expected, Alphabet<I> alphabet) {
+        Assert.assertEquals(actual.size(), expected.size());
+        for (int s = 0; s < expected.size(); s++) {
+            Assert.assertEquals(actual.isAccepting(s), expected.isAccepting(s));
+            for (int i = 0; i < alphabet.size(); i++) {
+                Assert.assertEquals(actual.getTransition(s, i), expected.getTransition(s, i));
+            }
+        }
+    }
+
+    private static CompactNFA<Integer> randomNFA(Random random, int size, Alphabet<Integer> alphabet) {
+        final CompactNFA<Integer> nfa = new CompactNFA<>(alphabet, size);
+
+        nfa.addInitialState(random.nextBoolean());
+        for (int i = 1; i < size; i++) {
+            nfa.addState(random.nextBoolean());
+        }
+
+        for (int s = 0; s < size; s++) {
+            for (int i = 0; i < alphabet.size(); i++) {
+                for (int t = 0; t < size; t++) {
+                    if (random.nextInt(size) < 2) {
+                        nfa.addTransition(s, i, t);
+                    }
+                }
+            }
+        }
+
+        return nfa;
+    }
+
     private <I> void assertEquivalence(NFA<?, I> nfa1, NFA<?, I> nfa2, Alphabet<I> inputs) {
         Assert.assertTrue(Automata.testEquivalence(NFAs.determinize(nfa1, inputs),
                                                    NFAs.determinize(nfa2, inputs),
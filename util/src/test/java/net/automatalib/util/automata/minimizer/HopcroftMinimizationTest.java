@@ -15,6 +15,8 @@
  */
 package net.automatalib.util.automata.minimizer;
 
+import java.util.concurrent.ForkJoinPool;
+
 import net.automatalib.automata.fsa.DFA;
 import net.automatalib.automata.fsa.MutableDFA;
 import net.automatalib.automata.transducers.MealyMachine;
@@ -28,25 +30,41 @@ import org.testng.annotations.Factory;
 public class HopcroftMinimizationTest extends AbstractMinimizationTest {
 
     private final PruningMode pruningMode;
+    private final boolean parallel;
 
     @Factory(dataProvider = "pruningModes")
-    public HopcroftMinimizationTest(PruningMode pruningMode) {
+    public HopcroftMinimizationTest(PruningMode pruningMode, boolean parallel) {
         this.pruningMode = pruningMode;
+        this.parallel = parallel;
     }
 
     @DataProvider(name = "pruningModes")
     public static Object[][] pruningModes() {
-        return new Object[][] {{PruningMode.PRUNE_BEFORE}, {PruningMode.PRUNE_AFTER}, {PruningMode.DONT_PRUNE}};
+        final PruningMode[] modes = PruningMode.values();
+        final Object[][] result = new Object[modes.length * 2][];
+
+        for (int i = 0; i < modes.length; i++) {
+            result[2 * i] = new Object[] {modes[i], false};
+            result[2 * i + 1] = new Object[] {modes[i], true};
+        }
+
+        return result;
     }
 
     @Override
     protected <I> DFA<?, I> minimizeDFA(MutableDFA<?, I> dfa, Alphabet<I> alphabet) {
+        if (parallel) {
+            return HopcroftMinimization.minimizeDFA(dfa, alphabet, this.pruningMode, ForkJoinPool.commonPool());
+        }
         return HopcroftMinimization.minimizeDFA(dfa, alphabet, this.pruningMode);
     }
 
     @Override
     protected <I, O> MealyMachine<?, I, ?, O> minimizeMealy(MutableMealyMachine<?, I, ?, O> mealy,
                                                             Alphabet<I> alphabet) {
+        if (parallel) {
+            return HopcroftMinimization.minimizeMealy(mealy, alphabet, this.pruningMode, ForkJoinPool.commonPool());
+        }
         return HopcroftMinimization.minimizeMealy(mealy, alphabet, this.pruningMode);
     }
 
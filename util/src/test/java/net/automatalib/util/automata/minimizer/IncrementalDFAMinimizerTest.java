@@ -0,0 +1,151 @@
+/* Copyright (C) 2013-2022 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.util.automata.minimizer;
+
+import java.util.Random;
+
+import net.automatalib.automata.fsa.impl.compact.CompactDFA;
+import net.automatalib.util.automata.minimizer.hopcroft.HopcroftMinimization;
+import net.automatalib.util.automata.minimizer.hopcroft.IncrementalDFAMinimizer;
+import net.automatalib.util.automata.random.RandomAutomata;
+import net.automatalib.words.Alphabet;
+import net.automatalib.words.impl.Alphabets;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+public class IncrementalDFAMinimizerTest {
+
+    @Test
+    public void testRandomEdits() {
+        final Random random = new Random(42);
+        final Alphabet<Integer> alphabet = Alphabets.integers(0, 2);
+
+        for (int size : new int[] {1, 20, 200}) {
+            final CompactDFA<Integer> dfa = RandomAutomata.randomDFA(random, size, alphabet, false);
+            final IncrementalDFAMinimizer<Integer> minimizer = new IncrementalDFAMinimizer<>(dfa);
+
+            assertIdentical(minimizer.minimize(), HopcroftMinimization.minimizeDFA(dfa, alphabet), alphabet);
+
+            for (int round = 0; round < 50; round++) {
+                final CompactDFA<Integer> automaton = minimizer.getAutomaton();
+
+                for (int edit = 0; edit < 3; edit++) {
+                    final int numStates = automaton.size();
+                    switch (random.nextInt(4)) {
+                        case 0:
+                            final int newState = minimizer.addState(random.nextBoolean());
+                            for (int i = 0; i < alphabet.size(); i++) {
+                                minimizer.setTransition(newState, i, random.nextInt(numStates + 1));
+                            }
+                            minimizer.setTransition(random.nextInt(numStates), random.nextInt(alphabet.size()), newState);
+                            break;
+                        case 1:
+                            minimizer.setAccepting(random.nextInt(numStates), random.nextBoolean());
+                            break;
+                        case 2:
+                            minimizer.setInitialState(random.nextInt(numStates));
+                            break;
+                        default:
+                            minimizer.setTransition(random.nextInt(numStates),
+                                                    alphabet.getSymbol(random.nextInt(alphabet.size())),
+                                                    random.nextInt(numStates));
+                    }
+                }
+
+                assertIdentical(minimizer.minimize(), HopcroftMinimization.minimizeDFA(automaton, alphabet), alphabet);
+            }
+        }
+    }
+
+    @Test
+    public void testTreeEdits() {
+        final Random random = new Random(42);
+        final Alphabet<Integer> alphabet = Alphabets.integers(0, 2);
+        final IncrementalDFAMinimizer<Integer> minimizer = new IncrementalDFAMinimizer<>(alphabet);
+        final CompactDFA<Integer> automaton = minimizer.getAutomaton();
+
+        final int init = minimizer.addInitialState(false);
+        final int sink = minimizer.addState(false);
+        for (int i = 0; i < alphabet.size(); i++) {
+            minimizer.setTransition(init, i, sink);
+            minimizer.setTransition(sink, i, sink);
+        }
+
+        assertIdentical(minimizer.minimize(), HopcroftMinimization.minimizeDFA(automaton, alphabet), alphabet);
+
+        // insert words into the tree so that the modified states (and their ancestors) never contain a cycle
+        for (int round = 0; round < 200; round++) {
+            int curr = init;
+            for (int j = 0; j < 6; j++) {
+                final int sym = random.nextInt(alphabet.size());
+                int succ = automaton.getTransition(curr, sym);
+                if (succ == sink) {
+                    succ = minimizer.addState(false);
+                    for (int i = 0; i < alphabet.size(); i++) {
+                        minimizer.setTransition(succ, i, sink);
+                    }
+                    minimizer.setTransition(curr, sym, succ);
+                }
+                curr = succ;
+            }
+            minimizer.setAccepting(curr, random.nextBoolean());
+
+            if (round % 10 == 0) {
+                assertIdentical(minimizer.minimize(), HopcroftMinimization.minimizeDFA(automaton, alphabet), alphabet);
+            }
+        }
+    }
+
+    @Test
+    public void testEmpty() {
+        final Alphabet<Integer> alphabet = Alphabets.integers(0, 1);
+        final IncrementalDFAMinimizer<Integer> minimizer = new IncrementalDFAMinimizer<>(alphabet);
+
+        Assert.assertEquals(minimizer.minimize().size(), 0);
+
+        final int init = minimizer.addInitialState(false);
+        final int acc = minimizer.addState(true);
+        for (int i = 0; i < alphabet.size(); i++) {
+            minimizer.setTransition(init, i, acc);
+            minimizer.setTransition(acc, i, acc);
+        }
+        Assert.assertEquals(minimizer.minimize().size(), 2);
+
+        minimizer.setAccepting(init, true);
+        Assert.assertEquals(minimizer.minimize().size(), 1);
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testPartial() {
+        final Alphabet<Integer> alphabet = Alphabets.integers(0, 1);
+        final IncrementalDFAMinimizer<Integer> minimizer = new IncrementalDFAMinimizer<>(alphabet);
+
+        final int init = minimizer.addInitialState(true);
+        minimizer.setTransition(init, 0, init);
+        minimizer.minimize();
+    }
+
+    private static <I> void assertIdentical(CompactDFA<I> actual, CompactDFA<I> expected, Alphabet<I> alphabet) {
+        Assert.assertEquals(actual.size(), expected.size());
+        Assert.assertEquals(actual.getIntInitialState(), expected.getIntInitialState());
+        for (int s = 0; s < expected.size(); s++) {
+            Assert.assertEquals(actual.isAccepting(s), expected.isAccepting(s));
+            for (int i = 0; i < alphabet.size(); i++) {
+                Assert.assertEquals(actual.getTransition(s, i), expected.getTransition(s, i));
+            }
+        }
+    }
+}
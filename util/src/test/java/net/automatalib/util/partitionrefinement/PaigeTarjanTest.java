@@ -15,12 +15,18 @@
  */
 package net.automatalib.util.partitionrefinement;
 
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
 import net.automatalib.automata.fsa.impl.compact.CompactDFA;
 import net.automatalib.automata.transducers.impl.compact.CompactMealy;
 import net.automatalib.util.automata.Automata;
 import net.automatalib.util.automata.builders.AutomatonBuilders;
 import net.automatalib.util.automata.equivalence.NearLinearEquivalenceTest;
+import net.automatalib.util.automata.minimizer.hopcroft.HopcroftMinimization;
+import net.automatalib.util.automata.minimizer.hopcroft.HopcroftMinimization.PruningMode;
 import net.automatalib.util.automata.minimizer.paigetarjan.PaigeTarjanMinimization;
+import net.automatalib.util.automata.random.RandomAutomata;
 import net.automatalib.words.Alphabet;
 import net.automatalib.words.impl.Alphabets;
 import org.testng.Assert;
@@ -148,6 +154,103 @@ public class PaigeTarjanTest {
         testMealyConfiguration(AutomatonInitialPartitioning.BY_FULL_SIGNATURE, null, 7, true);
     }
 
+    @Test
+    public void testParallelRefinement() {
+        final Alphabet<Integer> alphabet = Alphabets.integers(0, 2);
+        final Alphabet<Integer> outputs = Alphabets.integers(0, 1);
+        final ForkJoinPool pool = new ForkJoinPool(4);
+
+        try {
+            // exceeds the chunk size of the parallel refinement
+            final CompactMealy<Integer, Integer> mealy =
+                    RandomAutomata.randomMealy(new Random(42), 10_000, alphabet, outputs, false);
+
+            for (PruningMode mode : PruningMode.values()) {
+                final CompactMealy<Integer, Integer> sequential =
+                        HopcroftMinimization.minimizeMealy(mealy, alphabet, mode);
+                final CompactMealy<Integer, Integer> parallel =
+                        HopcroftMinimization.minimizeMealy(mealy, alphabet, mode, pool);
+
+                Assert.assertEquals(parallel.size(), sequential.size());
+                Assert.assertTrue(Automata.testEquivalence(mealy, parallel, alphabet));
+
+                if (mode == PruningMode.PRUNE_AFTER) {
+                    // results that are pruned after the refinement are numbered canonically
+                    for (int s = 0; s < sequential.size(); s++) {
+                        for (int i = 0; i < alphabet.size(); i++) {
+                            Assert.assertEquals(parallel.getSuccessor(s, i), sequential.getSuccessor(s, i));
+                            Assert.assertEquals(parallel.getOutput(s, i), sequential.getOutput(s, i));
+                        }
+                    }
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testParallelRefinementOfDeepAutomaton() {
+        final Alphabet<Integer> alphabet = Alphabets.integers(0, 1);
+        final int size = 5_000;
+        final ForkJoinPool pool = new ForkJoinPool(4);
+
+        // a chain (with a repeating output pattern) whose states are distinguished only by long words, so that the
+        // round-based refinement would need a round per state
+        final CompactMealy<Integer, Integer> mealy = new CompactMealy<>(alphabet);
+        for (int s = 0; s < size; s++) {
+            mealy.addState();
+        }
+        mealy.setInitialState(0);
+        for (int s = 0; s < size; s++) {
+            for (int i = 0; i < alphabet.size(); i++) {
+                mealy.setTransition(s, i, Math.min(s + 1, size - 1), (Integer) (s % 7 == 0 ? 1 : 0));
+            }
+        }
+
+        try {
+            final CompactMealy<Integer, Integer> sequential =
+                    HopcroftMinimization.minimizeMealy(mealy, alphabet, PruningMode.PRUNE_AFTER);
+            final CompactMealy<Integer, Integer> parallel =
+                    HopcroftMinimization.minimizeMealy(mealy, alphabet, PruningMode.PRUNE_AFTER, pool);
+
+            Assert.assertEquals(parallel.size(), size);
+            Assert.assertEquals(parallel.size(), sequential.size());
+            Assert.assertTrue(Automata.testEquivalence(mealy, parallel, alphabet));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testParallelRefinementFallback() {
+        // 0 -> {1, 2}, 1 -> {1}, 2 -> {2} with the initial partition {0, 1}, {2}
+        final PaigeTarjan pt = new PaigeTarjan();
+        pt.setSize(3, 1);
+        pt.setBlockData(new int[] {0, 1, 2});
+        pt.setPosData(new int[] {0, 1, 2}, 0);
+        pt.setPredOfsData(new int[] {0, 0, 2, 4}, 0);
+        pt.setPredData(new int[] {0, 1, 0, 2});
+
+        final Block accepting = pt.createBlock();
+        accepting.low = 2;
+        accepting.high = 3;
+        final Block rejecting = pt.createBlock();
+        rejecting.low = 0;
+        rejecting.high = 2;
+        pt.initBlockForStateMap();
+
+        // the non-deterministic successors require the sequential refinement, without an initialized worklist
+        final ForkJoinPool pool = new ForkJoinPool(2);
+        try {
+            pt.computeCoarsestStablePartition(pool);
+        } finally {
+            pool.shutdown();
+        }
+
+        Assert.assertEquals(pt.getNumBlocks(), 3);
+    }
+
     private void testMealyConfiguration(AutomatonInitialPartitioning ap,
                                         Object sinkClassification,
                                         int expectedSize,